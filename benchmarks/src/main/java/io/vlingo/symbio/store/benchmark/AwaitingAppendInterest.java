@@ -0,0 +1,75 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.journal.Journal.AppendResultInterest;
+
+/**
+ * An {@code AppendResultInterest} that lets a benchmark wait until an
+ * expected number of appends have completed.
+ */
+public class AwaitingAppendInterest implements AppendResultInterest {
+  private final AtomicInteger failures = new AtomicInteger(0);
+  private volatile CountDownLatch latch = new CountDownLatch(0);
+
+  public void expect(final int appends) {
+    latch = new CountDownLatch(appends);
+  }
+
+  public void await() throws InterruptedException {
+    if (!latch.await(60, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Appends did not complete; remaining: " + latch.getCount());
+    }
+    if (failures.get() > 0) {
+      throw new IllegalStateException("Appends failed: " + failures.get());
+    }
+  }
+
+  @Override
+  public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+          final Source<S> source, final Optional<ST> snapshot, final Object object) {
+    completed(outcome);
+  }
+
+  @Override
+  public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+          final Source<S> source, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
+    completed(outcome);
+  }
+
+  @Override
+  public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+          final List<Source<S>> sources, final Optional<ST> snapshot, final Object object) {
+    completed(outcome);
+  }
+
+  @Override
+  public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+          final List<Source<S>> sources, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
+    completed(outcome);
+  }
+
+  private void completed(final Outcome<StorageException, Result> outcome) {
+    outcome.otherwise(failure -> {
+      failures.incrementAndGet();
+      return failure.result;
+    });
+    latch.countDown();
+  }
+}
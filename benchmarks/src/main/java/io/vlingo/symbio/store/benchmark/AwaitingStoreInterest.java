@@ -0,0 +1,77 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.object.ObjectStoreWriter.PersistResultInterest;
+import io.vlingo.symbio.store.state.StateStore.ReadResultInterest;
+import io.vlingo.symbio.store.state.StateStore.TypedStateBundle;
+import io.vlingo.symbio.store.state.StateStore.WriteResultInterest;
+
+/**
+ * A {@code StateStore} and {@code ObjectStore} result interest that lets a
+ * benchmark wait until an expected number of reads, writes or persists have completed.
+ */
+public class AwaitingStoreInterest implements ReadResultInterest, WriteResultInterest, PersistResultInterest {
+  private final AtomicInteger failures = new AtomicInteger(0);
+  private volatile CountDownLatch latch = new CountDownLatch(0);
+
+  public void expect(final int results) {
+    latch = new CountDownLatch(results);
+  }
+
+  public void await() throws InterruptedException {
+    if (!latch.await(60, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Store operations did not complete; remaining: " + latch.getCount());
+    }
+    if (failures.get() > 0) {
+      throw new IllegalStateException("Store operations failed: " + failures.get());
+    }
+  }
+
+  @Override
+  public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion,
+          final Metadata metadata, final Object object) {
+    completed(outcome);
+  }
+
+  @Override
+  public <S> void readResultedIn(final Outcome<StorageException, Result> outcome, final Collection<TypedStateBundle> bundles, final Object object) {
+    completed(outcome);
+  }
+
+  @Override
+  public <S, C> void writeResultedIn(final Outcome<StorageException, Result> outcome, final String id, final S state, final int stateVersion,
+          final List<Source<C>> sources, final Object object) {
+    completed(outcome);
+  }
+
+  @Override
+  public void persistResultedIn(final Outcome<StorageException, Result> outcome, final Object persistentObject, final int possible,
+          final int actual, final Object object) {
+    completed(outcome);
+  }
+
+  private void completed(final Outcome<StorageException, Result> outcome) {
+    outcome.otherwise(failure -> {
+      failures.incrementAndGet();
+      return failure.result;
+    });
+    latch.countDown();
+  }
+}
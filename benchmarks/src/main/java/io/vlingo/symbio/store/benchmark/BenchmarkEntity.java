@@ -0,0 +1,46 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import io.vlingo.common.serialization.JsonSerialization;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.State.TextState;
+import io.vlingo.symbio.StateAdapter;
+
+public class BenchmarkEntity {
+  public final String id;
+  public final String payload;
+
+  public BenchmarkEntity(final String id, final String payload) {
+    this.id = id;
+    this.payload = payload;
+  }
+
+  public static class BenchmarkEntityStateAdapter implements StateAdapter<BenchmarkEntity,TextState> {
+    @Override
+    public int typeVersion() {
+      return 1;
+    }
+
+    @Override
+    public BenchmarkEntity fromRawState(final TextState raw) {
+      return JsonSerialization.deserialized(raw.data, raw.typed());
+    }
+
+    @Override
+    public <ST> ST fromRawState(final TextState raw, final Class<ST> stateType) {
+      return JsonSerialization.deserialized(raw.data, stateType);
+    }
+
+    @Override
+    public TextState toRawState(final String id, final BenchmarkEntity state, final int stateVersion, final Metadata metadata) {
+      final String serialization = JsonSerialization.serialized(state);
+      return new TextState(id, BenchmarkEntity.class, typeVersion(), serialization, stateVersion, metadata);
+    }
+  }
+}
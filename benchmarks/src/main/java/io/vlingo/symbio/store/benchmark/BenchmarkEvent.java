@@ -0,0 +1,22 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import io.vlingo.symbio.Source;
+
+public class BenchmarkEvent extends Source<BenchmarkEvent> {
+  public final String id;
+  public final long number;
+  public final String payload;
+
+  public BenchmarkEvent(final String id, final long number, final String payload) {
+    this.id = id;
+    this.number = number;
+    this.payload = payload;
+  }
+}
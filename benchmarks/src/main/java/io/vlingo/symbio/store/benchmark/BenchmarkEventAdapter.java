@@ -0,0 +1,37 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import io.vlingo.common.serialization.JsonSerialization;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.EntryAdapter;
+import io.vlingo.symbio.Metadata;
+
+public final class BenchmarkEventAdapter implements EntryAdapter<BenchmarkEvent,TextEntry> {
+  @Override
+  public BenchmarkEvent fromEntry(final TextEntry entry) {
+    return JsonSerialization.deserialized(entry.entryData(), BenchmarkEvent.class);
+  }
+
+  @Override
+  public TextEntry toEntry(final BenchmarkEvent source, final Metadata metadata) {
+    return toEntry(source, source.id, metadata);
+  }
+
+  @Override
+  public TextEntry toEntry(final BenchmarkEvent source, final String id, final Metadata metadata) {
+    final String serialization = JsonSerialization.serialized(source);
+    return new TextEntry(BenchmarkEvent.class, 1, serialization, metadata);
+  }
+
+  @Override
+  public TextEntry toEntry(final BenchmarkEvent source, final int version, final String id, final Metadata metadata) {
+    final String serialization = JsonSerialization.serialized(source);
+    return new TextEntry(BenchmarkEvent.class, 1, serialization, version, metadata);
+  }
+}
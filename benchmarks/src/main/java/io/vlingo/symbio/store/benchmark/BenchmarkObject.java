@@ -0,0 +1,23 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import io.vlingo.symbio.store.object.StateObject;
+
+public class BenchmarkObject extends StateObject {
+  private static final long serialVersionUID = 1L;
+
+  public final long id;
+  public final String payload;
+
+  public BenchmarkObject(final long id, final String payload) {
+    super(id);
+    this.id = id;
+    this.payload = payload;
+  }
+}
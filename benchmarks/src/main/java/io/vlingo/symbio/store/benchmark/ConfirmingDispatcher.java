@@ -0,0 +1,38 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.State;
+import io.vlingo.symbio.store.dispatch.ConfirmDispatchedResultInterest;
+import io.vlingo.symbio.store.dispatch.Dispatchable;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+
+/**
+ * A {@code Dispatcher} that immediately confirms everything dispatched to it,
+ * so that benchmarks include the dispatch confirmation cost without any
+ * downstream processing.
+ */
+public class ConfirmingDispatcher<E extends Entry<?>, RS extends State<?>> implements Dispatcher<Dispatchable<E,RS>> {
+  private static final ConfirmDispatchedResultInterest ignored = (result, dispatchId) -> { };
+
+  private DispatcherControl control;
+
+  @Override
+  public void controlWith(final DispatcherControl control) {
+    this.control = control;
+  }
+
+  @Override
+  public void dispatch(final Dispatchable<E, RS> dispatchable) {
+    if (control != null) {
+      control.confirmDispatched(dispatchable.id(), ignored);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vlingo.actors.World;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.jdbc.Configuration.TestConfiguration;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.journal.Journal;
+
+/**
+ * Append throughput of {@code JDBCJournalInstantWriter} vs {@code JDBCJournalBatchWriter}.
+ * Each operation is {@code batchSize} single-event appends awaited together, and the
+ * batch writer flushes every {@code batchSize} entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JournalAppendBenchmark {
+  @Param({ JournalBenchmarks.InstantWriter, JournalBenchmarks.BatchWriter })
+  public String writer;
+
+  @Param({ "1", "10", "100" })
+  public int batchSize;
+
+  @Param({ "100", "1000", "10000" })
+  public int payloadSize;
+
+  private TestConfiguration configuration;
+  private AwaitingAppendInterest interest;
+  private Journal<String> journal;
+  private String payload;
+  private long streamNumber;
+  private World world;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    world = World.startWithDefaults("journal-append-benchmark");
+    EntryAdapterProvider.instance(world).registerAdapter(BenchmarkEvent.class, new BenchmarkEventAdapter());
+    configuration = HSQLDBConfigurationProvider.testConfiguration(DataFormat.Text, "journalappend");
+    journal = JournalBenchmarks.journalFor(world, configuration, writer, batchSize);
+    interest = new AwaitingAppendInterest();
+    payload = Payloads.ofSize(payloadSize);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    world.terminate();
+    configuration.cleanUp();
+  }
+
+  @Benchmark
+  public void append() throws Exception {
+    interest.expect(batchSize);
+    for (int count = 0; count < batchSize; ++count) {
+      final String streamName = "append-" + (++streamNumber);
+      journal.append(streamName, 1, new BenchmarkEvent(streamName, streamNumber, payload), interest, null);
+    }
+    interest.await();
+  }
+}
@@ -0,0 +1,72 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.vlingo.actors.World;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalActor;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalBatchWriter;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalInstantWriter;
+
+/**
+ * Shared setup of the {@code Journal} benchmarks.
+ */
+final class JournalBenchmarks {
+  static final String BatchWriter = "batch";
+  static final String InstantWriter = "instant";
+  static final int TimeBetweenFlushWrites = 10;
+
+  /**
+   * Answer a new {@code Journal} using the named writer.
+   * @param world the World in which to start the JDBCJournalActor
+   * @param configuration the Configuration of the journal
+   * @param writer the String name of the writer, either "instant" or "batch"
+   * @param maxBatchEntries the int maximum entries buffered by the batch writer before flushing
+   * @return {@code Journal<String>}
+   * @throws Exception if the writer cannot be created
+   */
+  @SuppressWarnings("unchecked")
+  static Journal<String> journalFor(final World world, final Configuration configuration, final String writer, final int maxBatchEntries) throws Exception {
+    if (BatchWriter.equals(writer)) {
+      final JDBCJournalBatchWriter batchWriter = new JDBCJournalBatchWriter(configuration, Collections.emptyList(), null, maxBatchEntries);
+      return world.actorFor(Journal.class, JDBCJournalActor.class, configuration, batchWriter, TimeBetweenFlushWrites);
+    }
+    final JDBCJournalInstantWriter instantWriter = new JDBCJournalInstantWriter(configuration, Collections.emptyList(), null);
+    return world.actorFor(Journal.class, JDBCJournalActor.class, configuration, instantWriter);
+  }
+
+  /**
+   * Append {@code count} events to the stream named {@code streamName} in chunks, waiting for completion.
+   * @param journal the {@code Journal<String>} to append to
+   * @param streamName the String name of the stream
+   * @param count the int number of events to append
+   * @param payload the String payload of each event
+   * @throws InterruptedException if interrupted while waiting
+   */
+  static void populate(final Journal<String> journal, final String streamName, final int count, final String payload) throws InterruptedException {
+    final int chunkSize = 100;
+    final AwaitingAppendInterest interest = new AwaitingAppendInterest();
+    interest.expect((count + chunkSize - 1) / chunkSize);
+    for (int fromVersion = 1; fromVersion <= count; fromVersion += chunkSize) {
+      final List<Source<BenchmarkEvent>> sources = new ArrayList<>(chunkSize);
+      for (int version = fromVersion; version < fromVersion + chunkSize && version <= count; ++version) {
+        sources.add(new BenchmarkEvent(streamName, version, payload));
+      }
+      journal.appendAll(streamName, fromVersion, sources, interest, null);
+    }
+    interest.await();
+  }
+
+  private JournalBenchmarks() { }
+}
@@ -0,0 +1,85 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vlingo.actors.World;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.EntryReader;
+import io.vlingo.symbio.store.common.jdbc.Configuration.TestConfiguration;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.JournalReader;
+
+/**
+ * Scan rate of {@code JDBCJournalReaderActor.readNext(int)} over a journal of
+ * {@code JournalSize} entries, rewinding when the end is reached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JournalReaderBenchmark {
+  private static final int JournalSize = 10_000;
+
+  @Param({ "10", "100", "1000" })
+  public int batchSize;
+
+  @Param({ "100", "1000" })
+  public int payloadSize;
+
+  private TestConfiguration configuration;
+  private JournalReader<TextEntry> journalReader;
+  private World world;
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    world = World.startWithDefaults("journal-reader-benchmark");
+    EntryAdapterProvider.instance(world).registerAdapter(BenchmarkEvent.class, new BenchmarkEventAdapter());
+    configuration = HSQLDBConfigurationProvider.testConfiguration(DataFormat.Text, "journalreader");
+    final Journal<String> journal = JournalBenchmarks.journalFor(world, configuration, JournalBenchmarks.InstantWriter, 1);
+    JournalBenchmarks.populate(journal, "scan", JournalSize, Payloads.ofSize(payloadSize));
+    journalReader = (JournalReader<TextEntry>) journal.journalReader("benchmark").await();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    world.terminate();
+    configuration.cleanUp();
+  }
+
+  @Benchmark
+  public List<TextEntry> readNext() {
+    final List<TextEntry> entries = journalReader.readNext(batchSize).await();
+    if (entries.size() < batchSize) {
+      journalReader.seekTo(EntryReader.Beginning).await();
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,67 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.store.common.jdbc.CompactMetadataCodec;
+import io.vlingo.symbio.store.common.jdbc.GsonMetadataCodec;
+import io.vlingo.symbio.store.common.jdbc.MetadataCodec;
+
+/**
+ * Per-row cost of encoding and decoding entry metadata with the Gson codec, which is how
+ * the journal stored metadata before, and with the default compact codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class MetadataCodecBenchmark {
+  @Param({ "gson", "compact" })
+  public String codec;
+
+  @Param({ "empty", "valueAndOperation" })
+  public String metadataKind;
+
+  private MetadataCodec metadataCodec;
+  private Metadata metadata;
+  private String encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    metadataCodec = "gson".equals(codec) ? new GsonMetadataCodec() : new CompactMetadataCodec();
+    metadata = "empty".equals(metadataKind) ? Metadata.nullMetadata() : Metadata.with("correlation-4711", "AccountOpened");
+    encoded = metadataCodec.encode(metadata);
+  }
+
+  @Benchmark
+  public String encode() {
+    return metadataCodec.encode(metadata);
+  }
+
+  @Benchmark
+  public Metadata decode() {
+    return metadataCodec.decode(encoded);
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vlingo.actors.World;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.State.TextState;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.jdbc.Configuration.TestConfiguration;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.object.ObjectStore;
+import io.vlingo.symbio.store.object.StateObjectMapper;
+import io.vlingo.symbio.store.object.StateSources;
+import io.vlingo.symbio.store.object.jdbc.jdbi.JdbiOnHSQLDB;
+import io.vlingo.symbio.store.object.jdbc.jdbi.JdbiPersistMapper;
+
+/**
+ * Persist throughput of the Jdbi {@code ObjectStore}. The {@code persist} benchmark
+ * persists {@code batchSize} objects one at a time, while {@code persistAll} persists
+ * the same number of objects in a single unit of work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ObjectStoreBenchmark {
+  @Param({ "1", "10", "100" })
+  public int batchSize;
+
+  @Param({ "100", "1000", "10000" })
+  public int payloadSize;
+
+  private TestConfiguration configuration;
+  private AwaitingStoreInterest interest;
+  private JdbiOnHSQLDB jdbi;
+  private long objectNumber;
+  private ObjectStore objectStore;
+  private String payload;
+  private World world;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    configuration = HSQLDBConfigurationProvider.testConfiguration(DataFormat.Native, "objectstore");
+
+    jdbi = JdbiOnHSQLDB.openUsing(configuration);
+    jdbi.handle().execute("DROP SCHEMA PUBLIC CASCADE");
+    jdbi.handle().execute("CREATE TABLE BENCH_OBJECT (id BIGINT PRIMARY KEY, payload LONGVARCHAR)");
+    jdbi.createTextEntryJournalTable();
+    jdbi.createDispatchableTable();
+
+    world = World.startWithDefaults("object-store-benchmark");
+
+    final StateObjectMapper objectMapper =
+            StateObjectMapper.with(
+                    BenchmarkObject.class,
+                    JdbiPersistMapper.with(
+                            "INSERT INTO BENCH_OBJECT(id, payload) VALUES (:id, :payload)",
+                            "UPDATE BENCH_OBJECT SET payload = :payload WHERE id = :id",
+                            (update,object) -> update.bindFields(object)),
+                    (resultSet, context) -> new BenchmarkObject(resultSet.getLong("id"), resultSet.getString("payload")));
+
+    objectStore = jdbi.objectStore(world, Collections.singletonList(new ConfirmingDispatcher<TextEntry,TextState>()), Collections.singletonList(objectMapper));
+
+    interest = new AwaitingStoreInterest();
+    payload = Payloads.ofSize(payloadSize);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    objectStore.close();
+    world.terminate();
+    configuration.cleanUp();
+  }
+
+  @Benchmark
+  public void persist() throws Exception {
+    interest.expect(batchSize);
+    for (int count = 0; count < batchSize; ++count) {
+      objectStore.persist(StateSources.of(new BenchmarkObject(++objectNumber, payload)), interest);
+    }
+    interest.await();
+  }
+
+  @Benchmark
+  public void persistAll() throws Exception {
+    final List<StateSources<BenchmarkObject,BenchmarkEvent>> all = new ArrayList<>(batchSize);
+    for (int count = 0; count < batchSize; ++count) {
+      all.add(StateSources.of(new BenchmarkObject(++objectNumber, payload)));
+    }
+    interest.expect(1);
+    objectStore.persistAll(all, interest);
+    interest.await();
+  }
+}
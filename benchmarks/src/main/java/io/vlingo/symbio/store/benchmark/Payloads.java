@@ -0,0 +1,28 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Payload text of a requested size, so that benchmarks can sweep payload size.
+ */
+public final class Payloads {
+  /**
+   * Answer a {@code String} of exactly {@code size} characters.
+   * @param size the int number of characters
+   * @return String
+   */
+  public static String ofSize(final int size) {
+    final char[] payload = new char[size];
+    Arrays.fill(payload, 'x');
+    return new String(payload);
+  }
+
+  private Payloads() { }
+}
@@ -0,0 +1,140 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.World;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.State.TextState;
+import io.vlingo.symbio.StateAdapterProvider;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.jdbc.Configuration.TestConfiguration;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.dispatch.Dispatchable;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.symbio.store.dispatch.control.DispatcherControlActor;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.symbio.store.state.StateTypeStateStoreMap;
+import io.vlingo.symbio.store.state.jdbc.JDBCEntriesInstantWriter;
+import io.vlingo.symbio.store.state.jdbc.JDBCEntriesWriter;
+import io.vlingo.symbio.store.state.jdbc.JDBCStateStoreActor;
+import io.vlingo.symbio.store.state.jdbc.JDBCStorageDelegate;
+import io.vlingo.symbio.store.state.jdbc.hsqldb.HSQLDBStorageDelegate;
+
+/**
+ * Write and read throughput of {@code JDBCStateStoreActor}. Each operation is
+ * {@code batchSize} writes, or reads, of distinct states awaited together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StateStoreBenchmark {
+  private static final int ReadableStates = 1_000;
+
+  @Param({ "1", "10", "100" })
+  public int batchSize;
+
+  @Param({ "100", "1000", "10000" })
+  public int payloadSize;
+
+  private TestConfiguration configuration;
+  private HSQLDBStorageDelegate delegate;
+  private AwaitingStoreInterest interest;
+  private String payload;
+  private int readIndex;
+  private StateStore store;
+  private World world;
+  private long writeNumber;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    world = World.startWithDefaults("state-store-benchmark");
+    StateTypeStateStoreMap.stateTypeToStoreName(BenchmarkEntity.class, BenchmarkEntity.class.getSimpleName());
+    StateAdapterProvider.instance(world).registerAdapter(BenchmarkEntity.class, new BenchmarkEntity.BenchmarkEntityStateAdapter());
+
+    configuration = HSQLDBConfigurationProvider.testConfiguration(DataFormat.Text, "statestore");
+    delegate = new HSQLDBStorageDelegate(configuration, world.defaultLogger());
+
+    final Dispatcher<Dispatchable<? extends Entry<?>, ? extends io.vlingo.symbio.State<?>>> dispatcher = typed(new ConfirmingDispatcher<>());
+    final DispatcherControl dispatcherControl = world.stage().actorFor(DispatcherControl.class,
+            Definition.has(DispatcherControlActor.class,
+                    new DispatcherControl.DispatcherControlInstantiator(dispatcher, textDelegate(),
+                            StateStore.DefaultCheckConfirmationExpirationInterval, StateStore.DefaultConfirmationExpiration)));
+
+    final JDBCEntriesWriter entriesWriter = new JDBCEntriesInstantWriter(textDelegate(), Collections.singletonList(dispatcher), dispatcherControl);
+    store = world.actorFor(StateStore.class, JDBCStateStoreActor.class, delegate, entriesWriter);
+
+    interest = new AwaitingStoreInterest();
+    payload = Payloads.ofSize(payloadSize);
+
+    interest.expect(ReadableStates);
+    for (int index = 0; index < ReadableStates; ++index) {
+      final String id = "read-" + index;
+      store.write(id, new BenchmarkEntity(id, payload), 1, interest);
+    }
+    interest.await();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    world.terminate();
+    configuration.cleanUp();
+    delegate.close();
+  }
+
+  @Benchmark
+  public void write() throws Exception {
+    interest.expect(batchSize);
+    for (int count = 0; count < batchSize; ++count) {
+      final String id = "write-" + (++writeNumber);
+      store.write(id, new BenchmarkEntity(id, payload), 1, interest);
+    }
+    interest.await();
+  }
+
+  @Benchmark
+  public void read() throws Exception {
+    interest.expect(batchSize);
+    for (int count = 0; count < batchSize; ++count) {
+      readIndex = (readIndex + 1) % ReadableStates;
+      store.read("read-" + readIndex, BenchmarkEntity.class, interest);
+    }
+    interest.await();
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private JDBCStorageDelegate<TextState> textDelegate() {
+    return (JDBCStorageDelegate) delegate;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Dispatcher<Dispatchable<? extends Entry<?>, ? extends io.vlingo.symbio.State<?>>> typed(final Dispatcher dispatcher) {
+    return dispatcher;
+  }
+}
@@ -0,0 +1,77 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vlingo.actors.World;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.jdbc.Configuration.TestConfiguration;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.journal.EntityStream;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.StreamReader;
+
+/**
+ * Replay latency of {@code JDBCStreamReaderActor.streamFor} for a stream of {@code streamLength} events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StreamReaderBenchmark {
+  private static final String StreamName = "replay";
+
+  @Param({ "10", "100", "1000" })
+  public int streamLength;
+
+  @Param({ "100", "1000", "10000" })
+  public int payloadSize;
+
+  private TestConfiguration configuration;
+  private StreamReader<String> streamReader;
+  private World world;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    world = World.startWithDefaults("stream-reader-benchmark");
+    EntryAdapterProvider.instance(world).registerAdapter(BenchmarkEvent.class, new BenchmarkEventAdapter());
+    configuration = HSQLDBConfigurationProvider.testConfiguration(DataFormat.Text, "streamreader");
+    final Journal<String> journal = JournalBenchmarks.journalFor(world, configuration, JournalBenchmarks.InstantWriter, 1);
+    JournalBenchmarks.populate(journal, StreamName, streamLength, Payloads.ofSize(payloadSize));
+    streamReader = journal.streamReader("benchmark").await();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    world.terminate();
+    configuration.cleanUp();
+  }
+
+  @Benchmark
+  public EntityStream<String> streamFor() {
+    return streamReader.streamFor(StreamName).await();
+  }
+}
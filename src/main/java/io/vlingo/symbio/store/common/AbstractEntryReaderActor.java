@@ -16,18 +16,25 @@ import java.util.Arrays;
 import java.util.List;
 
 import io.vlingo.actors.Actor;
+import io.vlingo.common.Cancellable;
 import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduled;
 import io.vlingo.reactivestreams.Stream;
 import io.vlingo.symbio.Entry;
 import io.vlingo.symbio.EntryAdapterProvider;
 import io.vlingo.symbio.store.EntryReaderStream;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream.CursorOpener;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream.EntryMapper;
+import io.vlingo.symbio.store.common.jdbc.OffsetCommitter;
 import io.vlingo.symbio.store.gap.GapRetryReader;
 import io.vlingo.symbio.store.gap.GappedEntries;
 import io.vlingo.symbio.store.journal.JournalReader;
 import io.vlingo.symbio.store.state.StateStoreEntryReader;
 
-public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor implements StateStoreEntryReader<T> {
+public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor implements StateStoreEntryReader<T>, Scheduled<Object> {
     private final Advice advice;
     private final String name;
     private final Configuration configuration;
@@ -39,11 +46,14 @@ public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor
     private final PreparedStatement queryOne;
     private final PreparedStatement queryLatestOffset;
     private final PreparedStatement updateCurrentOffset;
+    private final OffsetCommitter offsets;
+    private final Cancellable offsetCommitSchedule;
 
     private GapRetryReader<T> reader = null;
 
     private long currentId = 0L;
 
+    @SuppressWarnings("unchecked")
     public AbstractEntryReaderActor(final Advice advice, final String name) throws Exception {
         this.advice = advice;
         this.name = name;
@@ -63,18 +73,24 @@ public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor
             e.printStackTrace();
             throw e;
         }
+
+        this.offsets = new OffsetCommitter(configuration.offsetCommitPolicy(), this::updateCurrentOffset, currentId);
+        this.offsetCommitSchedule = offsets.policy().isTimed() ?
+                stage().scheduler().schedule(selfAs(Scheduled.class), null, offsets.policy().intervalMillis, offsets.policy().intervalMillis) :
+                null;
     }
 
     /**
-     * Read one entry from the {@link ResultSet}.
-     * @param result the ResultSet from which to read
-     * @return T
-     * @throws Exception if the read fails
+     * Answer the {@code EntryMapper<T>} that reads one entry from the current row of a
+     * {@link ResultSet}. It also maps the rows of {@code streamAll()} on the thread of
+     * its publisher, so it must capture only state that may be shared between threads.
+     * @return {@code EntryMapper<T>}
      */
-    protected abstract T entryFrom(final ResultSet result) throws Exception;
+    protected abstract EntryMapper<T> entryMapper();
 
     @Override
     public void close() {
+        commitOffset();
         try {
             queryBatch.close();
             queryOne.close();
@@ -84,6 +100,17 @@ public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor
         }
     }
 
+    @Override
+    public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+        offsets.intervalElapsed();
+    }
+
+    @Override
+    public void stop() {
+        commitOffset();
+        super.stop();
+    }
+
     @Override
     public Completes<String> name() {
         return completes().with(name);
@@ -96,7 +123,7 @@ public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor
             queryOne.setLong(1, currentId);
             try (final ResultSet result = queryOne.executeQuery()) {
                 if (result.first()) {
-                    final T entry = entryFrom(result);
+                    final T entry = entryMapper().entryFrom(result);
 
                     ++currentId;
                     return completes().with(entry);
@@ -153,17 +180,17 @@ public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor
         switch (id) {
             case Beginning:
                 this.currentId = 1;
-                updateCurrentOffset();
+                offsets.movedTo(currentId);
                 break;
             case End:
                 this.currentId = retrieveLatestOffset() + 1;
-                updateCurrentOffset();
+                offsets.movedTo(currentId);
                 break;
             case Query:
                 break;
             default:
                 this.currentId = Integer.parseInt(id);
-                updateCurrentOffset();
+                offsets.movedTo(currentId);
                 break;
         }
 
@@ -199,17 +226,38 @@ public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor
     @Override
     @SuppressWarnings("unchecked")
     public Completes<Stream> streamAll() {
-        return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider));
+        // the cursor is opened and read on other threads, so it captures only what they can share
+        final DatabaseType databaseType = configuration.databaseType;
+        final String queryEntryBatch = advice.queryEntryBatchExpression;
+        final CursorOpener streamEntries = streamConnection -> {
+            final PreparedStatement cursor =
+                    JDBCEntryStream.cursorFor(streamConnection, databaseType, queryEntryBatch, JDBCEntryStream.DefaultFetchSize);
+            cursor.setLong(1, 1L);
+            cursor.setInt(2, Integer.MAX_VALUE);
+            return cursor;
+        };
+        final Stream byBatches = new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider);
+
+        return completes().with(new JDBCEntryStream<>(stage(), configuration, streamEntries, entryMapper(), entryAdapterProvider, byBatches, logger()));
     }
 
     protected Configuration getConfiguration() {
         return configuration;
     }
 
+    private void commitOffset() {
+        if (offsetCommitSchedule != null) {
+            offsetCommitSchedule.cancel();
+        }
+        if (!offsets.commit()) {
+            logger().error("vlingo/symbio-jdbc: Could not persist the offset " + currentId + " of " + name + " on close.");
+        }
+    }
+
     private List<T> mapQueriedEntriesFrom(final ResultSet result) throws Exception {
         final List<T> entries = new ArrayList<>();
         while (result.next()) {
-            final T entry = entryFrom(result);
+            final T entry = entryMapper().entryFrom(result);
             entries.add(entry);
         }
 
@@ -269,18 +317,20 @@ public abstract class AbstractEntryReaderActor<T extends Entry<?>> extends Actor
         return 0;
     }
 
-    private void updateCurrentOffset() {
+    private boolean updateCurrentOffset(final long offset) {
         try {
             updateCurrentOffset.clearParameters();
-            updateCurrentOffset.setLong(1, currentId);
+            updateCurrentOffset.setLong(1, offset);
             updateCurrentOffset.setString(2, name);
-            updateCurrentOffset.setLong(3, currentId);
+            updateCurrentOffset.setLong(3, offset);
 
             updateCurrentOffset.executeUpdate();
             configuration.connection.commit();
+            return true;
         } catch (Exception e) {
-            logger().error("vlingo/symbio-hsqldb: Could not persist the offset. Will retry on next read.");
+            logger().error("vlingo/symbio-hsqldb: Could not persist the offset. Will retry on next commit.");
             logger().error("vlingo/symbio-hsqldb: " + e.getMessage(), e);
+            return false;
         }
     }
 }
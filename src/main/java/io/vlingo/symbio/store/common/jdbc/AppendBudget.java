@@ -0,0 +1,146 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Accounts for the in-flight appends of a batch writer against the budget of its
+ * {@code BackpressurePolicy}. The writer's actor acquires each append as it is
+ * buffered and releases each batch once it is written; {@code metrics()} may be
+ * answered to any thread, so that producers can throttle themselves.
+ */
+public class AppendBudget {
+  private final BackpressurePolicy policy;
+
+  private long bytes;
+  private long delayed;
+  private int entries;
+  private long exceeded;
+  private boolean exceeding;
+  private long peakBytes;
+  private int peakEntries;
+  private long rejected;
+
+  /**
+   * Answer the estimated bytes of {@code value}, two per character.
+   * @param value the String to estimate, which may be null
+   * @return long
+   */
+  public static long estimatedBytesOf(final String value) {
+    return value == null ? 0 : 2L * value.length();
+  }
+
+  /**
+   * Construct my state.
+   * @param policy the BackpressurePolicy whose budget I account for
+   */
+  public AppendBudget(final BackpressurePolicy policy) {
+    this.policy = policy;
+  }
+
+  /**
+   * Answer my {@code BackpressurePolicy}.
+   * @return BackpressurePolicy
+   */
+  public BackpressurePolicy policy() {
+    return policy;
+  }
+
+  /**
+   * Answer whether or not an append of {@code appendEntries} and {@code appendBytes} fits the budget.
+   * @param appendEntries the int number of entries of the append
+   * @param appendBytes the long estimated bytes of the append
+   * @return boolean
+   */
+  public synchronized boolean hasRoomFor(final int appendEntries, final long appendBytes) {
+    if (!policy.isBounded() || entries == 0) {
+      return true;
+    }
+    return entries + (long) appendEntries <= policy.maxEntries && bytes + appendBytes <= policy.maxBytes;
+  }
+
+  /**
+   * Account for an accepted append of {@code appendEntries} and {@code appendBytes}, and
+   * signal the interest of my policy if the append exceeds the budget.
+   * @param appendEntries the int number of entries of the append
+   * @param appendBytes the long estimated bytes of the append
+   */
+  public void acquire(final int appendEntries, final long appendBytes) {
+    final AppendQueueMetrics exceededMetrics;
+
+    synchronized (this) {
+      entries += appendEntries;
+      bytes += appendBytes;
+      peakEntries = Math.max(peakEntries, entries);
+      peakBytes = Math.max(peakBytes, bytes);
+
+      if (exceeding || !isOverBudget()) {
+        return;
+      }
+
+      exceeding = true;
+      ++exceeded;
+      exceededMetrics = metrics();
+    }
+
+    if (policy.interest != null) {
+      policy.interest.budgetExceeded(exceededMetrics);
+    }
+  }
+
+  /**
+   * Account for a written batch of {@code batchEntries} and {@code batchBytes}, and signal
+   * the interest of my policy if the in-flight appends are back within the budget.
+   * @param batchEntries the int number of entries of the batch
+   * @param batchBytes the long estimated bytes of the batch
+   */
+  public void release(final int batchEntries, final long batchBytes) {
+    final AppendQueueMetrics recoveredMetrics;
+
+    synchronized (this) {
+      entries = Math.max(0, entries - batchEntries);
+      bytes = Math.max(0, bytes - batchBytes);
+
+      if (!exceeding || isOverBudget()) {
+        return;
+      }
+
+      exceeding = false;
+      recoveredMetrics = metrics();
+    }
+
+    if (policy.interest != null) {
+      policy.interest.budgetRecovered(recoveredMetrics);
+    }
+  }
+
+  /**
+   * Count an append that was delayed until the in-flight appends were written.
+   */
+  public synchronized void delayed() {
+    ++delayed;
+  }
+
+  /**
+   * Count an append that was rejected.
+   */
+  public synchronized void rejected() {
+    ++rejected;
+  }
+
+  /**
+   * Answer a point-in-time snapshot of my metrics.
+   * @return AppendQueueMetrics
+   */
+  public synchronized AppendQueueMetrics metrics() {
+    return new AppendQueueMetrics(entries, bytes, peakEntries, peakBytes, delayed, exceeded, rejected);
+  }
+
+  private boolean isOverBudget() {
+    return policy.isBounded() && (entries > policy.maxEntries || bytes > policy.maxBytes);
+  }
+}
@@ -0,0 +1,52 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Decides whether the writers of a journal notify the listeners that tail it of their
+ * committed appends. The {@code none()} policy notifies no one, so that tailing readers
+ * poll. The {@code push(fallbackPollIntervalMillis)} policy has the writers notify, with
+ * {@code NOTIFY} on the databases that support it, and has listeners on the others poll
+ * the greatest entry identity every {@code fallbackPollIntervalMillis}.
+ */
+public class AppendNotificationPolicy {
+  private static final AppendNotificationPolicy None = new AppendNotificationPolicy(false, 0);
+
+  public final long fallbackPollIntervalMillis;
+  public final boolean notifies;
+
+  /**
+   * Answer the policy that notifies no one of appends.
+   * @return AppendNotificationPolicy
+   */
+  public static AppendNotificationPolicy none() {
+    return None;
+  }
+
+  /**
+   * Answer the policy that notifies listeners of appends.
+   * @param fallbackPollIntervalMillis the long milliseconds between the polls of listeners on databases without notifications
+   * @return AppendNotificationPolicy
+   */
+  public static AppendNotificationPolicy push(final long fallbackPollIntervalMillis) {
+    if (fallbackPollIntervalMillis < 1) {
+      throw new IllegalArgumentException("The fallback poll interval must be positive.");
+    }
+    return new AppendNotificationPolicy(true, fallbackPollIntervalMillis);
+  }
+
+  private AppendNotificationPolicy(final boolean notifies, final long fallbackPollIntervalMillis) {
+    this.notifies = notifies;
+    this.fallbackPollIntervalMillis = fallbackPollIntervalMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "AppendNotificationPolicy[notifies=" + notifies + " fallbackPollIntervalMillis=" + fallbackPollIntervalMillis + "]";
+  }
+}
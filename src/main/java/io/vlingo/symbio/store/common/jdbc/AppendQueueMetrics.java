@@ -0,0 +1,46 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * A point-in-time snapshot of the in-flight appends of a batch writer and of
+ * the counters of its {@code BackpressurePolicy}.
+ */
+public class AppendQueueMetrics {
+  public final int entries;
+  public final long bytes;
+  public final int peakEntries;
+  public final long peakBytes;
+  public final long delayed;
+  public final long exceeded;
+  public final long rejected;
+
+  AppendQueueMetrics(
+          final int entries,
+          final long bytes,
+          final int peakEntries,
+          final long peakBytes,
+          final long delayed,
+          final long exceeded,
+          final long rejected) {
+    this.entries = entries;
+    this.bytes = bytes;
+    this.peakEntries = peakEntries;
+    this.peakBytes = peakBytes;
+    this.delayed = delayed;
+    this.exceeded = exceeded;
+    this.rejected = rejected;
+  }
+
+  @Override
+  public String toString() {
+    return "AppendQueueMetrics[entries=" + entries + " bytes=" + bytes +
+            " peakEntries=" + peakEntries + " peakBytes=" + peakBytes +
+            " delayed=" + delayed + " exceeded=" + exceeded + " rejected=" + rejected + "]";
+  }
+}
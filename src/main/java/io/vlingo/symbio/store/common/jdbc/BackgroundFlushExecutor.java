@@ -0,0 +1,122 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs the database work of a double-buffered batch writer on a dedicated I/O thread,
+ * so that its actor keeps buffering appends while the previous batch is committed.
+ * <p>
+ * All methods but {@code stop()} are used by the owning actor. At most one flush is in
+ * flight at a time. When it ends, its completion, which completes the appends of the
+ * flushed batch, is delivered back through the actor by the deliverer given to
+ * {@code deliverCompletionsThrough(deliverer)}, so that the actor's state is only ever
+ * touched by the actor. Other database work, such as pruning, is run on the same thread
+ * so that it never shares the writer's connection with a flush.
+ * </p>
+ */
+public class BackgroundFlushExecutor {
+  private static final long StopTimeoutMillis = 30_000L;
+
+  private final ExecutorService executor;
+  private final AtomicReference<Runnable> pendingCompletion;
+
+  private Consumer<Runnable> deliverer;
+  private boolean flushing;
+
+  /**
+   * Construct my state.
+   * @param name the String name of my I/O thread
+   */
+  public BackgroundFlushExecutor(final String name) {
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.pendingCompletion = new AtomicReference<>();
+    this.deliverer = Runnable::run;
+  }
+
+  /**
+   * Set the {@code deliverer} that runs completions on the owning actor, typically by
+   * sending them to the actor's own proxy.
+   * @param deliverer the {@code Consumer<Runnable>} that delivers completions to the actor
+   */
+  public void deliverCompletionsThrough(final Consumer<Runnable> deliverer) {
+    this.deliverer = deliverer;
+  }
+
+  /**
+   * Answer whether or not a flush is in flight.
+   * @return boolean
+   */
+  public boolean isFlushing() {
+    return flushing;
+  }
+
+  /**
+   * Run {@code flush} on my I/O thread and then deliver {@code completion} to the actor.
+   * @param flush the Runnable that writes and commits the swapped-out batch
+   * @param completion the Runnable that completes the appends of the batch on the actor
+   */
+  public void flush(final Runnable flush, final Runnable completion) {
+    if (flushing) {
+      throw new IllegalStateException("A flush is already in flight.");
+    }
+
+    flushing = true;
+
+    executor.submit(() -> {
+      try {
+        flush.run();
+      } finally {
+        pendingCompletion.set(completion);
+        deliverer.accept(this::completed);
+      }
+    });
+  }
+
+  /**
+   * Run {@code work} on my I/O thread after any flush in flight.
+   * @param work the Runnable database work
+   */
+  public void execute(final Runnable work) {
+    executor.execute(work);
+  }
+
+  /**
+   * Wait for all work in flight, stop my I/O thread, and run any undelivered completion
+   * on the caller, which must be the owning actor.
+   */
+  public void stop() {
+    executor.shutdown();
+    try {
+      executor.awaitTermination(StopTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    completed();
+  }
+
+  /**
+   * Run the completion of the flush that ended, if it was not already run.
+   */
+  private void completed() {
+    final Runnable completion = pendingCompletion.getAndSet(null);
+    if (completion != null) {
+      flushing = false;
+      completion.run();
+    }
+  }
+}
@@ -0,0 +1,27 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * The interest of a producer in the append budget of a batch writer with a
+ * {@code BackpressurePolicy.signal(...)} policy. It is informed on the writer's
+ * actor, so it should only hand the signal on, such as to an actor proxy.
+ */
+public interface BackpressureInterest {
+  /**
+   * Inform me that an accepted append exceeded the budget.
+   * @param metrics the AppendQueueMetrics after the append
+   */
+  void budgetExceeded(final AppendQueueMetrics metrics);
+
+  /**
+   * Inform me that the in-flight appends are back within the budget.
+   * @param metrics the AppendQueueMetrics after the appends were written
+   */
+  void budgetRecovered(final AppendQueueMetrics metrics);
+}
@@ -0,0 +1,98 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Decides what a batch writer does when its in-flight appends, those buffered and those
+ * being written but not yet completed, would exceed a budget of {@code maxEntries} entries
+ * or {@code maxBytes} estimated payload bytes. The {@code unbounded()} policy has no budget.
+ * <p>
+ * A {@code reject(...)} policy fails the append at once. A {@code delay(...)} policy holds
+ * the append back until the in-flight appends are written. A double-buffered writer parks
+ * it, and the appends after it, and admits them in order when its flush completes, so that
+ * its actor keeps serving its mailbox; a writer that writes on its actor first writes the
+ * buffered appends. A {@code signal(...)} policy accepts the append and tells its
+ * {@code BackpressureInterest} that the budget is exceeded, and later that it recovered.
+ * An append into an empty queue is always accepted, however large it is.
+ * </p>
+ */
+public class BackpressurePolicy {
+  public enum Action { Delay, Reject, Signal }
+
+  private static final BackpressurePolicy Unbounded = new BackpressurePolicy(Action.Signal, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+
+  public final Action action;
+  public final BackpressureInterest interest;
+  public final long maxBytes;
+  public final int maxEntries;
+
+  /**
+   * Answer the policy without a budget.
+   * @return BackpressurePolicy
+   */
+  public static BackpressurePolicy unbounded() {
+    return Unbounded;
+  }
+
+  /**
+   * Answer the policy that holds appends beyond the budget back until the in-flight appends are written.
+   * @param maxEntries the int maximum number of in-flight entries
+   * @param maxBytes the long maximum estimated bytes of in-flight payloads
+   * @return BackpressurePolicy
+   */
+  public static BackpressurePolicy delay(final int maxEntries, final long maxBytes) {
+    return new BackpressurePolicy(Action.Delay, maxEntries, maxBytes, null);
+  }
+
+  /**
+   * Answer the policy that fails appends beyond the budget.
+   * @param maxEntries the int maximum number of in-flight entries
+   * @param maxBytes the long maximum estimated bytes of in-flight payloads
+   * @return BackpressurePolicy
+   */
+  public static BackpressurePolicy reject(final int maxEntries, final long maxBytes) {
+    return new BackpressurePolicy(Action.Reject, maxEntries, maxBytes, null);
+  }
+
+  /**
+   * Answer the policy that accepts appends beyond the budget and signals {@code interest}.
+   * @param maxEntries the int maximum number of in-flight entries
+   * @param maxBytes the long maximum estimated bytes of in-flight payloads
+   * @param interest the BackpressureInterest to signal
+   * @return BackpressurePolicy
+   */
+  public static BackpressurePolicy signal(final int maxEntries, final long maxBytes, final BackpressureInterest interest) {
+    if (interest == null) {
+      throw new IllegalArgumentException("The backpressure interest must not be null.");
+    }
+    return new BackpressurePolicy(Action.Signal, maxEntries, maxBytes, interest);
+  }
+
+  private BackpressurePolicy(final Action action, final int maxEntries, final long maxBytes, final BackpressureInterest interest) {
+    if (maxEntries < 1 || maxBytes < 1) {
+      throw new IllegalArgumentException("The backpressure budget must be positive.");
+    }
+    this.action = action;
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+    this.interest = interest;
+  }
+
+  /**
+   * Answer whether or not I have a budget.
+   * @return boolean
+   */
+  public boolean isBounded() {
+    return this != Unbounded;
+  }
+
+  @Override
+  public String toString() {
+    return "BackpressurePolicy[action=" + action + " maxEntries=" + maxEntries + " maxBytes=" + maxBytes + "]";
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import com.google.gson.Gson;
+
+import io.vlingo.symbio.Metadata;
+
+/**
+ * The default {@code MetadataCodec}, which avoids JSON for the common metadata that has
+ * only a value and an operation, the two columns of the state store's metadata.
+ * <ul>
+ * <li>Empty metadata is encoded as the empty string, and decoded without parsing.</li>
+ * <li>Metadata with only a value and an operation is encoded as
+ * {@code #<operation length>:<operation><value>}, and decoded by two substrings.</li>
+ * <li>Metadata with an object is encoded as Gson JSON, as is all metadata stored
+ * before this codec, and JSON is decoded by Gson.</li>
+ * </ul>
+ */
+public class CompactMetadataCodec implements MetadataCodec {
+  private static final char CompactMarker = '#';
+
+  private final Gson gson;
+
+  /**
+   * Construct my state.
+   */
+  public CompactMetadataCodec() {
+    this.gson = new Gson();
+  }
+
+  @Override
+  public String encode(final Metadata metadata) {
+    if (metadata == null) {
+      return "";
+    }
+
+    if (hasObject(metadata)) {
+      return gson.toJson(metadata);
+    }
+
+    final String value = metadata.value == null ? "" : metadata.value;
+    final String operation = metadata.operation == null ? "" : metadata.operation;
+
+    if (value.isEmpty() && operation.isEmpty()) {
+      return "";
+    }
+
+    return new StringBuilder(value.length() + operation.length() + 8)
+            .append(CompactMarker)
+            .append(operation.length())
+            .append(':')
+            .append(operation)
+            .append(value)
+            .toString();
+  }
+
+  @Override
+  public Metadata decode(final String encoded) {
+    if (encoded == null || encoded.isEmpty()) {
+      return Metadata.nullMetadata();
+    }
+
+    if (encoded.charAt(0) != CompactMarker) {
+      return gson.fromJson(encoded, Metadata.class);
+    }
+
+    final int separator = encoded.indexOf(':');
+    if (separator < 0) {
+      throw new IllegalArgumentException("Malformed compact metadata: " + encoded);
+    }
+
+    final int operationStart = separator + 1;
+    final int valueStart = operationStart + Integer.parseInt(encoded.substring(1, separator));
+
+    return Metadata.with(encoded.substring(valueStart), encoded.substring(operationStart, valueStart));
+  }
+
+  /**
+   * Answer whether or not {@code metadata} has an object that Gson would encode, which
+   * excludes the anonymous empty object of {@code Metadata.nullMetadata()}, as Gson does.
+   */
+  private boolean hasObject(final Metadata metadata) {
+    return metadata.object != null && !metadata.object.getClass().isAnonymousClass();
+  }
+}
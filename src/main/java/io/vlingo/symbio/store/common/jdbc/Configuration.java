@@ -8,6 +8,7 @@
 package io.vlingo.symbio.store.common.jdbc;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -43,6 +44,7 @@ public class Configuration {
   public final String actualDatabaseName;
   public final Connection connection;
   public final ConnectionProvider connectionProvider;
+  public final ConnectionProvider readConnectionProvider;
   public final DatabaseType databaseType;
   public final DataFormat format;
   public final String originatorId;
@@ -51,11 +53,42 @@ public class Configuration {
 
   protected final ConfigurationInterest interest;
 
+  private ConnectionProvider actualConnectionProvider;
+  private Connection readConnection;
+
+  private DispatchConfirmationPolicy dispatchConfirmationPolicy = DispatchConfirmationPolicy.immediate();
+  private OffsetCommitPolicy offsetCommitPolicy = OffsetCommitPolicy.immediate();
+  private SnapshotRetentionPolicy snapshotRetentionPolicy = SnapshotRetentionPolicy.keepAll();
+  private EntityStreamCache entityStreamCache;
+  private FlushPolicy flushPolicy = FlushPolicy.fixed();
+  private BackpressurePolicy backpressurePolicy = BackpressurePolicy.unbounded();
+  private MetadataCodec metadataCodec = new CompactMetadataCodec();
+  private PayloadCompressionPolicy payloadCompressionPolicy = PayloadCompressionPolicy.none();
+  private ReadAheadPolicy readAheadPolicy = ReadAheadPolicy.none();
+  private AppendNotificationPolicy appendNotificationPolicy = AppendNotificationPolicy.none();
+  private TypeDictionary typeDictionary = TypeDictionary.none();
+
   public static Configuration cloneOf(final Configuration other) {
     try {
-      return new Configuration(other.databaseType, other.interest, other.connectionProvider.driverClassname, other.format,
-              other.connectionProvider.url, other.actualDatabaseName, other.connectionProvider.username, other.connectionProvider.password, other.connectionProvider.useSSL,
-              other.originatorId, other.createTables, other.transactionTimeoutMillis, true);
+      final Configuration clone =
+              new Configuration(other.databaseType, other.interest, other.format, other.actualConnectionProvider(), other.readConnectionProvider,
+                      other.originatorId, other.createTables, other.transactionTimeoutMillis, true)
+                      .withDispatchConfirmationPolicy(other.dispatchConfirmationPolicy)
+                      .withOffsetCommitPolicy(other.offsetCommitPolicy)
+                      .withSnapshotRetentionPolicy(other.snapshotRetentionPolicy)
+                      .withFlushPolicy(other.flushPolicy)
+                      .withBackpressurePolicy(other.backpressurePolicy)
+                      .withMetadataCodec(other.metadataCodec)
+                      .withPayloadCompressionPolicy(other.payloadCompressionPolicy)
+                      .withReadAheadPolicy(other.readAheadPolicy)
+                      .withAppendNotificationPolicy(other.appendNotificationPolicy);
+
+      // the clone shares the cache, so that the writer and readers of a journal see the same streams
+      clone.entityStreamCache = other.entityStreamCache;
+      // and the dictionary, so that they see the same types
+      clone.typeDictionary = other.typeDictionary;
+
+      return clone;
     } catch (Exception e) {
       throw new IllegalArgumentException("Cannot clone the configuration for " + other.connectionProvider.url + " because: " + e.getMessage(), e);
     }
@@ -118,6 +151,74 @@ public class Configuration {
             useSSL, originatorId, createTables, DefaultTransactionTimeout, false);
   }
 
+  /**
+   * Constructs my state using the given {@code connectionProvider}, which may be
+   * pooled. A pooled {@code connectionProvider} is shared by my clones, so that all
+   * stores created from me lease their connections from the same bounded pool.
+   * <p>
+   * My {@code connection} is leased when I am constructed and held until I am closed,
+   * and so is that of every clone, such as those of the dispatcher control delegates
+   * and of the shards of a {@code ShardedJDBCJournalActor}, because their writes keep
+   * transactions and prepared statements on it. Each {@code dedicatedConnection()}
+   * is also held for the life of its user, such as a journal tail, an entry cursor
+   * stream, a double-buffered journal writer or the batch fetcher of a journal reader
+   * with read-ahead. The pool bounds these long leases,
+   * so its {@code maximumSize} must be at least their number, or the stores created
+   * last wait for a connection and fail after the acquire timeout. Reads of entity
+   * streams instead lease a connection per read from {@code leaseReadConnection()},
+   * and return it as soon as the read is done.
+   * </p>
+   * @param databaseType the DatabaseType
+   * @param interest the ConfigurationInterest
+   * @param format the DataFormat
+   * @param connectionProvider the ConnectionProvider of my connections
+   * @param originatorId the String originator identity
+   * @param createTables the boolean indicating whether or not tables are created
+   * @param transactionTimeoutMillis the long transaction timeout
+   * @throws Exception when the connection cannot be established
+   */
+  public Configuration(
+          final DatabaseType databaseType,
+          final ConfigurationInterest interest,
+          final DataFormat format,
+          final ConnectionProvider connectionProvider,
+          final String originatorId,
+          final boolean createTables,
+          final long transactionTimeoutMillis)
+    throws Exception {
+    this(databaseType, interest, format, connectionProvider, null, originatorId, createTables, transactionTimeoutMillis, false);
+  }
+
+  /**
+   * Constructs my state using separate providers for writes and reads. Write
+   * connections are transactional, while read connections are read-only and
+   * auto-commit, and may point to a replica. Reads then never queue behind
+   * the write transaction. My {@code readConnection()} is leased when first used
+   * and held until I am closed, while reads of entity streams lease one per read
+   * when the {@code readConnectionProvider} is pooled.
+   * @param databaseType the DatabaseType
+   * @param interest the ConfigurationInterest
+   * @param format the DataFormat
+   * @param connectionProvider the ConnectionProvider of my write connections
+   * @param readConnectionProvider the ConnectionProvider of my read connections
+   * @param originatorId the String originator identity
+   * @param createTables the boolean indicating whether or not tables are created
+   * @param transactionTimeoutMillis the long transaction timeout
+   * @throws Exception when a connection cannot be established
+   */
+  public Configuration(
+          final DatabaseType databaseType,
+          final ConfigurationInterest interest,
+          final DataFormat format,
+          final ConnectionProvider connectionProvider,
+          final ConnectionProvider readConnectionProvider,
+          final String originatorId,
+          final boolean createTables,
+          final long transactionTimeoutMillis)
+    throws Exception {
+    this(databaseType, interest, format, connectionProvider, readConnectionProvider, originatorId, createTables, transactionTimeoutMillis, false);
+  }
+
   private Configuration(
           final DatabaseType databaseType,
           final ConfigurationInterest interest,
@@ -133,24 +234,403 @@ public class Configuration {
           final long transactionTimeoutMillis,
           final boolean reuseDatabaseName)
     throws Exception {
+    this(databaseType, interest, format, new ConnectionProvider(driverClassname, url, databaseName, username, password, useSSL), null,
+            originatorId, createTables, transactionTimeoutMillis, reuseDatabaseName);
+  }
+
+  private Configuration(
+          final DatabaseType databaseType,
+          final ConfigurationInterest interest,
+          final DataFormat format,
+          final ConnectionProvider connectionProvider,
+          final ConnectionProvider readConnectionProvider,
+          final String originatorId,
+          final boolean createTables,
+          final long transactionTimeoutMillis,
+          final boolean reuseDatabaseName)
+    throws Exception {
 
     this.databaseType = databaseType;
     this.interest = interest;
     this.format = format;
-    this.connectionProvider = new ConnectionProvider(driverClassname, url, databaseName, username, password, useSSL);
-    this.actualDatabaseName = reuseDatabaseName ? databaseName : actualDatabaseName(databaseName);
+    this.connectionProvider = connectionProvider;
+    this.readConnectionProvider = readConnectionProvider;
+    this.actualDatabaseName = reuseDatabaseName ? connectionProvider.databaseName : actualDatabaseName(connectionProvider.databaseName);
     this.originatorId = originatorId;
     this.createTables = createTables;
     this.transactionTimeoutMillis = transactionTimeoutMillis;
     beforeConnect();
     this.connection = connect();
+    this.readConnection = readConnectionProvider == null ? connection : null;
     afterConnect();
   }
 
+  /**
+   * Answer the {@code DispatchConfirmationPolicy} used by the dispatcher control
+   * delegates created with me, which is {@code DispatchConfirmationPolicy.immediate()}
+   * unless set by {@code withDispatchConfirmationPolicy(policy)}.
+   * @return DispatchConfirmationPolicy
+   */
+  public DispatchConfirmationPolicy dispatchConfirmationPolicy() {
+    return dispatchConfirmationPolicy;
+  }
+
+  /**
+   * Set the {@code DispatchConfirmationPolicy} used by the dispatcher control
+   * delegates created with me, and answer me.
+   * @param dispatchConfirmationPolicy the DispatchConfirmationPolicy to use
+   * @return Configuration
+   */
+  public Configuration withDispatchConfirmationPolicy(final DispatchConfirmationPolicy dispatchConfirmationPolicy) {
+    if (dispatchConfirmationPolicy == null) {
+      throw new IllegalArgumentException("The dispatch confirmation policy must not be null.");
+    }
+    this.dispatchConfirmationPolicy = dispatchConfirmationPolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code OffsetCommitPolicy} used by the entry readers created with me,
+   * which is {@code OffsetCommitPolicy.immediate()} unless set by
+   * {@code withOffsetCommitPolicy(policy)}.
+   * @return OffsetCommitPolicy
+   */
+  public OffsetCommitPolicy offsetCommitPolicy() {
+    return offsetCommitPolicy;
+  }
+
+  /**
+   * Set the {@code OffsetCommitPolicy} used by the entry readers created with me, and answer me.
+   * @param offsetCommitPolicy the OffsetCommitPolicy to use
+   * @return Configuration
+   */
+  public Configuration withOffsetCommitPolicy(final OffsetCommitPolicy offsetCommitPolicy) {
+    if (offsetCommitPolicy == null) {
+      throw new IllegalArgumentException("The offset commit policy must not be null.");
+    }
+    this.offsetCommitPolicy = offsetCommitPolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code SnapshotRetentionPolicy} of the journals created with me,
+   * which is {@code SnapshotRetentionPolicy.keepAll()} unless set by
+   * {@code withSnapshotRetentionPolicy(policy)}.
+   * @return SnapshotRetentionPolicy
+   */
+  public SnapshotRetentionPolicy snapshotRetentionPolicy() {
+    return snapshotRetentionPolicy;
+  }
+
+  /**
+   * Set the {@code SnapshotRetentionPolicy} of the journals created with me, and answer me.
+   * @param snapshotRetentionPolicy the SnapshotRetentionPolicy to use
+   * @return Configuration
+   */
+  public Configuration withSnapshotRetentionPolicy(final SnapshotRetentionPolicy snapshotRetentionPolicy) {
+    if (snapshotRetentionPolicy == null) {
+      throw new IllegalArgumentException("The snapshot retention policy must not be null.");
+    }
+    this.snapshotRetentionPolicy = snapshotRetentionPolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code FlushPolicy} of the batching journal writers created with me,
+   * which is {@code FlushPolicy.fixed()} unless set by {@code withFlushPolicy(policy)}.
+   * @return FlushPolicy
+   */
+  public FlushPolicy flushPolicy() {
+    return flushPolicy;
+  }
+
+  /**
+   * Set the {@code FlushPolicy} of the batching journal writers created with me, and answer me.
+   * @param flushPolicy the FlushPolicy to use
+   * @return Configuration
+   */
+  public Configuration withFlushPolicy(final FlushPolicy flushPolicy) {
+    if (flushPolicy == null) {
+      throw new IllegalArgumentException("The flush policy must not be null.");
+    }
+    this.flushPolicy = flushPolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code BackpressurePolicy} of the batching journal writers created with me,
+   * which is {@code BackpressurePolicy.unbounded()} unless set by {@code withBackpressurePolicy(policy)}.
+   * @return BackpressurePolicy
+   */
+  public BackpressurePolicy backpressurePolicy() {
+    return backpressurePolicy;
+  }
+
+  /**
+   * Set the {@code BackpressurePolicy} of the batching journal writers created with me, and answer me.
+   * Each writer has its own budget.
+   * @param backpressurePolicy the BackpressurePolicy to use
+   * @return Configuration
+   */
+  public Configuration withBackpressurePolicy(final BackpressurePolicy backpressurePolicy) {
+    if (backpressurePolicy == null) {
+      throw new IllegalArgumentException("The backpressure policy must not be null.");
+    }
+    this.backpressurePolicy = backpressurePolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code MetadataCodec} with which the journals created with me encode and
+   * decode the metadata of their entries, snapshots and dispatchables, which is a
+   * {@code CompactMetadataCodec} unless set by {@code withMetadataCodec(codec)}.
+   * @return MetadataCodec
+   */
+  public MetadataCodec metadataCodec() {
+    return metadataCodec;
+  }
+
+  /**
+   * Set the {@code MetadataCodec} of the journals created with me, and answer me.
+   * @param metadataCodec the MetadataCodec to use
+   * @return Configuration
+   */
+  public Configuration withMetadataCodec(final MetadataCodec metadataCodec) {
+    if (metadataCodec == null) {
+      throw new IllegalArgumentException("The metadata codec must not be null.");
+    }
+    this.metadataCodec = metadataCodec;
+    return this;
+  }
+
+  /**
+   * Answer the {@code PayloadCompressionPolicy} of the entry and snapshot payloads of the
+   * journals created with me, which applies only when my {@code format} is binary and is
+   * {@code PayloadCompressionPolicy.none()} unless set by {@code withPayloadCompressionPolicy(policy)}.
+   * @return PayloadCompressionPolicy
+   */
+  public PayloadCompressionPolicy payloadCompressionPolicy() {
+    return payloadCompressionPolicy;
+  }
+
+  /**
+   * Set the {@code PayloadCompressionPolicy} of the journals created with me, and answer me.
+   * @param payloadCompressionPolicy the PayloadCompressionPolicy to use
+   * @return Configuration
+   */
+  public Configuration withPayloadCompressionPolicy(final PayloadCompressionPolicy payloadCompressionPolicy) {
+    if (payloadCompressionPolicy == null) {
+      throw new IllegalArgumentException("The payload compression policy must not be null.");
+    }
+    this.payloadCompressionPolicy = payloadCompressionPolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code ReadAheadPolicy} of the journal readers created with me, which
+   * prefetches nothing unless set by {@code withReadAheadPolicy(readAheadPolicy)}.
+   * @return ReadAheadPolicy
+   */
+  public ReadAheadPolicy readAheadPolicy() {
+    return readAheadPolicy;
+  }
+
+  /**
+   * Set the {@code ReadAheadPolicy} of the journal readers created with me, and answer me.
+   * @param readAheadPolicy the ReadAheadPolicy to follow
+   * @return Configuration
+   */
+  public Configuration withReadAheadPolicy(final ReadAheadPolicy readAheadPolicy) {
+    if (readAheadPolicy == null) {
+      throw new IllegalArgumentException("The read-ahead policy must not be null.");
+    }
+    this.readAheadPolicy = readAheadPolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code AppendNotificationPolicy} of the journals created with me, which
+   * notifies no one unless set by {@code withAppendNotificationPolicy(policy)}.
+   * @return AppendNotificationPolicy
+   */
+  public AppendNotificationPolicy appendNotificationPolicy() {
+    return appendNotificationPolicy;
+  }
+
+  /**
+   * Set the {@code AppendNotificationPolicy} of the journals created with me, and answer me.
+   * @param appendNotificationPolicy the AppendNotificationPolicy to follow
+   * @return Configuration
+   */
+  public Configuration withAppendNotificationPolicy(final AppendNotificationPolicy appendNotificationPolicy) {
+    if (appendNotificationPolicy == null) {
+      throw new IllegalArgumentException("The append notification policy must not be null.");
+    }
+    this.appendNotificationPolicy = appendNotificationPolicy;
+    return this;
+  }
+
+  /**
+   * Answer the {@code EntityStreamCache} shared by the writer and stream readers of the
+   * journals created with me, or null if their streams are not cached, which is the
+   * default unless set by {@code withEntityStreamCache(cache)}.
+   * @return EntityStreamCache
+   */
+  public EntityStreamCache entityStreamCache() {
+    return entityStreamCache;
+  }
+
+  /**
+   * Answer whether or not the journals created with me cache their streams.
+   * @return boolean
+   */
+  public boolean hasEntityStreamCache() {
+    return entityStreamCache != null;
+  }
+
+  /**
+   * Set the {@code EntityStreamCache} of the journals created with me, and answer me.
+   * The cache must only be used when the journal is the only writer of its streams.
+   * @param entityStreamCache the EntityStreamCache to use
+   * @return Configuration
+   */
+  public Configuration withEntityStreamCache(final EntityStreamCache entityStreamCache) {
+    if (entityStreamCache == null) {
+      throw new IllegalArgumentException("The entity stream cache must not be null.");
+    }
+    this.entityStreamCache = entityStreamCache;
+    return this;
+  }
+
+  /**
+   * Answer the {@code TypeDictionary} shared by the writers and readers of the journals
+   * and state stores created with me, which stores type names as they are unless set by
+   * {@code withTypeDictionary(typeDictionary)}.
+   * @return TypeDictionary
+   */
+  public TypeDictionary typeDictionary() {
+    return typeDictionary;
+  }
+
+  /**
+   * Set the {@code TypeDictionary} of the journals and state stores created with me, and answer me.
+   * Once entries and states are stored with its tokens, every reader of them must use it.
+   * @param typeDictionary the TypeDictionary to use
+   * @return Configuration
+   */
+  public Configuration withTypeDictionary(final TypeDictionary typeDictionary) {
+    if (typeDictionary == null) {
+      throw new IllegalArgumentException("The type dictionary must not be null.");
+    }
+    this.typeDictionary = typeDictionary;
+    return this;
+  }
+
+  /**
+   * Answer a {@code Connection} to my actual database other than my {@code connection},
+   * for a single user such as a writer thread or a cursor that must not share its
+   * transactions, and which closes it when done. It is leased from the pool of the
+   * provider of my actual database if that is pooled.
+   * @return Connection
+   */
+  public Connection dedicatedConnection() {
+    return actualConnectionProvider().connection();
+  }
+
+  /**
+   * Answer the {@code Connection} to be used for reads, which is my
+   * {@code connection} unless I was given a {@code readConnectionProvider},
+   * in which case it is connected when first used.
+   * @return Connection
+   */
+  public synchronized Connection readConnection() {
+    if (readConnection == null) {
+      try {
+        readConnection = connectForRead();
+      } catch (Exception e) {
+        throw new IllegalStateException(getClass().getSimpleName() + ": Cannot connect for reads because: " + e.getMessage(), e);
+      }
+    }
+    return readConnection;
+  }
+
+  /**
+   * Answer whether or not my reads use a connection other than my {@code connection}.
+   * @return boolean
+   */
+  public boolean hasSeparateReadConnection() {
+    return readConnectionProvider != null;
+  }
+
+  /**
+   * Answer whether or not a single read can lease its own {@code Connection}
+   * from a pool by {@code leaseReadConnection()}.
+   * @return boolean
+   */
+  public boolean hasPooledReads() {
+    return readProvider().isPooled();
+  }
+
+  /**
+   * Answer a read-only, auto-commit {@code Connection} leased for a single read
+   * from the pool of my {@code readConnectionProvider}, or of the provider of my
+   * actual database if I have none. The caller closes it as soon as the read is
+   * done, which returns it to the pool.
+   * @return Connection
+   * @throws SQLException if the Connection cannot be prepared for reads
+   */
+  public Connection leaseReadConnection() throws SQLException {
+    final Connection lease = readProvider().connection();
+    try {
+      lease.setAutoCommit(true);
+      lease.setReadOnly(true);
+      return lease;
+    } catch (SQLException e) {
+      lease.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Close my {@code connection} and read connection, which returns them to their
+   * pools if leased, and close the provider of my actual database if I created it
+   * for a database other than that of my {@code connectionProvider}. The providers
+   * given to me are shared with my clones, and so are closed by their owner.
+   */
+  public void close() {
+    close(connection);
+    synchronized (this) {
+      if (readConnection != null && readConnection != connection) {
+        close(readConnection);
+      }
+      if (actualConnectionProvider != null && actualConnectionProvider != connectionProvider) {
+        actualConnectionProvider.close();
+      }
+    }
+  }
+
   protected String actualDatabaseName(final String databaseName) {
     return connectionProvider.databaseName;
   }
 
+  /**
+   * Answer the {@code ConnectionProvider} of my actual database, which is my
+   * {@code connectionProvider} unless my actual database is another, such as
+   * that of a {@code TestConfiguration}. That copy is created once and owned
+   * by me, so that its pool, if any, is shared by my dedicated connections
+   * and clones and is closed when I am.
+   * @return ConnectionProvider
+   */
+  protected synchronized ConnectionProvider actualConnectionProvider() {
+    if (actualConnectionProvider == null) {
+      actualConnectionProvider =
+              actualDatabaseName.equals(connectionProvider.databaseName) ?
+                      connectionProvider :
+                      connectionProvider.copyReplacing(actualDatabaseName);
+    }
+    return actualConnectionProvider;
+  }
+
   protected void afterConnect() throws Exception {
     interest.afterConnect(connection);
   }
@@ -163,6 +643,25 @@ public class Configuration {
     return connectionProvider.connection();
   }
 
+  private void close(final Connection connection) {
+    try {
+      connection.close();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+
+  private ConnectionProvider readProvider() {
+    return readConnectionProvider == null ? actualConnectionProvider() : readConnectionProvider;
+  }
+
+  protected Connection connectForRead() throws Exception {
+    final Connection readConnection = readConnectionProvider.connection();
+    readConnection.setAutoCommit(true);
+    readConnection.setReadOnly(true);
+    return readConnection;
+  }
+
   public interface ConfigurationInterest {
     void afterConnect(final Connection connection) throws Exception;
     void beforeConnect(final Configuration configuration) throws Exception;
@@ -219,8 +718,7 @@ public class Configuration {
       try (final Statement statement = connection.createStatement()) {
         interest.createDatabase(connection, actualDatabaseName);
         connection.close();
-        final ConnectionProvider copy = connectionProvider.copyReplacing(actualDatabaseName);
-        return copy.connection();
+        return actualConnectionProvider().connection();
       }  catch (Exception e) {
         throw new IllegalStateException(getClass().getSimpleName() + ": Cannot connect because the server or database unavilable, or wrong credentials.", e);
       }
@@ -228,7 +726,7 @@ public class Configuration {
 
     private Connection swapConnections() {
       try {
-        connection.close();
+        close();
         return connectionProvider.connection();
       } catch (Exception e) {
         throw new IllegalStateException(getClass().getSimpleName() + ": Cannot swap database to owner's because: " + e.getMessage(), e);
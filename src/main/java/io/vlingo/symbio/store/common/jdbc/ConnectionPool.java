@@ -0,0 +1,377 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import io.vlingo.actors.Logger;
+
+/**
+ * A bounded pool of {@code Connection} instances. Leased connections are
+ * returned to the pool when closed by the client, so a lease is naturally
+ * scoped with try-with-resources. Connections are validated on borrow,
+ * idle connections above the minimum size are evicted, and leases held
+ * longer than the configured threshold are reported as leaks to my
+ * {@code Logger}, together with the stack trace of their acquisition.
+ */
+public class ConnectionPool {
+  private static final long ValidationBypassMillis = 500;
+
+  private final ConnectionPoolConfiguration configuration;
+  private final Supplier<Connection> connectionFactory;
+  private final Logger logger;
+  private final String name;
+  private final Semaphore permits;
+  private final LinkedBlockingDeque<PooledConnection> idle;
+  private final Set<PooledConnection> leased;
+  private final AtomicInteger total;
+  private final AtomicInteger pending;
+  private final AtomicLong acquired;
+  private final AtomicLong created;
+  private final AtomicLong evicted;
+  private final AtomicLong leaked;
+  private final AtomicLong timedOut;
+  private final AtomicLong maxWaitMillis;
+  private final AtomicLong totalWaitMillis;
+  private final AtomicLongArray waitTimeHistogram;
+  private final ScheduledExecutorService housekeeper;
+
+  private volatile boolean closed;
+
+  /**
+   * Construct my state and open my minimum number of connections, reporting to the basic {@code Logger}.
+   * @param name the String name of the pool used in diagnostics
+   * @param configuration the ConnectionPoolConfiguration with my sizing and housekeeping settings
+   * @param connectionFactory the {@code Supplier<Connection>} that opens new physical connections
+   */
+  public ConnectionPool(final String name, final ConnectionPoolConfiguration configuration, final Supplier<Connection> connectionFactory) {
+    this(name, configuration, connectionFactory, Logger.basicLogger());
+  }
+
+  /**
+   * Construct my state and open my minimum number of connections.
+   * @param name the String name of the pool used in diagnostics
+   * @param configuration the ConnectionPoolConfiguration with my sizing and housekeeping settings
+   * @param connectionFactory the {@code Supplier<Connection>} that opens new physical connections
+   * @param logger the Logger of my leak reports and housekeeping failures
+   */
+  public ConnectionPool(
+          final String name,
+          final ConnectionPoolConfiguration configuration,
+          final Supplier<Connection> connectionFactory,
+          final Logger logger) {
+    this.name = name;
+    this.configuration = configuration;
+    this.connectionFactory = connectionFactory;
+    this.logger = logger;
+    this.permits = new Semaphore(configuration.maximumSize, true);
+    this.idle = new LinkedBlockingDeque<>();
+    this.leased = ConcurrentHashMap.newKeySet();
+    this.total = new AtomicInteger(0);
+    this.pending = new AtomicInteger(0);
+    this.acquired = new AtomicLong(0);
+    this.created = new AtomicLong(0);
+    this.evicted = new AtomicLong(0);
+    this.leaked = new AtomicLong(0);
+    this.timedOut = new AtomicLong(0);
+    this.maxWaitMillis = new AtomicLong(0);
+    this.totalWaitMillis = new AtomicLong(0);
+    this.waitTimeHistogram = new AtomicLongArray(ConnectionPoolMetrics.WaitTimeBucketBoundsMillis.length + 1);
+
+    this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "vlingo-symbio-jdbc-pool-" + name);
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    fillToMinimum();
+
+    this.housekeeper.scheduleWithFixedDelay(this::houseKeeping,
+            configuration.housekeepingIntervalMillis, configuration.housekeepingIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Answer a leased {@code Connection}, waiting up to the configured acquire
+   * timeout for one to become available. The lease ends when the answered
+   * {@code Connection} is closed, which returns the physical connection to me.
+   * @return Connection
+   */
+  public Connection acquire() {
+    if (closed) {
+      throw new IllegalStateException(getClass().getSimpleName() + ": " + name + " is closed.");
+    }
+
+    final long start = System.nanoTime();
+
+    pending.incrementAndGet();
+    try {
+      if (!permits.tryAcquire(configuration.acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        timedOut.incrementAndGet();
+        throw new IllegalStateException(getClass().getSimpleName() + ": " + name + " could not acquire a connection within "
+                + configuration.acquireTimeoutMillis + " ms; " + metrics());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(getClass().getSimpleName() + ": " + name + " interrupted while acquiring a connection.", e);
+    } finally {
+      pending.decrementAndGet();
+    }
+
+    try {
+      final PooledConnection pooled = borrow();
+      recordWait(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+      return pooled.lease();
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Close all idle connections and stop housekeeping. Connections that are
+   * still leased are closed physically when their lease ends.
+   */
+  public void close() {
+    closed = true;
+    housekeeper.shutdownNow();
+    PooledConnection pooled;
+    while ((pooled = idle.pollFirst()) != null) {
+      discard(pooled);
+    }
+  }
+
+  /**
+   * Answer whether or not I have been closed.
+   * @return boolean
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Answer a snapshot of my current metrics.
+   * @return ConnectionPoolMetrics
+   */
+  public ConnectionPoolMetrics metrics() {
+    final long[] histogram = new long[waitTimeHistogram.length()];
+    for (int index = 0; index < histogram.length; ++index) {
+      histogram[index] = waitTimeHistogram.get(index);
+    }
+    return new ConnectionPoolMetrics(leased.size(), idle.size(), pending.get(), acquired.get(), created.get(), evicted.get(),
+            leaked.get(), timedOut.get(), maxWaitMillis.get(), totalWaitMillis.get(), histogram);
+  }
+
+  /**
+   * Answer my name.
+   * @return String
+   */
+  public String name() {
+    return name;
+  }
+
+  private PooledConnection borrow() {
+    PooledConnection pooled;
+    while ((pooled = idle.pollFirst()) != null) {
+      if (isValid(pooled)) {
+        return pooled;
+      }
+      discard(pooled);
+    }
+    return open();
+  }
+
+  private void discard(final PooledConnection pooled) {
+    total.decrementAndGet();
+    evicted.incrementAndGet();
+    try {
+      pooled.connection.close();
+    } catch (Exception e) {
+      // ignore
+    }
+  }
+
+  private void fillToMinimum() {
+    while (!closed && total.get() < configuration.minimumSize) {
+      // an opening connection holds a permit, as a lease does, so that I never exceed my maximum size
+      if (!permits.tryAcquire()) {
+        return;
+      }
+      try {
+        if (total.get() < configuration.minimumSize) {
+          idle.addLast(open());
+        }
+      } catch (Exception e) {
+        logger.error(getClass().getSimpleName() + ": " + name + " could not open minimum connections because: " + e.getMessage(), e);
+        return;
+      } finally {
+        permits.release();
+      }
+    }
+  }
+
+  private void houseKeeping() {
+    try {
+      final long now = System.currentTimeMillis();
+
+      if (configuration.idleTimeoutMillis > 0) {
+        final Iterator<PooledConnection> iterator = idle.descendingIterator();
+        while (iterator.hasNext() && total.get() > configuration.minimumSize) {
+          final PooledConnection pooled = iterator.next();
+          if (now - pooled.lastUsed > configuration.idleTimeoutMillis && idle.removeLastOccurrence(pooled)) {
+            discard(pooled);
+          }
+        }
+      }
+
+      if (configuration.leakDetectionThresholdMillis > 0) {
+        for (final PooledConnection pooled : leased) {
+          if (!pooled.leakReported && now - pooled.leasedAt > configuration.leakDetectionThresholdMillis) {
+            pooled.leakReported = true;
+            leaked.incrementAndGet();
+            logger.error(getClass().getSimpleName() + ": " + name + " connection leased for more than "
+                    + configuration.leakDetectionThresholdMillis + " ms; possible leak acquired at:", pooled.leaseTrace);
+          }
+        }
+      }
+
+      fillToMinimum();
+    } catch (Throwable t) {
+      logger.error(getClass().getSimpleName() + ": " + name + " housekeeping failed because: " + t.getMessage(), t);
+    }
+  }
+
+  private boolean isValid(final PooledConnection pooled) {
+    if (System.currentTimeMillis() - pooled.lastUsed < ValidationBypassMillis) {
+      return true;
+    }
+    try {
+      return pooled.connection.isValid(configuration.validationTimeoutSeconds);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private PooledConnection open() {
+    final Connection connection = connectionFactory.get();
+    total.incrementAndGet();
+    created.incrementAndGet();
+    return new PooledConnection(connection);
+  }
+
+  private void recordWait(final long waitMillis) {
+    acquired.incrementAndGet();
+    totalWaitMillis.addAndGet(waitMillis);
+    maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+    waitTimeHistogram.incrementAndGet(ConnectionPoolMetrics.bucketOf(waitMillis));
+  }
+
+  private void release(final PooledConnection pooled) {
+    leased.remove(pooled);
+    try {
+      if (closed || pooled.connection.isClosed() || total.get() > configuration.maximumSize) {
+        discard(pooled);
+        return;
+      }
+      if (!pooled.connection.getAutoCommit()) {
+        pooled.connection.rollback();
+      } else {
+        pooled.connection.setAutoCommit(false);
+      }
+      if (pooled.connection.isReadOnly()) {
+        pooled.connection.setReadOnly(false);
+      }
+      pooled.lastUsed = System.currentTimeMillis();
+      idle.addFirst(pooled);
+    } catch (SQLException e) {
+      discard(pooled);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private final class PooledConnection {
+    final Connection connection;
+    volatile long lastUsed;
+    volatile long leasedAt;
+    volatile boolean leakReported;
+    volatile Throwable leaseTrace;
+
+    PooledConnection(final Connection connection) {
+      this.connection = connection;
+      this.lastUsed = System.currentTimeMillis();
+    }
+
+    Connection lease() {
+      leasedAt = System.currentTimeMillis();
+      leakReported = false;
+      leaseTrace = configuration.leakDetectionThresholdMillis > 0 ? new Throwable("Connection lease") : null;
+      leased.add(this);
+      return (Connection) Proxy.newProxyInstance(
+              ConnectionPool.class.getClassLoader(),
+              new Class<?>[] { Connection.class },
+              new Lease(this));
+    }
+  }
+
+  private final class Lease implements InvocationHandler {
+    private final PooledConnection pooled;
+    private boolean released;
+
+    Lease(final PooledConnection pooled) {
+      this.pooled = pooled;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] arguments) throws Throwable {
+      switch (method.getName()) {
+      case "close":
+        synchronized (this) {
+          if (!released) {
+            released = true;
+            release(pooled);
+          }
+        }
+        return null;
+      case "isClosed":
+        return released || pooled.connection.isClosed();
+      case "equals":
+        return proxy == arguments[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return "PooledConnection[" + name + ": " + pooled.connection + "]";
+      default:
+        if (released) {
+          throw new SQLException("Connection is closed.");
+        }
+        try {
+          return method.invoke(pooled.connection, arguments);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+      }
+    }
+  }
+}
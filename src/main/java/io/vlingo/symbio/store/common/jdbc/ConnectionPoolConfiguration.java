@@ -0,0 +1,123 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * The sizing and housekeeping settings of a {@code ConnectionPool}.
+ * <p>
+ * The stores do not lease a connection per operation. Each {@code Configuration}
+ * and each of its clones holds its write connection, and its read connection when
+ * it has a separate read provider, for as long as it is open, and so does each user
+ * of a dedicated connection. The {@code maximumSize} must cover all of these leases,
+ * for example a journal with a double-buffered writer, a tail and a dispatcher
+ * control delegate on a clone of its configuration holds four connections, and a
+ * sharded journal one more for each shard. Leases beyond the maximum wait for {@code acquireTimeoutMillis} and fail.
+ * </p>
+ */
+public class ConnectionPoolConfiguration {
+  public static final int DefaultMinimumSize = 1;
+  public static final int DefaultMaximumSize = 10;
+  public static final long DefaultAcquireTimeoutMillis = 30 * 1000L;        // 30 seconds
+  public static final int DefaultValidationTimeoutSeconds = 5;
+  public static final long DefaultIdleTimeoutMillis = 10 * 60 * 1000L;      // 10 minutes
+  public static final long DefaultLeakDetectionThresholdMillis = 0L;        // disabled
+  public static final long DefaultHousekeepingIntervalMillis = 30 * 1000L;  // 30 seconds
+
+  public final int minimumSize;
+  public final int maximumSize;
+  public final long acquireTimeoutMillis;
+  public final int validationTimeoutSeconds;
+  public final long idleTimeoutMillis;
+  public final long leakDetectionThresholdMillis;
+  public final long housekeepingIntervalMillis;
+
+  /**
+   * Answer a new {@code ConnectionPoolConfiguration} with all default settings.
+   * @return ConnectionPoolConfiguration
+   */
+  public static ConnectionPoolConfiguration defaults() {
+    return with(DefaultMinimumSize, DefaultMaximumSize);
+  }
+
+  /**
+   * Answer a new {@code ConnectionPoolConfiguration} with the given sizes and default timeouts.
+   * @param minimumSize the int number of connections kept open even when idle
+   * @param maximumSize the int upper bound of open connections
+   * @return ConnectionPoolConfiguration
+   */
+  public static ConnectionPoolConfiguration with(final int minimumSize, final int maximumSize) {
+    return new ConnectionPoolConfiguration(minimumSize, maximumSize, DefaultAcquireTimeoutMillis, DefaultValidationTimeoutSeconds,
+            DefaultIdleTimeoutMillis, DefaultLeakDetectionThresholdMillis, DefaultHousekeepingIntervalMillis);
+  }
+
+  public ConnectionPoolConfiguration(
+          final int minimumSize,
+          final int maximumSize,
+          final long acquireTimeoutMillis,
+          final int validationTimeoutSeconds,
+          final long idleTimeoutMillis,
+          final long leakDetectionThresholdMillis,
+          final long housekeepingIntervalMillis) {
+    if (minimumSize < 0 || maximumSize < 1 || minimumSize > maximumSize) {
+      throw new IllegalArgumentException("Pool sizes must satisfy 0 <= minimumSize <= maximumSize and maximumSize >= 1.");
+    }
+    if (acquireTimeoutMillis < 0 || validationTimeoutSeconds < 0 || idleTimeoutMillis < 0 || leakDetectionThresholdMillis < 0) {
+      throw new IllegalArgumentException("Pool timeouts must not be negative.");
+    }
+    if (housekeepingIntervalMillis < 1) {
+      throw new IllegalArgumentException("Pool housekeeping interval must be positive.");
+    }
+    this.minimumSize = minimumSize;
+    this.maximumSize = maximumSize;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    this.housekeepingIntervalMillis = housekeepingIntervalMillis;
+  }
+
+  /**
+   * Answer a copy of me but with the given {@code acquireTimeoutMillis}.
+   * @param acquireTimeoutMillis the long maximum time to wait for a connection
+   * @return ConnectionPoolConfiguration
+   */
+  public ConnectionPoolConfiguration withAcquireTimeout(final long acquireTimeoutMillis) {
+    return new ConnectionPoolConfiguration(minimumSize, maximumSize, acquireTimeoutMillis, validationTimeoutSeconds,
+            idleTimeoutMillis, leakDetectionThresholdMillis, housekeepingIntervalMillis);
+  }
+
+  /**
+   * Answer a copy of me but with the given {@code idleTimeoutMillis}.
+   * @param idleTimeoutMillis the long time after which connections above {@code minimumSize} are evicted
+   * @return ConnectionPoolConfiguration
+   */
+  public ConnectionPoolConfiguration withIdleTimeout(final long idleTimeoutMillis) {
+    return new ConnectionPoolConfiguration(minimumSize, maximumSize, acquireTimeoutMillis, validationTimeoutSeconds,
+            idleTimeoutMillis, leakDetectionThresholdMillis, housekeepingIntervalMillis);
+  }
+
+  /**
+   * Answer a copy of me but with the given {@code leakDetectionThresholdMillis}.
+   * @param leakDetectionThresholdMillis the long lease time after which a connection is reported as leaked, or 0 to disable
+   * @return ConnectionPoolConfiguration
+   */
+  public ConnectionPoolConfiguration withLeakDetectionThreshold(final long leakDetectionThresholdMillis) {
+    return new ConnectionPoolConfiguration(minimumSize, maximumSize, acquireTimeoutMillis, validationTimeoutSeconds,
+            idleTimeoutMillis, leakDetectionThresholdMillis, housekeepingIntervalMillis);
+  }
+
+  /**
+   * Answer a copy of me but with the given {@code housekeepingIntervalMillis}.
+   * @param housekeepingIntervalMillis the long interval between idle eviction and leak detection runs
+   * @return ConnectionPoolConfiguration
+   */
+  public ConnectionPoolConfiguration withHousekeepingInterval(final long housekeepingIntervalMillis) {
+    return new ConnectionPoolConfiguration(minimumSize, maximumSize, acquireTimeoutMillis, validationTimeoutSeconds,
+            idleTimeoutMillis, leakDetectionThresholdMillis, housekeepingIntervalMillis);
+  }
+}
@@ -0,0 +1,102 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.util.Arrays;
+
+/**
+ * A point-in-time snapshot of the gauges and counters of a {@code ConnectionPool}.
+ */
+public class ConnectionPoolMetrics {
+  /**
+   * The inclusive upper bounds, in milliseconds, of the acquire wait time histogram
+   * buckets. The last bucket of {@code waitTimeHistogram} counts all longer waits.
+   */
+  public static final long[] WaitTimeBucketBoundsMillis = { 0, 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 5000 };
+
+  public final int active;
+  public final int idle;
+  public final int pending;
+  public final long acquired;
+  public final long created;
+  public final long evicted;
+  public final long leaked;
+  public final long timedOut;
+  public final long maxWaitMillis;
+  public final long totalWaitMillis;
+
+  private final long[] waitTimeHistogram;
+
+  ConnectionPoolMetrics(
+          final int active,
+          final int idle,
+          final int pending,
+          final long acquired,
+          final long created,
+          final long evicted,
+          final long leaked,
+          final long timedOut,
+          final long maxWaitMillis,
+          final long totalWaitMillis,
+          final long[] waitTimeHistogram) {
+    this.active = active;
+    this.idle = idle;
+    this.pending = pending;
+    this.acquired = acquired;
+    this.created = created;
+    this.evicted = evicted;
+    this.leaked = leaked;
+    this.timedOut = timedOut;
+    this.maxWaitMillis = maxWaitMillis;
+    this.totalWaitMillis = totalWaitMillis;
+    this.waitTimeHistogram = waitTimeHistogram;
+  }
+
+  /**
+   * Answer the number of open connections, both leased and idle.
+   * @return int
+   */
+  public int total() {
+    return active + idle;
+  }
+
+  /**
+   * Answer the mean time spent waiting to acquire a connection.
+   * @return double
+   */
+  public double meanWaitMillis() {
+    return acquired == 0 ? 0.0 : (double) totalWaitMillis / acquired;
+  }
+
+  /**
+   * Answer a copy of the acquire wait time histogram, where the count at index {@code i}
+   * is the number of waits no longer than {@code WaitTimeBucketBoundsMillis[i]} and longer
+   * than the previous bound. The extra last element counts waits beyond the last bound.
+   * @return long[]
+   */
+  public long[] waitTimeHistogram() {
+    return Arrays.copyOf(waitTimeHistogram, waitTimeHistogram.length);
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionPoolMetrics[active=" + active + " idle=" + idle + " pending=" + pending +
+            " acquired=" + acquired + " created=" + created + " evicted=" + evicted +
+            " leaked=" + leaked + " timedOut=" + timedOut + " maxWaitMillis=" + maxWaitMillis +
+            " waitTimeHistogram=" + Arrays.toString(waitTimeHistogram) + "]";
+  }
+
+  static int bucketOf(final long waitMillis) {
+    for (int index = 0; index < WaitTimeBucketBoundsMillis.length; ++index) {
+      if (waitMillis <= WaitTimeBucketBoundsMillis[index]) {
+        return index;
+      }
+    }
+    return WaitTimeBucketBoundsMillis.length;
+  }
+}
@@ -12,7 +12,11 @@ import java.sql.DriverManager;
 import java.util.Properties;
 
 /**
- * Provider of {@code Connection} instances.
+ * Provider of {@code Connection} instances. When constructed with a
+ * {@code ConnectionPoolConfiguration} the instances are leased from a
+ * bounded {@code ConnectionPool} and are returned to it when closed.
+ * See {@code ConnectionPoolConfiguration} for how many leases the
+ * stores hold at once.
  */
 public class ConnectionProvider {
   public final String databaseName;
@@ -20,9 +24,12 @@ public class ConnectionProvider {
   public final String url;
   public final String username;
   public final boolean useSSL;
+  public final ConnectionPoolConfiguration poolConfiguration;
 
   final String password;
 
+  private ConnectionPool pool;
+
   public ConnectionProvider(
           final String driverClassname,
           final String url,
@@ -30,19 +37,89 @@ public class ConnectionProvider {
           final String username,
           final String password,
           final boolean useSSL) {
+    this(driverClassname, url, databaseName, username, password, useSSL, null);
+  }
+
+  public ConnectionProvider(
+          final String driverClassname,
+          final String url,
+          final String databaseName,
+          final String username,
+          final String password,
+          final boolean useSSL,
+          final ConnectionPoolConfiguration poolConfiguration) {
     this.driverClassname = driverClassname;
     this.url = url;
     this.databaseName = databaseName;
     this.username = username;
     this.password = password;
     this.useSSL = useSSL;
+    this.poolConfiguration = poolConfiguration;
   }
 
   /**
-   * Answer a new instance of a {@code Connection}.
+   * Answer a new instance of a {@code Connection}, or a leased one if I am pooled.
    * @return Connection
    */
   public Connection connection() {
+    return isPooled() ? pool().acquire() : newConnection();
+  }
+
+  /**
+   * Answer whether or not my connections are leased from a {@code ConnectionPool}.
+   * @return boolean
+   */
+  public boolean isPooled() {
+    return poolConfiguration != null;
+  }
+
+  /**
+   * Answer my {@code ConnectionPool}, creating it on first use.
+   * @return ConnectionPool
+   */
+  public synchronized ConnectionPool pool() {
+    if (!isPooled()) {
+      throw new IllegalStateException(getClass().getSimpleName() + ": Not configured for pooling.");
+    }
+    if (pool == null) {
+      pool = new ConnectionPool(url + databaseName, poolConfiguration, this::newConnection);
+    }
+    return pool;
+  }
+
+  /**
+   * Answer the metrics of my {@code ConnectionPool}.
+   * @return ConnectionPoolMetrics
+   */
+  public ConnectionPoolMetrics poolMetrics() {
+    return pool().metrics();
+  }
+
+  /**
+   * Close my {@code ConnectionPool} if I am pooled.
+   */
+  public synchronized void close() {
+    if (pool != null) {
+      pool.close();
+      pool = null;
+    }
+  }
+
+  /**
+   * Answer a copy of me but with the given {@code databaseName}. If I am pooled
+   * the copy has a pool of its own, which its owner must {@code close()}.
+   * @param databaseName the String name of the database with which to create the new ConnectionProvider
+   * @return ConnectionProvider
+   */
+  public ConnectionProvider copyReplacing(final String databaseName) {
+    return new ConnectionProvider(driverClassname, url, databaseName, username, password, useSSL, poolConfiguration);
+  }
+
+  /**
+   * Answer a new physical {@code Connection}, bypassing any pool.
+   * @return Connection
+   */
+  Connection newConnection() {
     try {
       Class.forName(driverClassname);
       final Properties properties = new Properties();
@@ -56,13 +133,4 @@ public class ConnectionProvider {
       throw new IllegalStateException(getClass().getSimpleName() + ": Cannot connect because database unavailable or wrong credentials.");
     }
   }
-
-  /**
-   * Answer a copy of me but with the given {@code databaseName}.
-   * @param databaseName the String name of the database with which to create the new ConnectionProvider
-   * @return ConnectionProvider
-   */
-  public ConnectionProvider copyReplacing(final String databaseName) {
-    return new ConnectionProvider(driverClassname, url, databaseName, username, password, useSSL);
-  }
 }
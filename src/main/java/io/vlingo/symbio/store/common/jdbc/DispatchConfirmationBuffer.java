@@ -0,0 +1,120 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the ids of confirmed dispatchables and deletes them in sets,
+ * according to a {@code DispatchConfirmationPolicy}. An id remains pending
+ * until the delete that includes it succeeds, so a failed flush never loses a
+ * confirmation; it is retried by the next flush.
+ * <p>
+ * My interval threshold is checked only when a confirmation arrives, so my owner
+ * must also call {@code flush()} every {@code flushIntervalMillis} of my policy.
+ * </p>
+ */
+public class DispatchConfirmationBuffer {
+  private final Confirmer confirmer;
+  private final DispatchConfirmationPolicy policy;
+  private final Set<String> pending;
+  private long lastFlushed;
+
+  /**
+   * Construct my state.
+   * @param policy the DispatchConfirmationPolicy with my flush thresholds
+   * @param confirmer the Confirmer that deletes a set of confirmed dispatchables
+   */
+  public DispatchConfirmationBuffer(final DispatchConfirmationPolicy policy, final Confirmer confirmer) {
+    this.policy = policy;
+    this.confirmer = confirmer;
+    this.pending = new LinkedHashSet<>();
+    this.lastFlushed = System.currentTimeMillis();
+  }
+
+  /**
+   * Buffer the confirmation of {@code dispatchId} and flush when a threshold of my policy is reached.
+   * @param dispatchId the String id of the confirmed dispatchable
+   */
+  public synchronized void confirm(final String dispatchId) {
+    pending.add(dispatchId);
+
+    if (pending.size() >= policy.maxConfirmations || System.currentTimeMillis() - lastFlushed >= policy.flushIntervalMillis) {
+      flush();
+    }
+  }
+
+  /**
+   * Delete all pending confirmations, at most {@code maxConfirmations} per
+   * {@code Confirmer} call. Answer whether or not all were deleted.
+   * @return boolean
+   */
+  public synchronized boolean flush() {
+    lastFlushed = System.currentTimeMillis();
+
+    if (pending.isEmpty()) {
+      return true;
+    }
+
+    final List<String> dispatchIds = new ArrayList<>(pending);
+
+    for (int from = 0; from < dispatchIds.size(); from += policy.maxConfirmations) {
+      final List<String> confirmed = dispatchIds.subList(from, Math.min(from + policy.maxConfirmations, dispatchIds.size()));
+      try {
+        confirmer.confirm(confirmed);
+        pending.removeAll(confirmed);
+      } catch (final Exception e) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Answer whether or not the confirmation of {@code dispatchId} has not yet been deleted.
+   * @param dispatchId the String id of the dispatchable
+   * @return boolean
+   */
+  public synchronized boolean isPending(final String dispatchId) {
+    return pending.contains(dispatchId);
+  }
+
+  /**
+   * Answer the number of confirmations not yet deleted.
+   * @return int
+   */
+  public synchronized int pendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Answer my DispatchConfirmationPolicy.
+   * @return DispatchConfirmationPolicy
+   */
+  public DispatchConfirmationPolicy policy() {
+    return policy;
+  }
+
+  /**
+   * Deletes a set of confirmed dispatchables in a single transaction.
+   */
+  @FunctionalInterface
+  public static interface Confirmer {
+    /**
+     * Delete the dispatchables with the given {@code dispatchIds}, or throw
+     * if they could not be deleted and the transaction was rolled back.
+     * @param dispatchIds the {@code List<String>} of dispatch ids to delete
+     * @throws Exception if the dispatchables could not be deleted
+     */
+    void confirm(final List<String> dispatchIds) throws Exception;
+  }
+}
@@ -0,0 +1,81 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * The settings of a {@code DispatchConfirmationBuffer}. An {@code immediate()}
+ * policy deletes each confirmed dispatchable as it is confirmed. A {@code buffered(...)}
+ * policy collects confirmations and deletes them together once {@code maxConfirmations}
+ * are pending or {@code flushIntervalMillis} have elapsed since the last flush. The
+ * owning store or dispatcher control also flushes every {@code flushIntervalMillis}, so
+ * the last confirmations of a burst are deleted without waiting for another confirmation.
+ * <p>
+ * Buffered confirmations are held in memory only until their delete is committed,
+ * so following a crash their dispatchables are redispatched. Dispatchers used with a
+ * buffered policy must therefore tolerate duplicate dispatches.
+ * </p>
+ */
+public class DispatchConfirmationPolicy {
+  public static final int DefaultMaxConfirmations = 100;
+  public static final long DefaultFlushIntervalMillis = 100L;
+
+  private static final DispatchConfirmationPolicy Immediate = new DispatchConfirmationPolicy(1, 0L);
+
+  public final int maxConfirmations;
+  public final long flushIntervalMillis;
+
+  /**
+   * Answer the policy that deletes each dispatchable as it is confirmed.
+   * @return DispatchConfirmationPolicy
+   */
+  public static DispatchConfirmationPolicy immediate() {
+    return Immediate;
+  }
+
+  /**
+   * Answer a buffered policy with the default size and interval thresholds.
+   * @return DispatchConfirmationPolicy
+   */
+  public static DispatchConfirmationPolicy buffered() {
+    return buffered(DefaultMaxConfirmations, DefaultFlushIntervalMillis);
+  }
+
+  /**
+   * Answer a buffered policy with the given thresholds.
+   * @param maxConfirmations the int number of pending confirmations that causes a flush, and the maximum deleted by one statement
+   * @param flushIntervalMillis the long interval of the scheduled flushes, and the time since the last flush after which a confirmation causes a flush
+   * @return DispatchConfirmationPolicy
+   */
+  public static DispatchConfirmationPolicy buffered(final int maxConfirmations, final long flushIntervalMillis) {
+    return new DispatchConfirmationPolicy(maxConfirmations, flushIntervalMillis);
+  }
+
+  private DispatchConfirmationPolicy(final int maxConfirmations, final long flushIntervalMillis) {
+    if (maxConfirmations < 1) {
+      throw new IllegalArgumentException("The maximum confirmations must be positive.");
+    }
+    if (flushIntervalMillis < 0) {
+      throw new IllegalArgumentException("The flush interval must not be negative.");
+    }
+    this.maxConfirmations = maxConfirmations;
+    this.flushIntervalMillis = flushIntervalMillis;
+  }
+
+  /**
+   * Answer whether or not confirmations are buffered rather than deleted immediately.
+   * @return boolean
+   */
+  public boolean isBuffered() {
+    return maxConfirmations > 1;
+  }
+
+  @Override
+  public String toString() {
+    return "DispatchConfirmationPolicy[maxConfirmations=" + maxConfirmations + " flushIntervalMillis=" + flushIntervalMillis + "]";
+  }
+}
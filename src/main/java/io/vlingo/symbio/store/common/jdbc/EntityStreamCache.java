@@ -0,0 +1,271 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.vlingo.symbio.BaseEntry;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.State;
+import io.vlingo.symbio.State.TextState;
+import io.vlingo.symbio.store.journal.EntityStream;
+
+/**
+ * A size-bounded, least-recently-used cache of the latest snapshot and the tail
+ * entries of journal streams, shared by a journal's writer and its stream readers.
+ * Stream readers cache each stream they read in full, and answer later reads of it
+ * from the cache. The writer appends the entries of each committed append to the
+ * cached stream, and drops the stream when an append does not directly follow its
+ * cached version. A stream read while it is appended to is not cached, because the
+ * read may not include the append.
+ * <p>
+ * The cache is bounded both by a number of streams and by an estimate of the bytes
+ * of the cached entry and snapshot payloads, two bytes per character of their data
+ * and type. It must only be used when its journal is the only writer of its streams,
+ * because appends by other writers are not seen by the cache.
+ * </p>
+ */
+public class EntityStreamCache {
+  private final long maxPayloadBytes;
+  private final int maxStreams;
+  private final Map<String, Long> appendSequences;
+  private final Map<String, CachedStream> streams;
+
+  private long appendSequence;
+  private long evictions;
+  private long forgottenAppendSequence;
+  private long hits;
+  private long misses;
+  private long payloadBytes;
+
+  /**
+   * Construct my state.
+   * @param maxStreams the int maximum number of cached streams
+   * @param maxPayloadBytes the long maximum estimated bytes of all cached payloads
+   */
+  public EntityStreamCache(final int maxStreams, final long maxPayloadBytes) {
+    if (maxStreams < 1) {
+      throw new IllegalArgumentException("The maximum streams must be positive.");
+    }
+    if (maxPayloadBytes < 1) {
+      throw new IllegalArgumentException("The maximum payload bytes must be positive.");
+    }
+    this.maxStreams = maxStreams;
+    this.maxPayloadBytes = maxPayloadBytes;
+    this.streams = new LinkedHashMap<>(16, 0.75f, true);
+    this.appendSequences = new LinkedHashMap<>();
+  }
+
+  /**
+   * Answer the sequence number of the latest append, which a stream reader takes
+   * before it reads a stream that it will {@code cache(stream, appendSequence)}.
+   * @return long
+   */
+  public synchronized long appendSequence() {
+    return appendSequence;
+  }
+
+  /**
+   * Answer the cached {@code EntityStream} of {@code streamName} as a stream reader would
+   * answer it from the journal, or null if it is not cached. The latest snapshot is answered
+   * only if it is newer than {@code fromStreamVersion}, and the entries then start at the
+   * snapshot's data version.
+   * @param streamName the String name of the stream
+   * @param fromStreamVersion the int version of the first entry to answer
+   * @param maxEntries the int maximum number of entries to answer
+   * @return {@code EntityStream<String>}
+   */
+  public synchronized EntityStream<String> streamFor(final String streamName, final int fromStreamVersion, final int maxEntries) {
+    final CachedStream cached = streams.get(streamName);
+
+    if (cached == null) {
+      ++misses;
+      return null;
+    }
+
+    ++hits;
+
+    final boolean withSnapshot = cached.snapshot != TextState.Null && cached.snapshot.dataVersion > fromStreamVersion;
+    final int startVersion = withSnapshot ? cached.snapshot.dataVersion : fromStreamVersion;
+    final int from = Math.max(0, startVersion - cached.firstVersion);
+    final int to = (int) Math.min(cached.entries.size(), (long) from + maxEntries);
+
+    final List<BaseEntry<String>> entries = from < to ? new ArrayList<>(cached.entries.subList(from, to)) : new ArrayList<>();
+    final int streamVersion = entries.isEmpty() ? 0 : cached.firstVersion + to - 1;
+
+    return new EntityStream<>(streamName, streamVersion, entries, withSnapshot ? cached.snapshot : TextState.Null);
+  }
+
+  /**
+   * Cache {@code stream}, which a stream reader has read in full from stream version 1,
+   * unless it was appended to after {@code appendSequence}.
+   * @param stream the {@code EntityStream<String>} to cache
+   * @param appendSequence the long {@code appendSequence()} taken before the stream was read
+   */
+  public synchronized void cache(final EntityStream<String> stream, final long appendSequence) {
+    if (appendedSince(stream.streamName, appendSequence)) {
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    final List<BaseEntry<String>> entries = (List<BaseEntry<String>>) stream.entries;
+    final State<String> snapshot = stream.snapshot == null ? TextState.Null : stream.snapshot;
+    final int firstVersion = entries.isEmpty() ? stream.streamVersion + 1 : stream.streamVersion - entries.size() + 1;
+
+    put(stream.streamName, new CachedStream(snapshot, firstVersion, new ArrayList<>(entries)));
+  }
+
+  /**
+   * Append the committed {@code entries} of {@code streamName}, starting at {@code fromStreamVersion},
+   * and its optional new {@code snapshot} to the cached stream. A stream that is not cached is cached
+   * only when the append starts it. A cached stream that the append does not directly follow is dropped.
+   * @param streamName the String name of the stream
+   * @param fromStreamVersion the int version of the first appended entry
+   * @param entries the {@code List<Entry<String>>} appended
+   * @param snapshot the TextState snapshot appended with the entries, or null
+   */
+  public synchronized void appended(final String streamName, final int fromStreamVersion, final List<Entry<String>> entries, final TextState snapshot) {
+    recordAppend(streamName);
+
+    CachedStream cached = streams.get(streamName);
+
+    if (cached == null) {
+      if (fromStreamVersion != 1) {
+        return;
+      }
+      cached = new CachedStream(TextState.Null, 1, new ArrayList<>());
+    } else if (fromStreamVersion != cached.streamVersion() + 1) {
+      remove(streamName);
+      return;
+    } else {
+      remove(streamName);
+    }
+
+    for (final Entry<String> entry : entries) {
+      cached.entries.add((BaseEntry<String>) entry);
+    }
+
+    if (snapshot != null) {
+      cached.snapshotted(snapshot);
+    }
+
+    put(streamName, cached);
+  }
+
+  /**
+   * Drop the cached stream of {@code streamName}, if any.
+   * @param streamName the String name of the stream
+   */
+  public synchronized void invalidate(final String streamName) {
+    recordAppend(streamName);
+    remove(streamName);
+  }
+
+  /**
+   * Answer a point-in-time snapshot of my metrics.
+   * @return EntityStreamCacheMetrics
+   */
+  public synchronized EntityStreamCacheMetrics metrics() {
+    return new EntityStreamCacheMetrics(streams.size(), payloadBytes, hits, misses, evictions);
+  }
+
+  /**
+   * Answer whether or not {@code streamName} may have been appended to after {@code appendSequence}.
+   * Only the sequences of the latest appended streams are remembered, so a stream whose sequence
+   * was forgotten is considered appended to after any sequence that is older than the forgotten ones.
+   */
+  private boolean appendedSince(final String streamName, final long appendSequence) {
+    final Long streamAppendSequence = appendSequences.get(streamName);
+    if (streamAppendSequence != null) {
+      return streamAppendSequence > appendSequence;
+    }
+    return forgottenAppendSequence > appendSequence;
+  }
+
+  private void recordAppend(final String streamName) {
+    appendSequences.remove(streamName);
+    appendSequences.put(streamName, ++appendSequence);
+
+    if (appendSequences.size() > maxStreams) {
+      final Iterator<Long> eldest = appendSequences.values().iterator();
+      forgottenAppendSequence = eldest.next();
+      eldest.remove();
+    }
+  }
+
+  private void remove(final String streamName) {
+    final CachedStream cached = streams.remove(streamName);
+    if (cached != null) {
+      payloadBytes -= cached.payloadBytes;
+    }
+  }
+
+  private void put(final String streamName, final CachedStream cached) {
+    remove(streamName);
+
+    cached.payloadBytes = cached.estimatePayloadBytes();
+
+    if (cached.payloadBytes > maxPayloadBytes) {
+      return;
+    }
+
+    streams.put(streamName, cached);
+    payloadBytes += cached.payloadBytes;
+
+    final Iterator<CachedStream> eldest = streams.values().iterator();
+    while (streams.size() > maxStreams || payloadBytes > maxPayloadBytes) {
+      payloadBytes -= eldest.next().payloadBytes;
+      eldest.remove();
+      ++evictions;
+    }
+  }
+
+  private static long estimatedBytesOf(final String value) {
+    return value == null ? 0 : 2L * value.length();
+  }
+
+  private static class CachedStream {
+    final List<BaseEntry<String>> entries;
+    int firstVersion;
+    long payloadBytes;
+    State<String> snapshot;
+
+    CachedStream(final State<String> snapshot, final int firstVersion, final List<BaseEntry<String>> entries) {
+      this.snapshot = snapshot;
+      this.firstVersion = firstVersion;
+      this.entries = entries;
+    }
+
+    int streamVersion() {
+      return firstVersion + entries.size() - 1;
+    }
+
+    /**
+     * Replace my snapshot and drop the entries before its data version,
+     * which are no longer answered by the journal.
+     */
+    void snapshotted(final State<String> snapshot) {
+      final int drop = Math.min(entries.size(), Math.max(0, snapshot.dataVersion - firstVersion));
+      entries.subList(0, drop).clear();
+      firstVersion += drop;
+      this.snapshot = snapshot;
+    }
+
+    long estimatePayloadBytes() {
+      long bytes = estimatedBytesOf(snapshot.data) + estimatedBytesOf(snapshot.type);
+      for (final BaseEntry<String> entry : entries) {
+        bytes += estimatedBytesOf(entry.entryData()) + estimatedBytesOf(entry.typeName());
+      }
+      return bytes;
+    }
+  }
+}
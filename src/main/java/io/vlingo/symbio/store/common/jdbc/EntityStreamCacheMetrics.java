@@ -0,0 +1,47 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * A point-in-time snapshot of the gauges and counters of an {@code EntityStreamCache}.
+ */
+public class EntityStreamCacheMetrics {
+  public final int streams;
+  public final long payloadBytes;
+  public final long hits;
+  public final long misses;
+  public final long evictions;
+
+  EntityStreamCacheMetrics(
+          final int streams,
+          final long payloadBytes,
+          final long hits,
+          final long misses,
+          final long evictions) {
+    this.streams = streams;
+    this.payloadBytes = payloadBytes;
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+  }
+
+  /**
+   * Answer the ratio of reads answered by the cache to all reads.
+   * @return double
+   */
+  public double hitRatio() {
+    final long reads = hits + misses;
+    return reads == 0 ? 0.0 : (double) hits / reads;
+  }
+
+  @Override
+  public String toString() {
+    return "EntityStreamCacheMetrics[streams=" + streams + " payloadBytes=" + payloadBytes +
+            " hits=" + hits + " misses=" + misses + " evictions=" + evictions + "]";
+  }
+}
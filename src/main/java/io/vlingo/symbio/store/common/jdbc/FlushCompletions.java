@@ -0,0 +1,22 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * The protocol of an actor whose batch writer flushes on the I/O thread of a
+ * {@code BackgroundFlushExecutor}. Its deliverer sends each completion to the
+ * actor's own proxy, so that the completion touches the writer's state only
+ * on the actor.
+ */
+public interface FlushCompletions {
+  /**
+   * Run the {@code completion} of a flush that ended.
+   * @param completion the Runnable that completes the appends of the flushed batch
+   */
+  void completed(final Runnable completion);
+}
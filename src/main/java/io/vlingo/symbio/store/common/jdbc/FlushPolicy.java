@@ -0,0 +1,73 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Decides when a batching journal writer flushes its buffered entries. The {@code fixed()}
+ * policy flushes when the batch is full and on every tick of the journal's fixed
+ * {@code timeBetweenFlushWrites} schedule.
+ * <p>
+ * An {@code adaptive(targetLatencyMillis)} policy tunes the batch size and the time the
+ * oldest buffered entry may linger from the observed commit latency and arrival rate, so
+ * that an append is committed within {@code targetLatencyMillis} most of the time. When
+ * appends are rare each one is flushed right away, and when they arrive faster the batch
+ * grows to as many entries as arrive within the linger time, up to the maximum batch size.
+ * The journal then checks for a due flush every {@code checkIntervalMillis()}.
+ * </p>
+ */
+public class FlushPolicy {
+  private static final FlushPolicy Fixed = new FlushPolicy(0L);
+
+  public final long targetLatencyMillis;
+
+  /**
+   * Answer the policy that flushes a full batch and on every tick of the journal's flush schedule.
+   * @return FlushPolicy
+   */
+  public static FlushPolicy fixed() {
+    return Fixed;
+  }
+
+  /**
+   * Answer the policy that tunes the batch size and linger time toward {@code targetLatencyMillis}.
+   * @param targetLatencyMillis the long milliseconds within which most appends should be committed
+   * @return FlushPolicy
+   */
+  public static FlushPolicy adaptive(final long targetLatencyMillis) {
+    if (targetLatencyMillis < 1) {
+      throw new IllegalArgumentException("The target latency must be positive.");
+    }
+    return new FlushPolicy(targetLatencyMillis);
+  }
+
+  private FlushPolicy(final long targetLatencyMillis) {
+    this.targetLatencyMillis = targetLatencyMillis;
+  }
+
+  /**
+   * Answer the milliseconds between checks for a due flush, which for an adaptive
+   * policy is a tenth of its target latency, but at least a millisecond.
+   * @return long
+   */
+  public long checkIntervalMillis() {
+    return Math.max(1L, targetLatencyMillis / 10);
+  }
+
+  /**
+   * Answer whether or not the batch size and linger time are tuned from observed latencies.
+   * @return boolean
+   */
+  public boolean isAdaptive() {
+    return targetLatencyMillis > 0;
+  }
+
+  @Override
+  public String toString() {
+    return "FlushPolicy[targetLatencyMillis=" + targetLatencyMillis + "]";
+  }
+}
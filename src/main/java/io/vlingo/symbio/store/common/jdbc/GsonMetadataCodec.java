@@ -0,0 +1,37 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import com.google.gson.Gson;
+
+import io.vlingo.symbio.Metadata;
+
+/**
+ * The {@code MetadataCodec} that encodes every {@code Metadata} as Gson JSON, which is
+ * how the journal stored metadata before codecs were pluggable.
+ */
+public class GsonMetadataCodec implements MetadataCodec {
+  private final Gson gson;
+
+  /**
+   * Construct my state.
+   */
+  public GsonMetadataCodec() {
+    this.gson = new Gson();
+  }
+
+  @Override
+  public String encode(final Metadata metadata) {
+    return gson.toJson(metadata);
+  }
+
+  @Override
+  public Metadata decode(final String encoded) {
+    return gson.fromJson(encoded, Metadata.class);
+  }
+}
@@ -0,0 +1,345 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import io.vlingo.actors.Logger;
+import io.vlingo.actors.Stage;
+import io.vlingo.common.Completes;
+import io.vlingo.reactivestreams.Elements;
+import io.vlingo.reactivestreams.PublisherConfiguration;
+import io.vlingo.reactivestreams.Sink;
+import io.vlingo.reactivestreams.Source;
+import io.vlingo.reactivestreams.Stream;
+import io.vlingo.reactivestreams.StreamPublisher;
+import io.vlingo.reactivestreams.StreamSubscriber;
+import io.vlingo.reactivestreams.Streams;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.EntryBundle;
+
+/**
+ * A {@code Stream} of {@code EntryBundle} elements read from a single forward-only,
+ * read-only cursor over all entries of a journal or entry store, in the order of
+ * their identities. The database sends rows in chunks of {@code DefaultFetchSize},
+ * and rows are read only as the subscriber demands elements. The cursor is opened when
+ * the stream flows into its sink, on a dedicated connection of the {@code Configuration}
+ * that is closed when the stream is exhausted or stopped, so the stream neither shares
+ * a transaction with its reader nor moves the reader's offset. If the cursor cannot be
+ * opened, the fallback {@code Stream} flows into the sink instead.
+ * <p>
+ * The rows are mapped to entries on the thread of the publisher, so the {@code EntryMapper}
+ * must capture only state that is immutable or safe to share between threads.
+ * </p>
+ *
+ * @param <T> the type of the streamed entries
+ */
+public class JDBCEntryStream<T extends Entry<?>> implements Stream {
+  public static final int DefaultFetchSize = 1_000;
+
+  private final Configuration configuration;
+  private final CursorOpener cursorOpener;
+  private final EntryAdapterProvider entryAdapterProvider;
+  private final Stream fallback;
+  private long flowElementsRate;
+  private final Logger logger;
+  private final EntryMapper<T> mapper;
+  private Publisher<EntryBundle> publisher;
+  private final Stage stage;
+  private CursorSource<T> cursorSource;
+  private boolean fellBack;
+  private EntryStreamSubscriber subscriber;
+
+  /**
+   * Answer a new {@code PreparedStatement} of {@code query} on {@code connection} that
+   * reads its rows through a forward-only cursor of {@code fetchSize} rows, as supported
+   * by {@code databaseType}. The connection is set to not auto-commit, which Postgres
+   * requires of its cursors.
+   * @param connection the Connection dedicated to the stream
+   * @param databaseType the DatabaseType of the connection
+   * @param query the String query of the streamed entries
+   * @param fetchSize the int number of rows fetched at once
+   * @return PreparedStatement
+   * @throws SQLException if the statement cannot be prepared
+   */
+  public static PreparedStatement cursorFor(
+          final Connection connection,
+          final DatabaseType databaseType,
+          final String query,
+          final int fetchSize) throws SQLException {
+    connection.setAutoCommit(false);
+
+    final PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    // MySQL streams rows one at a time only when asked for Integer.MIN_VALUE
+    statement.setFetchSize(databaseType == DatabaseType.MySQL ? Integer.MIN_VALUE : fetchSize);
+    return statement;
+  }
+
+  /**
+   * Construct my state.
+   * @param stage the Stage of my publisher and subscriber
+   * @param configuration the Configuration whose dedicated connection I open for the cursor, and close
+   * @param cursorOpener the CursorOpener that prepares the cursor, with its parameters set
+   * @param mapper the {@code EntryMapper<T>} that reads an entry from the current row
+   * @param entryAdapterProvider the EntryAdapterProvider that adapts entries to their sources
+   * @param fallback the Stream that flows instead of me if the cursor cannot be opened
+   * @param logger the Logger of my failures
+   */
+  public JDBCEntryStream(
+          final Stage stage,
+          final Configuration configuration,
+          final CursorOpener cursorOpener,
+          final EntryMapper<T> mapper,
+          final EntryAdapterProvider entryAdapterProvider,
+          final Stream fallback,
+          final Logger logger) {
+    this.stage = stage;
+    this.configuration = configuration;
+    this.cursorOpener = cursorOpener;
+    this.mapper = mapper;
+    this.entryAdapterProvider = entryAdapterProvider;
+    this.fallback = fallback;
+    this.logger = logger;
+  }
+
+  @Override
+  public void request(long flowElementsRate) {
+    this.flowElementsRate = flowElementsRate;
+
+    if (fellBack) {
+      fallback.request(flowElementsRate);
+    } else {
+      subscriber.subscriptionHook.request(this.flowElementsRate);
+    }
+  }
+
+  @Override
+  public <S> void flowInto(final Sink<S> sink) {
+    flowInto(sink, DefaultFlowRate, DefaultProbeInterval);
+  }
+
+  @Override
+  public <S> void flowInto(final Sink<S> sink, final long flowElementsRate) {
+    flowInto(sink, flowElementsRate, DefaultProbeInterval);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <S> void flowInto(final Sink<S> sink, final long flowElementsRate, final int probeInterval) {
+    this.flowElementsRate = flowElementsRate;
+
+    final PreparedStatement statement = openCursor();
+    if (statement == null) {
+      fellBack = true;
+      fallback.flowInto(sink, flowElementsRate, probeInterval);
+      return;
+    }
+
+    final PublisherConfiguration publisherConfiguration =
+            PublisherConfiguration.with(
+                    probeInterval,
+                    Streams.DefaultMaxThrottle,
+                    Streams.DefaultBufferSize,
+                    Streams.OverflowPolicy.DropCurrent);
+
+    cursorSource = new CursorSource<>(statement, mapper, entryAdapterProvider, flowElementsRate, logger);
+
+    publisher = stage.actorFor(Publisher.class, StreamPublisher.class, cursorSource, publisherConfiguration);
+
+    final Subscriber<EntryBundle> subscriber =
+            stage.actorFor(
+                    Subscriber.class,
+                    EntryStreamSubscriber.class,
+                    sink,
+                    flowElementsRate,
+                    this);
+
+    publisher.subscribe(subscriber);
+  }
+
+  @Override
+  public void stop() {
+    if (fellBack) {
+      fallback.stop();
+      return;
+    }
+    if (subscriber != null) {
+      subscriber.subscriptionHook.cancel();
+    }
+    if (cursorSource != null) {
+      cursorSource.close();
+    }
+  }
+
+  /**
+   * Answer the cursor opened on a dedicated connection, or null if it cannot be opened.
+   */
+  private PreparedStatement openCursor() {
+    Connection connection = null;
+    try {
+      connection = configuration.dedicatedConnection();
+      return cursorOpener.cursorOn(connection);
+    } catch (Exception e) {
+      logger.error("Could not open an entry stream cursor, streaming by batches: " + e.getMessage(), e);
+      if (connection != null) {
+        try {
+          connection.close();
+        } catch (SQLException closeFailure) {
+          // ignore
+        }
+      }
+      return null;
+    }
+  }
+
+  private static void close(final PreparedStatement statement, final Logger logger) {
+    try {
+      final Connection connection = statement.getConnection();
+      statement.close();
+      connection.rollback(); // only read
+      connection.close();
+    } catch (Exception e) {
+      logger.error("Failed to close entry stream cursor because: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Prepares the cursor of a stream on its dedicated connection.
+   */
+  @FunctionalInterface
+  public static interface CursorOpener {
+    PreparedStatement cursorOn(final Connection connection) throws Exception;
+  }
+
+  /**
+   * Reads one entry from the current row of a cursor.
+   * @param <T> the type of the entry
+   */
+  @FunctionalInterface
+  public static interface EntryMapper<T> {
+    T entryFrom(final ResultSet resultSet) throws Exception;
+  }
+
+  private static final class CursorSource<T extends Entry<?>> implements Source<EntryBundle> {
+    private final EntryAdapterProvider entryAdapterProvider;
+    private final long flowElementsRate;
+    private final Logger logger;
+    private final EntryMapper<T> mapper;
+    private final PreparedStatement statement;
+
+    private boolean closed;
+    private ResultSet resultSet;
+
+    CursorSource(
+            final PreparedStatement statement,
+            final EntryMapper<T> mapper,
+            final EntryAdapterProvider entryAdapterProvider,
+            final long flowElementsRate,
+            final Logger logger) {
+      this.statement = statement;
+      this.mapper = mapper;
+      this.entryAdapterProvider = entryAdapterProvider;
+      this.flowElementsRate = flowElementsRate;
+      this.logger = logger;
+    }
+
+    @Override
+    public synchronized Completes<Elements<EntryBundle>> next() {
+      if (closed) {
+        return Completes.withSuccess(Elements.terminated());
+      }
+
+      try {
+        if (resultSet == null) {
+          resultSet = statement.executeQuery();
+        }
+
+        final List<EntryBundle> next = new ArrayList<>();
+
+        while (next.size() < flowElementsRate && resultSet.next()) {
+          final T entry = mapper.entryFrom(resultSet);
+          next.add(new EntryBundle(entry, entryAdapterProvider.asSource(entry)));
+        }
+
+        if (next.size() == flowElementsRate) {
+          return Completes.withSuccess(Elements.of(next.toArray(new EntryBundle[next.size()])));
+        }
+        if (!next.isEmpty()) {
+          // the cursor is exhausted
+          close();
+          return Completes.withSuccess(Elements.then(next.toArray(new EntryBundle[next.size()])));
+        }
+      } catch (Exception e) {
+        logger.error("Failed to stream next entry elements because: " + e.getMessage(), e);
+      }
+
+      close();
+
+      return Completes.withSuccess(Elements.terminated());
+    }
+
+    @Override
+    public Completes<Elements<EntryBundle>> next(final int maximumElements) {
+      return next();
+    }
+
+    @Override
+    public Completes<Elements<EntryBundle>> next(final long index) {
+      return next();
+    }
+
+    @Override
+    public Completes<Elements<EntryBundle>> next(final long index, final int maximumElements) {
+      return next();
+    }
+
+    @Override
+    public Completes<Boolean> isSlow() {
+      return Completes.withSuccess(false);
+    }
+
+    synchronized void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      JDBCEntryStream.close(statement, logger);
+    }
+  }
+
+  public static class EntryStreamSubscriber extends StreamSubscriber<EntryBundle> {
+    Subscription subscriptionHook;
+
+    public EntryStreamSubscriber(
+            final Sink<EntryBundle> sink,
+            final long requestThreshold,
+            final JDBCEntryStream<?> entryStream) {
+
+      super(sink, requestThreshold);
+
+      entryStream.subscriber = this;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscriptionHook = subscription;
+
+      super.onSubscribe(subscription);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import io.vlingo.symbio.Metadata;
+
+/**
+ * Encodes the {@code Metadata} of journal entries, snapshots and dispatchables into
+ * the text of their single metadata column, and decodes it back. A codec must decode
+ * the JSON written by {@code GsonMetadataCodec}, which is how journals without a
+ * codec stored their metadata, and must be safe to use by several actors at once.
+ */
+public interface MetadataCodec {
+  /**
+   * Answer {@code metadata} encoded as text.
+   * @param metadata the Metadata to encode, which may be null
+   * @return String
+   */
+  String encode(final Metadata metadata);
+
+  /**
+   * Answer the {@code Metadata} decoded from {@code encoded}.
+   * @param encoded the String encoded metadata, which may be null or empty
+   * @return Metadata
+   */
+  Metadata decode(final String encoded);
+}
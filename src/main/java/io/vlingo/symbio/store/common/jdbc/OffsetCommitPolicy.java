@@ -0,0 +1,102 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Decides when an entry reader persists its current offset. The {@code immediate()}
+ * policy persists the offset on every read and seek. Other policies coalesce offset
+ * changes and persist them every {@code entries} read entries, every
+ * {@code intervalMillis}, or only when the reader is closed.
+ * <p>
+ * A coalesced offset never runs ahead of the entries answered by the reader, so after
+ * a crash the reader resumes at or before its last position and entries read since
+ * the last commit are read again (at-least-once). Seeks to an earlier position are
+ * always persisted immediately so that they survive a crash.
+ * </p>
+ */
+public class OffsetCommitPolicy {
+  private static final OffsetCommitPolicy Immediate = new OffsetCommitPolicy(1, 0L);
+  private static final OffsetCommitPolicy OnClose = new OffsetCommitPolicy(0, 0L);
+
+  public final int entries;
+  public final long intervalMillis;
+
+  /**
+   * Answer the policy that persists the offset on every read and seek.
+   * @return OffsetCommitPolicy
+   */
+  public static OffsetCommitPolicy immediate() {
+    return Immediate;
+  }
+
+  /**
+   * Answer the policy that persists the offset once {@code entries} entries have been read since the last commit.
+   * @param entries the int number of entries read between commits
+   * @return OffsetCommitPolicy
+   */
+  public static OffsetCommitPolicy everyEntries(final int entries) {
+    return new OffsetCommitPolicy(entries, 0L);
+  }
+
+  /**
+   * Answer the policy that persists a changed offset every {@code intervalMillis}.
+   * @param intervalMillis the long milliseconds between commits
+   * @return OffsetCommitPolicy
+   */
+  public static OffsetCommitPolicy everyInterval(final long intervalMillis) {
+    return new OffsetCommitPolicy(0, intervalMillis);
+  }
+
+  /**
+   * Answer the policy that persists the offset every {@code entries} entries or every
+   * {@code intervalMillis}, whichever comes first.
+   * @param entries the int number of entries read between commits
+   * @param intervalMillis the long milliseconds between commits
+   * @return OffsetCommitPolicy
+   */
+  public static OffsetCommitPolicy everyEntriesOrInterval(final int entries, final long intervalMillis) {
+    return new OffsetCommitPolicy(entries, intervalMillis);
+  }
+
+  /**
+   * Answer the policy that persists the offset only when the reader is closed or stopped.
+   * @return OffsetCommitPolicy
+   */
+  public static OffsetCommitPolicy onClose() {
+    return OnClose;
+  }
+
+  private OffsetCommitPolicy(final int entries, final long intervalMillis) {
+    if (entries < 0 || intervalMillis < 0) {
+      throw new IllegalArgumentException("Offset commit entries and interval must not be negative.");
+    }
+    this.entries = entries;
+    this.intervalMillis = intervalMillis;
+  }
+
+  /**
+   * Answer whether or not every offset change is persisted as it happens.
+   * @return boolean
+   */
+  public boolean isImmediate() {
+    return entries == 1;
+  }
+
+  /**
+   * Answer whether or not changed offsets are persisted by a periodic timer.
+   * @return boolean
+   */
+  public boolean isTimed() {
+    return intervalMillis > 0;
+  }
+
+  @Override
+  public String toString() {
+    return "OffsetCommitPolicy[entries=" + entries + " intervalMillis=" + intervalMillis + "]";
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Tracks the current offset of an entry reader and persists it according to an
+ * {@code OffsetCommitPolicy}. Intended to be owned by a single reader actor, so
+ * it is not thread-safe. A failed commit leaves the offset pending, and it is
+ * retried on the next commit opportunity.
+ */
+public class OffsetCommitter {
+  private final Persister persister;
+  private final OffsetCommitPolicy policy;
+
+  private long committedOffset;
+  private long lastCommitted;
+  private long offset;
+  private boolean pending;
+  private int uncommittedEntries;
+
+  /**
+   * Construct my state.
+   * @param policy the OffsetCommitPolicy that decides when I persist
+   * @param persister the Persister that writes the offset
+   * @param restoredOffset the long offset restored from storage when the reader started
+   */
+  public OffsetCommitter(final OffsetCommitPolicy policy, final Persister persister, final long restoredOffset) {
+    this.policy = policy;
+    this.persister = persister;
+    this.committedOffset = restoredOffset;
+    this.offset = restoredOffset;
+    this.lastCommitted = System.currentTimeMillis();
+  }
+
+  /**
+   * Record that the reader advanced to {@code offset} by reading {@code entries}
+   * entries, and persist when my policy says so.
+   * @param offset the long next offset to read
+   * @param entries the int number of entry positions read
+   */
+  public void advancedTo(final long offset, final int entries) {
+    this.offset = offset;
+    this.pending = true;
+    this.uncommittedEntries += entries;
+
+    if (policy.entries > 0 && uncommittedEntries >= policy.entries) {
+      commit();
+    }
+  }
+
+  /**
+   * Record that the reader was moved to {@code offset} by a seek or rewind. A move
+   * to an earlier position than the last committed one is persisted immediately.
+   * @param offset the long next offset to read
+   */
+  public void movedTo(final long offset) {
+    this.offset = offset;
+    this.pending = true;
+
+    if (policy.isImmediate() || offset < committedOffset) {
+      commit();
+    }
+  }
+
+  /**
+   * Persist my pending offset if my policy's interval has elapsed since the last commit.
+   */
+  public void intervalElapsed() {
+    if (pending && System.currentTimeMillis() - lastCommitted >= policy.intervalMillis) {
+      commit();
+    }
+  }
+
+  /**
+   * Persist my pending offset, if any, and answer whether or not it was persisted.
+   * @return boolean
+   */
+  public boolean commit() {
+    if (!pending) {
+      return true;
+    }
+    if (!persister.persist(offset)) {
+      return false;
+    }
+    committedOffset = offset;
+    lastCommitted = System.currentTimeMillis();
+    pending = false;
+    uncommittedEntries = 0;
+    return true;
+  }
+
+  /**
+   * Answer whether or not I have an offset that is not yet persisted.
+   * @return boolean
+   */
+  public boolean hasPending() {
+    return pending;
+  }
+
+  /**
+   * Answer my OffsetCommitPolicy.
+   * @return OffsetCommitPolicy
+   */
+  public OffsetCommitPolicy policy() {
+    return policy;
+  }
+
+  /**
+   * Writes the current offset of a reader.
+   */
+  @FunctionalInterface
+  public static interface Persister {
+    /**
+     * Persist {@code offset} and answer whether or not it succeeded.
+     * @param offset the long next offset to read
+     * @return boolean
+     */
+    boolean persist(final long offset);
+  }
+}
@@ -0,0 +1,65 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Decides which entry and snapshot payloads a journal of {@code DataFormat.Binary}
+ * compresses. The {@code none()} policy stores every payload as its UTF-8 bytes.
+ * The {@code deflate(thresholdBytes)} policy deflates each payload of at least
+ * {@code thresholdBytes} UTF-8 bytes, and keeps the deflated bytes only when they
+ * are smaller. Each stored payload is flagged with how it was stored, so rows written
+ * under any policy remain readable under every other. A journal of
+ * {@code DataFormat.Text} stores text columns and never compresses.
+ */
+public class PayloadCompressionPolicy {
+  public enum Algorithm { None, Deflate }
+
+  private static final PayloadCompressionPolicy None = new PayloadCompressionPolicy(Algorithm.None, Integer.MAX_VALUE);
+
+  public final Algorithm algorithm;
+  public final int thresholdBytes;
+
+  /**
+   * Answer the policy that compresses no payload.
+   * @return PayloadCompressionPolicy
+   */
+  public static PayloadCompressionPolicy none() {
+    return None;
+  }
+
+  /**
+   * Answer the policy that deflates payloads of at least {@code thresholdBytes}.
+   * @param thresholdBytes the int minimum UTF-8 bytes of a deflated payload
+   * @return PayloadCompressionPolicy
+   */
+  public static PayloadCompressionPolicy deflate(final int thresholdBytes) {
+    if (thresholdBytes < 0) {
+      throw new IllegalArgumentException("The compression threshold must not be negative.");
+    }
+    return new PayloadCompressionPolicy(Algorithm.Deflate, thresholdBytes);
+  }
+
+  private PayloadCompressionPolicy(final Algorithm algorithm, final int thresholdBytes) {
+    this.algorithm = algorithm;
+    this.thresholdBytes = thresholdBytes;
+  }
+
+  /**
+   * Answer whether or not a payload of {@code payloadBytes} is to be compressed.
+   * @param payloadBytes the int UTF-8 bytes of the payload
+   * @return boolean
+   */
+  public boolean compresses(final int payloadBytes) {
+    return algorithm != Algorithm.None && payloadBytes >= thresholdBytes;
+  }
+
+  @Override
+  public String toString() {
+    return "PayloadCompressionPolicy[algorithm=" + algorithm + " thresholdBytes=" + thresholdBytes + "]";
+  }
+}
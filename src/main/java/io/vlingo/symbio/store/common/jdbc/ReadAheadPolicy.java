@@ -0,0 +1,59 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Decides whether a journal reader prefetches the batches that its consumer is expected
+ * to read next. The {@code none()} policy reads each batch when it is asked for. The
+ * {@code adaptive(maxDepth)} policy fetches, after each full batch that it answers, the
+ * following batches of the same size while the consumer processes the answered one,
+ * buffering at most {@code maxDepth} of them. The buffered depth grows while the consumer
+ * drains the buffer and shrinks while it leaves the buffer full.
+ */
+public class ReadAheadPolicy {
+  private static final ReadAheadPolicy None = new ReadAheadPolicy(0);
+
+  public final int maxDepth;
+
+  /**
+   * Answer the policy that prefetches nothing.
+   * @return ReadAheadPolicy
+   */
+  public static ReadAheadPolicy none() {
+    return None;
+  }
+
+  /**
+   * Answer the policy that prefetches up to {@code maxDepth} batches.
+   * @param maxDepth the int maximum number of prefetched batches
+   * @return ReadAheadPolicy
+   */
+  public static ReadAheadPolicy adaptive(final int maxDepth) {
+    if (maxDepth < 1) {
+      throw new IllegalArgumentException("The maximum read-ahead depth must be positive.");
+    }
+    return new ReadAheadPolicy(maxDepth);
+  }
+
+  private ReadAheadPolicy(final int maxDepth) {
+    this.maxDepth = maxDepth;
+  }
+
+  /**
+   * Answer whether or not batches are prefetched.
+   * @return boolean
+   */
+  public boolean isEnabled() {
+    return maxDepth > 0;
+  }
+
+  @Override
+  public String toString() {
+    return "ReadAheadPolicy[maxDepth=" + maxDepth + "]";
+  }
+}
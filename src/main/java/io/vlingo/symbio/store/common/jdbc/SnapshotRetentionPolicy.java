@@ -0,0 +1,76 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+/**
+ * Decides how many snapshots of each stream a journal keeps. The {@code keepAll()}
+ * policy never removes a snapshot. A {@code keepLast(...)} policy removes all but the
+ * latest {@code snapshots} of each stream that was snapshotted since the last pruning,
+ * which runs every {@code pruneIntervalMillis}.
+ */
+public class SnapshotRetentionPolicy {
+  public static final long DefaultPruneIntervalMillis = 60_000L;
+
+  private static final SnapshotRetentionPolicy KeepAll = new SnapshotRetentionPolicy(0, 0L);
+
+  public final int snapshots;
+  public final long pruneIntervalMillis;
+
+  /**
+   * Answer the policy that keeps every snapshot.
+   * @return SnapshotRetentionPolicy
+   */
+  public static SnapshotRetentionPolicy keepAll() {
+    return KeepAll;
+  }
+
+  /**
+   * Answer the policy that keeps the latest {@code snapshots} of each stream,
+   * pruning every {@code DefaultPruneIntervalMillis}.
+   * @param snapshots the int number of snapshots to keep per stream
+   * @return SnapshotRetentionPolicy
+   */
+  public static SnapshotRetentionPolicy keepLast(final int snapshots) {
+    return keepLast(snapshots, DefaultPruneIntervalMillis);
+  }
+
+  /**
+   * Answer the policy that keeps the latest {@code snapshots} of each stream,
+   * pruning every {@code pruneIntervalMillis}.
+   * @param snapshots the int number of snapshots to keep per stream
+   * @param pruneIntervalMillis the long milliseconds between prunings
+   * @return SnapshotRetentionPolicy
+   */
+  public static SnapshotRetentionPolicy keepLast(final int snapshots, final long pruneIntervalMillis) {
+    if (snapshots < 1) {
+      throw new IllegalArgumentException("The number of snapshots to keep must be positive.");
+    }
+    if (pruneIntervalMillis < 1) {
+      throw new IllegalArgumentException("The prune interval must be positive.");
+    }
+    return new SnapshotRetentionPolicy(snapshots, pruneIntervalMillis);
+  }
+
+  private SnapshotRetentionPolicy(final int snapshots, final long pruneIntervalMillis) {
+    this.snapshots = snapshots;
+    this.pruneIntervalMillis = pruneIntervalMillis;
+  }
+
+  /**
+   * Answer whether or not every snapshot is kept.
+   * @return boolean
+   */
+  public boolean isKeepAll() {
+    return snapshots == 0;
+  }
+
+  @Override
+  public String toString() {
+    return "SnapshotRetentionPolicy[snapshots=" + snapshots + " pruneIntervalMillis=" + pruneIntervalMillis + "]";
+  }
+}
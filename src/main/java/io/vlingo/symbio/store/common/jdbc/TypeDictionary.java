@@ -0,0 +1,272 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.StoredTypes;
+
+/**
+ * Maps the type names stored with journal entries and snapshots, and with state store
+ * states, entries and dispatchables, to short tokens, such as {@code "@12"}, that are
+ * stored in their place, and resolves the stored types of rows to their classes from an
+ * in-memory cache.
+ * <p>
+ * Each type name is registered once in the {@code vlingo_symbio_types} table, which
+ * assigns it its integer id, and every later lookup in either direction is answered from
+ * memory. Registrations are committed on my own connection, independently of the
+ * transactions of the writers that use me, so that a token is never stored for a type
+ * whose registration was rolled back. Stored types that are not tokens, such as those
+ * of rows written without a dictionary, are resolved as the type names they are, so that
+ * a journal can start using a dictionary at any time.
+ * </p>
+ * <p>
+ * A token that I do not know was registered by another dictionary since I last loaded,
+ * so I then load the types registered after the last one that I know. A token that is
+ * still unknown after that is not loaded again until {@code MissedReloadIntervalMillis}
+ * elapsed, so that rows with a token that is never registered are not resolved with a
+ * query each.
+ * </p>
+ * <p>
+ * An instance answered by {@code none()} stores the type names themselves, and only
+ * caches the resolved classes.
+ * </p>
+ */
+public class TypeDictionary {
+  public static final String TableName = "vlingo_symbio_types";
+
+  private static final int MaxRegisterAttempts = 3;
+  private static final long MissedReloadIntervalMillis = 1_000;
+  private static final char TokenPrefix = '@';
+
+  private static final String CreateTable =
+          "CREATE TABLE IF NOT EXISTS " + TableName + " (" +
+          "T_ID INTEGER NOT NULL PRIMARY KEY, " +
+          "T_NAME VARCHAR(512) NOT NULL UNIQUE)";
+
+  private static final String InsertType = "INSERT INTO " + TableName + " (T_ID, T_NAME) VALUES (?, ?)";
+  private static final String SelectTypesAfter = "SELECT T_ID, T_NAME FROM " + TableName + " WHERE T_ID > ?";
+
+  private final Map<String, Class<?>> classes;
+  private final Connection connection;
+  private final Map<String, Long> misses;
+  private final Map<String, String> tokens;
+  private final Map<String, String> typeNames;
+
+  private int lastId;
+
+  /**
+   * Answer a new {@code TypeDictionary} that stores type names as they are.
+   * @return TypeDictionary
+   */
+  public static TypeDictionary none() {
+    return new TypeDictionary();
+  }
+
+  /**
+   * Construct my state, creating my table if it does not exist and loading the types
+   * already registered in it.
+   * @param connection the Connection dedicated to me, which I close when closed
+   */
+  public TypeDictionary(final Connection connection) {
+    if (connection == null) {
+      throw new IllegalArgumentException("The type dictionary connection must not be null.");
+    }
+    this.classes = new ConcurrentHashMap<>();
+    this.connection = connection;
+    this.misses = new ConcurrentHashMap<>();
+    this.tokens = new ConcurrentHashMap<>();
+    this.typeNames = new ConcurrentHashMap<>();
+
+    try {
+      connection.setAutoCommit(true);
+      try (final Statement statement = connection.createStatement()) {
+        statement.execute(CreateTable);
+      }
+      load();
+    } catch (final SQLException e) {
+      throw new StorageException(Result.Failure, "Cannot open the type dictionary because: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Answer whether or not I store tokens in place of type names.
+   * @return boolean
+   */
+  public boolean isEnabled() {
+    return connection != null;
+  }
+
+  /**
+   * Answer the number of types that I know.
+   * @return int
+   */
+  public int size() {
+    return typeNames.size();
+  }
+
+  /**
+   * Answer the String to store in place of {@code typeName}, which is its token if I am
+   * enabled, registering it first if it is new, or else {@code typeName} itself.
+   * @param typeName the String name of the type of an entry or snapshot
+   * @return String
+   */
+  public String storedTypeOf(final String typeName) {
+    if (!isEnabled()) {
+      return typeName;
+    }
+    final String token = tokens.get(typeName);
+    return token != null ? token : register(typeName);
+  }
+
+  /**
+   * Answer the type name that {@code storedType} stands for.
+   * @param storedType the String type of an entry or snapshot as stored
+   * @return String
+   */
+  public String typeNameOf(final String storedType) {
+    if (!isToken(storedType)) {
+      return storedType;
+    }
+    final String typeName = typeNames.get(storedType);
+    return typeName != null ? typeName : reloadFor(storedType);
+  }
+
+  /**
+   * Answer the {@code Class} of the type that {@code storedType} stands for.
+   * @param storedType the String type of an entry or snapshot as stored
+   * @return {@code Class<?>}
+   * @throws ClassNotFoundException if the type has no class
+   */
+  public Class<?> classOf(final String storedType) throws ClassNotFoundException {
+    final Class<?> cached = classes.get(storedType);
+    if (cached != null) {
+      return cached;
+    }
+    final Class<?> resolved = StoredTypes.forName(typeNameOf(storedType));
+    classes.put(storedType, resolved);
+    return resolved;
+  }
+
+  /**
+   * Close my connection.
+   */
+  public synchronized void close() {
+    if (connection == null) {
+      return;
+    }
+    try {
+      connection.close();
+    } catch (final SQLException e) {
+      // ignore
+    }
+  }
+
+  /**
+   * Construct my state without a connection, so that I store type names as they are.
+   */
+  private TypeDictionary() {
+    this.classes = new ConcurrentHashMap<>();
+    this.connection = null;
+    this.misses = new ConcurrentHashMap<>();
+    this.tokens = new ConcurrentHashMap<>();
+    this.typeNames = new ConcurrentHashMap<>();
+  }
+
+  private boolean isToken(final String storedType) {
+    return storedType != null && !storedType.isEmpty() && storedType.charAt(0) == TokenPrefix;
+  }
+
+  private void known(final int id, final String typeName) {
+    final String token = TokenPrefix + String.valueOf(id);
+    tokens.put(typeName, token);
+    typeNames.put(token, typeName);
+    lastId = Math.max(lastId, id);
+  }
+
+  /**
+   * Load the types registered after the last one that I know, as ids are registered in
+   * ascending order by dictionaries that know all of the lower ones.
+   */
+  private synchronized void load() throws SQLException {
+    try (final PreparedStatement select = connection.prepareStatement(SelectTypesAfter)) {
+      select.setInt(1, lastId);
+      try (final ResultSet resultSet = select.executeQuery()) {
+        while (resultSet.next()) {
+          known(resultSet.getInt(1), resultSet.getString(2));
+        }
+      }
+    }
+  }
+
+  private synchronized void reload() {
+    if (!isEnabled()) {
+      return;
+    }
+    try {
+      load();
+    } catch (final SQLException e) {
+      throw new StorageException(Result.Failure, "Cannot load the type dictionary because: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Answer the type name of {@code token} after loading the types registered by other
+   * dictionaries since I last loaded, unless {@code token} was missed by such a load
+   * within {@code MissedReloadIntervalMillis}.
+   */
+  private synchronized String reloadFor(final String token) {
+    String typeName = typeNames.get(token);
+    if (typeName == null) {
+      final Long missedAt = misses.get(token);
+      if (missedAt == null || System.currentTimeMillis() - missedAt >= MissedReloadIntervalMillis) {
+        reload();
+        typeName = typeNames.get(token);
+        if (typeName == null) {
+          misses.put(token, System.currentTimeMillis());
+        }
+      }
+      if (typeName == null) {
+        throw new IllegalStateException("Unknown stored type: " + token);
+      }
+    }
+    misses.remove(token);
+    return typeName;
+  }
+
+  private synchronized String register(final String typeName) {
+    for (int attempt = 1; ; ++attempt) {
+      final String known = tokens.get(typeName);
+      if (known != null) {
+        return known;
+      }
+
+      try (final PreparedStatement insert = connection.prepareStatement(InsertType)) {
+        final int id = lastId + 1;
+        insert.setInt(1, id);
+        insert.setString(2, typeName);
+        insert.executeUpdate();
+        known(id, typeName);
+      } catch (final SQLException e) {
+        if (attempt == MaxRegisterAttempts) {
+          throw new StorageException(Result.Failure, "Cannot register the type " + typeName + " because: " + e.getMessage(), e);
+        }
+        // another dictionary registered the type, or took the id, since I was loaded
+        reload();
+      }
+    }
+  }
+}
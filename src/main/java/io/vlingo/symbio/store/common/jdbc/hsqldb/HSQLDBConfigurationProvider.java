@@ -71,6 +71,47 @@ public class HSQLDBConfigurationProvider {
             createTables);
   }
 
+  /**
+   * Answer a new {@code Configuration} of an in-memory database, which lives
+   * only as long as the process and is suited to embedded single-node use.
+   * @param format the DataFormat of the stores
+   * @param databaseName the String name of the in-memory database
+   * @param originatorId the String originator identity of dispatchables
+   * @param createTables the boolean indicating whether or not to create the tables
+   * @return Configuration
+   * @throws Exception if the Configuration cannot be created
+   */
+  public static Configuration inMemoryConfiguration(
+          final DataFormat format,
+          final String databaseName,
+          final String originatorId,
+          final boolean createTables)
+  throws Exception {
+    return configuration(format, "jdbc:hsqldb:mem:", databaseName, "SA", "", originatorId, createTables);
+  }
+
+  /**
+   * Answer a new {@code Configuration} of a file-backed database stored
+   * under {@code directory}, which survives process restarts.
+   * @param format the DataFormat of the stores
+   * @param directory the String path of the directory holding the database files
+   * @param databaseName the String name of the database, which is also the file name prefix
+   * @param originatorId the String originator identity of dispatchables
+   * @param createTables the boolean indicating whether or not to create the tables
+   * @return Configuration
+   * @throws Exception if the Configuration cannot be created
+   */
+  public static Configuration fileConfiguration(
+          final DataFormat format,
+          final String directory,
+          final String databaseName,
+          final String originatorId,
+          final boolean createTables)
+  throws Exception {
+    final String url = "jdbc:hsqldb:file:" + (directory.endsWith("/") ? directory : directory + "/");
+    return configuration(format, url, databaseName, "SA", "", originatorId, createTables);
+  }
+
   public static TestConfiguration testConfiguration(final DataFormat format) throws Exception {
     return testConfiguration(format, "testdb");
   }
@@ -0,0 +1,139 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+import io.vlingo.symbio.store.common.jdbc.FlushPolicy;
+
+/**
+ * Decides when a {@code JDBCJournalBatchWriter} flushes, following its {@code FlushPolicy}.
+ * <p>
+ * An adaptive policy keeps smoothed estimates of the commit latency, its deviation, and
+ * the time between appended entries. The pessimistic commit latency is the smoothed
+ * latency plus four deviations, and the oldest buffered entry may linger for the rest of
+ * the target latency. The batch is flushed once it holds as many entries as are expected
+ * to arrive within that linger time, or once its oldest entry has lingered that long.
+ * </p>
+ */
+public class BatchFlushController {
+    private static final double Gain = 0.125;
+    private static final double DeviationGain = 0.25;
+
+    private final int maxBatchEntries;
+    private final FlushPolicy policy;
+    private final long targetLatencyNanos;
+
+    private long batchStartNanos;
+    private double commitLatencyDeviationNanos;
+    private double commitLatencyNanos;
+    private double interArrivalNanos;
+    private long lastArrivalNanos;
+
+    /**
+     * Construct my state.
+     * @param policy the FlushPolicy to follow
+     * @param maxBatchEntries the int number of buffered entries that always triggers a flush
+     */
+    public BatchFlushController(final FlushPolicy policy, final int maxBatchEntries) {
+        this.policy = policy;
+        this.maxBatchEntries = maxBatchEntries;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(policy.targetLatencyMillis);
+        this.interArrivalNanos = targetLatencyNanos; // assume a quiet start
+        this.lastArrivalNanos = -1L;
+        this.batchStartNanos = -1L;
+    }
+
+    /**
+     * Record that {@code entries} were appended to the batch at {@code nowNanos}.
+     * @param entries the int number of appended entries
+     * @param nowNanos the long {@code System.nanoTime()} of the append
+     */
+    public void appended(final int entries, final long nowNanos) {
+        if (batchStartNanos < 0) {
+            batchStartNanos = nowNanos;
+        }
+        if (lastArrivalNanos >= 0 && entries > 0) {
+            final double sample = (double) (nowNanos - lastArrivalNanos) / entries;
+            interArrivalNanos += Gain * (sample - interArrivalNanos);
+        }
+        lastArrivalNanos = nowNanos;
+    }
+
+    /**
+     * Record that a batch of {@code entries} was flushed, taking {@code latencyNanos} to commit.
+     * @param entries the int number of flushed entries
+     * @param latencyNanos the long nanoseconds the flush took
+     */
+    public void flushed(final int entries, final long latencyNanos) {
+        batchStartNanos = -1L;
+
+        if (entries == 0) {
+            return;
+        }
+
+        final double error = latencyNanos - commitLatencyNanos;
+        commitLatencyNanos += Gain * error;
+        commitLatencyDeviationNanos += DeviationGain * (Math.abs(error) - commitLatencyDeviationNanos);
+    }
+
+    /**
+     * Answer whether or not a batch of {@code bufferedEntries} should be flushed as it is appended
+     * to at {@code nowNanos}. A full batch is always flushed, and with a fixed policy only a full batch.
+     * @param bufferedEntries the int number of buffered entries
+     * @param nowNanos the long {@code System.nanoTime()} of the check
+     * @return boolean
+     */
+    public boolean isFlushDue(final int bufferedEntries, final long nowNanos) {
+        if (bufferedEntries == 0) {
+            return false;
+        }
+        if (bufferedEntries >= maxBatchEntries) {
+            return true;
+        }
+        if (!policy.isAdaptive()) {
+            return false;
+        }
+        return bufferedEntries >= targetBatchEntries() || nowNanos - batchStartNanos >= lingerNanos();
+    }
+
+    /**
+     * Answer whether or not a batch of {@code bufferedEntries} should be flushed by the periodic
+     * check of the journal at {@code nowNanos}. With a fixed policy every check flushes.
+     * @param bufferedEntries the int number of buffered entries
+     * @param nowNanos the long {@code System.nanoTime()} of the check
+     * @return boolean
+     */
+    public boolean isFlushDueOnCheck(final int bufferedEntries, final long nowNanos) {
+        return bufferedEntries > 0 && (!policy.isAdaptive() || isFlushDue(bufferedEntries, nowNanos));
+    }
+
+    /**
+     * Answer the nanoseconds the oldest buffered entry may linger before it is flushed.
+     * @return long
+     */
+    public long lingerNanos() {
+        final double pessimisticCommitNanos = commitLatencyNanos + 4 * commitLatencyDeviationNanos;
+        return (long) Math.max(0.0, targetLatencyNanos - pessimisticCommitNanos);
+    }
+
+    /**
+     * Answer the number of entries expected to arrive within the linger time,
+     * which is the batch size that triggers a flush.
+     * @return int
+     */
+    public int targetBatchEntries() {
+        final double expected = lingerNanos() / Math.max(1.0, interArrivalNanos);
+        return (int) Math.max(1, Math.min(maxBatchEntries, Math.floor(expected)));
+    }
+
+    @Override
+    public String toString() {
+        return "BatchFlushController[policy=" + policy + " lingerNanos=" + lingerNanos() + " targetBatchEntries=" + targetBatchEntries() + "]";
+    }
+}
@@ -0,0 +1,29 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.util.List;
+
+import io.vlingo.actors.Stoppable;
+import io.vlingo.common.Completes;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+
+/**
+ * Fetches batches of journal entries for the read-ahead of a {@code JDBCJournalReaderActor}
+ * on a connection and thread of its own, so that a fetch overlaps the reads of the reader.
+ */
+public interface EntryBatchFetcher extends Stoppable {
+    /**
+     * Answer the entries with ids from {@code fromOffset} up to {@code fromOffset + count - 1},
+     * which are empty if they cannot be read.
+     * @param fromOffset the long id of the first entry of the batch
+     * @param count the int size of the batch
+     * @return {@code Completes<List<TextEntry>>}
+     */
+    Completes<List<TextEntry>> fetch(final long fromOffset, final int count);
+}
@@ -0,0 +1,64 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.util.TreeSet;
+
+/**
+ * Tracks the appends of a {@code ShardedJDBCJournalActor} from the moment they are routed
+ * to a shard until their outcome is answered, which is after their commit or rollback.
+ * <p>
+ * Each append is numbered when it begins. A reader that takes {@link #lastBegun()} after
+ * its query knows that every id missing below the highest id it has read was allocated
+ * by an append numbered at most that, because the database allocates ids in increasing
+ * order. Once {@link #haveEndedThrough(long)} answers true, these ids are either committed
+ * or rolled back for good, so the reader may read them one last time and move on without
+ * skipping entries of a slow shard. Appends made by other processes are not tracked.
+ * </p>
+ * <p>
+ * I am shared by the shards and the readers of a journal, so my methods are synchronized.
+ * </p>
+ */
+public class InFlightAppends {
+    private long lastBegun;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    /**
+     * Answer the number of a new append that is about to be routed to its shard.
+     * @return long
+     */
+    public synchronized long begin() {
+        inFlight.add(++lastBegun);
+        return lastBegun;
+    }
+
+    /**
+     * Record that the append numbered {@code append} has ended.
+     * @param append the long number answered by {@link #begin()}
+     */
+    public synchronized void end(final long append) {
+        inFlight.remove(append);
+    }
+
+    /**
+     * Answer whether or not all appends numbered at most {@code append} have ended.
+     * @param append the long number of the last append to have ended
+     * @return boolean
+     */
+    public synchronized boolean haveEndedThrough(final long append) {
+        return inFlight.isEmpty() || inFlight.first() > append;
+    }
+
+    /**
+     * Answer the number of the last append that has begun.
+     * @return long
+     */
+    public synchronized long lastBegun() {
+        return lastBegun;
+    }
+}
@@ -16,48 +16,162 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import io.vlingo.actors.Logger;
-import io.vlingo.common.serialization.JsonSerialization;
+import io.vlingo.common.Cancellable;
+import io.vlingo.common.Scheduler;
 import io.vlingo.symbio.BaseEntry;
 import io.vlingo.symbio.Entry;
 import io.vlingo.symbio.Metadata;
 import io.vlingo.symbio.State;
-import io.vlingo.symbio.store.StoredTypes;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationBuffer;
+import io.vlingo.symbio.store.common.jdbc.MetadataCodec;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.dispatch.DispatcherControl;
 
 public class JDBCDispatcherControlDelegate implements DispatcherControl.DispatcherControlDelegate<Entry<String>, State.TextState> {
     static final String DISPATCHEABLE_ENTRIES_DELIMITER = "|";
+    public static final int DefaultMaxDispatchablesPerQuery = 10_000;
+    public static final int DefaultMaxEntriesPerQuery = 500;
 
+    private final DispatchConfirmationBuffer confirmations;
+    private final Cancellable confirmationFlushes;
     private final Connection connection;
     private final DatabaseType databaseType;
     private final Logger logger;
+    private final int maxDispatchablesPerQuery;
+    private final int maxEntriesPerQuery;
+    private final MetadataCodec metadataCodec;
+    private final TypeDictionary typeDictionary;
     private final PreparedStatement selectDispatchables;
     private final JDBCQueries queries;
 
     public JDBCDispatcherControlDelegate(final Configuration configuration, final Logger logger) throws SQLException {
+        this(configuration, logger, DefaultMaxDispatchablesPerQuery, DefaultMaxEntriesPerQuery);
+    }
+
+    /**
+     * Construct my state as {@code JDBCDispatcherControlDelegate(configuration, logger)}, flushing
+     * buffered confirmations every {@code flushIntervalMillis} of the configuration's
+     * {@code DispatchConfirmationPolicy} on {@code scheduler}, which is typically that of the
+     * stage of my {@code DispatcherControlActor}.
+     * @param configuration the Configuration of the journal database
+     * @param logger the Logger used to report failures
+     * @param scheduler the Scheduler of my confirmation flushes
+     * @throws SQLException if the tables or statements cannot be created
+     */
+    public JDBCDispatcherControlDelegate(final Configuration configuration, final Logger logger, final Scheduler scheduler) throws SQLException {
+        this(configuration, logger, DefaultMaxDispatchablesPerQuery, DefaultMaxEntriesPerQuery, scheduler);
+    }
+
+    /**
+     * Construct my state.
+     * @param configuration the Configuration of the journal database
+     * @param logger the Logger used to report failures
+     * @param maxDispatchablesPerQuery the int maximum number of unconfirmed dispatchables answered by one recovery query
+     * @param maxEntriesPerQuery the int maximum number of entry ids bound to one {@code IN (...)} entries query
+     * @throws SQLException if the tables or statements cannot be created
+     */
+    public JDBCDispatcherControlDelegate(
+            final Configuration configuration,
+            final Logger logger,
+            final int maxDispatchablesPerQuery,
+            final int maxEntriesPerQuery) throws SQLException {
+        this(configuration, logger, maxDispatchablesPerQuery, maxEntriesPerQuery, null);
+    }
+
+    /**
+     * Construct my state.
+     * <p>
+     * With a buffered {@code DispatchConfirmationPolicy} and a {@code scheduler}, pending
+     * confirmations are flushed every {@code flushIntervalMillis} of the policy, so that
+     * the last confirmations of a burst are not left undeleted. Without a {@code scheduler},
+     * they are flushed only by later confirmations, recovery passes and {@code stop()}.
+     * My methods that use my connection are synchronized, because the scheduled flushes
+     * run on the thread of the scheduler.
+     * </p>
+     * @param configuration the Configuration of the journal database
+     * @param logger the Logger used to report failures
+     * @param maxDispatchablesPerQuery the int maximum number of unconfirmed dispatchables answered by one recovery query
+     * @param maxEntriesPerQuery the int maximum number of entry ids bound to one {@code IN (...)} entries query
+     * @param scheduler the Scheduler of my confirmation flushes, or null to not schedule them
+     * @throws SQLException if the tables or statements cannot be created
+     */
+    public JDBCDispatcherControlDelegate(
+            final Configuration configuration,
+            final Logger logger,
+            final int maxDispatchablesPerQuery,
+            final int maxEntriesPerQuery,
+            final Scheduler scheduler) throws SQLException {
+        if (maxDispatchablesPerQuery < 1 || maxEntriesPerQuery < 1) {
+            throw new IllegalArgumentException("The maximum dispatchables and entries per query must be positive.");
+        }
         this.connection = configuration.connection;
         this.databaseType = configuration.databaseType;
         this.logger = logger;
-        this.queries = JDBCQueries.queriesFor(configuration.connection);
+        this.maxDispatchablesPerQuery = maxDispatchablesPerQuery;
+        this.maxEntriesPerQuery = maxEntriesPerQuery;
+        this.metadataCodec = configuration.metadataCodec();
+        this.typeDictionary = configuration.typeDictionary();
+        this.queries = JDBCQueries.queriesFor(configuration.connection, configuration.format, configuration.payloadCompressionPolicy());
+        this.confirmations = new DispatchConfirmationBuffer(configuration.dispatchConfirmationPolicy(), this::deleteDispatchables);
 
         queries.createTables();
 
         this.selectDispatchables = queries.prepareSelectDispatchablesQuery(configuration.originatorId);
+        this.selectDispatchables.setMaxRows(maxDispatchablesPerQuery);
+
+        final long flushIntervalMillis = confirmations.policy().flushIntervalMillis;
+        this.confirmationFlushes = scheduler != null && confirmations.policy().isBuffered() && flushIntervalMillis > 0 ?
+                scheduler.schedule((scheduled, data) -> flushConfirmations(), null, flushIntervalMillis, flushIntervalMillis) :
+                null;
     }
 
+    /**
+     * Answer at most {@code maxDispatchablesPerQuery} of the oldest unconfirmed dispatchables.
+     * Their entries are loaded by set-based {@code IN (...)} queries of at most
+     * {@code maxEntriesPerQuery} ids each, rather than with one query per entry.
+     * Dispatchables beyond the page are answered by later recovery passes, once
+     * earlier ones have been confirmed. Buffered confirmations are flushed first,
+     * and any that remain pending are excluded from the answer.
+     * @return {@code Collection<Dispatchable<Entry<String>, State.TextState>>}
+     * @throws Exception if the query fails
+     */
     @Override
-    public Collection<Dispatchable<Entry<String>, State.TextState>> allUnconfirmedDispatchableStates() throws Exception {
+    public synchronized Collection<Dispatchable<Entry<String>, State.TextState>> allUnconfirmedDispatchableStates() throws Exception {
         final List<Dispatchable<Entry<String>, State.TextState>> dispatchables = new ArrayList<>();
 
-        try (final ResultSet result = selectDispatchables.executeQuery()) {
-            while (result.next()) {
-                dispatchables.add(dispatchableFrom(result));
+        confirmations.flush();
+
+        try {
+            final List<UnconfirmedDispatchable> unconfirmed = new ArrayList<>();
+            final Set<Long> entryIds = new LinkedHashSet<>();
+
+            try (final ResultSet result = selectDispatchables.executeQuery()) {
+                while (result.next()) {
+                    final UnconfirmedDispatchable dispatchable = unconfirmedDispatchableFrom(result);
+                    if (confirmations.isPending(dispatchable.dispatchId)) {
+                        continue;
+                    }
+                    entryIds.addAll(dispatchable.entryIds);
+                    unconfirmed.add(dispatchable);
+                }
+            }
+
+            final Map<Long, Entry<String>> entries = entriesFor(new ArrayList<>(entryIds));
+
+            for (final UnconfirmedDispatchable dispatchable : unconfirmed) {
+                dispatchables.add(dispatchable.toDispatchable(entries));
             }
+
             doCommit();
         } catch (Exception e) {
           logger.error("vlingo/symbio-jdbc-" + databaseType + ": Failed to query all unconfirmed dispatchables because: " + e.getMessage(), e);
@@ -67,19 +181,33 @@ public class JDBCDispatcherControlDelegate implements DispatcherControl.Dispatch
         return dispatchables;
     }
 
+    /**
+     * Confirm the dispatch of {@code dispatchId}, which deletes its dispatchable
+     * immediately or with others, according to my {@code DispatchConfirmationPolicy}.
+     * @param dispatchId the String id of the confirmed dispatchable
+     */
     @Override
-    public void confirmDispatched(final String dispatchId) {
-        try {
-            queries.prepareDeleteDispatchableQuery(dispatchId).executeUpdate();
-            doCommit();
-        } catch (final Exception e) {
-            logger.error("vlingo/symbio-jdbc-" + databaseType + ": Failed to confirm dispatch with id " + dispatchId + " because: " + e.getMessage(), e);
-            fail();
+    public synchronized void confirmDispatched(final String dispatchId) {
+        confirmations.confirm(dispatchId);
+    }
+
+    /**
+     * Delete the pending buffered confirmations, if any.
+     */
+    public synchronized void flushConfirmations() {
+        if (!confirmations.flush()) {
+            logger.error("vlingo/symbio-jdbc-" + databaseType + ": " + confirmations.pendingCount() + " dispatch confirmations could not be flushed; will retry.");
         }
     }
 
     @Override
-    public void stop() {
+    public synchronized void stop() {
+        if (confirmationFlushes != null) {
+            confirmationFlushes.cancel();
+        }
+        if (!confirmations.flush()) {
+            logger.error("vlingo/symbio-jdbc-" + databaseType + ": " + confirmations.pendingCount() + " dispatch confirmations could not be flushed on stop; their dispatchables will be redispatched.");
+        }
         try {
             queries.close();
         } catch (final SQLException e) {
@@ -87,6 +215,23 @@ public class JDBCDispatcherControlDelegate implements DispatcherControl.Dispatch
         }
     }
 
+    private void deleteDispatchables(final List<String> dispatchIds) throws SQLException {
+        try {
+            if (dispatchIds.size() == 1) {
+                queries.prepareDeleteDispatchableQuery(dispatchIds.get(0)).executeUpdate();
+            } else {
+                try (final PreparedStatement deleteDispatchables = queries.prepareNewDeleteDispatchablesQuery(dispatchIds)) {
+                    deleteDispatchables.executeUpdate();
+                }
+            }
+            doCommit();
+        } catch (final SQLException e) {
+            logger.error("vlingo/symbio-jdbc-" + databaseType + ": Failed to confirm dispatch with ids " + dispatchIds + " because: " + e.getMessage(), e);
+            fail();
+            throw e;
+        }
+    }
+
     private void doCommit() {
         try {
             connection.commit();
@@ -105,7 +250,24 @@ public class JDBCDispatcherControlDelegate implements DispatcherControl.Dispatch
         }
     }
 
-    private Dispatchable<Entry<String>, State.TextState> dispatchableFrom(final ResultSet resultSet) throws SQLException, ClassNotFoundException {
+    private Map<Long, Entry<String>> entriesFor(final List<Long> entryIds) throws SQLException, ClassNotFoundException {
+        final Map<Long, Entry<String>> entries = new HashMap<>(entryIds.size());
+
+        for (int from = 0; from < entryIds.size(); from += maxEntriesPerQuery) {
+            final List<Long> chunk = entryIds.subList(from, Math.min(from + maxEntriesPerQuery, entryIds.size()));
+            try (final PreparedStatement selectEntries = queries.prepareNewSelectEntriesByIdsQuery(chunk);
+                 final ResultSet result = selectEntries.executeQuery()) {
+                while (result.next()) {
+                    final Entry<String> entry = entryFrom(result);
+                    entries.put(Long.parseLong(entry.id()), entry);
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    private UnconfirmedDispatchable unconfirmedDispatchableFrom(final ResultSet resultSet) throws SQLException, ClassNotFoundException {
 
         final String dispatchId = resultSet.getString(1);
 
@@ -121,10 +283,10 @@ public class JDBCDispatcherControlDelegate implements DispatcherControl.Dispatch
         if (stateId != null && !stateId.isEmpty()) {
             final String data = resultSet.getString(4);
             final int dataVersion = resultSet.getInt(5);
-            final Class<?> type = StoredTypes.forName(resultSet.getString(6));
+            final Class<?> type = typeDictionary.classOf(resultSet.getString(6));
             final int typeVersion = resultSet.getInt(7);
             final String metadataValue = resultSet.getString(8);
-            final Metadata metadata = JsonSerialization.deserialized(metadataValue, Metadata.class);
+            final Metadata metadata = metadataCodec.decode(metadataValue);
 
             state = new State.TextState(stateId, type, typeVersion, data, dataVersion, metadata);
         } else {
@@ -132,31 +294,52 @@ public class JDBCDispatcherControlDelegate implements DispatcherControl.Dispatch
         }
 
         final String entriesIds = resultSet.getString(9);
-        final List<Entry<String>> entries = new ArrayList<>();
+        final List<Long> entryIds = new ArrayList<>();
         if (entriesIds != null && !entriesIds.isEmpty()) {
             final String[] ids = entriesIds.split("\\" + DISPATCHEABLE_ENTRIES_DELIMITER);
             for (final String entryId : ids) {
-                try (final ResultSet result = queries.prepareSelectEntryQuery(Long.parseLong(entryId)).executeQuery()) {
-                    if (result.next()) {
-                        entries.add(entryFrom(result));
-                    }
-                }
+                entryIds.add(Long.parseLong(entryId));
             }
         }
-        return new Dispatchable<>(dispatchId, createdOn, state, entries);
+        return new UnconfirmedDispatchable(dispatchId, createdOn, state, entryIds);
     }
 
     private Entry<String> entryFrom(final ResultSet resultSet) throws SQLException, ClassNotFoundException {
         final String id = resultSet.getString(1);
-        final String entryData = resultSet.getString(2);
+        final String entryData = queries.payloadCodec().payloadFrom(resultSet, 2);
         final String entryType = resultSet.getString(3);
         final int eventTypeVersion = resultSet.getInt(4);
         final String entryMetadata = resultSet.getString(5);
         final int entryVersion = resultSet.getInt(6); // from E_STREAM_VERSION
 
-        final Class<?> classOfEvent = StoredTypes.forName(entryType);
+        final Class<?> classOfEvent = typeDictionary.classOf(entryType);
 
-        final Metadata metadata = JsonSerialization.deserialized(entryMetadata, Metadata.class);
+        final Metadata metadata = metadataCodec.decode(entryMetadata);
         return new BaseEntry.TextEntry(id, classOfEvent, eventTypeVersion, entryData, entryVersion, metadata);
     }
+
+    private static final class UnconfirmedDispatchable {
+        final String dispatchId;
+        final LocalDateTime createdOn;
+        final State.TextState state;
+        final List<Long> entryIds;
+
+        UnconfirmedDispatchable(final String dispatchId, final LocalDateTime createdOn, final State.TextState state, final List<Long> entryIds) {
+            this.dispatchId = dispatchId;
+            this.createdOn = createdOn;
+            this.state = state;
+            this.entryIds = entryIds;
+        }
+
+        Dispatchable<Entry<String>, State.TextState> toDispatchable(final Map<Long, Entry<String>> entries) {
+            final List<Entry<String>> dispatchableEntries = new ArrayList<>(entryIds.size());
+            for (final Long entryId : entryIds) {
+                final Entry<String> entry = entries.get(entryId);
+                if (entry != null) {
+                    dispatchableEntries.add(entry);
+                }
+            }
+            return new Dispatchable<>(dispatchId, createdOn, state, dispatchableEntries);
+        }
+    }
 }
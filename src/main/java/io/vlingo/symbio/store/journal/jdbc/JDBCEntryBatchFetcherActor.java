@@ -0,0 +1,98 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.ActorInstantiator;
+import io.vlingo.common.Completes;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream.EntryMapper;
+
+/**
+ * The {@code EntryBatchFetcher} of a {@code JDBCJournalReaderActor}, created as its child,
+ * which reads on a dedicated auto-commit connection that it closes when stopped.
+ */
+public class JDBCEntryBatchFetcherActor extends Actor implements EntryBatchFetcher {
+    private final DatabaseType databaseType;
+    private final EntryMapper<TextEntry> entryMapper;
+    private final JDBCQueries queries;
+
+    public JDBCEntryBatchFetcherActor(final Configuration configuration, final EntryMapper<TextEntry> entryMapper) throws SQLException {
+        this.databaseType = configuration.databaseType;
+        this.entryMapper = entryMapper;
+
+        final Connection connection = configuration.dedicatedConnection();
+        try {
+            connection.setAutoCommit(true);
+            this.queries = JDBCQueries.queriesFor(connection, configuration.format, configuration.payloadCompressionPolicy());
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Completes<List<TextEntry>> fetch(final long fromOffset, final int count) {
+        final List<TextEntry> entries = new ArrayList<>(count);
+
+        try (final ResultSet resultSet = queries.prepareSelectEntryBatchQuery(fromOffset, count).executeQuery()) {
+            while (resultSet.next()) {
+                entries.add(entryMapper.entryFrom(resultSet));
+            }
+        } catch (Exception e) {
+            logger().error("vlingo-symbio-jdbc:journal-reader-" + databaseType + ": Could not prefetch because: " + e.getMessage(), e);
+            entries.clear();
+        }
+
+        return completes().with(entries);
+    }
+
+    @Override
+    public void stop() {
+        try {
+            queries.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+        super.stop();
+    }
+
+    public static class JDBCEntryBatchFetcherInstantiator implements ActorInstantiator<JDBCEntryBatchFetcherActor> {
+      private static final long serialVersionUID = 3217480924331472310L;
+
+      private final Configuration configuration;
+      private final EntryMapper<TextEntry> entryMapper;
+
+      public JDBCEntryBatchFetcherInstantiator(final Configuration configuration, final EntryMapper<TextEntry> entryMapper) {
+        this.configuration = configuration;
+        this.entryMapper = entryMapper;
+      }
+
+      @Override
+      public JDBCEntryBatchFetcherActor instantiate() {
+        try {
+          return new JDBCEntryBatchFetcherActor(configuration, entryMapper);
+        } catch (SQLException e) {
+          throw new IllegalArgumentException("Failed instantiator of " + getClass() + " because: " + e.getMessage(), e);
+        }
+      }
+
+      @Override
+      public Class<JDBCEntryBatchFetcherActor> type() {
+        return JDBCEntryBatchFetcherActor.class;
+      }
+    }
+}
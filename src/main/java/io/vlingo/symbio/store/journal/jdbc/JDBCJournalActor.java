@@ -7,6 +7,7 @@
 
 package io.vlingo.symbio.store.journal.jdbc;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -33,13 +34,15 @@ import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.FlushPolicy;
+import io.vlingo.symbio.store.common.jdbc.SnapshotRetentionPolicy;
 import io.vlingo.symbio.store.journal.Journal;
 import io.vlingo.symbio.store.journal.JournalReader;
 import io.vlingo.symbio.store.journal.StreamReader;
 import io.vlingo.symbio.store.journal.jdbc.JDBCJournalReaderActor.JDBCJournalReaderInstantiator;
 import io.vlingo.symbio.store.journal.jdbc.JDBCStreamReaderActor.JDBCStreamReaderInstantiator;
 
-public class JDBCJournalActor extends Actor implements Journal<String>, Scheduled<Object> {
+public class JDBCJournalActor extends Actor implements Journal<String>, JournalWriterControl, Scheduled<Object> {
     private final JDBCJournalWriter journalWriter;
     private final EntryAdapterProvider entryAdapterProvider;
     private final StateAdapterProvider stateAdapterProvider;
@@ -47,6 +50,9 @@ public class JDBCJournalActor extends Actor implements Journal<String>, Schedule
     private final DatabaseType databaseType;
     private final Map<String, JournalReader<TextEntry>> journalReaders;
     private final Map<String, StreamReader<String>> streamReaders;
+    private final JournalWriterControl control;
+
+    private JournalTail journalTail;
 
     private JDBCJournalActor(final Configuration configuration, final JDBCJournalWriter journalWriter, Object object) throws Exception {
         this.journalWriter = journalWriter;
@@ -56,10 +62,21 @@ public class JDBCJournalActor extends Actor implements Journal<String>, Schedule
         this.stateAdapterProvider = StateAdapterProvider.instance(stage().world());
         this.journalReaders = new HashMap<>();
         this.streamReaders = new HashMap<>();
+        this.control = selfAs(JournalWriterControl.class);
 
         configuration.connection.setAutoCommit(false);
-        JDBCQueries queries = JDBCQueries.queriesFor(configuration.connection);
-        queries.createTables();
+        JDBCQueries queries = JDBCQueries.queriesFor(configuration.connection, configuration.format, configuration.payloadCompressionPolicy());
+        if (!queries.createTables()) {
+            logger().error("The journal unique index " + JDBCQueries.StreamIndexName + " could not be created, likely because of " +
+                    "entries with duplicate stream name and version; appends of conflicting versions are not detected until these are resolved.");
+        }
+
+        final SnapshotRetentionPolicy snapshotRetentionPolicy = configuration.snapshotRetentionPolicy();
+        if (!snapshotRetentionPolicy.isKeepAll()) {
+            final Scheduled<Object> pruneTimer = (scheduled, data) -> control.pruneSnapshots();
+            stage().scheduler().schedule(pruneTimer, null,
+                    snapshotRetentionPolicy.pruneIntervalMillis, snapshotRetentionPolicy.pruneIntervalMillis);
+        }
     }
 
     public JDBCJournalActor(final Configuration configuration, final JDBCJournalInstantWriter journalWriter) throws Exception {
@@ -70,11 +87,19 @@ public class JDBCJournalActor extends Actor implements Journal<String>, Schedule
     public JDBCJournalActor(final Configuration configuration, final JDBCJournalBatchWriter journalWriter, int timeBetweenFlushWrites) throws Exception {
         this(configuration, journalWriter, null);
 
-        stage().scheduler().schedule(selfAs(Scheduled.class), null, 5, timeBetweenFlushWrites);
+        // completions of double-buffered flushes are run as messages to this actor
+        journalWriter.deliverCompletionsThrough(control::completed);
+
+        final FlushPolicy flushPolicy = configuration.flushPolicy();
+        final long flushCheckInterval = flushPolicy.isAdaptive() ? flushPolicy.checkIntervalMillis() : timeBetweenFlushWrites;
+        stage().scheduler().schedule(selfAs(Scheduled.class), null, 5, flushCheckInterval);
     }
 
     @Override
     public void stop() {
+        if (journalTail != null) {
+            journalTail.stop();
+        }
         journalWriter.stop();
         super.stop();
     }
@@ -121,9 +146,19 @@ public class JDBCJournalActor extends Actor implements Journal<String>, Schedule
         journalWriter.appendEntries(streamName, fromStreamVersion, entries, snapshotState, postAppendAction);
     }
 
+    @Override
+    public void completed(final Runnable completion) {
+        completion.run();
+    }
+
     @Override
     public void intervalSignal(Scheduled<Object> scheduled, Object o) {
-        journalWriter.flush();
+        journalWriter.flushIfDue();
+    }
+
+    @Override
+    public void pruneSnapshots() {
+        journalWriter.pruneSnapshots();
     }
 
     @Override
@@ -131,7 +166,7 @@ public class JDBCJournalActor extends Actor implements Journal<String>, Schedule
     public Completes<JournalReader<? extends Entry<?>>> journalReader(final String name) {
         final JournalReader<TextEntry> reader = journalReaders.computeIfAbsent(name, (key) -> {
             final Address address = stage().world().addressFactory().uniquePrefixedWith("eventJournalReader-" + name);
-            return stage().actorFor(JournalReader.class, Definition.has(JDBCJournalReaderActor.class, new JDBCJournalReaderInstantiator(configuration, name)), address);
+            return stage().actorFor(JournalReader.class, Definition.has(JDBCJournalReaderActor.class, new JDBCJournalReaderInstantiator(configuration, name, null, journalTail())), address);
         });
 
         return completes().with(reader);
@@ -142,12 +177,27 @@ public class JDBCJournalActor extends Actor implements Journal<String>, Schedule
     public Completes<StreamReader<String>> streamReader(final String name) {
         final StreamReader<String> reader = streamReaders.computeIfAbsent(name, (key) -> {
             final Address address = stage().world().addressFactory().uniquePrefixedWith("eventStreamReader-" + key);
-            return stage().actorFor(StreamReader.class, Definition.has(JDBCStreamReaderActor.class, new JDBCStreamReaderInstantiator(configuration)), address);
+            return stage().actorFor(PagedStreamReader.class, Definition.has(JDBCStreamReaderActor.class, new JDBCStreamReaderInstantiator(configuration)), address);
         });
 
         return completes().with(reader);
     }
 
+    /**
+     * Answer the {@code JournalTail} to which my journal readers subscribe, started when first
+     * needed, or null if my configuration does not notify appends or the tail cannot start.
+     */
+    private JournalTail journalTail() {
+        if (journalTail == null && configuration.appendNotificationPolicy().notifies) {
+            try {
+                journalTail = new JournalTail(configuration, logger());
+            } catch (final SQLException e) {
+                logger().error("vlingo-symbio-jdbc:journal-" + databaseType + ": Could not tail the journal, so its readers poll: " + e.getMessage(), e);
+            }
+        }
+        return journalTail;
+    }
+
     private <S, ST> void appendResultedInFailure(final String streamName, final int streamVersion, final Source<S> source, final ST snapshot,
                                                  final AppendResultInterest interest, final Object object, final Exception ex) {
         interest.appendResultedIn(Failure.of(new StorageException(Result.Failure, ex.getMessage(), ex)), streamName, streamVersion, source,
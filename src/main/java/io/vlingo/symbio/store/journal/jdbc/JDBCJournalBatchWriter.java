@@ -7,7 +7,6 @@
 
 package io.vlingo.symbio.store.journal.jdbc;
 
-import com.google.gson.Gson;
 import io.vlingo.actors.Logger;
 import io.vlingo.common.Failure;
 import io.vlingo.common.Outcome;
@@ -19,8 +18,14 @@ import io.vlingo.symbio.State;
 import io.vlingo.symbio.State.TextState;
 import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.jdbc.AppendBudget;
+import io.vlingo.symbio.store.common.jdbc.AppendQueueMetrics;
+import io.vlingo.symbio.store.common.jdbc.BackgroundFlushExecutor;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.EntityStreamCache;
+import io.vlingo.symbio.store.common.jdbc.MetadataCodec;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.dispatch.Dispatcher;
 import io.vlingo.symbio.store.dispatch.DispatcherControl;
@@ -35,66 +40,211 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class JDBCJournalBatchWriter implements JDBCJournalWriter {
-	private final Configuration configuration;
-	private final Connection connection;
-	private final JDBCQueries queries;
+	public static final int DefaultMaxRowsPerInsert = 100;
+
+	protected final Configuration configuration;
+	protected final Connection connection;
+	protected final JDBCQueries queries;
+	protected final MetadataCodec metadataCodec;
+	protected final TypeDictionary typeDictionary;
+
 	private final List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers;
 	private final DispatcherControl dispatcherControl;
-	private final Gson gson;
 	private final IdentityGenerator dispatchablesIdentityGenerator;
-	private final BatchEntries batchEntries;
+	private final AppendBudget appendBudget;
+	private final BatchFlushController flushController;
+	private final Deque<AbstractBatchEntry> delayedAppends;
+	private final JDBCSnapshotPruner snapshotPruner;
+	private final EntityStreamCache streamCache;
+	private final int maxRowsPerInsert;
+	private final boolean notifiesAppends;
+
+	private BackgroundFlushExecutor backgroundFlush;
+	private BatchEntries batchEntries; // the batch being written
+	private BatchEntries bufferedEntries; // the batch being appended to
 
-	private Logger logger;
+	protected Logger logger;
 
 	public JDBCJournalBatchWriter(Configuration configuration, List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers,
 									DispatcherControl dispatcherControl, int maxBatchEntries) throws Exception {
+		this(configuration, dispatchers, dispatcherControl, maxBatchEntries, DefaultMaxRowsPerInsert);
+	}
+
+	/**
+	 * Construct my state.
+	 * @param configuration the Configuration of the journal
+	 * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<String>, TextState>>>} to dispatch to
+	 * @param dispatcherControl the DispatcherControl that redispatches unconfirmed dispatchables
+	 * @param maxBatchEntries the int number of buffered entries that triggers a flush
+	 * @param maxRowsPerInsert the int maximum number of entries inserted by a single multi-row INSERT
+	 * @throws Exception if the queries cannot be prepared
+	 */
+	public JDBCJournalBatchWriter(Configuration configuration, List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers,
+									DispatcherControl dispatcherControl, int maxBatchEntries, int maxRowsPerInsert) throws Exception {
+		this(configuration, dispatchers, dispatcherControl, maxBatchEntries, maxRowsPerInsert, false);
+	}
+
+	/**
+	 * Construct my state. When {@code doubleBuffered}, each flush swaps out the batch and
+	 * writes it on a dedicated I/O thread while appends fill the other buffer, and the
+	 * appends of the written batch are completed back through the journal actor. While
+	 * a flush is in flight the buffer may grow beyond {@code maxBatchEntries}, which the
+	 * {@code BackpressurePolicy} of the configuration bounds; appends that it delays are
+	 * parked until a flush completes. The I/O thread writes on a
+	 * dedicated connection of the configuration, so that its transactions are not shared
+	 * with the readers of the journal, and the committed appends are cached, dispatched
+	 * and reported to the snapshot pruner on the journal actor.
+	 * @param configuration the Configuration of the journal
+	 * @param dispatchers the {@code List<Dispatcher<Dispatchable<Entry<String>, TextState>>>} to dispatch to
+	 * @param dispatcherControl the DispatcherControl that redispatches unconfirmed dispatchables
+	 * @param maxBatchEntries the int number of buffered entries that triggers a flush
+	 * @param maxRowsPerInsert the int maximum number of entries inserted by a single multi-row INSERT
+	 * @param doubleBuffered the boolean indicating whether batches are written on a dedicated I/O thread
+	 * @throws Exception if the queries cannot be prepared
+	 */
+	public JDBCJournalBatchWriter(Configuration configuration, List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers,
+									DispatcherControl dispatcherControl, int maxBatchEntries, int maxRowsPerInsert, boolean doubleBuffered) throws Exception {
+		if (maxRowsPerInsert <= 0) {
+			throw new IllegalArgumentException("Illegal rows per insert: " + maxRowsPerInsert);
+		}
+
 		this.configuration = configuration;
-		this.connection = configuration.connection;
+		this.connection = doubleBuffered ? configuration.dedicatedConnection() : configuration.connection;
 		this.dispatchers = dispatchers;
 		this.dispatcherControl = dispatcherControl;
-		this.gson = new Gson();
+		this.metadataCodec = configuration.metadataCodec();
+		this.typeDictionary = configuration.typeDictionary();
 		this.dispatchablesIdentityGenerator = new IdentityGenerator.RandomIdentityGenerator();
 		this.batchEntries = new BatchEntries(maxBatchEntries);
+		this.bufferedEntries = new BatchEntries(maxBatchEntries);
+		this.backgroundFlush = doubleBuffered ? new BackgroundFlushExecutor("vlingo-symbio-jdbc-journal-flush") : null;
+		this.flushController = new BatchFlushController(configuration.flushPolicy(), maxBatchEntries);
+		this.appendBudget = new AppendBudget(configuration.backpressurePolicy());
+		this.delayedAppends = new ArrayDeque<>();
+		this.maxRowsPerInsert = maxRowsPerInsert;
 
 		this.connection.setAutoCommit(false);
-		this.queries = JDBCQueries.queriesFor(this.connection);
+		this.queries = JDBCQueries.queriesFor(this.connection, configuration.format, configuration.payloadCompressionPolicy());
+		this.snapshotPruner = new JDBCSnapshotPruner(configuration.snapshotRetentionPolicy(), queries, connection);
+		this.streamCache = configuration.entityStreamCache();
+		this.notifiesAppends = configuration.appendNotificationPolicy().notifies && queries.supportsAppendNotifications();
 	}
 
 	@Override
 	public void appendEntry(String streamName, int streamVersion, Entry<String> entry, Optional<TextState> snapshotState,
 							Consumer<Outcome<StorageException, Result>> postAppendAction) {
-		batchEntries.addEntry(new SingleBatchEntry(streamName, streamVersion, entry, snapshotState, postAppendAction));
-		if (batchEntries.capacityExceeded()) {
-			flush();
+		final SingleBatchEntry batchEntry = new SingleBatchEntry(streamName, streamVersion, entry, snapshotState, postAppendAction);
+		if (admitted(batchEntry)) {
+			bufferedEntries.addEntry(batchEntry);
+			flushIfDueOnAppendOf(1);
 		}
 	}
 
 	@Override
 	public void appendEntries(String streamName, int fromStreamVersion, List<Entry<String>> entries, Optional<TextState> snapshotState,
 							  Consumer<Outcome<StorageException, Result>> postAppendAction) {
-		batchEntries.addEntry(new MultiBatchEntry(streamName, fromStreamVersion, entries, snapshotState, postAppendAction));
-		if (batchEntries.capacityExceeded()) {
-			flush();
+		final MultiBatchEntry batchEntry = new MultiBatchEntry(streamName, fromStreamVersion, entries, snapshotState, postAppendAction);
+		if (admitted(batchEntry)) {
+			bufferedEntries.addEntry(batchEntry);
+			flushIfDueOnAppendOf(entries.size());
+		}
+	}
+
+	/**
+	 * Answer a point-in-time snapshot of my in-flight appends, those buffered and those
+	 * being written, measured against the budget of my {@code BackpressurePolicy}. It may
+	 * be answered to any thread, so that producers can throttle their appends.
+	 * @return AppendQueueMetrics
+	 */
+	public AppendQueueMetrics appendQueueMetrics() {
+		return appendBudget.metrics();
+	}
+
+	/**
+	 * Set the {@code deliverer} through which a double-buffered writer completes the
+	 * appends of each written batch on its journal actor.
+	 * @param deliverer the {@code Consumer<Runnable>} that runs completions on the journal actor
+	 */
+	public void deliverCompletionsThrough(final Consumer<Runnable> deliverer) {
+		if (backgroundFlush != null) {
+			backgroundFlush.deliverCompletionsThrough(deliverer);
 		}
 	}
 
 	@Override
 	public void flush() {
-		if (batchEntries.size() > 0) {
-			insertEntries();
-			insertSnapshots();
-			List<Dispatchable<Entry<String>, TextState>> dispatchables = insertDispatchables();
-			doCommit();
-
-			dispatch(dispatchables);
-			batchEntries.completedWith(Success.of(Result.Success));
-			batchEntries.clear();
+		if (bufferedEntries.size() == 0 || (backgroundFlush != null && backgroundFlush.isFlushing())) {
+			// a double-buffered flush is retried when the one in flight completes
+			return;
+		}
+
+		final BatchEntries written = bufferedEntries;
+		bufferedEntries = batchEntries;
+		batchEntries = written;
+
+		final int flushedEntries = batchEntries.size();
+		final long flushedBytes = batchEntries.bytes();
+
+		if (backgroundFlush == null) {
+			final long startNanos = System.nanoTime();
+			try {
+				writeBatch();
+			} finally {
+				flushController.flushed(flushedEntries, System.nanoTime() - startNanos);
+				appendBudget.release(flushedEntries, flushedBytes);
+			}
+		} else {
+			final long[] latencyNanos = new long[1];
+
+			batchEntries.deferCompletions();
+
+			backgroundFlush.flush(() -> {
+				final long startNanos = System.nanoTime();
+				try {
+					writeBatch();
+				} catch (final RuntimeException e) {
+					logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Background flush failed", e);
+				} finally {
+					latencyNanos[0] = System.nanoTime() - startNanos;
+				}
+			}, () -> {
+				batchEntries.runDeferredCompletions();
+				flushController.flushed(flushedEntries, latencyNanos[0]);
+				appendBudget.release(flushedEntries, flushedBytes);
+				admitDelayedAppends();
+				flushIfDue();
+			});
+		}
+	}
+
+	@Override
+	public void flushIfDue() {
+		if (flushController.isFlushDueOnCheck(bufferedEntries.size(), System.nanoTime())) {
+			flush();
+		}
+	}
+
+	@Override
+	public void pruneSnapshots() {
+		if (backgroundFlush == null) {
+			pruneSnapshotsNow();
+		} else {
+			// the pruner shares the connection and queries of the flushes
+			backgroundFlush.execute(this::pruneSnapshotsNow);
 		}
 	}
 
 	@Override
 	public void stop() {
-		// flush batched entries if any
+		if (backgroundFlush != null) {
+			// completes the flush in flight, after which the rest is flushed on this thread
+			final BackgroundFlushExecutor stopping = backgroundFlush;
+			backgroundFlush = null;
+			stopping.stop();
+		}
+
+		// flush batched and delayed entries if any
+		admitDelayedAppends();
 		flush();
 
 		if (dispatcherControl != null) {
@@ -103,6 +253,9 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 
 		try {
 			queries.close();
+			if (connection != configuration.connection) {
+				connection.close();
+			}
 		} catch (SQLException e) {
 			// ignore
 		}
@@ -113,6 +266,181 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 		this.logger = logger;
 	}
 
+	/**
+	 * Write the swapped-out batch, retrying its appends one at a time on a stream version conflict.
+	 */
+	private void writeBatch() {
+		try {
+			write();
+		} catch (final StreamVersionConflict e) {
+			rollback();
+			writeEachAppend();
+		} catch (final RuntimeException e) {
+			// the appends are already completed with the failure
+			rollback();
+			batchEntries.clear();
+			throw e;
+		}
+	}
+
+	private void write() {
+		insertEntries();
+		insertSnapshots();
+		List<Dispatchable<Entry<String>, TextState>> dispatchables = insertDispatchables();
+		notifyAppended();
+		doCommit();
+
+		final List<AbstractBatchEntry> committed = new ArrayList<>(batchEntries.entries);
+		batchEntries.afterWrite(() -> committed(committed, dispatchables));
+		batchEntries.completedWith(Success.of(Result.Success));
+		batchEntries.clear();
+	}
+
+	/**
+	 * Report the snapshots of the {@code committed} appends to the pruner, cache their
+	 * entries and dispatch their {@code dispatchables}, which is run on the journal actor.
+	 */
+	private void committed(final List<AbstractBatchEntry> committed, final List<Dispatchable<Entry<String>, TextState>> dispatchables) {
+		committed.stream()
+				.filter(batchEntry -> batchEntry.snapshotState.isPresent())
+				.forEach(batchEntry -> snapshotPruner.snapshotted(batchEntry.streamName));
+
+		if (streamCache != null) {
+			// only committed entries are cached, in the order of their appends
+			committed.forEach(batchEntry ->
+					streamCache.appended(batchEntry.streamName, batchEntry.streamVersion, batchEntry.entries(), batchEntry.snapshotState.orElse(null)));
+		}
+
+		dispatch(dispatchables);
+	}
+
+	/**
+	 * Write each append of the current batch in its own transaction, so that
+	 * only the appends that conflict with entries already in the journal
+	 * complete with {@code Result.ConcurrencyViolation}.
+	 */
+	private void writeEachAppend() {
+		final List<AbstractBatchEntry> appends = new ArrayList<>(batchEntries.entries);
+
+		for (AbstractBatchEntry append : appends) {
+			batchEntries.clear();
+			batchEntries.addEntry(append);
+			try {
+				write();
+			} catch (final RuntimeException e) {
+				// the append is already completed with the failure
+				rollback();
+			}
+		}
+
+		batchEntries.clear();
+	}
+
+	/**
+	 * Answer whether or not {@code batchEntry} is admitted to the buffer by my
+	 * {@code BackpressurePolicy}, completing it with a failure when it is rejected.
+	 * When it is delayed, a double-buffered writer parks it until a flush completes,
+	 * and any other first writes the buffered appends.
+	 */
+	private boolean admitted(final AbstractBatchEntry batchEntry) {
+		if (!delayedAppends.isEmpty()) {
+			// admitted after the appends delayed before it
+			appendBudget.delayed();
+			delayedAppends.addLast(batchEntry);
+			return false;
+		}
+
+		final int entries = batchEntry.size();
+		final long bytes = batchEntry.estimatedBytes();
+
+		if (!appendBudget.hasRoomFor(entries, bytes)) {
+			switch (appendBudget.policy().action) {
+			case Reject:
+				appendBudget.rejected();
+				batchEntry.completedWith(Failure.of(new StorageException(Result.Failure,
+						"vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Append budget exceeded: " + appendBudget.metrics())));
+				return false;
+			case Delay:
+				appendBudget.delayed();
+				if (backgroundFlush != null) {
+					delayedAppends.addLast(batchEntry);
+					admitDelayedAppends();
+					return false;
+				}
+				makeRoomFor(entries, bytes);
+				break;
+			case Signal:
+				// the budget's interest is signaled when the append is acquired
+				break;
+			}
+		}
+
+		appendBudget.acquire(entries, bytes);
+		return true;
+	}
+
+	/**
+	 * Admit my delayed appends in order as far as my budget has room for them, starting
+	 * a flush to make room unless one is in flight, whose completion admits the rest. An
+	 * append that does not fit even when no other append is in flight is admitted anyway.
+	 */
+	private void admitDelayedAppends() {
+		AbstractBatchEntry delayed;
+		while ((delayed = delayedAppends.peekFirst()) != null) {
+			final int entries = delayed.size();
+			final long bytes = delayed.estimatedBytes();
+
+			if (!appendBudget.hasRoomFor(entries, bytes)) {
+				if (backgroundFlush != null && backgroundFlush.isFlushing()) {
+					return;
+				}
+				if (bufferedEntries.size() > 0) {
+					flush();
+					continue;
+				}
+			}
+
+			delayedAppends.removeFirst();
+			appendBudget.acquire(entries, bytes);
+			bufferedEntries.addEntry(delayed);
+			flushIfDueOnAppendOf(entries);
+		}
+	}
+
+	/**
+	 * Write my buffered appends on this thread, if an append of {@code entries} and
+	 * {@code bytes} does not fit my budget, which releases all of them.
+	 */
+	private void makeRoomFor(final int entries, final long bytes) {
+		if (!appendBudget.hasRoomFor(entries, bytes) && bufferedEntries.size() > 0) {
+			flush();
+		}
+	}
+
+	private void flushIfDueOnAppendOf(final int entries) {
+		final long nowNanos = System.nanoTime();
+		flushController.appended(entries, nowNanos);
+		if (flushController.isFlushDue(bufferedEntries.size(), nowNanos)) {
+			flush();
+		}
+	}
+
+	private void pruneSnapshotsNow() {
+		try {
+			snapshotPruner.prune();
+		} catch (final SQLException e) {
+			logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not prune snapshots", e);
+		}
+	}
+
+	private void rollback() {
+		try {
+			connection.rollback();
+		} catch (final SQLException e) {
+			logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not roll back transaction", e);
+		}
+	}
+
 	private String buildDispatchId(String streamName, int streamVersion) {
 		return streamName + ":" + streamVersion + ":" + dispatchablesIdentityGenerator.generate().toString();
 	}
@@ -145,7 +473,7 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 									state.dataVersion,
 									state.type,
 									state.typeVersion,
-									gson.toJson(state.metadata),
+									metadataCodec.encode(state.metadata),
 									encodedEntries)._1;
 				} else {
 					insertDispatchable = queries.prepareInsertDispatchableQuery(
@@ -198,8 +526,60 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 	}
 
 	private void insertEntries() {
+		insertEntries(batchEntries.collectEntries());
+	}
+
+	/**
+	 * Insert the {@code insertEntries} of the current batch and set their identities,
+	 * or complete the batch by {@link #insertEntriesFailed(Exception)}.
+	 * @param insertEntries the {@code List<InsertEntry>} to insert in order
+	 */
+	protected void insertEntries(final List<InsertEntry> insertEntries) {
+		if (queries.supportsMultiRowInsert()) {
+			insertEntriesByRows(insertEntries);
+		} else {
+			insertEntriesByBatch(insertEntries);
+		}
+	}
+
+	private void insertEntriesByRows(final List<InsertEntry> insertEntries) {
+		final DatabaseType databaseType = configuration.databaseType;
+
+		try {
+			for (int from = 0; from < insertEntries.size(); from += maxRowsPerInsert) {
+				final List<InsertEntry> rows = insertEntries.subList(from, Math.min(from + maxRowsPerInsert, insertEntries.size()));
+				final PreparedStatement insertStatement = queries.prepareInsertEntriesQuery(rows.size());
+
+				for (int row = 0; row < rows.size(); row++) {
+					final InsertEntry insertEntry = rows.get(row);
+					queries.setInsertEntriesRow(
+							insertStatement,
+							row,
+							insertEntry.streamName,
+							insertEntry.streamVersion,
+							insertEntry.entry.entryData(),
+							typeDictionary.storedTypeOf(insertEntry.entry.typeName()),
+							insertEntry.entry.typeVersion(),
+							metadataCodec.encode(insertEntry.entry.metadata()));
+				}
+
+				final List<Long> ids = queries.executeInsertEntries(insertStatement, rows.size());
+				if (ids.size() != rows.size()) {
+					throw new IllegalStateException("vlingo-symbio-jdbc:journal-" + databaseType + ": Batch write inserted " +
+							ids.size() + " of " + rows.size() + " rows.");
+				}
+
+				for (int row = 0; row < rows.size(); row++) {
+					((BaseEntry<String>) rows.get(row).entry).__internal__setId(String.valueOf(ids.get(row)));
+				}
+			}
+		} catch (final Exception e) {
+			insertEntriesFailed(e);
+		}
+	}
+
+	private void insertEntriesByBatch(final List<InsertEntry> insertEntries) {
 		final DatabaseType databaseType = configuration.databaseType;
-		List<InsertEntry> insertEntries = batchEntries.collectEntries();
 		PreparedStatement insertStatement = null;
 
 		try {
@@ -208,9 +588,9 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 						insertEntry.streamName,
 						insertEntry.streamVersion,
 						insertEntry.entry.entryData(),
-						insertEntry.entry.typeName(),
+						typeDictionary.storedTypeOf(insertEntry.entry.typeName()),
 						insertEntry.entry.typeVersion(),
-						gson.toJson(insertEntry.entry.metadata()))._1;
+						metadataCodec.encode(insertEntry.entry.metadata()))._1;
 
 				insertStatement.addBatch();
 			}
@@ -232,9 +612,7 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 				((BaseEntry<String>) insertEntries.get(i).entry).__internal__setId(String.valueOf(id));
 			}
 		} catch (final SQLException e) {
-			batchEntries.completedWith(Failure.of(new StorageException(Result.Failure, e.getMessage(), e)));
-			logger.error("vlingo-symbio-jdbc:journal-" + databaseType +": Failed to batch insert entries.", e);
-			throw new IllegalStateException(e);
+			insertEntriesFailed(e);
 		} finally {
 			if (insertStatement != null) {
 				try {
@@ -246,6 +624,32 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 		}
 	}
 
+	/**
+	 * Complete all entries of the current batch with a failure caused by {@code e}
+	 * and abandon the flush by throwing an {@code IllegalStateException}. When
+	 * {@code e} is a stream version violation of a batch of several appends, the flush is
+	 * instead retried one append at a time, so that only the conflicting appends
+	 * complete with {@code Result.ConcurrencyViolation}.
+	 * @param e the Exception that caused the insert to fail
+	 */
+	protected void insertEntriesFailed(final Exception e) {
+		if (queries.isStreamVersionViolation(e)) {
+			if (batchEntries.entries.size() > 1) {
+				throw new StreamVersionConflict(e);
+			}
+			if (streamCache != null) {
+				streamCache.invalidate(batchEntries.entries.get(0).streamName);
+			}
+			batchEntries.completedWith(Failure.of(new StorageException(Result.ConcurrencyViolation, e.getMessage(), e)));
+			logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Concurrency violation; stream " +
+					batchEntries.entries.get(0).streamName + " already has an appended version.");
+			throw new IllegalStateException(e);
+		}
+		batchEntries.completedWith(Failure.of(new StorageException(Result.Failure, e.getMessage(), e)));
+		logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Failed to batch insert entries.", e);
+		throw new IllegalStateException(e);
+	}
+
 	private void insertSnapshots() {
 		DatabaseType databaseType = configuration.databaseType;
 		PreparedStatement insertStatement = null;
@@ -258,9 +662,9 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 							batchEntry.streamVersion,
 							batchEntry.snapshotState.get().data,
 							batchEntry.snapshotState.get().dataVersion,
-							batchEntry.snapshotState.get().type,
+							typeDictionary.storedTypeOf(batchEntry.snapshotState.get().type),
 							batchEntry.snapshotState.get().typeVersion,
-							gson.toJson(batchEntry.snapshotState.get().metadata))._1;
+							metadataCodec.encode(batchEntry.snapshotState.get().metadata))._1;
 					insertStatement.addBatch();
 				}
 			}
@@ -288,9 +692,34 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 		}
 	}
 
+	/**
+	 * Notify the listeners to appends of the greatest identity of the current batch,
+	 * which the database delivers when the batch commits.
+	 */
+	private void notifyAppended() {
+		if (!notifiesAppends) {
+			return;
+		}
+
+		final OptionalLong highWaterId = batchEntries.entries.stream()
+				.flatMap(batchEntry -> batchEntry.entries().stream())
+				.map(Entry::id)
+				.filter(id -> id != null && !id.isEmpty())
+				.mapToLong(Long::parseLong)
+				.max();
+
+		if (highWaterId.isPresent()) {
+			try {
+				queries.notifyAppended(highWaterId.getAsLong());
+			} catch (final SQLException e) {
+				errorOccurred(e, "vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not notify the appends");
+			}
+		}
+	}
+
 	private void doCommit() {
 		try {
-			configuration.connection.commit();
+			connection.commit();
 		} catch (final SQLException e) {
 			errorOccurred(e, "vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not complete transaction");
 		}
@@ -302,10 +731,18 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 		throw new IllegalArgumentException(message);
 	}
 
-	static class InsertEntry {
-		final String streamName;
-		final int streamVersion;
-		final Entry<String> entry;
+	private static class StreamVersionConflict extends IllegalStateException {
+		private static final long serialVersionUID = 1L;
+
+		StreamVersionConflict(final Exception cause) {
+			super(cause);
+		}
+	}
+
+	public static class InsertEntry {
+		public final String streamName;
+		public final int streamVersion;
+		public final Entry<String> entry;
 
 		InsertEntry(String streamName, int streamVersion, Entry<String> entry) {
 			this.streamName = streamName;
@@ -317,8 +754,9 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 	static class BatchEntries {
 		private final List<AbstractBatchEntry> entries;
 		private int size;
+		private long bytes;
 
-		private final int maxCapacity;
+		private List<Runnable> deferredCompletions;
 
 		BatchEntries(int maxCapacity) {
 			if (maxCapacity <= 0) {
@@ -327,25 +765,54 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 
 			this.entries = new ArrayList<>(maxCapacity);
 			this.size = 0;
-			this.maxCapacity = maxCapacity;
 		}
 
 		void addEntry(AbstractBatchEntry entry) {
 			entries.add(entry);
 			size += entry.size();
+			bytes += entry.estimatedBytes();
 		}
 
-		boolean capacityExceeded() {
-			return size >= maxCapacity;
+		void completedWith(Outcome<StorageException, Result> outcome) {
+			if (deferredCompletions == null) {
+				entries.forEach(e -> e.completedWith(outcome));
+			} else {
+				entries.forEach(e -> deferredCompletions.add(() -> e.completedWith(outcome)));
+			}
 		}
 
-		void completedWith(Outcome<StorageException, Result> outcome) {
-			entries.forEach(e -> e.completedWith(outcome));
+		/**
+		 * Run {@code action} now, or with the deferred completions of my appends,
+		 * ahead of those that follow it.
+		 */
+		void afterWrite(final Runnable action) {
+			if (deferredCompletions == null) {
+				action.run();
+			} else {
+				deferredCompletions.add(action);
+			}
+		}
+
+		/**
+		 * Collect the completions of my appends until {@code runDeferredCompletions()},
+		 * so that a batch written on another thread is completed by its actor.
+		 */
+		void deferCompletions() {
+			deferredCompletions = new ArrayList<>();
+		}
+
+		void runDeferredCompletions() {
+			final List<Runnable> completions = deferredCompletions;
+			deferredCompletions = null;
+			if (completions != null) {
+				completions.forEach(Runnable::run);
+			}
 		}
 
 		void clear() {
 			entries.clear();
 			size = 0;
+			bytes = 0;
 		}
 
 		List<InsertEntry> collectEntries() {
@@ -359,6 +826,9 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 			return size;
 		}
 
+		long bytes() {
+			return bytes;
+		}
 	}
 
 	abstract static class AbstractBatchEntry {
@@ -386,6 +856,17 @@ public class JDBCJournalBatchWriter implements JDBCJournalWriter {
 		Optional<TextState> snapshotState() {
 			return snapshotState;
 		}
+
+		/**
+		 * Answer the estimated bytes of my entry and snapshot payloads.
+		 */
+		long estimatedBytes() {
+			long bytes = snapshotState.map(snapshot -> AppendBudget.estimatedBytesOf(snapshot.data)).orElse(0L);
+			for (final Entry<String> entry : entries()) {
+				bytes += AppendBudget.estimatedBytesOf(entry.entryData()) + AppendBudget.estimatedBytesOf(entry.typeName());
+			}
+			return bytes;
+		}
 	}
 
 	static class SingleBatchEntry extends AbstractBatchEntry {
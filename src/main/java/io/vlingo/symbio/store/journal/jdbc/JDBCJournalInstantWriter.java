@@ -7,7 +7,6 @@
 
 package io.vlingo.symbio.store.journal.jdbc;
 
-import com.google.gson.Gson;
 import io.vlingo.actors.Logger;
 import io.vlingo.common.Failure;
 import io.vlingo.common.Outcome;
@@ -22,6 +21,9 @@ import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.EntityStreamCache;
+import io.vlingo.symbio.store.common.jdbc.MetadataCodec;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.dispatch.Dispatcher;
 import io.vlingo.symbio.store.dispatch.DispatcherControl;
@@ -33,6 +35,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -42,8 +45,12 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 	private final JDBCQueries queries;
 	private final List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers;
 	private final DispatcherControl dispatcherControl;
-	private final Gson gson;
+	private final MetadataCodec metadataCodec;
+	private final TypeDictionary typeDictionary;
 	private final IdentityGenerator dispatchablesIdentityGenerator;
+	private final JDBCSnapshotPruner snapshotPruner;
+	private final EntityStreamCache streamCache;
+	private final boolean notifiesAppends;
 
 	private Logger logger;
 
@@ -53,11 +60,15 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 		this.connection = configuration.connection;
 		this.dispatchers = dispatchers;
 		this.dispatcherControl = dispatcherControl;
-		this.gson = new Gson();
+		this.metadataCodec = configuration.metadataCodec();
+		this.typeDictionary = configuration.typeDictionary();
 		this.dispatchablesIdentityGenerator = new IdentityGenerator.RandomIdentityGenerator();
 
 		this.connection.setAutoCommit(false);
-		this.queries = JDBCQueries.queriesFor(configuration.connection);
+		this.queries = JDBCQueries.queriesFor(configuration.connection, configuration.format, configuration.payloadCompressionPolicy());
+		this.snapshotPruner = new JDBCSnapshotPruner(configuration.snapshotRetentionPolicy(), queries, connection);
+		this.streamCache = configuration.entityStreamCache();
+		this.notifiesAppends = configuration.appendNotificationPolicy().notifies && queries.supportsAppendNotifications();
 	}
 
 	@Override
@@ -67,7 +78,10 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 		snapshotState.ifPresent(state -> insertSnapshot(streamName, streamVersion, state, postAppendAction));
 		final Dispatchable<Entry<String>, TextState> dispatchable =
 				insertDispatchable(streamName, streamVersion, Collections.singletonList(entry), snapshotState.orElse(null), postAppendAction);
+		notifyAppended(Collections.singletonList(entry), postAppendAction);
 		doCommit(postAppendAction);
+		snapshotState.ifPresent(state -> snapshotPruner.snapshotted(streamName));
+		cacheAppended(streamName, streamVersion, Collections.singletonList(entry), snapshotState);
 		dispatch(dispatchable);
 		postAppendAction.accept(Success.of(Result.Success));
 	}
@@ -83,7 +97,10 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 		snapshotState.ifPresent(state -> insertSnapshot(streamName, fromStreamVersion, state, postAppendAction));
 		final Dispatchable<Entry<String>, TextState> dispatchable =
 				insertDispatchable(streamName, fromStreamVersion, entries, snapshotState.orElse(null), postAppendAction);
+		notifyAppended(entries, postAppendAction);
 		doCommit(postAppendAction);
+		snapshotState.ifPresent(state -> snapshotPruner.snapshotted(streamName));
+		cacheAppended(streamName, fromStreamVersion, entries, snapshotState);
 		dispatch(dispatchable);
 		postAppendAction.accept(Success.of(Result.Success));
 	}
@@ -93,6 +110,20 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 		// No flush; this is an instant writer
 	}
 
+	@Override
+	public void flushIfDue() {
+		// No flush; this is an instant writer
+	}
+
+	@Override
+	public void pruneSnapshots() {
+		try {
+			snapshotPruner.prune();
+		} catch (final SQLException e) {
+			logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not prune snapshots", e);
+		}
+	}
+
 	@Override
 	public void stop() {
 		if (dispatcherControl != null) {
@@ -115,6 +146,13 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 		return streamName + ":" + streamVersion + ":" + dispatchablesIdentityGenerator.generate().toString();
 	}
 
+	private void cacheAppended(final String streamName, final int fromStreamVersion, final List<Entry<String>> entries, final Optional<TextState> snapshotState) {
+		if (streamCache != null) {
+			// only committed entries are cached
+			streamCache.appended(streamName, fromStreamVersion, entries, snapshotState.orElse(null));
+		}
+	}
+
 	private void dispatch(final Dispatchable<Entry<String>, TextState> dispatchable) {
 		if (dispatchers != null) {
 			// dispatch only if insert successful
@@ -122,6 +160,33 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 		}
 	}
 
+	/**
+	 * Notify the listeners to appends of the greatest identity of the {@code entries},
+	 * which the database delivers when the transaction commits.
+	 */
+	private void notifyAppended(final List<Entry<String>> entries, final Consumer<Outcome<StorageException, Result>> postAppendAction) {
+		if (!notifiesAppends) {
+			return;
+		}
+
+		final OptionalLong highWaterId = entries.stream()
+				.map(Entry::id)
+				.filter(id -> id != null && !id.isEmpty())
+				.mapToLong(Long::parseLong)
+				.max();
+
+		if (highWaterId.isPresent()) {
+			try {
+				queries.notifyAppended(highWaterId.getAsLong());
+			} catch (final SQLException e) {
+				rollback();
+				postAppendAction.accept(Failure.of(new StorageException(Result.Failure, e.getMessage(), e)));
+				logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not notify the appends", e);
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
 	private void doCommit(final Consumer<Outcome<StorageException, Result>> postAppendAction) {
 		try {
 			configuration.connection.commit();
@@ -132,6 +197,14 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 		}
 	}
 
+	private void rollback() {
+		try {
+			configuration.connection.rollback();
+		} catch (final SQLException e) {
+			logger.error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not roll back transaction", e);
+		}
+	}
+
 	private Dispatchable<Entry<String>, TextState> insertDispatchable(String streamName, int streamVersion, final List<Entry<String>> entries,
 																	  TextState snapshotState, Consumer<Outcome<StorageException, Result>> postAppendAction) {
 		final String id = buildDispatchId(streamName, streamVersion);
@@ -159,7 +232,7 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 								state.dataVersion,
 								state.type,
 								state.typeVersion,
-								gson.toJson(state.metadata),
+								metadataCodec.encode(state.metadata),
 								encodedEntries);
 			} else {
 				insertDispatchable =
@@ -199,9 +272,9 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 							streamVersion,
 							snapshotState.data,
 							snapshotState.dataVersion,
-							snapshotState.type,
+							typeDictionary.storedTypeOf(snapshotState.type),
 							snapshotState.typeVersion,
-							gson.toJson(snapshotState.metadata));
+							metadataCodec.encode(snapshotState.metadata));
 
 			if (insertSnapshot._1.executeUpdate() != 1) {
 				logger.error("vlingo-symbio-jdbc:journal-" + databaseType + ": Could not insert snapshot with id " + snapshotState.id);
@@ -223,9 +296,9 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 							streamName,
 							streamVersion,
 							entry.entryData(),
-							entry.typeName(),
+							typeDictionary.storedTypeOf(entry.typeName()),
 							entry.typeVersion(),
-							gson.toJson(entry.metadata()));
+							metadataCodec.encode(entry.metadata()));
 
 			if (insertEntry._1.executeUpdate() != 1) {
 				logger.error("vlingo-symbio-jdbc:journal-" + databaseType + ": Could not insert event " + entry.toString());
@@ -241,8 +314,17 @@ public class JDBCJournalInstantWriter implements JDBCJournalWriter {
 				}
 			}
 		} catch (final SQLException e) {
-			postAppendAction.accept(Failure.of(new StorageException(Result.Failure, e.getMessage(), e)));
-			logger.error("vlingo-symbio-jdbc:journal-" + databaseType +": Could not insert event " + entry.toString(), e);
+			rollback();
+			if (queries.isStreamVersionViolation(e)) {
+				if (streamCache != null) {
+					streamCache.invalidate(streamName);
+				}
+				postAppendAction.accept(Failure.of(new StorageException(Result.ConcurrencyViolation, e.getMessage(), e)));
+				logger.error("vlingo-symbio-jdbc:journal-" + databaseType + ": Concurrency violation; stream " + streamName + " already has version " + streamVersion);
+			} else {
+				postAppendAction.accept(Failure.of(new StorageException(Result.Failure, e.getMessage(), e)));
+				logger.error("vlingo-symbio-jdbc:journal-" + databaseType +": Could not insert event " + entry.toString(), e);
+			}
 			throw new IllegalStateException(e);
 		}
 	}
@@ -14,50 +14,134 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.google.gson.Gson;
-
 import io.vlingo.actors.Actor;
 import io.vlingo.actors.ActorInstantiator;
+import io.vlingo.actors.CompletesEventually;
+import io.vlingo.actors.Definition;
+import io.vlingo.common.Cancellable;
 import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduled;
 import io.vlingo.reactivestreams.Stream;
 import io.vlingo.symbio.BaseEntry;
 import io.vlingo.symbio.BaseEntry.TextEntry;
 import io.vlingo.symbio.EntryAdapterProvider;
 import io.vlingo.symbio.Metadata;
 import io.vlingo.symbio.store.EntryReaderStream;
-import io.vlingo.symbio.store.StoredTypes;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream.CursorOpener;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream.EntryMapper;
+import io.vlingo.symbio.store.common.jdbc.MetadataCodec;
+import io.vlingo.symbio.store.common.jdbc.OffsetCommitter;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
 import io.vlingo.symbio.store.gap.GapRetryReader;
 import io.vlingo.symbio.store.gap.GappedEntries;
 import io.vlingo.symbio.store.journal.JournalReader;
+import io.vlingo.symbio.store.journal.jdbc.JDBCEntryBatchFetcherActor.JDBCEntryBatchFetcherInstantiator;
 
-public class JDBCJournalReaderActor extends Actor implements JournalReader<TextEntry> {
+public class JDBCJournalReaderActor extends Actor implements JournalReader<TextEntry>, JournalReaderControl {
+    private final Configuration configuration;
     private final Connection connection;
+    private final EntryMapper<TextEntry> entryMapper;
     private final EntryAdapterProvider entryAdapterProvider;
     private final DatabaseType databaseType;
-    private final Gson gson;
+    private final InFlightAppends inFlightAppends;
+    private final MetadataCodec metadataCodec;
+    private final TypeDictionary typeDictionary;
     private final String name;
     private final JDBCQueries queries;
+    private final OffsetCommitter offsets;
+    private final Cancellable offsetCommitSchedule;
+    private final ReadAheadBuffer<TextEntry> readAhead;
+    private final EntryBatchFetcher fetcher;
+    private final JournalReader<TextEntry> selfReader;
+    private final JournalReaderControl control;
+    private final JournalTail tail;
 
     private GapRetryReader<TextEntry> reader = null;
 
     private long offset;
+    private ParkedRead parkedRead;
+    private long tailHighWaterId;
 
     public JDBCJournalReaderActor(final Configuration configuration, final String name) throws SQLException {
+        this(configuration, name, null);
+    }
+
+    /**
+     * Construct my state to read a journal whose appends in flight are tracked by
+     * {@code inFlightAppends}. Ids missing below the highest id I have read are then
+     * awaited until the appends that may have allocated them have ended, and I never
+     * move my offset past that highest id.
+     * @param configuration the Configuration of the journal
+     * @param name the String name of the reader
+     * @param inFlightAppends the InFlightAppends of the journal, or null if it does not track them
+     * @throws SQLException if my offset cannot be read
+     */
+    public JDBCJournalReaderActor(final Configuration configuration, final String name, final InFlightAppends inFlightAppends) throws SQLException {
+        this(configuration, name, inFlightAppends, null);
+    }
+
+    /**
+     * Construct my state as {@code JDBCJournalReaderActor(configuration, name, inFlightAppends)},
+     * subscribed to the appends of the journal through {@code tail}. A read that finds no
+     * entry beyond those known to be appended is then not answered empty, but parked until
+     * {@code tail} informs me of an append, whose entries I then read and answer. Consumers
+     * that await my answers, such as an {@code EntryReaderStream}, thus receive each append
+     * as soon as it is committed, rather than polling me. A parked read is answered empty
+     * when another read, a rewind or a seek is requested, or when I am closed or stopped.
+     * @param configuration the Configuration of the journal
+     * @param name the String name of the reader
+     * @param inFlightAppends the InFlightAppends of the journal, or null if it does not track them
+     * @param tail the JournalTail of the journal, or null to answer reads beyond its end empty
+     * @throws SQLException if my offset cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public JDBCJournalReaderActor(final Configuration configuration, final String name, final InFlightAppends inFlightAppends, final JournalTail tail) throws SQLException {
         this.connection = configuration.connection;
+        this.inFlightAppends = inFlightAppends;
+        this.configuration = configuration;
         this.databaseType = configuration.databaseType;
         this.name = name;
         this.entryAdapterProvider = EntryAdapterProvider.instance(stage().world());
 
-        this.queries = JDBCQueries.queriesFor(this.connection);
+        this.queries = JDBCQueries.queriesFor(this.connection, configuration.format, configuration.payloadCompressionPolicy());
 
-        this.gson = new Gson();
+        this.metadataCodec = configuration.metadataCodec();
+        this.typeDictionary = configuration.typeDictionary();
+        this.entryMapper = entryMapperOf(queries.payloadCodec(), typeDictionary, metadataCodec);
         retrieveCurrentOffset();
+
+        this.readAhead = new ReadAheadBuffer<>(configuration.readAheadPolicy());
+        // batches are prefetched on the connection of a child, overlapping my own reads
+        this.fetcher = readAhead.isEnabled() ?
+                childActorFor(EntryBatchFetcher.class, Definition.has(JDBCEntryBatchFetcherActor.class,
+                        new JDBCEntryBatchFetcherInstantiator(configuration, entryMapper))) :
+                null;
+        this.selfReader = selfAs(JournalReader.class);
+        this.control = selfAs(JournalReaderControl.class);
+
+        this.tail = tail;
+        if (tail != null) {
+            this.tailHighWaterId = tail.highWaterId();
+            tail.subscribe(control);
+        }
+
+        this.offsets = new OffsetCommitter(configuration.offsetCommitPolicy(), this::updateCurrentOffset, offset);
+        final Scheduled<Object> offsetCommitTimer = (scheduled, data) -> control.offsetCommitIntervalElapsed();
+        this.offsetCommitSchedule = offsets.policy().isTimed() ?
+                stage().scheduler().schedule(offsetCommitTimer, null, offsets.policy().intervalMillis, offsets.policy().intervalMillis) :
+                null;
     }
 
     @Override
     public void close() {
+      unsubscribeFromTail();
+      commitOffset();
+      if (fetcher != null) {
+        fetcher.stop();
+      }
       try {
         queries.close();
       } catch (SQLException e) {
@@ -65,6 +149,62 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
       }
     }
 
+    /**
+     * Read and answer my parked read, if any, now that the entries up to {@code highWaterId}
+     * are appended. The read is sent to myself, so that it is served as any other.
+     */
+    @Override
+    public void appended(final long highWaterId) {
+        tailHighWaterId = Math.max(tailHighWaterId, highWaterId);
+
+        if (parkedRead == null || awaitsAppends()) {
+            return;
+        }
+
+        final CompletesEventually parked = parkedRead.completes;
+        final int maximumEntries = parkedRead.maximumEntries;
+        parkedRead = null;
+
+        if (maximumEntries == ParkedRead.SingleEntry) {
+            selfReader.readNext().andThenConsume(entry -> parked.with(entry));
+        } else {
+            selfReader.readNext(maximumEntries).andThenConsume(entries -> parked.with(entries));
+        }
+    }
+
+    @Override
+    public void awaitAppends(final long appends, final GappedEntries<TextEntry> gappedEntries) {
+        if (inFlightAppends.haveEndedThrough(appends)) {
+            // only appends of other processes can still fill the remaining gaps
+            reader().readGaps(gappedEntries, DefaultGapPreventionRetries, DefaultGapPreventionRetryInterval, this::readIds);
+        } else {
+            final Scheduled<Object> retry = (scheduled, data) -> control.awaitAppends(appends, gappedEntries);
+            scheduler().scheduleOnce(retry, null, 0L, DefaultGapPreventionRetryInterval);
+        }
+    }
+
+    @Override
+    public void offsetCommitIntervalElapsed() {
+        offsets.intervalElapsed();
+    }
+
+    @Override
+    public void prefetched(final long fromOffset, final List<TextEntry> entries) {
+        if (!readAhead.isFetchRequested() || readAhead.fetchOffset() != fromOffset) {
+            return; // dropped since requested
+        }
+
+        readAhead.fetched(entries);
+        prefetch();
+    }
+
+    @Override
+    public void stop() {
+        unsubscribeFromTail();
+        commitOffset();
+        super.stop();
+    }
+
     @Override
     public Completes<String> name() {
         return completes().with(name);
@@ -72,20 +212,39 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
 
     @Override
     public Completes<TextEntry> readNext() {
+        readAhead.clear();
+        releaseParkedRead();
+
+        if (awaitsAppends()) {
+            return parkRead(ParkedRead.SingleEntry);
+        }
+
         try (final ResultSet resultSet = queries.prepareSelectEntryQuery(offset).executeQuery()) {
             if (resultSet.next()) {
                 TextEntry entry = entryFromResultSet(resultSet);
 
                 ++offset;
-                updateCurrentOffset();
+                offsets.advancedTo(offset, 1);
                 return completes().with(entry);
+            } else if (inFlightAppends != null) {
+                if (retrieveLastOffset(offset - 1) < offset) {
+                    return completes().with(null); // not yet appended
+                }
+                final long appends = inFlightAppends.lastBegun();
+                final List<Long> gapIds = new ArrayList<>();
+                gapIds.add(offset);
+                awaitAppends(appends, new GappedEntries<>(new ArrayList<>(), gapIds, completesEventually()));
+
+                ++offset;
+                offsets.advancedTo(offset, 1);
+                return completes();
             } else {
                 List<Long> gapIds = reader().detectGaps(null, offset);
                 GappedEntries<TextEntry> gappedEntries = new GappedEntries<>(new ArrayList<>(), gapIds, completesEventually());
                 reader().readGaps(gappedEntries, DefaultGapPreventionRetries, DefaultGapPreventionRetryInterval, this::readIds);
 
                 ++offset;
-                updateCurrentOffset();
+                offsets.advancedTo(offset, 1);
                 return completes();
             }
         } catch (Exception e) {
@@ -103,20 +262,39 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
 
     @Override
     public Completes<List<TextEntry>> readNext(final int maximumEntries) {
+        releaseParkedRead();
+
+        final List<TextEntry> prefetched = readAhead.take(offset, maximumEntries);
+        if (prefetched != null) {
+            // a prefetched batch is full, so it has no gaps
+            offset += maximumEntries;
+            offsets.advancedTo(offset, maximumEntries);
+            readAheadFrom(maximumEntries, true);
+            return completes().with(prefetched);
+        }
+
+        if (awaitsAppends()) {
+            return parkRead(maximumEntries);
+        }
+
         try (final ResultSet resultSet = queries.prepareSelectEntryBatchQuery(offset, maximumEntries).executeQuery()) {
             final List<TextEntry> entries = entriesFromResultSet(resultSet);
             List<Long> gapIds = reader().detectGaps(entries, offset, maximumEntries);
-            if (!gapIds.isEmpty()) {
+            if (!gapIds.isEmpty() && inFlightAppends != null) {
+                return readNextAwaitingAppends(entries, gapIds, maximumEntries);
+            } else if (!gapIds.isEmpty()) {
                 GappedEntries<TextEntry> gappedEntries = new GappedEntries<>(entries, gapIds, completesEventually());
                 reader().readGaps(gappedEntries, DefaultGapPreventionRetries, DefaultGapPreventionRetryInterval, this::readIds);
 
                 // Move offset with maximumEntries regardless of filled up gaps
                 offset += maximumEntries;
-                updateCurrentOffset();
+                offsets.advancedTo(offset, maximumEntries);
+                readAheadFrom(maximumEntries, false);
                 return completes();
             } else {
                 offset += maximumEntries;
-                updateCurrentOffset();
+                offsets.advancedTo(offset, maximumEntries);
+                readAheadFrom(maximumEntries, true);
                 return completes().with(entries);
             }
         } catch (Exception e) {
@@ -134,26 +312,31 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
 
     @Override
     public void rewind() {
+        readAhead.clear();
+        releaseParkedRead();
         this.offset = 1;
-        updateCurrentOffset();
+        offsets.movedTo(offset);
     }
 
     @Override
     public Completes<String> seekTo(final String id) {
+        readAhead.clear();
+        releaseParkedRead();
+
         switch (id) {
             case Beginning:
                 this.offset = 1;
-                updateCurrentOffset();
+                offsets.movedTo(offset);
                 break;
             case End:
                 this.offset = retrieveLastOffset() + 1;
-                updateCurrentOffset();
+                offsets.movedTo(offset);
                 break;
             case Query:
                 break;
             default:
                 this.offset = Integer.parseInt(id);
-                updateCurrentOffset();
+                offsets.movedTo(offset);
                 break;
         }
 
@@ -179,24 +362,44 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
     @Override
     @SuppressWarnings("unchecked")
     public Completes<Stream> streamAll() {
-      return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider));
+        // the cursor is opened and read on other threads, so it captures only what they can share
+        final JDBCQueries queries = this.queries;
+        final DatabaseType databaseType = this.databaseType;
+        final CursorOpener streamEntries = streamConnection ->
+                queries.prepareNewStreamEntriesQuery(streamConnection, databaseType, JDBCEntryStream.DefaultFetchSize);
+        final Stream byBatches = new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider);
+
+        return completes().with(new JDBCEntryStream<>(stage(), configuration, streamEntries, entryMapper, entryAdapterProvider, byBatches, logger()));
     }
 
-    private TextEntry entryFromResultSet(final ResultSet resultSet) throws SQLException, ClassNotFoundException {
-        final long id = resultSet.getLong(1);
-        final String entryData = resultSet.getString(2);
-        final String entryType = resultSet.getString(3);
-        final int eventTypeVersion = resultSet.getInt(4);
-        final String entryMetadata = resultSet.getString(5);
-        final int entryVersion = resultSet.getInt(6); // from E_STREAM_VERSION
-
-        final Class<?> classOfEvent = StoredTypes.forName(entryType);
-        final Metadata eventMetadataDeserialized = gson.fromJson(entryMetadata, Metadata.class);
+    /**
+     * Answer the {@code EntryMapper<TextEntry>} that reads an entry from the current row of
+     * a journal query, which captures only collaborators that may be shared between threads.
+     */
+    private static EntryMapper<TextEntry> entryMapperOf(
+            final JournalPayloadCodec payloadCodec,
+            final TypeDictionary typeDictionary,
+            final MetadataCodec metadataCodec) {
+        return resultSet -> {
+            final long id = resultSet.getLong(1);
+            final String entryData = payloadCodec.payloadFrom(resultSet, 2);
+            final String entryType = resultSet.getString(3);
+            final int eventTypeVersion = resultSet.getInt(4);
+            final String entryMetadata = resultSet.getString(5);
+            final int entryVersion = resultSet.getInt(6); // from E_STREAM_VERSION
+
+            final Class<?> classOfEvent = typeDictionary.classOf(entryType);
+            final Metadata eventMetadataDeserialized = metadataCodec.decode(entryMetadata);
+
+            return new BaseEntry.TextEntry(String.valueOf(id), classOfEvent, eventTypeVersion, entryData, entryVersion, eventMetadataDeserialized);
+        };
+    }
 
-        return new BaseEntry.TextEntry(String.valueOf(id), classOfEvent, eventTypeVersion, entryData, entryVersion, eventMetadataDeserialized);
+    private TextEntry entryFromResultSet(final ResultSet resultSet) throws Exception {
+        return entryMapper.entryFrom(resultSet);
     }
 
-    private List<TextEntry> entriesFromResultSet(ResultSet resultSet) throws SQLException, ClassNotFoundException {
+    private List<TextEntry> entriesFromResultSet(ResultSet resultSet) throws Exception {
         final List<TextEntry> entries = new ArrayList<>();
         while (resultSet.next()) {
             TextEntry entry = entryFromResultSet(resultSet);
@@ -206,6 +409,101 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
         return entries;
     }
 
+    private void commitOffset() {
+        if (offsetCommitSchedule != null) {
+            offsetCommitSchedule.cancel();
+        }
+        if (!offsets.commit()) {
+            logger().error("vlingo-symbio-jdbc:journal-reader-" + databaseType + ": Could not persist the offset " + offset + " of " + name + " on close.");
+        }
+    }
+
+    /**
+     * Answer {@code entries} and those of {@code gapIds} up to the highest id that has been
+     * read, once the appends in flight that may have allocated them have ended. My offset
+     * is moved just past that highest id, or not at all if no entry beyond it is readable.
+     */
+    private Completes<List<TextEntry>> readNextAwaitingAppends(final List<TextEntry> entries, final List<Long> gapIds, final int maximumEntries) {
+        final long highestId = entries.isEmpty() ?
+                retrieveLastOffset(offset - 1) :
+                Long.parseLong(entries.get(entries.size() - 1).id());
+        final long throughId = Math.min(highestId, offset + maximumEntries - 1);
+        if (throughId < offset) {
+            return completes().with(new ArrayList<>()); // not yet appended
+        }
+
+        final long appends = inFlightAppends.lastBegun();
+        final List<Long> awaitedIds = new ArrayList<>();
+        for (final Long gapId : gapIds) {
+            if (gapId <= throughId) {
+                awaitedIds.add(gapId);
+            }
+        }
+
+        final int advance = Math.toIntExact(throughId - offset + 1);
+        offset = throughId + 1;
+        offsets.advancedTo(offset, advance);
+        readAheadFrom(maximumEntries, false);
+
+        if (awaitedIds.isEmpty()) {
+            return completes().with(entries);
+        }
+
+        awaitAppends(appends, new GappedEntries<>(entries, awaitedIds, completesEventually()));
+        return completes();
+    }
+
+    /**
+     * Request the fetch of the next batch from my fetcher if one is due. The fetched
+     * batch is sent back to me by {@code prefetched(fromOffset, entries)}.
+     */
+    private void prefetch() {
+        if (!readAhead.requestFetch()) {
+            return;
+        }
+
+        final long fromOffset = readAhead.fetchOffset();
+        fetcher.fetch(fromOffset, readAhead.fetchSize()).andThenConsume(entries -> control.prefetched(fromOffset, entries));
+    }
+
+    private void readAheadFrom(final int maximumEntries, final boolean complete) {
+        readAhead.answered(offset, maximumEntries, complete);
+        prefetch();
+    }
+
+    /**
+     * Answer whether or not my next read must await an append, because my tail knows of
+     * no entry at or beyond my offset.
+     */
+    private boolean awaitsAppends() {
+        return tail != null && offset > tailHighWaterId;
+    }
+
+    /**
+     * Answer the eventual outcome of a read of {@code maximumEntries} that awaits an append.
+     */
+    private <T> Completes<T> parkRead(final int maximumEntries) {
+        parkedRead = new ParkedRead(completesEventually(), maximumEntries);
+        return completes();
+    }
+
+    /**
+     * Answer my parked read, if any, as if it found no entry.
+     */
+    private void releaseParkedRead() {
+        if (parkedRead != null) {
+            parkedRead.completes.with(parkedRead.isSingleEntry() ? null : new ArrayList<TextEntry>());
+            parkedRead = null;
+        }
+    }
+
+    private void unsubscribeFromTail() {
+        releaseParkedRead();
+        if (tail != null) {
+            tail.unsubscribe(control);
+        }
+    }
+
     private GapRetryReader<TextEntry> reader() {
         if (reader == null) {
             reader = new GapRetryReader<>(stage(), scheduler());
@@ -239,17 +537,23 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
         }
     }
 
-    private void updateCurrentOffset() {
+    private boolean updateCurrentOffset(final long offset) {
         try {
             queries.prepareUpsertOffsetQuery(name, offset).executeUpdate();
             connection.commit();
+            return true;
         } catch (Exception e) {
-            logger().error("vlingo-symbio-jdbc:journal-reader-" + databaseType + ": Could not persist the offset. Will retry on next read.");
+            logger().error("vlingo-symbio-jdbc:journal-reader-" + databaseType + ": Could not persist the offset. Will retry on next commit.");
             logger().error("vlingo-symbio-jdbc:journal-reader-" + databaseType + ": " + e.getMessage(), e);
+            return false;
         }
     }
 
     private long retrieveLastOffset() {
+        return retrieveLastOffset(offset);
+    }
+
+    private long retrieveLastOffset(final long otherwise) {
         try (final ResultSet resultSet = queries.prepareSelectLastOffsetQuery().executeQuery()) {
             if (resultSet.next()) {
                 final long lastOffset = resultSet.getLong(1);
@@ -260,24 +564,55 @@ public class JDBCJournalReaderActor extends Actor implements JournalReader<TextE
             logger().error("vlingo-symbio-jdbc:journal-reader-" + databaseType + ": Could not retrieve latest offset, using current.");
         }
 
-        return offset;
+        return otherwise;
+    }
+
+    /**
+     * A read that awaits an append, of a single entry or of at most {@code maximumEntries}.
+     */
+    private static class ParkedRead {
+        static final int SingleEntry = 0;
+
+        final CompletesEventually completes;
+        final int maximumEntries;
+
+        ParkedRead(final CompletesEventually completes, final int maximumEntries) {
+            this.completes = completes;
+            this.maximumEntries = maximumEntries;
+        }
+
+        boolean isSingleEntry() {
+            return maximumEntries == SingleEntry;
+        }
     }
 
     public static class JDBCJournalReaderInstantiator implements ActorInstantiator<JDBCJournalReaderActor> {
       private static final long serialVersionUID = -7848399986246046163L;
 
       private final Configuration configuration;
+      private final InFlightAppends inFlightAppends;
       private final String name;
+      private final JournalTail tail;
 
       public JDBCJournalReaderInstantiator(final Configuration configuration, final String name) {
+        this(configuration, name, null);
+      }
+
+      public JDBCJournalReaderInstantiator(final Configuration configuration, final String name, final InFlightAppends inFlightAppends) {
+        this(configuration, name, inFlightAppends, null);
+      }
+
+      public JDBCJournalReaderInstantiator(final Configuration configuration, final String name, final InFlightAppends inFlightAppends, final JournalTail tail) {
         this.configuration = configuration;
         this.name = name;
+        this.inFlightAppends = inFlightAppends;
+        this.tail = tail;
       }
 
       @Override
       public JDBCJournalReaderActor instantiate() {
         try {
-          return new JDBCJournalReaderActor(configuration, name);
+          return new JDBCJournalReaderActor(configuration, name, inFlightAppends, tail);
         } catch (SQLException e) {
           throw new IllegalArgumentException("Failed instantiator of " + getClass() + " because: " + e.getMessage(), e);
         }
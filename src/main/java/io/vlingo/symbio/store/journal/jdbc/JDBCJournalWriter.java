@@ -27,6 +27,17 @@ public interface JDBCJournalWriter {
 
 	void flush();
 
+	/**
+	 * Flush buffered entries if my {@code FlushPolicy} considers them due, which the journal
+	 * checks periodically. A writer that does not buffer entries does nothing.
+	 */
+	void flushIfDue();
+
+	/**
+	 * Delete the snapshots that the {@code SnapshotRetentionPolicy} of my configuration no longer keeps.
+	 */
+	void pruneSnapshots();
+
 	void stop();
 
 	void setLogger(Logger logger);
@@ -0,0 +1,30 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.io.Serializable;
+
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+
+/**
+ * Creates the {@code JDBCJournalWriter} of each shard of a {@code ShardedJDBCJournalActor}.
+ */
+@FunctionalInterface
+public interface JDBCJournalWriterFactory extends Serializable {
+    /**
+     * Answer a new {@code JDBCJournalWriter} that writes with {@code configuration}.
+     * The answered writer must be a {@code JDBCJournalInstantWriter} or a
+     * {@code JDBCJournalBatchWriter}.
+     * @param configuration the Configuration of the shard, with its own connection
+     * @param dispatcherControl the DispatcherControl of the journal, or null for all but one shard
+     * @return JDBCJournalWriter
+     * @throws Exception if the writer cannot be created
+     */
+    JDBCJournalWriter writerFor(final Configuration configuration, final DispatcherControl dispatcherControl) throws Exception;
+}
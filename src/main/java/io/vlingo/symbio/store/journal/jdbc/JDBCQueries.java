@@ -11,85 +11,147 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import io.vlingo.common.Tuple2;
+import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream;
+import io.vlingo.symbio.store.common.jdbc.PayloadCompressionPolicy;
+import io.vlingo.symbio.store.journal.jdbc.hsqldb.HSQLDBQueries;
 import io.vlingo.symbio.store.journal.jdbc.mysql.MySQLQueries;
 import io.vlingo.symbio.store.journal.jdbc.postgres.PostgresQueries;
 import io.vlingo.symbio.store.journal.jdbc.postgres.yugabyte.YugaByteQueries;
 
 public abstract class JDBCQueries {
+    public static final String StreamIndexName = "IDX_VLINGO_SYMBIO_JOURNAL_STREAM";
+
+    private static final int InsertEntryColumns = 6;
+    private static final int MaxCachedInsertEntriesStatements = 8;
+    private static final int StreamFetchSize = 1_000;
+
+    private static final String IntegrityViolationState = "23000";
+    private static final int MySQLDuplicateEntryError = 1062;
+    private static final String UniqueViolationState = "23505";
+
     protected final Connection connection;
+    protected final JournalPayloadCodec payloadCodec;
 
-    protected final PreparedStatement deleteDispatchable;
+    protected PreparedStatement deleteDispatchable;
+    protected PreparedStatement deleteSnapshotsBefore;
 
-    protected final PreparedStatement insertEntry;
-    protected final PreparedStatement insertOffset;
-    protected final PreparedStatement insertSnapshot;
-    protected final PreparedStatement insertDispatchable;
+    protected PreparedStatement insertEntry;
+    protected PreparedStatement insertOffset;
+    protected PreparedStatement insertSnapshot;
+    protected PreparedStatement insertDispatchable;
 
-    protected final PreparedStatement selectCurrentOffset;
-    protected final PreparedStatement selectDispatchables;
-    protected final PreparedStatement selectLastOffset;
-    protected final PreparedStatement selectJournalCount;
-    protected final PreparedStatement selectEntry;
-    protected final PreparedStatement selectEntryBatch;
-    protected final PreparedStatement selectSnapshot;
-    protected final PreparedStatement selectStream;
+    protected PreparedStatement selectCurrentOffset;
+    protected PreparedStatement selectDispatchables;
+    protected PreparedStatement selectLastOffset;
+    protected PreparedStatement selectJournalCount;
+    protected PreparedStatement selectEntry;
+    protected PreparedStatement selectEntryBatch;
+    protected PreparedStatement selectSnapshot;
+    protected PreparedStatement selectSnapshotVersions;
+    protected PreparedStatement selectStream;
+    protected PreparedStatement selectStreamWithSnapshot;
 
-    protected final PreparedStatement updateOffset;
-    protected final PreparedStatement upsertOffset;
+    protected PreparedStatement updateOffset;
+    protected PreparedStatement upsertOffset;
+
+    private final Map<Integer, PreparedStatement> insertEntries;
 
     public JDBCQueries(final Connection connection) throws SQLException {
-        this.connection = connection;
+        this(connection, JournalPayloadCodec.text());
+    }
 
-        this.deleteDispatchable = connection.prepareStatement(deleteDispatchableQuery());
+    /**
+     * Construct my state.
+     * @param connection the Connection to use
+     * @param payloadCodec the JournalPayloadCodec of the entry and snapshot payloads
+     * @throws SQLException if my state cannot be constructed
+     */
+    public JDBCQueries(final Connection connection, final JournalPayloadCodec payloadCodec) throws SQLException {
+        this.connection = connection;
+        this.payloadCodec = payloadCodec;
 
-        this.insertEntry = connection.prepareStatement(insertEntryQuery(), generatedKeysIndicator());
-        this.insertOffset = connection.prepareStatement(insertOffsetQuery());
-        this.insertSnapshot = connection.prepareStatement(insertSnapshotQuery());
-        this.insertDispatchable = connection.prepareStatement(insertDispatchableQuery());
+        // the statements are prepared on first use, so that I may be created before my tables
+        // exist, and on connections that use only some of them, such as those of readers
 
-        this.selectCurrentOffset = connection.prepareStatement(selectCurrentOffset());
-        this.selectDispatchables = connection.prepareStatement(selectDispatchablesQuery());
-        this.selectEntry = connection.prepareStatement(selectEntryQuery());
-        this.selectEntryBatch = connection.prepareStatement(selectEntryBatchQuery());
-        this.selectLastOffset = connection.prepareStatement(selectLastOffsetQuery());
-        this.selectJournalCount = connection.prepareStatement(selectJournalCountQuery());
-        this.selectSnapshot = connection.prepareStatement(selectSnapshotQuery());
-        this.selectStream = connection.prepareStatement(selectStreamQuery());
+        this.insertEntries = new LinkedHashMap<Integer, PreparedStatement>(MaxCachedInsertEntriesStatements, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
 
-        this.updateOffset = connection.prepareStatement(updateOffsetQuery());
-        this.upsertOffset = connection.prepareStatement(upsertOffsetQuery());
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, PreparedStatement> eldest) {
+                if (size() > MaxCachedInsertEntriesStatements) {
+                    JDBCQueries.this.close(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
     }
 
     /**
-     * Answer a new {@code PostgresQueries} per the {@code DatabaseType} of the {@code connection}.
+     * Answer a new {@code JDBCQueries} per the {@code DatabaseType} of the {@code connection}.
      * @param connection the Connection to use
-     * @return PostgresQueries
-     * @throws SQLException if the specific PostgresQueries cannot be created
+     * @return JDBCQueries
+     * @throws SQLException if the specific JDBCQueries cannot be created
      */
     public static JDBCQueries queriesFor(final Connection connection) throws SQLException {
+        return queriesFor(connection, DataFormat.Text, PayloadCompressionPolicy.none());
+    }
+
+    /**
+     * Answer a new {@code JDBCQueries} per the {@code DatabaseType} of the {@code connection},
+     * whose entry and snapshot data columns store payloads per {@code format}, compressed per
+     * {@code compressionPolicy} when binary.
+     * @param connection the Connection to use
+     * @param format the DataFormat of the data columns
+     * @param compressionPolicy the PayloadCompressionPolicy of binary payloads
+     * @return JDBCQueries
+     * @throws SQLException if the specific JDBCQueries cannot be created
+     */
+    public static JDBCQueries queriesFor(
+            final Connection connection,
+            final DataFormat format,
+            final PayloadCompressionPolicy compressionPolicy) throws SQLException {
         final DatabaseType databaseType = DatabaseType.databaseType(connection);
+        final JournalPayloadCodec payloadCodec = new JournalPayloadCodec(format, compressionPolicy);
 
         switch (databaseType) {
+            case HSQLDB:
+                return new HSQLDBQueries(connection, payloadCodec);
             case Postgres:
-                return new PostgresQueries(connection);
+                return new PostgresQueries(connection, payloadCodec);
             case YugaByte:
-                return new YugaByteQueries(connection);
+                return new YugaByteQueries(connection, payloadCodec);
             case MySQL:
-                return new MySQLQueries(connection);
+                return new MySQLQueries(connection, payloadCodec);
             default:
                 throw new IllegalArgumentException("Database type not supported: " + databaseType);
         }
     }
 
+    /**
+     * Answer the {@code JournalPayloadCodec} with which my entry and snapshot payloads are stored and read.
+     * @return JournalPayloadCodec
+     */
+    public JournalPayloadCodec payloadCodec() {
+        return payloadCodec;
+    }
+
     public void close() throws SQLException {
         close(deleteDispatchable);
+        close(deleteSnapshotsBefore);
         close(insertEntry);
         close(insertOffset);
         close(insertSnapshot);
@@ -101,44 +163,114 @@ public abstract class JDBCQueries {
         close(selectLastOffset);
         close(selectJournalCount);
         close(selectSnapshot);
+        close(selectSnapshotVersions);
         close(selectStream);
+        close(selectStreamWithSnapshot);
         close(updateOffset);
         close(upsertOffset);
+        insertEntries.values().forEach(this::close);
+        insertEntries.clear();
 
         connection.close();
     }
 
-    public void createTables() throws SQLException {
-        connection.createStatement().execute(createJournalTableQuery());
-        connection.commit();
-        connection.createStatement().execute(createOffsetsTable());
-        connection.commit();
-        connection.createStatement().execute(createSnapshotsTableQuery());
-        connection.commit();
-        connection.createStatement().execute(createDispatchableTable());
-        connection.commit();
+    /**
+     * Create my tables and the unique stream index of the journal unless they exist.
+     * @return boolean whether or not the stream index is in place, as it may not be when
+     * {@link #createStreamIndex()} could not create it
+     * @throws SQLException if a table or the stream index cannot be created
+     */
+    public boolean createTables() throws SQLException {
+        execute(createJournalTableQuery());
+        final boolean streamIndexed = createStreamIndex();
+        execute(createOffsetsTable());
+        execute(createSnapshotsTableQuery());
+        execute(createDispatchableTable());
+        return streamIndexed;
+    }
+
+    /**
+     * Create the unique index of the journal on {@code (E_STREAM_NAME, E_STREAM_VERSION)}
+     * unless it already exists. This migrates journal tables created before the index
+     * was introduced. The index cannot be created while the journal holds two entries
+     * with the same stream name and version, in which case this fails until the duplicates
+     * are resolved. Databases that cannot create an index conditionally override this.
+     * @return boolean whether or not the index is in place
+     * @throws SQLException if the index cannot be created
+     */
+    public boolean createStreamIndex() throws SQLException {
+        execute(createStreamIndexQuery());
+        return true;
+    }
+
+    /**
+     * Answer whether or not {@code e}, raised by the insert of journal entries, was caused
+     * by the violation of the unique stream index {@code StreamIndexName}, which means that
+     * an appended entry has a stream name and version that are already in the journal.
+     * The constraint is identified by name where the driver exposes it, and otherwise by
+     * the unique violation alone, as the stream index is the only unique constraint of the
+     * journal besides its generated primary key.
+     * @param e the Exception to inspect
+     * @return boolean
+     */
+    public boolean isStreamVersionViolation(final Exception e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                while (sqlException != null) {
+                    if (isUniqueViolation(sqlException) && isOfStreamIndex(sqlException)) {
+                        return true;
+                    }
+                    sqlException = sqlException.getNextException();
+                }
+            }
+            cause = cause.getCause();
+        }
+        return false;
     }
 
     public void dropTables() throws SQLException {
-        connection.prepareStatement(dropDispatchablesTableQuery()).execute();
-        connection.commit();
-        connection.prepareStatement(dropSnapshotsTableQuery()).execute();
-        connection.commit();
-        connection.prepareStatement(dropOffsetsTable()).execute();
-        connection.commit();
-        connection.prepareStatement(dropJournalTable()).execute();
-        connection.commit();
+        execute(dropDispatchablesTableQuery());
+        execute(dropSnapshotsTableQuery());
+        execute(dropOffsetsTable());
+        execute(dropJournalTable());
     }
 
     public PreparedStatement prepareDeleteDispatchableQuery(
             final String dispatchableId)
             throws SQLException {
 
-        deleteDispatchable.clearParameters();
+        final PreparedStatement statement = deleteDispatchableStatement();
 
-        deleteDispatchable.setString(1, dispatchableId);
+        statement.clearParameters();
 
-        return deleteDispatchable;
+        statement.setString(1, dispatchableId);
+
+        return statement;
+    }
+
+    /**
+     * Answer the {@link PreparedStatement} that deletes the snapshots of {@code streamName}
+     * with a stream version lower than {@code streamVersion}.
+     * @param streamName the String name of the stream
+     * @param streamVersion the int lowest stream version of the snapshots to keep
+     * @return PreparedStatement
+     * @throws SQLException if a parameter cannot be set
+     */
+    public PreparedStatement prepareDeleteSnapshotsBeforeQuery(
+            final String streamName,
+            final int streamVersion)
+            throws SQLException {
+
+        final PreparedStatement statement = deleteSnapshotsBeforeStatement();
+
+        statement.clearParameters();
+
+        statement.setString(1, streamName);
+        statement.setInt(2, streamVersion);
+
+        return statement;
     }
 
     public long generatedKeyFrom(PreparedStatement insertStatement) throws SQLException {
@@ -162,21 +294,23 @@ public abstract class JDBCQueries {
             final String d_entries)
             throws SQLException {
 
-        insertDispatchable.clearParameters();
+        final PreparedStatement statement = insertDispatchableStatement();
 
-        insertDispatchable.setString(1, d_dispatch_id);
-        insertDispatchable.setString(2, d_originator_id);
-        insertDispatchable.setLong(3, System.currentTimeMillis());
+        statement.clearParameters();
 
-        insertDispatchable.setString(4, d_state_id);
-        insertDispatchable.setString(5, d_state_data);
-        insertDispatchable.setInt(6, d_state_data_version);
-        insertDispatchable.setString(7, d_state_type);
-        insertDispatchable.setInt(8, d_state_type_version);
-        insertDispatchable.setString(9, d_state_metadata);
-        insertDispatchable.setString(10, d_entries);
+        statement.setString(1, d_dispatch_id);
+        statement.setString(2, d_originator_id);
+        statement.setLong(3, System.currentTimeMillis());
 
-        return Tuple2.from(insertDispatchable, Optional.empty());
+        statement.setString(4, d_state_id);
+        statement.setString(5, d_state_data);
+        statement.setInt(6, d_state_data_version);
+        statement.setString(7, d_state_type);
+        statement.setInt(8, d_state_type_version);
+        statement.setString(9, d_state_metadata);
+        statement.setString(10, d_entries);
+
+        return Tuple2.from(statement, Optional.empty());
     }
 
     public Tuple2<PreparedStatement,Optional<String>> prepareInsertEntryQuery(
@@ -188,18 +322,388 @@ public abstract class JDBCQueries {
             final String entry_metadata)
             throws SQLException {
 
-        insertEntry.clearParameters();
+        final PreparedStatement statement = insertEntryStatement();
+
+        statement.clearParameters();
+
+        statement.setString(1, stream_name);
+        statement.setInt(2, stream_version);
+
+        payloadCodec.bind(statement, 3, entry_data);
+        statement.setString(4, entry_type);
+        statement.setInt(5, entry_type_version);
+
+        statement.setString(6, entry_metadata);
+
+        return Tuple2.from(statement, Optional.empty());
+    }
+
+    /**
+     * Answer whether or not I can insert many entries with a single multi-row
+     * {@code INSERT} and answer their generated identities in insertion order.
+     * When not, batch writers fall back to {@link #prepareInsertEntryQuery}.
+     * @return boolean
+     */
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    /**
+     * Answer whether or not I can notify listeners of committed appends, and listen to
+     * such notifications, as by Postgres {@code NOTIFY} and {@code LISTEN}. When not,
+     * {@link #awaitAppends(int)} polls {@link #prepareSelectLastOffsetQuery()} instead.
+     * @return boolean
+     */
+    public boolean supportsAppendNotifications() {
+        return false;
+    }
+
+    /**
+     * Notify the listeners to appends that the entries up to {@code highWaterId} are
+     * appended, once the current transaction commits. Does nothing unless I
+     * {@link #supportsAppendNotifications()}.
+     * @param highWaterId the long greatest E_ID of the appended entries
+     * @throws SQLException if the notification fails
+     */
+    public void notifyAppended(final long highWaterId) throws SQLException {
+    }
+
+    /**
+     * Start listening to append notifications on my connection. Does nothing unless I
+     * {@link #supportsAppendNotifications()}.
+     * @throws SQLException if listening fails
+     */
+    public void listenToAppends() throws SQLException {
+    }
+
+    /**
+     * Answer the greatest E_ID known to be appended after waiting up to {@code timeoutMillis},
+     * or -1 if none is known. I wait the whole {@code timeoutMillis} and then answer the
+     * greatest E_ID of the journal, and those that {@link #supportsAppendNotifications()}
+     * answer the greatest high-water E_ID of the notifications received meanwhile.
+     * @param timeoutMillis the int maximum milliseconds to wait
+     * @return long
+     * @throws SQLException if the greatest E_ID cannot be queried or notifications cannot be received
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public long awaitAppends(final int timeoutMillis) throws SQLException, InterruptedException {
+        Thread.sleep(timeoutMillis);
+
+        try (final ResultSet resultSet = prepareSelectLastOffsetQuery().executeQuery()) {
+            final long lastEntryId = resultSet.next() ? resultSet.getLong(1) : -1L;
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            return lastEntryId;
+        }
+    }
+
+    /**
+     * Answer the {@link PreparedStatement} of a multi-row INSERT of {@code rows} entries,
+     * with its parameters cleared. Statements are cached per number of rows, so
+     * the answer must not be closed by the client.
+     * @param rows the int number of entries to insert
+     * @return PreparedStatement
+     * @throws SQLException if the statement creation fails
+     */
+    public PreparedStatement prepareInsertEntriesQuery(final int rows) throws SQLException {
+        PreparedStatement insertStatement = insertEntries.get(rows);
+
+        if (insertStatement == null) {
+            final String[] rowPlaceholders = new String[rows];
+            Arrays.fill(rowPlaceholders, "(?, ?, ?, ?, ?, ?)");
+            final String query = MessageFormat.format(insertEntriesQuery(), String.join(", ", rowPlaceholders));
+            insertStatement = prepareInsertEntriesStatement(query);
+            insertEntries.put(rows, insertStatement);
+        } else {
+            insertStatement.clearParameters();
+        }
+
+        return insertStatement;
+    }
+
+    /**
+     * Set the parameters of the entry at {@code row} of a statement answered by {@link #prepareInsertEntriesQuery(int)}.
+     * @param insertStatement the PreparedStatement of the multi-row INSERT
+     * @param row the int zero-based row of the entry
+     * @param stream_name the String name of the entry's stream
+     * @param stream_version the int version of the entry's stream
+     * @param entry_data the String data of the entry
+     * @param entry_type the String type of the entry
+     * @param entry_type_version the int type version of the entry
+     * @param entry_metadata the String metadata of the entry
+     * @throws SQLException if a parameter cannot be set
+     */
+    public void setInsertEntriesRow(
+            final PreparedStatement insertStatement,
+            final int row,
+            final String stream_name,
+            final int stream_version,
+            final String entry_data,
+            final String entry_type,
+            final int entry_type_version,
+            final String entry_metadata)
+            throws SQLException {
+
+        final int offset = row * InsertEntryColumns;
+
+        insertStatement.setString(offset + 1, stream_name);
+        insertStatement.setInt(offset + 2, stream_version);
+
+        payloadCodec.bind(insertStatement, offset + 3, entry_data);
+        insertStatement.setString(offset + 4, entry_type);
+        insertStatement.setInt(offset + 5, entry_type_version);
+
+        insertStatement.setString(offset + 6, entry_metadata);
+    }
+
+    /**
+     * Execute the multi-row INSERT {@code insertStatement} and answer the generated
+     * identities of its {@code rows} entries in insertion order.
+     * @param insertStatement the PreparedStatement answered by {@link #prepareInsertEntriesQuery(int)}
+     * @param rows the int number of entries inserted
+     * @return {@code List<Long>}
+     * @throws SQLException if the insert fails
+     */
+    public List<Long> executeInsertEntries(final PreparedStatement insertStatement, final int rows) throws SQLException {
+        if (insertStatement.executeUpdate() != rows) {
+            return Collections.emptyList();
+        }
+
+        final List<Long> ids = new ArrayList<>(rows);
+        try (final ResultSet result = insertStatement.getGeneratedKeys()) {
+            while (result.next()) {
+                ids.add(result.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Answer my {@code deleteDispatchable} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement deleteDispatchableStatement() throws SQLException {
+        if (deleteDispatchable == null) {
+            deleteDispatchable = connection.prepareStatement(deleteDispatchableQuery());
+        }
+        return deleteDispatchable;
+    }
+
+    /**
+     * Answer my {@code deleteSnapshotsBefore} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement deleteSnapshotsBeforeStatement() throws SQLException {
+        if (deleteSnapshotsBefore == null) {
+            deleteSnapshotsBefore = connection.prepareStatement(deleteSnapshotsBeforeQuery());
+        }
+        return deleteSnapshotsBefore;
+    }
+
+    /**
+     * Answer my {@code insertDispatchable} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement insertDispatchableStatement() throws SQLException {
+        if (insertDispatchable == null) {
+            insertDispatchable = connection.prepareStatement(insertDispatchableQuery());
+        }
+        return insertDispatchable;
+    }
+
+    /**
+     * Answer my {@code insertEntry} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement insertEntryStatement() throws SQLException {
+        if (insertEntry == null) {
+            insertEntry = connection.prepareStatement(insertEntryQuery(), generatedKeysIndicator());
+        }
+        return insertEntry;
+    }
+
+    /**
+     * Answer my {@code insertOffset} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement insertOffsetStatement() throws SQLException {
+        if (insertOffset == null) {
+            insertOffset = connection.prepareStatement(insertOffsetQuery());
+        }
+        return insertOffset;
+    }
+
+    /**
+     * Answer my {@code insertSnapshot} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement insertSnapshotStatement() throws SQLException {
+        if (insertSnapshot == null) {
+            insertSnapshot = connection.prepareStatement(insertSnapshotQuery());
+        }
+        return insertSnapshot;
+    }
+
+    /**
+     * Answer my {@code selectCurrentOffset} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectCurrentOffsetStatement() throws SQLException {
+        if (selectCurrentOffset == null) {
+            selectCurrentOffset = connection.prepareStatement(selectCurrentOffset());
+        }
+        return selectCurrentOffset;
+    }
+
+    /**
+     * Answer my {@code selectDispatchables} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectDispatchablesStatement() throws SQLException {
+        if (selectDispatchables == null) {
+            selectDispatchables = connection.prepareStatement(selectDispatchablesQuery());
+        }
+        return selectDispatchables;
+    }
+
+    /**
+     * Answer my {@code selectEntry} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectEntryStatement() throws SQLException {
+        if (selectEntry == null) {
+            selectEntry = connection.prepareStatement(selectEntryQuery());
+        }
+        return selectEntry;
+    }
+
+    /**
+     * Answer my {@code selectEntryBatch} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectEntryBatchStatement() throws SQLException {
+        if (selectEntryBatch == null) {
+            selectEntryBatch = connection.prepareStatement(selectEntryBatchQuery());
+        }
+        return selectEntryBatch;
+    }
+
+    /**
+     * Answer my {@code selectLastOffset} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectLastOffsetStatement() throws SQLException {
+        if (selectLastOffset == null) {
+            selectLastOffset = connection.prepareStatement(selectLastOffsetQuery());
+        }
+        return selectLastOffset;
+    }
 
-        insertEntry.setString(1, stream_name);
-        insertEntry.setInt(2, stream_version);
+    /**
+     * Answer my {@code selectJournalCount} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectJournalCountStatement() throws SQLException {
+        if (selectJournalCount == null) {
+            selectJournalCount = connection.prepareStatement(selectJournalCountQuery());
+        }
+        return selectJournalCount;
+    }
 
-        insertEntry.setString(3, entry_data);
-        insertEntry.setString(4, entry_type);
-        insertEntry.setInt(5, entry_type_version);
+    /**
+     * Answer my {@code selectSnapshot} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectSnapshotStatement() throws SQLException {
+        if (selectSnapshot == null) {
+            selectSnapshot = connection.prepareStatement(selectSnapshotQuery());
+            selectSnapshot.setMaxRows(1);
+        }
+        return selectSnapshot;
+    }
 
-        insertEntry.setString(6, entry_metadata);
+    /**
+     * Answer my {@code selectSnapshotVersions} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectSnapshotVersionsStatement() throws SQLException {
+        if (selectSnapshotVersions == null) {
+            selectSnapshotVersions = connection.prepareStatement(selectSnapshotVersionsQuery());
+        }
+        return selectSnapshotVersions;
+    }
 
-        return Tuple2.from(insertEntry, Optional.empty());
+    /**
+     * Answer my {@code selectStream} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectStreamStatement() throws SQLException {
+        if (selectStream == null) {
+            selectStream = connection.prepareStatement(selectStreamQuery());
+        }
+        return selectStream;
+    }
+
+    /**
+     * Answer my {@code selectStreamWithSnapshot} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement selectStreamWithSnapshotStatement() throws SQLException {
+        if (selectStreamWithSnapshot == null) {
+            selectStreamWithSnapshot = connection.prepareStatement(selectStreamWithSnapshotQuery(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        }
+        return selectStreamWithSnapshot;
+    }
+
+    /**
+     * Answer my {@code updateOffset} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement updateOffsetStatement() throws SQLException {
+        if (updateOffset == null) {
+            updateOffset = connection.prepareStatement(updateOffsetQuery());
+        }
+        return updateOffset;
+    }
+
+    /**
+     * Answer my {@code upsertOffset} statement, preparing it on first use.
+     * @return PreparedStatement
+     * @throws SQLException if the statement cannot be prepared
+     */
+    protected PreparedStatement upsertOffsetStatement() throws SQLException {
+        if (upsertOffset == null) {
+            upsertOffset = connection.prepareStatement(upsertOffsetQuery());
+        }
+        return upsertOffset;
+    }
+
+    /**
+     * Answer a new {@link PreparedStatement} for the multi-row INSERT {@code query}.
+     * @param query the String multi-row INSERT
+     * @return PreparedStatement
+     * @throws SQLException if the statement creation fails
+     */
+    protected PreparedStatement prepareInsertEntriesStatement(final String query) throws SQLException {
+        return connection.prepareStatement(query, generatedKeysIndicator());
     }
 
     public PreparedStatement prepareInsertOffsetQuery(
@@ -207,12 +711,14 @@ public abstract class JDBCQueries {
             final long readerOffset)
             throws SQLException {
 
-        insertOffset.clearParameters();
+        final PreparedStatement statement = insertOffsetStatement();
 
-        insertOffset.setString(1, readerName);
-        insertOffset.setLong(2, readerOffset);
+        statement.clearParameters();
 
-        return insertOffset;
+        statement.setString(1, readerName);
+        statement.setLong(2, readerOffset);
+
+        return statement;
     }
 
     public Tuple2<PreparedStatement,Optional<String>> prepareInsertSnapshotQuery(
@@ -225,53 +731,81 @@ public abstract class JDBCQueries {
             final String e_snapshot_metadata)
             throws SQLException {
 
-        insertSnapshot.clearParameters();
+        final PreparedStatement statement = insertSnapshotStatement();
+
+        statement.clearParameters();
 
-        insertSnapshot.setString(1, stream_name);
-        insertSnapshot.setInt(2, stream_version);
+        statement.setString(1, stream_name);
+        statement.setInt(2, stream_version);
 
-        insertSnapshot.setString(3, e_snapshot_data);
-        insertSnapshot.setInt(4, e_snapshot_data_version);
+        payloadCodec.bind(statement, 3, e_snapshot_data);
+        statement.setInt(4, e_snapshot_data_version);
 
-        insertSnapshot.setString(5, e_snapshot_type);
-        insertSnapshot.setInt(6, e_snapshot_type_version);
+        statement.setString(5, e_snapshot_type);
+        statement.setInt(6, e_snapshot_type_version);
 
-        insertSnapshot.setString(7, e_snapshot_metadata);
+        statement.setString(7, e_snapshot_metadata);
 
-        return Tuple2.from(insertSnapshot, Optional.empty());
+        return Tuple2.from(statement, Optional.empty());
     }
 
     public PreparedStatement prepareSelectCurrentOffsetQuery(
             final String readerName)
             throws SQLException {
 
-        selectCurrentOffset.clearParameters();
+        final PreparedStatement statement = selectCurrentOffsetStatement();
 
-        selectCurrentOffset.setString(1, readerName);
+        statement.clearParameters();
 
-        return selectCurrentOffset;
+        statement.setString(1, readerName);
+
+        return statement;
     }
 
     public PreparedStatement prepareSelectDispatchablesQuery(
             final String oringinatorId)
             throws SQLException {
 
-        selectDispatchables.clearParameters();
+        final PreparedStatement statement = selectDispatchablesStatement();
 
-        selectDispatchables.setString(1, oringinatorId);
+        statement.clearParameters();
 
-        return selectDispatchables;
+        statement.setString(1, oringinatorId);
+
+        return statement;
+    }
+
+    /**
+     * Prepare always a new {@link PreparedStatement} which contains DELETE query of dispatchables based on dispatch ids.
+     * @param dispatchIds the {@code List<String>} of dispatch ids to use in the query
+     * @return a {@link PreparedStatement} which needs to be closed due to variable size of ids.
+     * @throws SQLException if the statement creation fails
+     */
+    public PreparedStatement prepareNewDeleteDispatchablesQuery(final List<String> dispatchIds) throws SQLException {
+        String[] placeholderList = new String[dispatchIds.size()];
+        Arrays.fill(placeholderList, "?");
+        String placeholders = String.join(", ", placeholderList);
+        String query = MessageFormat.format(deleteDispatchablesQuery(), placeholders);
+        PreparedStatement preparedStatement = connection.prepareStatement(query);
+
+        for (int i = 0; i < dispatchIds.size(); i++) {
+            preparedStatement.setString(i + 1, dispatchIds.get(i));
+        }
+
+        return preparedStatement;
     }
 
     public PreparedStatement prepareSelectEntryQuery(
             final long entryId)
             throws SQLException {
 
-        selectEntry.clearParameters();
+        final PreparedStatement statement = selectEntryStatement();
 
-        selectEntry.setLong(1, entryId);
+        statement.clearParameters();
 
-        return selectEntry;
+        statement.setLong(1, entryId);
+
+        return statement;
     }
 
     public PreparedStatement prepareSelectEntryBatchQuery(
@@ -279,12 +813,14 @@ public abstract class JDBCQueries {
             final int count)
             throws SQLException {
 
-        selectEntryBatch.clearParameters();
+        final PreparedStatement statement = selectEntryBatchStatement();
 
-        selectEntryBatch.setLong(1, entryId);
-        selectEntryBatch.setLong(2, entryId + count - 1);
+        statement.clearParameters();
 
-        return selectEntryBatch;
+        statement.setLong(1, entryId);
+        statement.setLong(2, entryId + count - 1);
+
+        return statement;
     }
 
     /**
@@ -307,23 +843,72 @@ public abstract class JDBCQueries {
         return preparedStatement;
     }
 
-    public PreparedStatement prepareSelectLastOffsetQuery() {
-        return selectLastOffset;
+    /**
+     * Prepare always a new {@link PreparedStatement} on {@code streamConnection}, which is dedicated
+     * to a stream, that selects all entries in the order of their ids through a forward-only cursor
+     * of {@code fetchSize} rows.
+     * @param streamConnection the Connection dedicated to the stream, which the stream closes
+     * @param databaseType the DatabaseType of {@code streamConnection}
+     * @param fetchSize the int number of rows that the database sends at a time
+     * @return a {@link PreparedStatement} to be closed together with its connection
+     * @throws SQLException if the statement creation fails
+     */
+    public PreparedStatement prepareNewStreamEntriesQuery(
+            final Connection streamConnection,
+            final DatabaseType databaseType,
+            final int fetchSize)
+            throws SQLException {
+
+        final PreparedStatement streamEntries = JDBCEntryStream.cursorFor(streamConnection, databaseType, selectEntryBatchQuery(), fetchSize);
+
+        streamEntries.setLong(1, 1L);
+        streamEntries.setLong(2, Long.MAX_VALUE);
+
+        return streamEntries;
     }
 
-    public PreparedStatement prepareSelectJournalCount() {
-        return selectJournalCount;
+    public PreparedStatement prepareSelectLastOffsetQuery() throws SQLException {
+        return selectLastOffsetStatement();
+    }
+
+    public PreparedStatement prepareSelectJournalCount() throws SQLException {
+        return selectJournalCountStatement();
     }
 
     public PreparedStatement prepareSelectSnapshotQuery(
             final String streamName)
             throws SQLException {
 
-        selectSnapshot.clearParameters();
+        final PreparedStatement statement = selectSnapshotStatement();
 
-        selectSnapshot.setString(1, streamName);
+        statement.clearParameters();
 
-        return selectSnapshot;
+        statement.setString(1, streamName);
+
+        return statement;
+    }
+
+    /**
+     * Answer the {@link PreparedStatement} that selects the stream versions of at most
+     * {@code limit} of the latest snapshots of {@code streamName}, latest first.
+     * @param streamName the String name of the stream
+     * @param limit the int maximum number of versions to answer
+     * @return PreparedStatement
+     * @throws SQLException if a parameter cannot be set
+     */
+    public PreparedStatement prepareSelectSnapshotVersionsQuery(
+            final String streamName,
+            final int limit)
+            throws SQLException {
+
+        final PreparedStatement statement = selectSnapshotVersionsStatement();
+
+        statement.clearParameters();
+
+        statement.setString(1, streamName);
+        statement.setMaxRows(limit);
+
+        return statement;
     }
 
     public PreparedStatement prepareSelectStreamQuery(
@@ -331,12 +916,52 @@ public abstract class JDBCQueries {
             final int streamVersion)
             throws SQLException {
 
-        selectStream.clearParameters();
+        final PreparedStatement statement = selectStreamStatement();
 
-        selectStream.setString(1, streamName);
-        selectStream.setInt(2, streamVersion);
+        statement.clearParameters();
 
-        return selectStream;
+        statement.setString(1, streamName);
+        statement.setInt(2, streamVersion);
+
+        return statement;
+    }
+
+    /**
+     * Answer the {@link PreparedStatement} that selects the latest snapshot of {@code streamName}
+     * together with its entries in a single round trip. The rows have the columns
+     * R_KIND, R_ID, R_STREAM_VERSION, R_DATA, R_TYPE, R_TYPE_VERSION, R_METADATA and
+     * R_DATA_VERSION. The snapshot row, if any, comes first with R_KIND 0. It is followed
+     * by the entry rows with R_KIND 1 in stream version order, starting at the greater of
+     * {@code fromStreamVersion} and the snapshot's data version.
+     * <p>
+     * The rows are read through a forward-only cursor with a fetch size of at most
+     * {@code StreamFetchSize}, so a driver that supports cursors holds only that many
+     * rows in memory at a time.
+     * </p>
+     * @param streamName the String name of the stream
+     * @param fromStreamVersion the int stream version of the first entry to answer
+     * @param maxRows the int maximum number of rows to answer, or 0 for all rows
+     * @return PreparedStatement
+     * @throws SQLException if a parameter cannot be set
+     */
+    public PreparedStatement prepareSelectStreamWithSnapshotQuery(
+            final String streamName,
+            final int fromStreamVersion,
+            final int maxRows)
+            throws SQLException {
+
+        final PreparedStatement statement = selectStreamWithSnapshotStatement();
+
+        statement.clearParameters();
+        statement.setMaxRows(maxRows);
+        statement.setFetchSize(maxRows == 0 ? StreamFetchSize : Math.min(maxRows, StreamFetchSize));
+
+        statement.setString(1, streamName);
+        statement.setString(2, streamName);
+        statement.setInt(3, fromStreamVersion);
+        statement.setString(4, streamName);
+
+        return statement;
     }
 
     public PreparedStatement prepareUpdateOffsetQuery(
@@ -344,12 +969,14 @@ public abstract class JDBCQueries {
             final long readerOffset)
             throws SQLException {
 
-        updateOffset.clearParameters();
+        final PreparedStatement statement = updateOffsetStatement();
 
-        updateOffset.setLong(1, readerOffset);
-        updateOffset.setString(2, readerName);
+        statement.clearParameters();
 
-        return updateOffset;
+        statement.setLong(1, readerOffset);
+        statement.setString(2, readerName);
+
+        return statement;
     }
 
     public PreparedStatement prepareUpsertOffsetQuery(
@@ -357,16 +984,51 @@ public abstract class JDBCQueries {
             final long readerOffset)
             throws SQLException {
 
-        upsertOffset.clearParameters();
+        final PreparedStatement statement = upsertOffsetStatement();
 
-        upsertOffset.setString(1, readerName);
-        upsertOffset.setLong(2, readerOffset);
-        upsertOffset.setLong(3, readerOffset);
+        statement.clearParameters();
 
-        return upsertOffset;
+        statement.setString(1, readerName);
+        statement.setLong(2, readerOffset);
+        statement.setLong(3, readerOffset);
+
+        return statement;
+    }
+
+    /**
+     * Answer the name of the constraint violated as reported by {@code e}, or {@code null}
+     * if the driver does not expose it.
+     * @param e the SQLException to inspect
+     * @return String
+     */
+    protected String violatedConstraintOf(final SQLException e) {
+        return null;
+    }
+
+    /**
+     * Execute and commit the {@code ddl} statement.
+     */
+    private void execute(final String ddl) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute(ddl);
+        }
+        connection.commit();
+    }
+
+    private boolean isOfStreamIndex(final SQLException e) {
+        final String constraint = violatedConstraintOf(e);
+        return constraint == null || StreamIndexName.equalsIgnoreCase(constraint);
+    }
+
+    private boolean isUniqueViolation(final SQLException e) {
+        return UniqueViolationState.equals(e.getSQLState()) ||
+                (IntegrityViolationState.equals(e.getSQLState()) && e.getErrorCode() == MySQLDuplicateEntryError);
     }
 
     private void close(final PreparedStatement statement) {
+        if (statement == null) {
+            return;
+        }
         try {
             statement.close();
         } catch (Exception e) {
@@ -382,8 +1044,26 @@ public abstract class JDBCQueries {
 
     protected abstract String createSnapshotsTableQuery();
 
+    /**
+     * Answer the CREATE of the unique index of the journal on {@code (E_STREAM_NAME, E_STREAM_VERSION)}.
+     * @return String
+     */
+    protected abstract String createStreamIndexQuery();
+
     protected abstract String deleteDispatchableQuery();
 
+    /**
+     * Answer the DELETE of dispatchables by dispatch ids, where {@code {0}} is replaced by the id placeholders.
+     * @return String
+     */
+    protected abstract String deleteDispatchablesQuery();
+
+    /**
+     * Answer the DELETE of the snapshots of a stream with a stream version lower than a given version.
+     * @return String
+     */
+    protected abstract String deleteSnapshotsBeforeQuery();
+
     protected abstract String dropDispatchablesTableQuery();
 
     protected abstract String dropJournalTable();
@@ -398,6 +1078,12 @@ public abstract class JDBCQueries {
 
     protected abstract String insertEntryQuery();
 
+    /**
+     * Answer the multi-row INSERT of entries, where {@code {0}} is replaced by the row placeholders.
+     * @return String
+     */
+    protected abstract String insertEntriesQuery();
+
     protected abstract String insertOffsetQuery();
 
     protected abstract String insertSnapshotQuery();
@@ -416,10 +1102,27 @@ public abstract class JDBCQueries {
 
     protected abstract String selectJournalCountQuery();
 
+    /**
+     * Answer the latest snapshot of a stream, which is the one with the highest stream version.
+     * @return String
+     */
     protected abstract String selectSnapshotQuery();
 
+    /**
+     * Answer the SELECT of the stream versions of the snapshots of a stream, latest first.
+     * @return String
+     */
+    protected abstract String selectSnapshotVersionsQuery();
+
     protected abstract String selectStreamQuery();
 
+    /**
+     * Answer the UNION ALL of the latest snapshot of a stream and its entries,
+     * as answered by {@link #prepareSelectStreamWithSnapshotQuery(String, int, int)}.
+     * @return String
+     */
+    protected abstract String selectStreamWithSnapshotQuery();
+
     protected abstract String updateOffsetQuery();
 
     protected abstract String upsertOffsetQuery();
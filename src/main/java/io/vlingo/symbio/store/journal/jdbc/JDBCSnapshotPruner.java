@@ -0,0 +1,118 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.vlingo.symbio.store.common.jdbc.SnapshotRetentionPolicy;
+
+/**
+ * Removes the snapshots of a journal that its {@code SnapshotRetentionPolicy} no
+ * longer keeps. Writers report each stream they snapshot, and {@code prune()} then
+ * removes all but the latest snapshots of only those streams, so the cost of pruning
+ * depends on the recently snapshotted streams rather than on the size of the table.
+ * Snapshots may be reported on a thread other than the one that prunes.
+ */
+public class JDBCSnapshotPruner {
+    private final Connection connection;
+    private final SnapshotRetentionPolicy policy;
+    private final JDBCQueries queries;
+    private final Set<String> snapshottedStreams;
+
+    /**
+     * Construct my state.
+     * @param policy the SnapshotRetentionPolicy to apply
+     * @param queries the JDBCQueries of the journal
+     * @param connection the Connection of the journal writer, which is not in auto-commit mode
+     */
+    public JDBCSnapshotPruner(final SnapshotRetentionPolicy policy, final JDBCQueries queries, final Connection connection) {
+        this.policy = policy;
+        this.queries = queries;
+        this.connection = connection;
+        this.snapshottedStreams = new LinkedHashSet<>();
+    }
+
+    /**
+     * Record that a snapshot of {@code streamName} was committed.
+     * @param streamName the String name of the snapshotted stream
+     */
+    public synchronized void snapshotted(final String streamName) {
+        if (!policy.isKeepAll()) {
+            snapshottedStreams.add(streamName);
+        }
+    }
+
+    /**
+     * Delete the snapshots that my policy no longer keeps of the streams snapshotted
+     * since the last pruning, and answer the number of deleted snapshots. A stream
+     * whose pruning fails is pruned again the next time.
+     * @return int
+     * @throws SQLException if the snapshots of a stream cannot be deleted
+     */
+    public int prune() throws SQLException {
+        int pruned = 0;
+
+        final List<String> streams = takeSnapshottedStreams();
+        for (int index = 0; index < streams.size(); ++index) {
+            final String streamName = streams.get(index);
+            try {
+                final int oldestKeptVersion = oldestKeptVersionOf(streamName);
+                if (oldestKeptVersion > 0) {
+                    pruned += queries.prepareDeleteSnapshotsBeforeQuery(streamName, oldestKeptVersion).executeUpdate();
+                }
+                connection.commit();
+            } catch (final SQLException e) {
+                connection.rollback();
+                restoreSnapshottedStreams(streams.subList(index, streams.size()));
+                throw e;
+            }
+        }
+
+        return pruned;
+    }
+
+    /**
+     * Restore the {@code streams} that were not pruned.
+     */
+    private synchronized void restoreSnapshottedStreams(final List<String> streams) {
+        snapshottedStreams.addAll(streams);
+    }
+
+    /**
+     * Answer the streams snapshotted since the last pruning, and forget them.
+     */
+    private synchronized List<String> takeSnapshottedStreams() {
+        final List<String> streams = new ArrayList<>(snapshottedStreams);
+        snapshottedStreams.clear();
+        return streams;
+    }
+
+    /**
+     * Answer the stream version of the oldest snapshot of {@code streamName} that is kept,
+     * or -1 if the stream does not have more snapshots than are kept.
+     */
+    private int oldestKeptVersionOf(final String streamName) throws SQLException {
+        int count = 0;
+        int version = -1;
+
+        try (final ResultSet result = queries.prepareSelectSnapshotVersionsQuery(streamName, policy.snapshots).executeQuery()) {
+            while (result.next()) {
+                version = result.getInt(1);
+                ++count;
+            }
+        }
+
+        return count < policy.snapshots ? -1 : version;
+    }
+}
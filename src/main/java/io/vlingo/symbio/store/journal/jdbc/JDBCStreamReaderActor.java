@@ -15,8 +15,6 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.google.gson.Gson;
-
 import io.vlingo.actors.Actor;
 import io.vlingo.actors.ActorInstantiator;
 import io.vlingo.common.Completes;
@@ -24,20 +22,39 @@ import io.vlingo.symbio.BaseEntry;
 import io.vlingo.symbio.Metadata;
 import io.vlingo.symbio.State;
 import io.vlingo.symbio.State.TextState;
-import io.vlingo.symbio.store.StoredTypes;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.EntityStreamCache;
+import io.vlingo.symbio.store.common.jdbc.MetadataCodec;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
 import io.vlingo.symbio.store.journal.EntityStream;
-import io.vlingo.symbio.store.journal.StreamReader;
 
-public class JDBCStreamReaderActor extends Actor implements StreamReader<String> {
+public class JDBCStreamReaderActor extends Actor implements PagedStreamReader<String> {
+    private static final int SnapshotRow = 0;
+    private static final int Unbounded = Integer.MAX_VALUE;
+
+    private final Configuration configuration;
     private final Connection connection;
-    private final Gson gson;
+    private final MetadataCodec metadataCodec;
+    private final TypeDictionary typeDictionary;
     private final JDBCQueries queries;
+    private final boolean readOnly;
+    private final EntityStreamCache streamCache;
 
     public JDBCStreamReaderActor(final Configuration configuration) throws SQLException {
-        this.connection = configuration.connection;
-        this.queries = JDBCQueries.queriesFor(this.connection);
-        this.gson = new Gson();
+        this.configuration = configuration;
+        if (configuration.hasPooledReads()) {
+            // each read leases its own connection, so none is held between reads
+            this.connection = null;
+            this.queries = null;
+        } else {
+            this.connection = configuration.readConnection();
+            this.queries = JDBCQueries.queriesFor(this.connection, configuration.format, configuration.payloadCompressionPolicy());
+        }
+        // a separate or leased read connection is read-only and in auto-commit mode
+        this.readOnly = configuration.hasSeparateReadConnection() || configuration.hasPooledReads();
+        this.metadataCodec = configuration.metadataCodec();
+        this.typeDictionary = configuration.typeDictionary();
+        this.streamCache = configuration.entityStreamCache();
     }
 
     @Override
@@ -47,9 +64,32 @@ public class JDBCStreamReaderActor extends Actor implements StreamReader<String>
 
     @Override
     public Completes<EntityStream<String>> streamFor(final String streamName, final int fromStreamVersion) {
+        return streamFor(streamName, fromStreamVersion, Unbounded);
+    }
+
+    @Override
+    public Completes<EntityStream<String>> streamFor(final String streamName, final int fromStreamVersion, final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The maximum entries must be positive: " + maxEntries);
+        }
+        if (streamCache != null) {
+            final EntityStream<String> cachedStream = streamCache.streamFor(streamName, fromStreamVersion, maxEntries);
+            if (cachedStream != null) {
+                return completes().with(cachedStream);
+            }
+        }
         try {
-            final EntityStream<String> steamStream = eventsFromOffset(streamName, fromStreamVersion);
-            connection.commit();
+            final long appendSequence = streamCache == null ? 0 : streamCache.appendSequence();
+            final EntityStream<String> steamStream = queries == null ?
+                    leasedEventsFromOffset(streamName, fromStreamVersion, maxEntries) :
+                    eventsFromOffset(queries, streamName, fromStreamVersion, maxEntries);
+            if (!readOnly && !connection.getAutoCommit()) {
+                connection.commit();
+            }
+            if (streamCache != null && fromStreamVersion == 1 && maxEntries == Unbounded) {
+                // only a stream read in full can answer later reads of any part of it
+                streamCache.cache(steamStream, appendSequence);
+            }
             return completes().with(steamStream);
         } catch (Exception e) {
             logger().error("vlingo-symbio-jdbc:journal-stream-reader-postrgres: " + e.getMessage(), e);
@@ -60,67 +100,78 @@ public class JDBCStreamReaderActor extends Actor implements StreamReader<String>
     @Override
     public void stop() {
       try {
-        queries.close();
+        if (queries != null) {
+          queries.close();
+        }
       } catch (SQLException e) {
         // ignore
       }
       super.stop();
     }
 
-    private EntityStream<String> eventsFromOffset(final String streamName, final int offset) throws Exception {
-        final State<String> snapshot = latestSnapshotOf(streamName);
+    /**
+     * Answer the {@code EntityStream} read by {@code eventsFromOffset} on a
+     * {@code Connection} leased for this read only, returning it to its pool when done.
+     */
+    private EntityStream<String> leasedEventsFromOffset(final String streamName, final int offset, final int maxEntries) throws Exception {
+        final Connection lease = configuration.leaseReadConnection();
+        final JDBCQueries leasedQueries;
+        try {
+            leasedQueries = JDBCQueries.queriesFor(lease, configuration.format, configuration.payloadCompressionPolicy());
+        } catch (Exception e) {
+            lease.close();
+            throw e;
+        }
+        try {
+            return eventsFromOffset(leasedQueries, streamName, offset, maxEntries);
+        } finally {
+            // also closes the leased connection
+            leasedQueries.close();
+        }
+    }
+
+    /**
+     * Answer the {@code EntityStream} of {@code streamName} starting at {@code offset},
+     * reading its latest snapshot and at most {@code maxEntries} of its entries in a single
+     * round trip. The snapshot is answered only when it is newer than {@code offset}, and
+     * the entries then start at the snapshot's data version.
+     */
+    private EntityStream<String> eventsFromOffset(final JDBCQueries queries, final String streamName, final int offset, final int maxEntries) throws Exception {
         final List<BaseEntry<String>> events = new ArrayList<>();
 
-        int dataVersion = offset;
         State<String> referenceSnapshot = TextState.Null;
-
-        if (snapshot != TextState.Null) {
-            if (snapshot.dataVersion > offset) {
-                dataVersion = snapshot.dataVersion;
-                referenceSnapshot = snapshot;
-            }
-        }
-
         int fullStreamVersion = 0;
 
-        try (final ResultSet resultSet = queries.prepareSelectStreamQuery(streamName, dataVersion).executeQuery()) {
-          while (resultSet.next()) {
-              final String id = resultSet.getString(1);
-              final int streamVersion = resultSet.getInt(2);
-              fullStreamVersion = streamVersion;
-              final String entryData = resultSet.getString(3);
-              final String entryType = resultSet.getString(4);
-              final int eventTypeVersion = resultSet.getInt(5);
-              final String entryMetadata = resultSet.getString(6);
-
-              final Class<?> classOfEvent = StoredTypes.forName(entryType);
-              final Metadata eventMetadataDeserialized = gson.fromJson(entryMetadata, Metadata.class);
-
-              events.add(new BaseEntry.TextEntry(id, classOfEvent, eventTypeVersion, entryData, eventMetadataDeserialized));
+        final int maxRows = maxEntries == Unbounded ? 0 : maxEntries + 1; // one more for the snapshot
+
+        try (final ResultSet resultSet = queries.prepareSelectStreamWithSnapshotQuery(streamName, offset, maxRows).executeQuery()) {
+          while (events.size() < maxEntries && resultSet.next()) {
+              final int kind = resultSet.getInt(1);
+              final String data = queries.payloadCodec().payloadFrom(resultSet, 4);
+              final String type = resultSet.getString(5);
+              final int typeVersion = resultSet.getInt(6);
+              final String metadata = resultSet.getString(7);
+
+              final Class<?> classOfData = typeDictionary.classOf(type);
+              final Metadata metadataDeserialized = metadataCodec.decode(metadata);
+
+              if (kind == SnapshotRow) {
+                  final int snapshotDataVersion = resultSet.getInt(8);
+                  if (snapshotDataVersion > offset) {
+                      referenceSnapshot = new State.TextState(streamName, classOfData, typeVersion, data, snapshotDataVersion, metadataDeserialized);
+                  }
+              } else {
+                  final String id = resultSet.getString(2);
+                  fullStreamVersion = resultSet.getInt(3);
+
+                  events.add(new BaseEntry.TextEntry(id, classOfData, typeVersion, data, metadataDeserialized));
+              }
           }
         }
 
         return new EntityStream<>(streamName, fullStreamVersion, events, referenceSnapshot);
     }
 
-    private State<String> latestSnapshotOf(final String streamName) throws Exception {
-        try (final ResultSet resultSet = queries.prepareSelectSnapshotQuery(streamName).executeQuery()) {
-          if (resultSet.next()) {
-              final String snapshotData = resultSet.getString(1);
-              final int snapshotDataVersion = resultSet.getInt(2);
-              final String snapshotDataType = resultSet.getString(3);
-              final int snapshotDataTypeVersion = resultSet.getInt(4);
-              final String metadataJson = resultSet.getString(5);
-
-              final Class<?> snapshotDataTypeClass = StoredTypes.forName(snapshotDataType);
-              final Metadata eventMetadataDeserialized = gson.fromJson(metadataJson, Metadata.class);
-
-              return new State.TextState(streamName, snapshotDataTypeClass, snapshotDataTypeVersion, snapshotData, snapshotDataVersion, eventMetadataDeserialized);
-          }
-          return TextState.Null;
-        }
-    }
-
     public static class JDBCStreamReaderInstantiator implements ActorInstantiator<JDBCStreamReaderActor> {
       private static final long serialVersionUID = -560289226104663046L;
 
@@ -0,0 +1,191 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.jdbc.PayloadCompressionPolicy;
+
+/**
+ * Stores the entry and snapshot payloads of a journal in its data columns. A journal of
+ * {@code DataFormat.Text} stores them as text. A journal of {@code DataFormat.Binary}
+ * stores them as bytes, the first of which flags how the rest is stored: {@code Raw}
+ * for the UTF-8 bytes of the payload, and {@code Deflated} for those bytes deflated
+ * per the {@code PayloadCompressionPolicy}.
+ */
+public class JournalPayloadCodec {
+    public static final byte Raw = 0;
+    public static final byte Deflated = 1;
+
+    private static final int BufferSize = 4_096;
+    private static final JournalPayloadCodec Text = new JournalPayloadCodec(DataFormat.Text, PayloadCompressionPolicy.none());
+
+    private final PayloadCompressionPolicy compressionPolicy;
+    private final DataFormat format;
+
+    /**
+     * Answer the codec that stores payloads as text.
+     * @return JournalPayloadCodec
+     */
+    public static JournalPayloadCodec text() {
+        return Text;
+    }
+
+    /**
+     * Construct my state.
+     * @param format the DataFormat of the journal's data columns
+     * @param compressionPolicy the PayloadCompressionPolicy of binary payloads
+     */
+    public JournalPayloadCodec(final DataFormat format, final PayloadCompressionPolicy compressionPolicy) {
+        this.format = format;
+        this.compressionPolicy = compressionPolicy;
+    }
+
+    /**
+     * Answer whether or not payloads are stored as bytes.
+     * @return boolean
+     */
+    public boolean isBinary() {
+        return format.isBinary();
+    }
+
+    /**
+     * Set the parameter at {@code index} of {@code statement} to {@code payload}.
+     * @param statement the PreparedStatement to set
+     * @param index the int parameter index
+     * @param payload the String payload
+     * @throws SQLException if the parameter cannot be set
+     */
+    public void bind(final PreparedStatement statement, final int index, final String payload) throws SQLException {
+        if (isBinary()) {
+            statement.setBytes(index, encode(payload));
+        } else {
+            statement.setString(index, payload);
+        }
+    }
+
+    /**
+     * Answer the payload in {@code column} of the current row of {@code resultSet}.
+     * @param resultSet the ResultSet to read
+     * @param column the int column index
+     * @return String
+     * @throws SQLException if the column cannot be read
+     */
+    public String payloadFrom(final ResultSet resultSet, final int column) throws SQLException {
+        return isBinary() ? decode(resultSet.getBytes(column)) : resultSet.getString(column);
+    }
+
+    /**
+     * Answer the flagged bytes that store {@code payload}.
+     * @param payload the String payload, which may be null
+     * @return byte[]
+     */
+    public byte[] encode(final String payload) {
+        if (payload == null) {
+            return null;
+        }
+
+        final byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        if (compressionPolicy.compresses(bytes.length)) {
+            final byte[] deflated = deflated(bytes);
+            if (deflated.length < bytes.length + 1) {
+                return deflated;
+            }
+        }
+
+        final byte[] raw = new byte[bytes.length + 1];
+        raw[0] = Raw;
+        System.arraycopy(bytes, 0, raw, 1, bytes.length);
+        return raw;
+    }
+
+    /**
+     * Answer the payload stored by the flagged {@code stored} bytes.
+     * @param stored the byte[] stored payload, which may be null
+     * @return String
+     */
+    public String decode(final byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            throw new IllegalArgumentException("A stored payload must have its encoding flag.");
+        }
+
+        switch (stored[0]) {
+        case Raw:
+            return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+        case Deflated:
+            return new String(inflated(stored), StandardCharsets.UTF_8);
+        default:
+            throw new IllegalArgumentException("Unknown payload encoding flag: " + stored[0]);
+        }
+    }
+
+    /**
+     * Answer {@code bytes} deflated, after the {@code Deflated} flag.
+     */
+    private byte[] deflated(final byte[] bytes) {
+        final Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(bytes.length, BufferSize) + 1);
+            out.write(Deflated);
+
+            final byte[] buffer = new byte[BufferSize];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Answer the bytes inflated from {@code stored}, after its flag.
+     */
+    private byte[] inflated(final byte[] stored) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 1, stored.length - 1);
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+
+            final byte[] buffer = new byte[BufferSize];
+            while (!inflater.finished()) {
+                final int inflatedBytes = inflater.inflate(buffer);
+                if (inflatedBytes == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated deflated payload.");
+                }
+                out.write(buffer, 0, inflatedBytes);
+            }
+            return out.toByteArray();
+        } catch (final DataFormatException e) {
+            throw new IllegalArgumentException("Malformed deflated payload: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JournalPayloadCodec[format=" + format + " compressionPolicy=" + compressionPolicy + "]";
+    }
+}
@@ -0,0 +1,42 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.util.List;
+
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.store.gap.GappedEntries;
+
+/**
+ * The protocol that a {@code JDBCJournalReaderActor} sends to itself through its own proxy,
+ * so that its timers, its {@code JournalTail} and its {@code EntryBatchFetcher} inform it
+ * on its own turn rather than on their threads.
+ */
+public interface JournalReaderControl extends JournalTailInterest {
+    /**
+     * Read the gaps of {@code gappedEntries} if the appends numbered at most {@code appends}
+     * have ended, or check again later.
+     * @param appends the long number of the last append begun when the gaps were found
+     * @param gappedEntries the {@code GappedEntries<TextEntry>} of the answer awaiting them
+     */
+    void awaitAppends(final long appends, final GappedEntries<TextEntry> gappedEntries);
+
+    /**
+     * Commit my offset if it moved since the last commit, as the interval of my
+     * {@code OffsetCommitPolicy} has elapsed.
+     */
+    void offsetCommitIntervalElapsed();
+
+    /**
+     * Buffer the {@code entries} prefetched from {@code fromOffset}, unless my reads have
+     * moved elsewhere since the fetch was requested.
+     * @param fromOffset the long offset of the first entry of the fetched batch
+     * @param entries the {@code List<TextEntry>} of the fetched batch, empty if the fetch failed
+     */
+    void prefetched(final long fromOffset, final List<TextEntry> entries);
+}
@@ -0,0 +1,173 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import io.vlingo.actors.Logger;
+import io.vlingo.symbio.store.common.jdbc.AppendNotificationPolicy;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+
+/**
+ * Informs the {@code JournalTailInterest} subscribers of a journal of the appends committed
+ * to it, so that consumers that tail the journal read new entries when there are some,
+ * rather than polling their readers.
+ * <p>
+ * On a database whose queries support append notifications, such as Postgres, the writers
+ * of a journal whose {@code AppendNotificationPolicy} notifies send the greatest identity
+ * of each committed append with {@code NOTIFY}, and I {@code LISTEN} to them on a dedicated
+ * connection and thread, waking subscribers within milliseconds without any polling load.
+ * On other databases I poll the greatest identity every {@code fallbackPollIntervalMillis}
+ * of the policy, on behalf of all subscribers. Either way, subscribers are informed only
+ * when the greatest identity grows, and are informed of the current one when they subscribe.
+ * </p>
+ * <p>
+ * A {@code JDBCJournalActor} or {@code ShardedJDBCJournalActor} whose policy notifies starts
+ * me when its first journal reader is requested and stops me when it stops. Its readers
+ * subscribe to me, so that their reads beyond the end of the journal await the next append
+ * rather than answering empty.
+ * </p>
+ */
+public class JournalTail {
+    private static final long StopTimeoutMillis = 5_000L;
+
+    private final Connection connection;
+    private final DatabaseType databaseType;
+    private final Set<JournalTailInterest> interests;
+    private final boolean listens;
+    private final Logger logger;
+    private final long pollIntervalMillis;
+    private final JDBCQueries queries;
+    private final Thread thread;
+
+    private volatile long highWaterId;
+    private volatile boolean running;
+
+    /**
+     * Construct my state and start tailing the journal of {@code configuration}.
+     * @param configuration the Configuration of the journal, whose AppendNotificationPolicy must notify
+     * @param logger the Logger of my failures
+     * @throws SQLException if my connection cannot be opened or the journal cannot be queried
+     */
+    public JournalTail(final Configuration configuration, final Logger logger) throws SQLException {
+        final AppendNotificationPolicy policy = configuration.appendNotificationPolicy();
+        if (!policy.notifies) {
+            throw new IllegalArgumentException("The configuration does not notify appends: " + policy);
+        }
+
+        this.databaseType = configuration.databaseType;
+        this.interests = new CopyOnWriteArraySet<>();
+        this.logger = logger;
+        this.pollIntervalMillis = policy.fallbackPollIntervalMillis;
+
+        this.connection = configuration.dedicatedConnection();
+        this.connection.setAutoCommit(false);
+        this.queries = JDBCQueries.queriesFor(connection, configuration.format, configuration.payloadCompressionPolicy());
+        this.listens = queries.supportsAppendNotifications();
+
+        queries.listenToAppends(); // before the first read, so that no append is missed
+        this.highWaterId = lastEntryId();
+
+        this.running = true;
+        this.thread = new Thread(this::tail, "vlingo-symbio-jdbc-journal-tail");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Answer the greatest identity of the entries known to be committed.
+     * @return long
+     */
+    public long highWaterId() {
+        return highWaterId;
+    }
+
+    /**
+     * Answer whether or not I am informed by notifications rather than by polling.
+     * @return boolean
+     */
+    public boolean isListening() {
+        return listens;
+    }
+
+    /**
+     * Subscribe {@code interest} to the appends, informing it first of the current {@code highWaterId()}.
+     * @param interest the JournalTailInterest to inform
+     */
+    public void subscribe(final JournalTailInterest interest) {
+        interests.add(interest);
+        interest.appended(highWaterId);
+    }
+
+    /**
+     * Unsubscribe {@code interest} from the appends.
+     * @param interest the JournalTailInterest to no longer inform
+     */
+    public void unsubscribe(final JournalTailInterest interest) {
+        interests.remove(interest);
+    }
+
+    /**
+     * Stop tailing the journal and close my connection.
+     */
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(StopTimeoutMillis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            queries.close();
+        } catch (final SQLException e) {
+            // ignore
+        }
+    }
+
+    private void tail() {
+        while (running) {
+            try {
+                // a wait for notifications is bounded too, so that stop() is noticed
+                final long appended = queries.awaitAppends((int) pollIntervalMillis);
+                if (appended > highWaterId) {
+                    highWaterId = appended;
+                    interests.forEach(interest -> interest.appended(appended));
+                }
+            } catch (final InterruptedException e) {
+                // stopped
+            } catch (final Exception e) {
+                if (running) {
+                    logger.error("vlingo-symbio-jdbc:journal-tail-" + databaseType + ": " + e.getMessage(), e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private long lastEntryId() throws SQLException {
+        try (final ResultSet resultSet = queries.prepareSelectLastOffsetQuery().executeQuery()) {
+            final long lastEntryId = resultSet.next() ? resultSet.getLong(1) : 0L;
+            connection.commit();
+            return lastEntryId;
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (final InterruptedException e) {
+            // stopped
+        }
+    }
+}
@@ -0,0 +1,22 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+/**
+ * The interest of a consumer that tails a journal, such as a projection reading it with a
+ * {@code JDBCJournalReaderActor}, in the appends committed to it. It is informed by the
+ * thread of a {@code JournalTail}, so an actor should subscribe its own proxy.
+ */
+public interface JournalTailInterest {
+    /**
+     * Inform me that the journal holds the entries up to {@code highWaterId}, so that I may
+     * read the entries that I did not yet read.
+     * @param highWaterId the long greatest E_ID of the committed entries
+     */
+    void appended(final long highWaterId);
+}
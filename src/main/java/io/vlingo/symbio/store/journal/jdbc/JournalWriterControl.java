@@ -0,0 +1,22 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import io.vlingo.symbio.store.common.jdbc.FlushCompletions;
+
+/**
+ * The protocol that a {@code JDBCJournalActor} sends to itself through its own proxy,
+ * so that the completions of its writer's flushes and its snapshot pruning timer are
+ * served on its own turn, apart from the scheduled checks of whether a flush is due.
+ */
+public interface JournalWriterControl extends FlushCompletions {
+    /**
+     * Prune the snapshots that my {@code SnapshotRetentionPolicy} no longer retains.
+     */
+    void pruneSnapshots();
+}
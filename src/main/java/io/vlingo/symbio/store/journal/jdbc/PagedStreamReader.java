@@ -0,0 +1,48 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import io.vlingo.common.Completes;
+import io.vlingo.symbio.store.journal.EntityStream;
+import io.vlingo.symbio.store.journal.StreamReader;
+
+/**
+ * A {@code StreamReader} that can also answer a stream one page at a time, so that
+ * replaying a very long stream does not require holding all of its entries in memory.
+ * <p>
+ * The {@code streamVersion} of each answered page is the stream version of its last
+ * entry, and is the continuation of the next page:
+ * </p>
+ * <pre>
+ * EntityStream&lt;String&gt; page = reader.streamFor(name, 1, 1000).await();
+ * while (!page.entries.isEmpty()) {
+ *   apply(page);
+ *   page = reader.streamFor(name, page.streamVersion + 1, 1000).await();
+ * }
+ * </pre>
+ * A page answers the latest snapshot only when it is newer than {@code fromStreamVersion},
+ * and its entries then start at the snapshot's version, so with this continuation only
+ * the first page answers a snapshot.
+ * <p>
+ * The stream readers answered by {@code JDBCJournalActor.streamReader(name)} are
+ * {@code PagedStreamReader}s.
+ * </p>
+ *
+ * @param <T> the concrete type of the stream entries
+ */
+public interface PagedStreamReader<T> extends StreamReader<T> {
+    /**
+     * Answer at most {@code maxEntries} entries of the stream named {@code streamName},
+     * starting at {@code fromStreamVersion}.
+     * @param streamName the String name of the stream to answer
+     * @param fromStreamVersion the int version of the first entry of the page
+     * @param maxEntries the int maximum number of entries of the page
+     * @return {@code Completes<EntityStream<T>>}
+     */
+    Completes<EntityStream<T>> streamFor(final String streamName, final int fromStreamVersion, final int maxEntries);
+}
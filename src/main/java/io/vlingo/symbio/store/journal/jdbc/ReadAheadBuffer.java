@@ -0,0 +1,247 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import io.vlingo.symbio.store.common.jdbc.ReadAheadPolicy;
+
+/**
+ * Buffers the batches that a {@code JDBCJournalReaderActor} prefetches, following its
+ * {@code ReadAheadPolicy}, and decides when to fetch the next one.
+ * <p>
+ * After the reader answers a full batch, it asks me whether a fetch is due, and if so
+ * has its {@code EntryBatchFetcher} fetch the batch of the same size that follows the
+ * last one buffered, on another connection and thread, while its consumer processes the
+ * answered batch. A fetch that answers after the reader moved elsewhere is ignored, as
+ * it is no longer requested from the same offset. A fetch that answers less than
+ * a full batch has reached the end of the journal, and is not buffered, so that the
+ * batch is read again, with the entries appended since, when it is asked for; no more
+ * batches are fetched until the reader answers another full batch. A batch that is asked
+ * for is taken from me only if it is the next one buffered, and otherwise all buffered
+ * batches are dropped, as the consumer has moved elsewhere.
+ * </p>
+ * <p>
+ * The depth of buffered batches starts at one. When the consumer takes the last batch
+ * buffered, it keeps up with the fetches, and the depth grows by one up to the maximum of
+ * the policy. When it finds the buffer at its depth, it is slower than the fetches, and
+ * the depth shrinks by one.
+ * </p>
+ * @param <T> the type of the buffered entries
+ */
+public class ReadAheadBuffer<T> {
+    private final ReadAheadPolicy policy;
+    private final Deque<Batch<T>> batches;
+
+    private int batchSize;
+    private int depth;
+    private boolean exhausted;
+    private boolean fetchRequested;
+    private long hits;
+    private long misses;
+    private long nextOffset;
+
+    /**
+     * Construct my state.
+     * @param policy the ReadAheadPolicy to follow
+     */
+    public ReadAheadBuffer(final ReadAheadPolicy policy) {
+        this.policy = policy;
+        this.batches = new ArrayDeque<>();
+        this.depth = 1;
+        this.exhausted = true;
+        this.nextOffset = -1L;
+    }
+
+    /**
+     * Answer whether or not I prefetch batches.
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return policy.isEnabled();
+    }
+
+    /**
+     * Answer the current number of batches that I buffer at most.
+     * @return int
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Answer the number of batches that I buffer.
+     * @return int
+     */
+    public int size() {
+        return batches.size();
+    }
+
+    /**
+     * Answer the number of asked-for batches that were taken from me.
+     * @return long
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Answer the number of asked-for batches that were read because I did not buffer them.
+     * @return long
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * Answer the entries of the batch of {@code maximumEntries} from {@code offset} if it
+     * is the next one that I buffer, or else null after dropping all buffered batches.
+     * @param offset the long offset of the first entry of the batch
+     * @param maximumEntries the int size of the batch
+     * @return {@code List<T>}
+     */
+    public List<T> take(final long offset, final int maximumEntries) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        final Batch<T> next = batches.peekFirst();
+        if (next == null || next.offset != offset || next.size != maximumEntries) {
+            ++misses;
+            clear();
+            return null;
+        }
+
+        adaptTo(batches.size());
+        batches.removeFirst();
+        ++hits;
+        return next.entries;
+    }
+
+    /**
+     * Record that the batch of {@code maximumEntries} before {@code nextOffset} was answered,
+     * and whether it was {@code complete}, so that the batches after it may be fetched.
+     * @param nextOffset the long offset that follows the answered batch
+     * @param maximumEntries the int size of the answered batch
+     * @param complete whether or not the answered batch held all of its entries
+     */
+    public void answered(final long nextOffset, final int maximumEntries, final boolean complete) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!complete || maximumEntries != batchSize) {
+            clear();
+        }
+        if (batches.isEmpty()) {
+            this.nextOffset = nextOffset;
+        }
+        this.batchSize = maximumEntries;
+        this.exhausted = !complete;
+    }
+
+    /**
+     * Answer whether or not a fetch is due now, in which case it is requested, and the
+     * reader must fetch the batch of {@code fetchSize()} from {@code fetchOffset()}.
+     * @return boolean
+     */
+    public boolean requestFetch() {
+        if (!isEnabled() || exhausted || fetchRequested || nextOffset < 0 || batches.size() >= depth) {
+            return false;
+        }
+        fetchRequested = true;
+        return true;
+    }
+
+    /**
+     * Answer whether or not a requested fetch is still outstanding.
+     * @return boolean
+     */
+    public boolean isFetchRequested() {
+        return fetchRequested;
+    }
+
+    /**
+     * Answer the offset of the first entry of the batch to fetch.
+     * @return long
+     */
+    public long fetchOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Answer the size of the batch to fetch.
+     * @return int
+     */
+    public int fetchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Buffer the {@code entries} of the requested fetch, unless it answered less than a
+     * full batch, which means that the end of the journal was reached.
+     * @param entries the {@code List<T>} of the fetched batch
+     */
+    public void fetched(final List<T> entries) {
+        fetchRequested = false;
+
+        if (entries.size() < batchSize) {
+            exhausted = true;
+            return;
+        }
+
+        batches.addLast(new Batch<>(nextOffset, batchSize, entries));
+        nextOffset += batchSize;
+    }
+
+    /**
+     * Record that the requested fetch failed, so that no more batches are fetched until
+     * the reader answers another full batch.
+     */
+    public void fetchFailed() {
+        fetchRequested = false;
+        exhausted = true;
+    }
+
+    /**
+     * Drop all buffered batches, as the reader moved to another offset.
+     */
+    public void clear() {
+        batches.clear();
+        exhausted = true;
+        fetchRequested = false;
+        nextOffset = -1L;
+    }
+
+    @Override
+    public String toString() {
+        return "ReadAheadBuffer[policy=" + policy + " depth=" + depth + " size=" + batches.size() +
+                " hits=" + hits + " misses=" + misses + "]";
+    }
+
+    private void adaptTo(final int buffered) {
+        if (buffered <= 1) {
+            depth = Math.min(depth + 1, policy.maxDepth);
+        } else if (buffered >= depth) {
+            depth = Math.max(depth - 1, 1);
+        }
+    }
+
+    private static final class Batch<T> {
+        final List<T> entries;
+        final long offset;
+        final int size;
+
+        Batch(final long offset, final int size, final List<T> entries) {
+            this.offset = offset;
+            this.size = size;
+            this.entries = entries;
+        }
+    }
+}
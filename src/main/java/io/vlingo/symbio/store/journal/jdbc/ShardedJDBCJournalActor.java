@@ -0,0 +1,278 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import io.vlingo.actors.Actor;
+import io.vlingo.actors.ActorInstantiator;
+import io.vlingo.actors.Address;
+import io.vlingo.actors.Definition;
+import io.vlingo.common.Completes;
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.Source;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.JournalReader;
+import io.vlingo.symbio.store.journal.StreamReader;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalActor.JDBCJournalActorInstantiator;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalReaderActor.JDBCJournalReaderInstantiator;
+import io.vlingo.symbio.store.journal.jdbc.JDBCStreamReaderActor.JDBCStreamReaderInstantiator;
+
+/**
+ * A {@code Journal} that appends in parallel through a number of shards, each a child
+ * {@code JDBCJournalActor} with its own connection and {@code JDBCJournalWriter}.
+ * <p>
+ * The appends of a stream are always routed to the same shard by the hash of the stream
+ * name, so they are written in the order they were appended. All shards write to the same
+ * journal table, but a shard may commit an entry after another shard has committed one of
+ * a higher {@code E_ID}. My journal readers therefore track my appends in flight through
+ * {@code InFlightAppends}: a reader that finds ids missing below the highest id it has read
+ * waits until the appends that may have allocated them have ended, however slow their shard,
+ * and answers only entries up to that highest id, which it never passes. The readers thus
+ * answer entries in the order of their {@code E_ID} without skipping any, as long as all
+ * appends to the journal table are made through me in this process; the appends of other
+ * processes are only awaited for the time bounded gap retries of a reader. The readers use
+ * the connection of the given {@code Configuration}, and each shard a connection of its own
+ * clone of it.
+ * </p>
+ * <p>
+ * The {@code DispatcherControl} of the journal is given only to the writer of the first
+ * shard, because it redispatches the unconfirmed dispatchables of all shards.
+ * </p>
+ */
+public class ShardedJDBCJournalActor extends Actor implements Journal<String> {
+    private final Configuration configuration;
+    private final InFlightAppends inFlightAppends;
+    private final Map<String, JournalReader<TextEntry>> journalReaders;
+    private final List<Journal<String>> shards;
+    private final Map<String, StreamReader<String>> streamReaders;
+
+    private JournalTail journalTail;
+
+    /**
+     * Construct my state.
+     * @param configuration the Configuration of the journal, cloned for each shard
+     * @param shards the int number of shards
+     * @param writerFactory the JDBCJournalWriterFactory that creates the writer of each shard
+     * @param dispatcherControl the DispatcherControl of the journal, given to the first shard
+     * @param timeBetweenFlushWrites the int milliseconds between flushes of batch writers
+     * @throws Exception if a shard cannot be created
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedJDBCJournalActor(
+            final Configuration configuration,
+            final int shards,
+            final JDBCJournalWriterFactory writerFactory,
+            final DispatcherControl dispatcherControl,
+            final int timeBetweenFlushWrites) throws Exception {
+
+        if (shards < 1) {
+            throw new IllegalArgumentException("The number of shards must be positive: " + shards);
+        }
+
+        this.configuration = configuration;
+        this.inFlightAppends = new InFlightAppends();
+        this.journalReaders = new HashMap<>();
+        this.streamReaders = new HashMap<>();
+        this.shards = new ArrayList<>(shards);
+
+        for (int shard = 0; shard < shards; ++shard) {
+            final Configuration shardConfiguration = Configuration.cloneOf(configuration);
+            final JDBCJournalWriter writer = writerFactory.writerFor(shardConfiguration, shard == 0 ? dispatcherControl : null);
+            final JDBCJournalActorInstantiator instantiator = instantiatorOf(shardConfiguration, writer, timeBetweenFlushWrites);
+
+            this.shards.add(childActorFor(Journal.class, Definition.has(JDBCJournalActor.class, instantiator)));
+        }
+    }
+
+    @Override
+    public <S, ST> void append(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata,
+                               final AppendResultInterest interest, final Object object) {
+        shardOf(streamName).append(streamName, streamVersion, source, metadata, endingOf(interest), object);
+    }
+
+    @Override
+    public <S, ST> void appendWith(final String streamName, final int streamVersion, final Source<S> source, final Metadata metadata, final ST snapshot,
+                                   final AppendResultInterest interest, final Object object) {
+        shardOf(streamName).appendWith(streamName, streamVersion, source, metadata, snapshot, endingOf(interest), object);
+    }
+
+    @Override
+    public <S, ST> void appendAll(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
+                                  final AppendResultInterest interest, final Object object) {
+        shardOf(streamName).appendAll(streamName, fromStreamVersion, sources, metadata, endingOf(interest), object);
+    }
+
+    @Override
+    public <S, ST> void appendAllWith(final String streamName, final int fromStreamVersion, final List<Source<S>> sources, final Metadata metadata,
+                                      final ST snapshot, final AppendResultInterest interest, final Object object) {
+        shardOf(streamName).appendAllWith(streamName, fromStreamVersion, sources, metadata, snapshot, endingOf(interest), object);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Completes<JournalReader<? extends Entry<?>>> journalReader(final String name) {
+        final JournalReader<TextEntry> reader = journalReaders.computeIfAbsent(name, (key) -> {
+            final Address address = stage().world().addressFactory().uniquePrefixedWith("eventJournalReader-" + name);
+            return stage().actorFor(JournalReader.class, Definition.has(JDBCJournalReaderActor.class, new JDBCJournalReaderInstantiator(configuration, name, inFlightAppends, journalTail())), address);
+        });
+
+        return completes().with(reader);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Completes<StreamReader<String>> streamReader(final String name) {
+        final StreamReader<String> reader = streamReaders.computeIfAbsent(name, (key) -> {
+            final Address address = stage().world().addressFactory().uniquePrefixedWith("eventStreamReader-" + key);
+            return stage().actorFor(PagedStreamReader.class, Definition.has(JDBCStreamReaderActor.class, new JDBCStreamReaderInstantiator(configuration)), address);
+        });
+
+        return completes().with(reader);
+    }
+
+    @Override
+    public void stop() {
+        if (journalTail != null) {
+            journalTail.stop();
+        }
+        super.stop();
+    }
+
+    /**
+     * Answer the {@code JournalTail} to which my journal readers subscribe, started when first
+     * needed, or null if my configuration does not notify appends or the tail cannot start.
+     */
+    private JournalTail journalTail() {
+        if (journalTail == null && configuration.appendNotificationPolicy().notifies) {
+            try {
+                journalTail = new JournalTail(configuration, logger());
+            } catch (final SQLException e) {
+                logger().error("vlingo-symbio-jdbc:journal-" + configuration.databaseType + ": Could not tail the journal, so its readers poll: " + e.getMessage(), e);
+            }
+        }
+        return journalTail;
+    }
+
+    /**
+     * Answer an {@code AppendResultInterest} that ends a new append in flight before
+     * answering {@code interest}.
+     */
+    private AppendResultInterest endingOf(final AppendResultInterest interest) {
+        return new EndingAppendInterest(inFlightAppends, inFlightAppends.begin(), interest);
+    }
+
+    /**
+     * Answer the shard that appends to {@code streamName}.
+     */
+    private Journal<String> shardOf(final String streamName) {
+        return shards.get(Math.floorMod(streamName.hashCode(), shards.size()));
+    }
+
+    private static JDBCJournalActorInstantiator instantiatorOf(final Configuration configuration, final JDBCJournalWriter writer, final int timeBetweenFlushWrites) {
+        if (writer instanceof JDBCJournalBatchWriter) {
+            return new JDBCJournalActorInstantiator(configuration, (JDBCJournalBatchWriter) writer, timeBetweenFlushWrites);
+        } else if (writer instanceof JDBCJournalInstantWriter) {
+            return new JDBCJournalActorInstantiator(configuration, (JDBCJournalInstantWriter) writer);
+        }
+        throw new IllegalArgumentException("Unsupported journal writer: " + writer.getClass().getName());
+    }
+
+    /**
+     * Ends an append in flight when its shard answers its outcome, which is run
+     * on the shard, and then forwards the outcome to the interest of the append.
+     */
+    private static class EndingAppendInterest implements AppendResultInterest {
+        private final long append;
+        private final InFlightAppends inFlightAppends;
+        private final AppendResultInterest interest;
+
+        EndingAppendInterest(final InFlightAppends inFlightAppends, final long append, final AppendResultInterest interest) {
+            this.inFlightAppends = inFlightAppends;
+            this.append = append;
+            this.interest = interest;
+        }
+
+        @Override
+        public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+                                             final Source<S> source, final Optional<ST> snapshot, final Object object) {
+            inFlightAppends.end(append);
+            interest.appendResultedIn(outcome, streamName, streamVersion, source, snapshot, object);
+        }
+
+        @Override
+        public <S, ST> void appendResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+                                             final Source<S> source, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
+            inFlightAppends.end(append);
+            interest.appendResultedIn(outcome, streamName, streamVersion, source, metadata, snapshot, object);
+        }
+
+        @Override
+        public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+                                                final List<Source<S>> sources, final Optional<ST> snapshot, final Object object) {
+            inFlightAppends.end(append);
+            interest.appendAllResultedIn(outcome, streamName, streamVersion, sources, snapshot, object);
+        }
+
+        @Override
+        public <S, ST> void appendAllResultedIn(final Outcome<StorageException, Result> outcome, final String streamName, final int streamVersion,
+                                                final List<Source<S>> sources, final Metadata metadata, final Optional<ST> snapshot, final Object object) {
+            inFlightAppends.end(append);
+            interest.appendAllResultedIn(outcome, streamName, streamVersion, sources, metadata, snapshot, object);
+        }
+    }
+
+    public static class ShardedJDBCJournalActorInstantiator implements ActorInstantiator<ShardedJDBCJournalActor> {
+        private static final long serialVersionUID = -3301861358127254717L;
+
+        private final Configuration configuration;
+        private final DispatcherControl dispatcherControl;
+        private final int shards;
+        private final int timeBetweenFlushWrites;
+        private final JDBCJournalWriterFactory writerFactory;
+
+        public ShardedJDBCJournalActorInstantiator(
+                final Configuration configuration,
+                final int shards,
+                final JDBCJournalWriterFactory writerFactory,
+                final DispatcherControl dispatcherControl,
+                final int timeBetweenFlushWrites) {
+            this.configuration = configuration;
+            this.shards = shards;
+            this.writerFactory = writerFactory;
+            this.dispatcherControl = dispatcherControl;
+            this.timeBetweenFlushWrites = timeBetweenFlushWrites;
+        }
+
+        @Override
+        public ShardedJDBCJournalActor instantiate() {
+            try {
+                return new ShardedJDBCJournalActor(configuration, shards, writerFactory, dispatcherControl, timeBetweenFlushWrites);
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not instantiate ShardedJDBCJournalActor because: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public Class<ShardedJDBCJournalActor> type() {
+            return ShardedJDBCJournalActor.class;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc.hsqldb;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.MessageFormat;
+
+import io.vlingo.symbio.store.journal.jdbc.JDBCQueries;
+import io.vlingo.symbio.store.journal.jdbc.JournalPayloadCodec;
+
+/**
+ * Queries for the HSQLDB `Journal`, usable with both in-memory and file-backed
+ * databases. The tables are created as CACHED so that file-backed journals are
+ * not required to fit in memory; in-memory databases treat them as MEMORY tables.
+ */
+public class HSQLDBQueries extends JDBCQueries {
+    public static final String TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES = "VLINGO_SYMBIO_JOURNAL_DISPATCHABLES";
+    public static final String TABLE_VLINGO_SYMBIO_JOURNAL = "VLINGO_SYMBIO_JOURNAL";
+    public static final String TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS = "VLINGO_SYMBIO_JOURNAL_OFFSETS";
+    public static final String TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS = "VLINGO_SYMBIO_JOURNAL_SNAPSHOTS";
+
+    private static final String DATA_TYPE_BINARY = "LONGVARBINARY";
+    private static final String DATA_TYPE_TEXT = "LONGVARCHAR";
+
+    private static final String CREATE_DISPATCHABLE_TABLE =
+            "CREATE CACHED TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " (\n" +
+                    "   D_DISPATCH_ID VARCHAR(512) PRIMARY KEY,\n" +
+                    "   D_ORIGINATOR_ID VARCHAR(512) NOT NULL," +
+                    "   D_CREATED_ON BIGINT NOT NULL," +
+                    "   D_STATE_ID VARCHAR(512) NULL, \n" +
+                    "   D_STATE_DATA LONGVARCHAR NULL,\n" +
+                    "   D_STATE_DATA_VERSION INT NULL,\n" +
+                    "   D_STATE_TYPE VARCHAR(512) NULL,\n" +
+                    "   D_STATE_TYPE_VERSION INTEGER NULL,\n" +
+                    "   D_STATE_METADATA LONGVARCHAR NULL,\n" +
+                    "   D_ENTRIES LONGVARCHAR NOT NULL\n" +
+                    ")";
+
+    private static final String CREATE_JOURNAL_TABLE =
+            "CREATE CACHED TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL + " (\n" +
+                    "E_ID BIGINT GENERATED BY DEFAULT AS IDENTITY (START WITH 1) PRIMARY KEY, \n" +
+                    "E_STREAM_NAME VARCHAR(512) NOT NULL, \n" +
+                    "E_STREAM_VERSION INTEGER NOT NULL, \n" +
+                    "E_ENTRY_DATA {0} NOT NULL, \n" +
+                    "E_ENTRY_TYPE VARCHAR(512) NOT NULL, \n" +
+                    "E_ENTRY_TYPE_VERSION INTEGER NOT NULL, \n" +
+                    "E_ENTRY_METADATA LONGVARCHAR NOT NULL \n" +
+                    ")";
+
+    private static final String CREATE_STREAM_INDEX =
+            "CREATE UNIQUE INDEX IF NOT EXISTS " + StreamIndexName + " \n" +
+                    "ON " + TABLE_VLINGO_SYMBIO_JOURNAL + " (E_STREAM_NAME, E_STREAM_VERSION)";
+
+    private static final String CREATE_OFFSETS_TABLE =
+            "CREATE CACHED TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + "(" +
+                    "O_READER_NAME VARCHAR(128) PRIMARY KEY," +
+                    "O_READER_OFFSET BIGINT NOT NULL" +
+                    ")";
+
+    private static final String CREATE_SNAPSHOTS_TABLE =
+            "CREATE CACHED TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " (\n" +
+                    "S_STREAM_NAME VARCHAR(512) NOT NULL, \n" +
+                    "S_STREAM_VERSION INTEGER NOT NULL, \n" +
+                    "S_SNAPSHOT_DATA {0} NOT NULL, \n" +
+                    "S_SNAPSHOT_DATA_VERSION INTEGER NOT NULL, \n" +
+                    "S_SNAPSHOT_TYPE VARCHAR(512) NOT NULL, \n" +
+                    "S_SNAPSHOT_TYPE_VERSION INTEGER NOT NULL, \n" +
+                    "S_SNAPSHOT_METADATA LONGVARCHAR NOT NULL, \n\n" +
+
+                    "PRIMARY KEY (S_STREAM_NAME, S_STREAM_VERSION) \n" +
+                    ")";
+
+    private final static String DELETE_DISPATCHABLE =
+            "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " " +
+                    "WHERE D_DISPATCH_ID = ?";
+
+    private final static String DELETE_DISPATCHABLES =
+            "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " " +
+                    "WHERE D_DISPATCH_ID IN ({0})";
+
+    private static final String DELETE_SNAPSHOTS_BEFORE =
+            "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? AND S_STREAM_VERSION < ?";
+
+    private static final String DROP_DISPATCHABLES_TABLE =
+            "DROP TABLE IF EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES;
+
+    private static final String DROP_JOURNAL_TABLE =
+            "DROP TABLE IF EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL;
+
+    private static final String DROP_OFFSETS_TABLE =
+            "DROP TABLE IF EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS;
+
+    private static final String DROP_SNAPSHOTS_TABLE =
+            "DROP TABLE IF EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS;
+
+    private final static String INSERT_DISPATCHABLE =
+            "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " \n" +
+                    "(D_DISPATCH_ID, D_ORIGINATOR_ID, D_CREATED_ON, \n" +
+                    " D_STATE_ID, D_STATE_DATA, D_STATE_DATA_VERSION, \n" +
+                    " D_STATE_TYPE, D_STATE_TYPE_VERSION, \n" +
+                    " D_STATE_METADATA, D_ENTRIES) \n" +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL + " \n" +
+                    "(E_STREAM_NAME, E_STREAM_VERSION, E_ENTRY_DATA, \n" +
+                    " E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA) \n" +
+                    "VALUES(?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ENTRIES =
+            "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL + " \n" +
+                    "(E_STREAM_NAME, E_STREAM_VERSION, E_ENTRY_DATA, \n" +
+                    " E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA) \n" +
+                    "VALUES {0}";
+
+    private static final String INSERT_OFFSET =
+            "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + " (O_READER_NAME, O_READER_OFFSET) VALUES(?, ?)";
+
+    private static final String UPDATE_OFFSET =
+            "UPDATE  " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + " SET O_READER_OFFSET = ? WHERE O_READER_NAME = ?";
+
+    private static final String UPSERT_OFFSET =
+            "MERGE INTO " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + " USING " +
+                    "(VALUES(CAST(? AS VARCHAR(128)), CAST(? AS BIGINT))) AS R(R_READER_NAME, R_READER_OFFSET) " +
+                    "ON O_READER_NAME = R.R_READER_NAME " +
+                    "WHEN MATCHED THEN UPDATE SET O_READER_OFFSET = ? " +
+                    "WHEN NOT MATCHED THEN INSERT (O_READER_NAME, O_READER_OFFSET) VALUES (R.R_READER_NAME, R.R_READER_OFFSET)";
+
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + "\n" +
+                    "(S_STREAM_NAME, S_STREAM_VERSION, \n" +
+                    " S_SNAPSHOT_DATA, S_SNAPSHOT_DATA_VERSION, \n" +
+                    " S_SNAPSHOT_TYPE, S_SNAPSHOT_TYPE_VERSION, \n" +
+                    " S_SNAPSHOT_METADATA) \n" +
+                    "VALUES(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_CURRENT_OFFSET =
+            "SELECT O_READER_OFFSET FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + " WHERE O_READER_NAME=?";
+
+    private final static String SELECT_DISPATCHABLES =
+            "SELECT D_DISPATCH_ID, D_CREATED_ON, \n" +
+                    " D_STATE_ID, D_STATE_DATA, D_STATE_DATA_VERSION, \n" +
+                    " D_STATE_TYPE, D_STATE_TYPE_VERSION, \n" +
+                    " D_STATE_METADATA, D_ENTRIES \n" +
+                    " FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + "\n" +
+                    " WHERE D_ORIGINATOR_ID = ? ORDER BY D_CREATED_ON";
+
+    private static final String SELECT_ENTRY =
+            "SELECT E_ID, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA, E_STREAM_VERSION " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
+                    "WHERE E_ID = ?";
+
+    private static final String SELECT_ENTRY_BATCH =
+            "SELECT E_ID, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA, E_STREAM_VERSION " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
+                    "WHERE E_ID BETWEEN ? AND ? ORDER BY E_ID";
+
+    private static final String SELECT_ENTRY_IDS =
+            "SELECT E_ID, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA, E_STREAM_VERSION " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
+                    "WHERE E_ID IN ({0}) ORDER BY E_ID";
+
+    private static final String SELECT_LAST_OFFSET =
+            "SELECT MAX(E_ID) FROM " + TABLE_VLINGO_SYMBIO_JOURNAL;
+
+    private static final String SELECT_JOURNAL_COUNT =
+            "SELECT COUNT(*) FROM " + TABLE_VLINGO_SYMBIO_JOURNAL;
+
+    private static final String SELECT_SNAPSHOT =
+            "SELECT S_SNAPSHOT_DATA, S_SNAPSHOT_DATA_VERSION, S_SNAPSHOT_TYPE, S_SNAPSHOT_TYPE_VERSION, S_SNAPSHOT_METADATA " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1";
+
+    private static final String SELECT_SNAPSHOT_VERSIONS =
+            "SELECT S_STREAM_VERSION FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC";
+
+    private static final String SELECT_STREAM =
+            "SELECT E_ID, E_STREAM_VERSION, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
+                    "WHERE E_STREAM_NAME = ? AND E_STREAM_VERSION >= ? ORDER BY E_STREAM_VERSION";
+
+    private static final String SELECT_STREAM_WITH_SNAPSHOT =
+            "(SELECT 0 AS R_KIND, CAST(NULL AS BIGINT) AS R_ID, S_STREAM_VERSION AS R_STREAM_VERSION, S_SNAPSHOT_DATA AS R_DATA, " +
+                    "S_SNAPSHOT_TYPE AS R_TYPE, S_SNAPSHOT_TYPE_VERSION AS R_TYPE_VERSION, S_SNAPSHOT_METADATA AS R_METADATA, " +
+                    "S_SNAPSHOT_DATA_VERSION AS R_DATA_VERSION " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1) " +
+            "UNION ALL " +
+            "(SELECT 1, E_ID, E_STREAM_VERSION, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA, 0 " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
+                    "WHERE E_STREAM_NAME = ? AND E_STREAM_VERSION >= ? AND E_STREAM_VERSION >= COALESCE(" +
+                    "(SELECT S_SNAPSHOT_DATA_VERSION FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1), 0)) " +
+            "ORDER BY R_KIND, R_STREAM_VERSION";
+
+    public HSQLDBQueries(Connection connection) throws SQLException {
+        this(connection, JournalPayloadCodec.text());
+    }
+
+    /**
+     * Construct my state.
+     * @param connection the Connection to use
+     * @param payloadCodec the JournalPayloadCodec of the entry and snapshot payloads
+     * @throws SQLException if my state cannot be constructed
+     */
+    public HSQLDBQueries(final Connection connection, final JournalPayloadCodec payloadCodec) throws SQLException {
+        super(connection, payloadCodec);
+    }
+
+    @Override
+    protected String createDispatchableTable() {
+        return CREATE_DISPATCHABLE_TABLE;
+    }
+
+    @Override
+    protected String createJournalTableQuery() {
+        return MessageFormat.format(CREATE_JOURNAL_TABLE, dataType(payloadCodec));
+    }
+
+    @Override
+    protected String createOffsetsTable() {
+        return CREATE_OFFSETS_TABLE;
+    }
+
+    @Override
+    protected String createSnapshotsTableQuery() {
+        return MessageFormat.format(CREATE_SNAPSHOTS_TABLE, dataType(payloadCodec));
+    }
+
+    @Override
+    protected String createStreamIndexQuery() {
+        return CREATE_STREAM_INDEX;
+    }
+
+    @Override
+    protected String deleteDispatchableQuery() {
+        return DELETE_DISPATCHABLE;
+    }
+
+    @Override
+    protected String deleteDispatchablesQuery() {
+        return DELETE_DISPATCHABLES;
+    }
+
+    @Override
+    protected String deleteSnapshotsBeforeQuery() {
+        return DELETE_SNAPSHOTS_BEFORE;
+    }
+
+    @Override
+    protected String dropDispatchablesTableQuery() {
+        return DROP_DISPATCHABLES_TABLE;
+    }
+
+    @Override
+    protected String dropJournalTable() {
+        return DROP_JOURNAL_TABLE;
+    }
+
+    @Override
+    protected String dropOffsetsTable() {
+        return DROP_OFFSETS_TABLE;
+    }
+
+    @Override
+    protected String dropSnapshotsTableQuery() {
+        return DROP_SNAPSHOTS_TABLE;
+    }
+
+    @Override
+    protected int generatedKeysIndicator() {
+        return Statement.RETURN_GENERATED_KEYS;
+    }
+
+    @Override
+    protected String insertDispatchableQuery() {
+        return INSERT_DISPATCHABLE;
+    }
+
+    @Override
+    protected String insertEntryQuery() {
+        return INSERT_ENTRY;
+    }
+
+    @Override
+    protected String insertEntriesQuery() {
+        return INSERT_ENTRIES;
+    }
+
+    @Override
+    protected String insertOffsetQuery() {
+        return INSERT_OFFSET;
+    }
+
+    @Override
+    protected String insertSnapshotQuery() {
+        return INSERT_SNAPSHOT;
+    }
+
+    @Override
+    protected String selectCurrentOffset() {
+        return SELECT_CURRENT_OFFSET;
+    }
+
+    @Override
+    protected String selectDispatchablesQuery() {
+        return SELECT_DISPATCHABLES;
+    }
+
+    @Override
+    protected String selectEntryQuery() {
+        return SELECT_ENTRY;
+    }
+
+    @Override
+    protected String selectEntryBatchQuery() {
+        return SELECT_ENTRY_BATCH;
+    }
+
+    @Override
+    protected String selectEntriesByIds() {
+        return SELECT_ENTRY_IDS;
+    }
+
+    @Override
+    protected String selectLastOffsetQuery() {
+        return SELECT_LAST_OFFSET;
+    }
+
+    @Override
+    protected String selectJournalCountQuery() {
+        return SELECT_JOURNAL_COUNT;
+    }
+
+    @Override
+    protected String selectSnapshotQuery() {
+        return SELECT_SNAPSHOT;
+    }
+
+    @Override
+    protected String selectSnapshotVersionsQuery() {
+        return SELECT_SNAPSHOT_VERSIONS;
+    }
+
+    @Override
+    protected String selectStreamQuery() {
+        return SELECT_STREAM;
+    }
+
+    @Override
+    protected String selectStreamWithSnapshotQuery() {
+        return SELECT_STREAM_WITH_SNAPSHOT;
+    }
+
+    @Override
+    protected String updateOffsetQuery() {
+        return UPDATE_OFFSET;
+    }
+
+    @Override
+    protected String upsertOffsetQuery() {
+        return UPSERT_OFFSET;
+    }
+
+    /**
+     * Answer the type of the entry and snapshot data columns per {@code payloadCodec}.
+     */
+    private static String dataType(final JournalPayloadCodec payloadCodec) {
+        return payloadCodec.isBinary() ? DATA_TYPE_BINARY : DATA_TYPE_TEXT;
+    }
+}
@@ -8,10 +8,17 @@
 package io.vlingo.symbio.store.journal.jdbc.mysql;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import io.vlingo.symbio.store.journal.jdbc.JDBCQueries;
+import io.vlingo.symbio.store.journal.jdbc.JournalPayloadCodec;
 
 public class MySQLQueries extends JDBCQueries {
     public static final String TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES = "vlingo_symbio_journal_dispatchables";
@@ -19,6 +26,11 @@ public class MySQLQueries extends JDBCQueries {
     public static final String TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS = "vlingo_symbio_journal_offsets";
     public static final String TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS = "vlingo_symbio_journal_snapshots";
 
+    private static final String DATA_TYPE_BINARY = "LONGBLOB";
+    private static final String DATA_TYPE_TEXT = "TEXT";
+
+    private static final int DUPLICATE_KEY_NAME_ERROR = 1061;
+
     private static final String CREATE_DISPATCHABLE_TABLE =
             "CREATE TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " (\n" +
                     "   D_DISPATCH_ID VARCHAR(512) PRIMARY KEY,\n" +
@@ -39,12 +51,16 @@ public class MySQLQueries extends JDBCQueries {
                     "E_ID SERIAL PRIMARY KEY, \n" +
                     "E_STREAM_NAME VARCHAR(512) NOT NULL, \n" +
                     "E_STREAM_VERSION INTEGER NOT NULL, \n" +
-                    "E_ENTRY_DATA TEXT NOT NULL, \n" +
+                    "E_ENTRY_DATA {0} NOT NULL, \n" +
                     "E_ENTRY_TYPE VARCHAR(512) NOT NULL, \n" +
                     "E_ENTRY_TYPE_VERSION INTEGER NOT NULL, \n" +
                     "E_ENTRY_METADATA TEXT NOT NULL \n" +
                     ")";
 
+    private static final String CREATE_STREAM_INDEX =
+            "CREATE UNIQUE INDEX " + StreamIndexName + " \n" +
+                    "ON " + TABLE_VLINGO_SYMBIO_JOURNAL + " (E_STREAM_NAME, E_STREAM_VERSION)";
+
     private static final String CREATE_OFFSETS_TABLE =
             "CREATE TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + "(" +
                     "O_READER_NAME VARCHAR(128) PRIMARY KEY," +
@@ -55,7 +71,7 @@ public class MySQLQueries extends JDBCQueries {
             "CREATE TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " (\n" +
                     "S_STREAM_NAME VARCHAR(512) NOT NULL, \n" +
                     "S_STREAM_VERSION INTEGER NOT NULL, \n" +
-                    "S_SNAPSHOT_DATA TEXT NOT NULL, \n" +
+                    "S_SNAPSHOT_DATA {0} NOT NULL, \n" +
                     "S_SNAPSHOT_DATA_VERSION INTEGER NOT NULL, \n" +
                     "S_SNAPSHOT_TYPE VARCHAR(512) NOT NULL, \n" +
                     "S_SNAPSHOT_TYPE_VERSION INTEGER NOT NULL, \n" +
@@ -68,6 +84,14 @@ public class MySQLQueries extends JDBCQueries {
             "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " " +
                     "WHERE D_DISPATCH_ID = ?";
 
+    private final static String DELETE_DISPATCHABLES =
+            "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " " +
+                    "WHERE D_DISPATCH_ID IN ({0})";
+
+    private static final String DELETE_SNAPSHOTS_BEFORE =
+            "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? AND S_STREAM_VERSION < ?";
+
     private static final String DROP_DISPATCHABLES_TABLE =
             "DROP TABLE IF EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES;
 
@@ -94,6 +118,12 @@ public class MySQLQueries extends JDBCQueries {
                     " E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA) \n" +
                     "VALUES(?, ?, ?, ?, ?, ?)";
 
+    private static final String INSERT_ENTRIES =
+            "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL + " \n" +
+                    "(E_STREAM_NAME, E_STREAM_VERSION, E_ENTRY_DATA, \n" +
+                    " E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA) \n" +
+                    "VALUES {0}";
+
     private static final String INSERT_OFFSET =
             "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + " (O_READER_NAME, O_READER_OFFSET) VALUES(?, ?)";
 
@@ -146,15 +176,99 @@ public class MySQLQueries extends JDBCQueries {
 
     private static final String SELECT_SNAPSHOT =
             "SELECT S_SNAPSHOT_DATA, S_SNAPSHOT_DATA_VERSION, S_SNAPSHOT_TYPE, S_SNAPSHOT_TYPE_VERSION, S_SNAPSHOT_METADATA " +
-                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " WHERE S_STREAM_NAME = ?";
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1";
+
+    private static final String SELECT_SNAPSHOT_VERSIONS =
+            "SELECT S_STREAM_VERSION FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC";
 
     private static final String SELECT_STREAM =
             "SELECT E_ID, E_STREAM_VERSION, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA " +
                     "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
                     "WHERE E_STREAM_NAME = ? AND E_STREAM_VERSION >= ? ORDER BY E_STREAM_VERSION";
 
+    private static final String SELECT_STREAM_WITH_SNAPSHOT =
+            "(SELECT 0 AS R_KIND, NULL AS R_ID, S_STREAM_VERSION AS R_STREAM_VERSION, S_SNAPSHOT_DATA AS R_DATA, " +
+                    "S_SNAPSHOT_TYPE AS R_TYPE, S_SNAPSHOT_TYPE_VERSION AS R_TYPE_VERSION, S_SNAPSHOT_METADATA AS R_METADATA, " +
+                    "S_SNAPSHOT_DATA_VERSION AS R_DATA_VERSION " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1) " +
+            "UNION ALL " +
+            "(SELECT 1, E_ID, E_STREAM_VERSION, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA, 0 " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
+                    "WHERE E_STREAM_NAME = ? AND E_STREAM_VERSION >= ? AND E_STREAM_VERSION >= COALESCE(" +
+                    "(SELECT S_SNAPSHOT_DATA_VERSION FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1), 0)) " +
+            "ORDER BY R_KIND, R_STREAM_VERSION";
+
+    private long autoIncrementIncrement;
+
     public MySQLQueries(Connection connection) throws SQLException {
-        super(connection);
+        this(connection, JournalPayloadCodec.text());
+    }
+
+    /**
+     * Construct my state.
+     * @param connection the Connection to use
+     * @param payloadCodec the JournalPayloadCodec of the entry and snapshot payloads
+     * @throws SQLException if the statements cannot be prepared
+     */
+    public MySQLQueries(final Connection connection, final JournalPayloadCodec payloadCodec) throws SQLException {
+        super(connection, payloadCodec);
+    }
+
+    /**
+     * Create the unique stream index, which MySQL cannot create conditionally, so that
+     * a failed creation is rolled back and answers whether the index already exists.
+     * The journal then runs without the index while it holds duplicate stream versions.
+     */
+    @Override
+    public boolean createStreamIndex() throws SQLException {
+        try {
+            return super.createStreamIndex();
+        } catch (final SQLException e) {
+            connection.rollback();
+            return e.getErrorCode() == DUPLICATE_KEY_NAME_ERROR;
+        }
+    }
+
+    /**
+     * Answer the identities of the inserted entries as the first generated
+     * identity plus the auto increment step per row. InnoDB allocates the
+     * identities of a single multi-row INSERT consecutively, because the
+     * number of rows is known before the statement runs.
+     */
+    @Override
+    public List<Long> executeInsertEntries(final PreparedStatement insertStatement, final int rows) throws SQLException {
+        if (insertStatement.executeUpdate() != rows) {
+            return Collections.emptyList();
+        }
+
+        final long firstId;
+        try (final ResultSet result = insertStatement.getGeneratedKeys()) {
+            if (!result.next()) {
+                return Collections.emptyList();
+            }
+            firstId = result.getLong(1);
+        }
+
+        final long increment = autoIncrementIncrement();
+        final List<Long> ids = new ArrayList<>(rows);
+        for (int row = 0; row < rows; ++row) {
+            ids.add(firstId + row * increment);
+        }
+        return ids;
+    }
+
+    private long autoIncrementIncrement() throws SQLException {
+        if (autoIncrementIncrement == 0) {
+            try (final Statement statement = connection.createStatement();
+                 final ResultSet result = statement.executeQuery("SELECT @@auto_increment_increment")) {
+                autoIncrementIncrement = result.next() ? result.getLong(1) : 1;
+            }
+        }
+        return autoIncrementIncrement;
     }
 
     @Override
@@ -164,7 +278,7 @@ public class MySQLQueries extends JDBCQueries {
 
     @Override
     protected String createJournalTableQuery() {
-        return CREATE_JOURNAL_TABLE;
+        return MessageFormat.format(CREATE_JOURNAL_TABLE, dataType(payloadCodec));
     }
 
     @Override
@@ -174,7 +288,12 @@ public class MySQLQueries extends JDBCQueries {
 
     @Override
     protected String createSnapshotsTableQuery() {
-        return CREATE_SNAPSHOTS_TABLE;
+        return MessageFormat.format(CREATE_SNAPSHOTS_TABLE, dataType(payloadCodec));
+    }
+
+    @Override
+    protected String createStreamIndexQuery() {
+        return CREATE_STREAM_INDEX;
     }
 
     @Override
@@ -182,6 +301,16 @@ public class MySQLQueries extends JDBCQueries {
         return DELETE_DISPATCHABLE;
     }
 
+    @Override
+    protected String deleteDispatchablesQuery() {
+        return DELETE_DISPATCHABLES;
+    }
+
+    @Override
+    protected String deleteSnapshotsBeforeQuery() {
+        return DELETE_SNAPSHOTS_BEFORE;
+    }
+
     @Override
     protected String dropDispatchablesTableQuery() {
         return DROP_DISPATCHABLES_TABLE;
@@ -217,6 +346,11 @@ public class MySQLQueries extends JDBCQueries {
         return INSERT_ENTRY;
     }
 
+    @Override
+    protected String insertEntriesQuery() {
+        return INSERT_ENTRIES;
+    }
+
     @Override
     protected String insertOffsetQuery() {
         return INSERT_OFFSET;
@@ -267,11 +401,21 @@ public class MySQLQueries extends JDBCQueries {
         return SELECT_SNAPSHOT;
     }
 
+    @Override
+    protected String selectSnapshotVersionsQuery() {
+        return SELECT_SNAPSHOT_VERSIONS;
+    }
+
     @Override
     protected String selectStreamQuery() {
         return SELECT_STREAM;
     }
 
+    @Override
+    protected String selectStreamWithSnapshotQuery() {
+        return SELECT_STREAM_WITH_SNAPSHOT;
+    }
+
     @Override
     protected String updateOffsetQuery() {
         return UPDATE_OFFSET;
@@ -281,4 +425,11 @@ public class MySQLQueries extends JDBCQueries {
     protected String upsertOffsetQuery() {
         return UPSERT_OFFSET;
     }
+
+    /**
+     * Answer the type of the entry and snapshot data columns per {@code payloadCodec}.
+     */
+    private static String dataType(final JournalPayloadCodec payloadCodec) {
+        return payloadCodec.isBinary() ? DATA_TYPE_BINARY : DATA_TYPE_TEXT;
+    }
 }
@@ -0,0 +1,178 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc.postgres;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import io.vlingo.symbio.BaseEntry;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.State.TextState;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.dispatch.Dispatchable;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalBatchWriter;
+import io.vlingo.symbio.store.journal.jdbc.JournalPayloadCodec;
+
+/**
+ * A {@code JDBCJournalBatchWriter} for Postgres that streams the entries of each
+ * flush through {@code COPY ... FROM STDIN}, which is considerably faster than
+ * INSERT for large {@code appendAll} calls and data migrations. The E_IDs are
+ * allocated up front from the journal's sequence so that entry identities are
+ * known before the dispatchables are built. Snapshots and dispatchables are
+ * written as by the batch writer.
+ */
+public class PostgresJournalCopyWriter extends JDBCJournalBatchWriter {
+	private static final int CopyBufferSize = 64 * 1024;
+	private static final char[] HexDigits = "0123456789abcdef".toCharArray();
+
+	private final CopyManager copyManager;
+	private final PostgresQueries postgresQueries;
+
+	public PostgresJournalCopyWriter(Configuration configuration, List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers,
+									 DispatcherControl dispatcherControl, int maxBatchEntries) throws Exception {
+		this(configuration, dispatchers, dispatcherControl, maxBatchEntries, false);
+	}
+
+	public PostgresJournalCopyWriter(Configuration configuration, List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers,
+									 DispatcherControl dispatcherControl, int maxBatchEntries, boolean doubleBuffered) throws Exception {
+		super(configuration, dispatchers, dispatcherControl, maxBatchEntries, DefaultMaxRowsPerInsert, doubleBuffered);
+
+		if (configuration.databaseType != DatabaseType.Postgres) {
+			throw new IllegalArgumentException("PostgresJournalCopyWriter requires Postgres, not: " + configuration.databaseType);
+		}
+
+		this.postgresQueries = (PostgresQueries) queries;
+		this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+	}
+
+	@Override
+	protected void insertEntries(final List<InsertEntry> insertEntries) {
+		if (insertEntries.isEmpty()) {
+			return;
+		}
+
+		try {
+			final List<Long> ids = allocateIds(insertEntries.size());
+
+			copy(insertEntries, ids);
+
+			for (int index = 0; index < insertEntries.size(); index++) {
+				((BaseEntry<String>) insertEntries.get(index).entry).__internal__setId(String.valueOf(ids.get(index)));
+			}
+		} catch (final Exception e) {
+			insertEntriesFailed(e);
+		}
+	}
+
+	private List<Long> allocateIds(final int count) throws SQLException {
+		final List<Long> ids = new ArrayList<>(count);
+		try (final ResultSet result = postgresQueries.prepareSelectNextEntryIdsQuery(count).executeQuery()) {
+			while (result.next()) {
+				ids.add(result.getLong(1));
+			}
+		}
+		if (ids.size() != count) {
+			throw new IllegalStateException("Allocated " + ids.size() + " of " + count + " entry ids.");
+		}
+		return ids;
+	}
+
+	private void copy(final List<InsertEntry> insertEntries, final List<Long> ids) throws SQLException, IOException {
+		final CopyIn copyIn = copyManager.copyIn(postgresQueries.copyEntriesQuery());
+
+		try {
+			final Writer writer = new OutputStreamWriter(new PGCopyOutputStream(copyIn, CopyBufferSize), StandardCharsets.UTF_8);
+			final StringBuilder row = new StringBuilder();
+
+			for (int index = 0; index < insertEntries.size(); index++) {
+				final InsertEntry insertEntry = insertEntries.get(index);
+
+				row.setLength(0);
+				row.append(ids.get(index)).append('\t');
+				appendEscaped(row, insertEntry.streamName).append('\t');
+				row.append(insertEntry.streamVersion).append('\t');
+				appendPayload(row, insertEntry.entry.entryData()).append('\t');
+				appendEscaped(row, typeDictionary.storedTypeOf(insertEntry.entry.typeName())).append('\t');
+				row.append(insertEntry.entry.typeVersion()).append('\t');
+				appendEscaped(row, metadataCodec.encode(insertEntry.entry.metadata())).append('\n');
+
+				writer.append(row);
+			}
+
+			writer.flush();
+
+			final long copied = copyIn.endCopy();
+			if (copied != insertEntries.size()) {
+				throw new IllegalStateException("Copied " + copied + " of " + insertEntries.size() + " entries.");
+			}
+		} finally {
+			if (copyIn.isActive()) {
+				copyIn.cancelCopy();
+			}
+		}
+	}
+
+	/**
+	 * Append {@code payload} to {@code row} as stored by the payload codec of my queries,
+	 * which for a binary journal is the escaped hex format of {@code BYTEA}.
+	 */
+	private StringBuilder appendPayload(final StringBuilder row, final String payload) {
+		final JournalPayloadCodec payloadCodec = queries.payloadCodec();
+
+		if (!payloadCodec.isBinary()) {
+			return appendEscaped(row, payload);
+		}
+
+		final byte[] stored = payloadCodec.encode(payload);
+		if (stored == null) {
+			return row.append("\\N");
+		}
+
+		row.append("\\\\x");
+		for (final byte b : stored) {
+			row.append(HexDigits[(b >> 4) & 0x0f]).append(HexDigits[b & 0x0f]);
+		}
+		return row;
+	}
+
+	/**
+	 * Append {@code value} to {@code row} escaped per the COPY text format.
+	 */
+	private StringBuilder appendEscaped(final StringBuilder row, final String value) {
+		if (value == null) {
+			return row.append("\\N");
+		}
+
+		for (int index = 0; index < value.length(); index++) {
+			final char c = value.charAt(index);
+			switch (c) {
+			case '\\': row.append("\\\\"); break;
+			case '\t': row.append("\\t"); break;
+			case '\n': row.append("\\n"); break;
+			case '\r': row.append("\\r"); break;
+			default: row.append(c);
+			}
+		}
+
+		return row;
+	}
+}
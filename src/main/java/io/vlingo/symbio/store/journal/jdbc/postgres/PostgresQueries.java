@@ -8,10 +8,21 @@
 package io.vlingo.symbio.store.journal.jdbc.postgres;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 
 import io.vlingo.symbio.store.journal.jdbc.JDBCQueries;
+import io.vlingo.symbio.store.journal.jdbc.JournalPayloadCodec;
 
 /**
  * Standard queries for the Postgres `Journal` and may be extended
@@ -23,6 +34,11 @@ public class PostgresQueries extends JDBCQueries {
     public static final String TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS = "VLINGO_SYMBIO_JOURNAL_OFFSETS";
     public static final String TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS = "VLINGO_SYMBIO_JOURNAL_SNAPSHOTS";
 
+    public static final String APPEND_NOTIFICATION_CHANNEL = "vlingo_symbio_journal_appended";
+
+    private static final String DATA_TYPE_BINARY = "BYTEA";
+    private static final String DATA_TYPE_TEXT = "TEXT";
+
     private static final String CREATE_DISPATCHABLE_TABLE =
             "CREATE TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " (\n" +
                     "   D_DISPATCH_ID VARCHAR(512) PRIMARY KEY,\n" +
@@ -43,12 +59,16 @@ public class PostgresQueries extends JDBCQueries {
                     "E_ID BIGSERIAL PRIMARY KEY, \n" +
                     "E_STREAM_NAME VARCHAR(512) NOT NULL, \n" +
                     "E_STREAM_VERSION INTEGER NOT NULL, \n" +
-                    "E_ENTRY_DATA TEXT NOT NULL, \n" +
+                    "E_ENTRY_DATA {0} NOT NULL, \n" +
                     "E_ENTRY_TYPE VARCHAR(512) NOT NULL, \n" +
                     "E_ENTRY_TYPE_VERSION INTEGER NOT NULL, \n" +
                     "E_ENTRY_METADATA TEXT NOT NULL \n" +
                     ")";
 
+    private static final String CREATE_STREAM_INDEX =
+            "CREATE UNIQUE INDEX IF NOT EXISTS " + StreamIndexName + " \n" +
+                    "ON " + TABLE_VLINGO_SYMBIO_JOURNAL + " (E_STREAM_NAME, E_STREAM_VERSION)";
+
     private static final String CREATE_OFFSETS_TABLE =
             "CREATE TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + "(" +
                     "O_READER_NAME VARCHAR(128) PRIMARY KEY," +
@@ -59,7 +79,7 @@ public class PostgresQueries extends JDBCQueries {
             "CREATE TABLE IF NOT EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " (\n" +
                     "S_STREAM_NAME VARCHAR(512) NOT NULL, \n" +
                     "S_STREAM_VERSION INTEGER NOT NULL, \n" +
-                    "S_SNAPSHOT_DATA TEXT NOT NULL, \n" +
+                    "S_SNAPSHOT_DATA {0} NOT NULL, \n" +
                     "S_SNAPSHOT_DATA_VERSION INTEGER NOT NULL, \n" +
                     "S_SNAPSHOT_TYPE VARCHAR(512) NOT NULL, \n" +
                     "S_SNAPSHOT_TYPE_VERSION INTEGER NOT NULL, \n" +
@@ -72,6 +92,14 @@ public class PostgresQueries extends JDBCQueries {
             "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " " +
                     "WHERE D_DISPATCH_ID = ?";
 
+    private final static String DELETE_DISPATCHABLES =
+            "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES + " " +
+                    "WHERE D_DISPATCH_ID IN ({0})";
+
+    private static final String DELETE_SNAPSHOTS_BEFORE =
+            "DELETE FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? AND S_STREAM_VERSION < ?";
+
     private static final String DROP_DISPATCHABLES_TABLE =
             "DROP TABLE IF EXISTS " + TABLE_VLINGO_SYMBIO_JOURNAL_DISPATCHABLES;
 
@@ -98,6 +126,22 @@ public class PostgresQueries extends JDBCQueries {
                     " E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA) \n" +
                     "VALUES(?, ?, ?, ?, ?, ?)";
 
+    private static final String INSERT_ENTRIES =
+            "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL + " \n" +
+                    "(E_STREAM_NAME, E_STREAM_VERSION, E_ENTRY_DATA, \n" +
+                    " E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA) \n" +
+                    "VALUES {0} RETURNING E_ID";
+
+    private static final String COPY_ENTRIES =
+            "COPY " + TABLE_VLINGO_SYMBIO_JOURNAL + " \n" +
+                    "(E_ID, E_STREAM_NAME, E_STREAM_VERSION, E_ENTRY_DATA, \n" +
+                    " E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA) \n" +
+                    "FROM STDIN";
+
+    private static final String SELECT_NEXT_ENTRY_IDS =
+            "SELECT nextval(pg_get_serial_sequence('" + TABLE_VLINGO_SYMBIO_JOURNAL.toLowerCase() + "', 'e_id')) " +
+                    "FROM generate_series(1, ?)";
+
     private static final String INSERT_OFFSET =
             "INSERT INTO " + TABLE_VLINGO_SYMBIO_JOURNAL_OFFSETS + " (O_READER_NAME, O_READER_OFFSET) VALUES(?, ?)";
 
@@ -150,15 +194,169 @@ public class PostgresQueries extends JDBCQueries {
 
     private static final String SELECT_SNAPSHOT =
             "SELECT S_SNAPSHOT_DATA, S_SNAPSHOT_DATA_VERSION, S_SNAPSHOT_TYPE, S_SNAPSHOT_TYPE_VERSION, S_SNAPSHOT_METADATA " +
-                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " WHERE S_STREAM_NAME = ?";
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1";
+
+    private static final String SELECT_SNAPSHOT_VERSIONS =
+            "SELECT S_STREAM_VERSION FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC";
 
     private static final String SELECT_STREAM =
             "SELECT E_ID, E_STREAM_VERSION, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA " +
                     "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
                     "WHERE E_STREAM_NAME = ? AND E_STREAM_VERSION >= ? ORDER BY E_STREAM_VERSION";
 
+    private static final String SELECT_STREAM_WITH_SNAPSHOT =
+            "(SELECT 0 AS R_KIND, NULL AS R_ID, S_STREAM_VERSION AS R_STREAM_VERSION, S_SNAPSHOT_DATA AS R_DATA, " +
+                    "S_SNAPSHOT_TYPE AS R_TYPE, S_SNAPSHOT_TYPE_VERSION AS R_TYPE_VERSION, S_SNAPSHOT_METADATA AS R_METADATA, " +
+                    "S_SNAPSHOT_DATA_VERSION AS R_DATA_VERSION " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1) " +
+            "UNION ALL " +
+            "(SELECT 1, E_ID, E_STREAM_VERSION, E_ENTRY_DATA, E_ENTRY_TYPE, E_ENTRY_TYPE_VERSION, E_ENTRY_METADATA, 0 " +
+                    "FROM " + TABLE_VLINGO_SYMBIO_JOURNAL + " " +
+                    "WHERE E_STREAM_NAME = ? AND E_STREAM_VERSION >= ? AND E_STREAM_VERSION >= COALESCE(" +
+                    "(SELECT S_SNAPSHOT_DATA_VERSION FROM " + TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS + " " +
+                    "WHERE S_STREAM_NAME = ? ORDER BY S_STREAM_VERSION DESC LIMIT 1), 0)) " +
+            "ORDER BY R_KIND, R_STREAM_VERSION";
+
+    private static final String NOTIFY_APPENDED = "SELECT pg_notify(?, ?)";
+
+    private PreparedStatement notifyAppended;
+    private PreparedStatement selectNextEntryIds;
+
     public PostgresQueries(Connection connection) throws SQLException {
-        super(connection);
+        this(connection, JournalPayloadCodec.text());
+    }
+
+    /**
+     * Construct my state.
+     * @param connection the Connection to use
+     * @param payloadCodec the JournalPayloadCodec of the entry and snapshot payloads
+     * @throws SQLException if the statements cannot be prepared
+     */
+    public PostgresQueries(final Connection connection, final JournalPayloadCodec payloadCodec) throws SQLException {
+        super(connection, payloadCodec);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (selectNextEntryIds != null) {
+            try {
+                selectNextEntryIds.close();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+        if (notifyAppended != null) {
+            try {
+                notifyAppended.close();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+        super.close();
+    }
+
+    @Override
+    public boolean supportsAppendNotifications() {
+        return true;
+    }
+
+    /**
+     * Notify the listeners on {@code APPEND_NOTIFICATION_CHANNEL} of {@code highWaterId},
+     * which Postgres delivers only when the current transaction commits.
+     * @param highWaterId the long greatest E_ID of the appended entries
+     * @throws SQLException if the notification fails
+     */
+    @Override
+    public void notifyAppended(final long highWaterId) throws SQLException {
+        if (notifyAppended == null) {
+            notifyAppended = connection.prepareStatement(NOTIFY_APPENDED);
+        }
+
+        notifyAppended.clearParameters();
+
+        notifyAppended.setString(1, APPEND_NOTIFICATION_CHANNEL);
+        notifyAppended.setString(2, String.valueOf(highWaterId));
+
+        notifyAppended.execute();
+    }
+
+    @Override
+    public void listenToAppends() throws SQLException {
+        if (!supportsAppendNotifications()) {
+            return; // YugaByte has no LISTEN
+        }
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + APPEND_NOTIFICATION_CHANNEL);
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    @Override
+    public long awaitAppends(final int timeoutMillis) throws SQLException, InterruptedException {
+        if (!supportsAppendNotifications()) {
+            return super.awaitAppends(timeoutMillis);
+        }
+
+        final PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(timeoutMillis);
+
+        long highWaterId = -1L;
+        if (notifications != null) {
+            for (final PGNotification notification : notifications) {
+                if (APPEND_NOTIFICATION_CHANNEL.equals(notification.getName())) {
+                    highWaterId = Math.max(highWaterId, Long.parseLong(notification.getParameter()));
+                }
+            }
+        }
+        return highWaterId;
+    }
+
+    /**
+     * Answer the {@code COPY ... FROM STDIN} of entries in text format, with the
+     * columns E_ID, E_STREAM_NAME, E_STREAM_VERSION, E_ENTRY_DATA, E_ENTRY_TYPE,
+     * E_ENTRY_TYPE_VERSION and E_ENTRY_METADATA in that order.
+     * @return String
+     */
+    public String copyEntriesQuery() {
+        return COPY_ENTRIES;
+    }
+
+    /**
+     * Answer the {@link PreparedStatement} that allocates {@code count} entry identities
+     * from the journal's E_ID sequence, one row per identity in ascending order.
+     * @param count the int number of identities to allocate
+     * @return PreparedStatement
+     * @throws SQLException if the statement creation fails
+     */
+    public PreparedStatement prepareSelectNextEntryIdsQuery(final int count) throws SQLException {
+        if (selectNextEntryIds == null) {
+            selectNextEntryIds = connection.prepareStatement(SELECT_NEXT_ENTRY_IDS);
+        }
+
+        selectNextEntryIds.clearParameters();
+
+        selectNextEntryIds.setInt(1, count);
+
+        return selectNextEntryIds;
+    }
+
+    /**
+     * Answer the identities of the inserted entries from the {@code RETURNING E_ID}
+     * rows of the multi-row INSERT, which are produced in the order of its VALUES.
+     */
+    @Override
+    public List<Long> executeInsertEntries(final PreparedStatement insertStatement, final int rows) throws SQLException {
+        final List<Long> ids = new ArrayList<>(rows);
+        try (final ResultSet result = insertStatement.executeQuery()) {
+            while (result.next()) {
+                ids.add(result.getLong(1));
+            }
+        }
+        return ids;
     }
 
     @Override
@@ -168,7 +366,7 @@ public class PostgresQueries extends JDBCQueries {
 
     @Override
     protected String createJournalTableQuery() {
-        return CREATE_JOURNAL_TABLE;
+        return MessageFormat.format(CREATE_JOURNAL_TABLE, dataType(payloadCodec));
     }
 
     @Override
@@ -178,7 +376,12 @@ public class PostgresQueries extends JDBCQueries {
 
     @Override
     protected String createSnapshotsTableQuery() {
-        return CREATE_SNAPSHOTS_TABLE;
+        return MessageFormat.format(CREATE_SNAPSHOTS_TABLE, dataType(payloadCodec));
+    }
+
+    @Override
+    protected String createStreamIndexQuery() {
+        return CREATE_STREAM_INDEX;
     }
 
     @Override
@@ -186,6 +389,16 @@ public class PostgresQueries extends JDBCQueries {
         return DELETE_DISPATCHABLE;
     }
 
+    @Override
+    protected String deleteDispatchablesQuery() {
+        return DELETE_DISPATCHABLES;
+    }
+
+    @Override
+    protected String deleteSnapshotsBeforeQuery() {
+        return DELETE_SNAPSHOTS_BEFORE;
+    }
+
     @Override
     protected String dropDispatchablesTableQuery() {
         return DROP_DISPATCHABLES_TABLE;
@@ -221,6 +434,16 @@ public class PostgresQueries extends JDBCQueries {
         return INSERT_ENTRY;
     }
 
+    @Override
+    protected String insertEntriesQuery() {
+        return INSERT_ENTRIES;
+    }
+
+    @Override
+    protected PreparedStatement prepareInsertEntriesStatement(final String query) throws SQLException {
+        return connection.prepareStatement(query);
+    }
+
     @Override
     protected String insertOffsetQuery() {
         return INSERT_OFFSET;
@@ -271,11 +494,21 @@ public class PostgresQueries extends JDBCQueries {
         return SELECT_SNAPSHOT;
     }
 
+    @Override
+    protected String selectSnapshotVersionsQuery() {
+        return SELECT_SNAPSHOT_VERSIONS;
+    }
+
     @Override
     protected String selectStreamQuery() {
         return SELECT_STREAM;
     }
 
+    @Override
+    protected String selectStreamWithSnapshotQuery() {
+        return SELECT_STREAM_WITH_SNAPSHOT;
+    }
+
     @Override
     protected String updateOffsetQuery() {
         return UPDATE_OFFSET;
@@ -285,4 +518,23 @@ public class PostgresQueries extends JDBCQueries {
     protected String upsertOffsetQuery() {
         return UPSERT_OFFSET;
     }
+
+    /**
+     * Answer the constraint named by the server error of {@code e}, if any.
+     */
+    @Override
+    protected String violatedConstraintOf(final SQLException e) {
+        if (e instanceof PSQLException) {
+            final ServerErrorMessage serverError = ((PSQLException) e).getServerErrorMessage();
+            return serverError == null ? null : serverError.getConstraint();
+        }
+        return null;
+    }
+
+    /**
+     * Answer the type of the entry and snapshot data columns per {@code payloadCodec}.
+     */
+    private static String dataType(final JournalPayloadCodec payloadCodec) {
+        return payloadCodec.isBinary() ? DATA_TYPE_BINARY : DATA_TYPE_TEXT;
+    }
 }
@@ -16,6 +16,7 @@ import java.util.UUID;
 
 import io.vlingo.common.Tuple2;
 import io.vlingo.common.identity.IdentityGenerator;
+import io.vlingo.symbio.store.journal.jdbc.JournalPayloadCodec;
 import io.vlingo.symbio.store.journal.jdbc.postgres.PostgresQueries;
 
 public class YugaByteQueries extends PostgresQueries {
@@ -28,11 +29,39 @@ public class YugaByteQueries extends PostgresQueries {
   private final IdentityGenerator identityGenerator;
 
   public YugaByteQueries(final Connection connection) throws SQLException {
-    super(connection);
+    this(connection, JournalPayloadCodec.text());
+  }
+
+  /**
+   * Construct my state.
+   * @param connection the Connection to use
+   * @param payloadCodec the JournalPayloadCodec of the entry and snapshot payloads
+   * @throws SQLException if the statements cannot be prepared
+   */
+  public YugaByteQueries(final Connection connection, final JournalPayloadCodec payloadCodec) throws SQLException {
+    super(connection, payloadCodec);
 
     this.identityGenerator = new IdentityGenerator.TimeBasedIdentityGenerator();
   }
 
+  /**
+   * Answer false, because my entry identities are generated by the client
+   * per row and so entries are inserted using {@code prepareInsertEntryQuery}.
+   */
+  @Override
+  public boolean supportsMultiRowInsert() {
+    return false;
+  }
+
+  @Override
+  public boolean supportsAppendNotifications() {
+    return false; // YugaByte does not implement LISTEN/NOTIFY
+  }
+
+  @Override
+  public void notifyAppended(final long highWaterId) {
+  }
+
   @Override
   public Tuple2<PreparedStatement,Optional<String>> prepareInsertEntryQuery(
           final String stream_name,
@@ -43,24 +72,26 @@ public class YugaByteQueries extends PostgresQueries {
           final String entry_metadata)
   throws SQLException {
 
-    insertEntry.clearParameters();
+    final PreparedStatement statement = insertEntryStatement();
+
+    statement.clearParameters();
 
     final UUID e_id = identityGenerator.generate();
     final long e_timestamp = e_id.timestamp();
 
-    insertEntry.setObject(1, e_id);
-    insertEntry.setLong(2, e_timestamp);
+    statement.setObject(1, e_id);
+    statement.setLong(2, e_timestamp);
 
-    insertEntry.setString(3, stream_name);
-    insertEntry.setInt(4, stream_version);
+    statement.setString(3, stream_name);
+    statement.setInt(4, stream_version);
 
-    insertEntry.setString(5, entry_data);
-    insertEntry.setString(6, entry_type);
-    insertEntry.setInt(7, entry_type_version);
+    payloadCodec.bind(statement, 5, entry_data);
+    statement.setString(6, entry_type);
+    statement.setInt(7, entry_type_version);
 
-    insertEntry.setString(8, entry_metadata);
+    statement.setString(8, entry_metadata);
 
-    return Tuple2.from(insertEntry, Optional.of(e_id.toString()));
+    return Tuple2.from(statement, Optional.of(e_id.toString()));
   }
 
   @Override
@@ -35,6 +35,7 @@ import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationPolicy;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.dispatch.Dispatcher;
 import io.vlingo.symbio.store.dispatch.DispatcherControl;
@@ -54,9 +55,12 @@ import io.vlingo.symbio.store.object.jdbc.jdbi.JdbiOnDatabase;
  * any number of {@code JDBCObjectStoreDelegate} types.
  */
 public class JDBCObjectStoreActor extends Actor implements ObjectStore, Scheduled<Object> {
+  private static final Object FlushConfirmations = new Object();
+
   private final DispatcherControl dispatcherControl;
   private boolean closed;
   private final JDBCObjectStoreDelegate delegate;
+  private final JDBCObjectStoreDelegate dispatcherControlDelegate;
   private final List<Dispatcher<Dispatchable<Entry<?>, State<?>>>> dispatchers;
   private final Map<String,ObjectStoreEntryReader<?>> entryReaders;
   private final Logger logger;
@@ -84,15 +88,22 @@ public class JDBCObjectStoreActor extends Actor implements ObjectStore, Schedule
     final long timeout = delegate.configuration.transactionTimeoutMillis;
     stage().scheduler().schedule(selfAs(Scheduled.class), null, 5, timeout);
 
+    //Get a copy of storage delegate to use other connection
+    this.dispatcherControlDelegate = (JDBCObjectStoreDelegate) delegate.copy();
     this.dispatcherControl = stage().actorFor(
             DispatcherControl.class,
             Definition.has(
                     DispatcherControlActor.class,
                     new DispatcherControlInstantiator(
-                            //Get a copy of storage delegate to use other connection
-                            dispatchers, delegate.copy(),
+                            dispatchers, dispatcherControlDelegate,
                             checkConfirmationExpirationInterval,
                             confirmationExpiration)));
+
+    final DispatchConfirmationPolicy confirmationPolicy = delegate.configuration.dispatchConfirmationPolicy();
+    if (confirmationPolicy.isBuffered() && confirmationPolicy.flushIntervalMillis > 0) {
+      stage().scheduler().schedule(selfAs(Scheduled.class), FlushConfirmations,
+              confirmationPolicy.flushIntervalMillis, confirmationPolicy.flushIntervalMillis);
+    }
   }
 
   /**
@@ -127,7 +138,8 @@ public class JDBCObjectStoreActor extends Actor implements ObjectStore, Schedule
       case JDBC:
       case JPA:
         actorType = JDBCObjectStoreEntryReaderActor.class;
-        instantiator = new JDBCObjectStoreEntryReaderInstantiator(DatabaseType.databaseType(clonedConfiguration.connection), clonedConfiguration.connection, name);
+        instantiator = new JDBCObjectStoreEntryReaderInstantiator(DatabaseType.databaseType(clonedConfiguration.connection), clonedConfiguration.connection, name,
+                clonedConfiguration.offsetCommitPolicy());
         break;
       default:
         throw new IllegalStateException(getClass().getSimpleName() + ": Cannot create entry reader '" + name + "' due to unknown type: " + delegate.type());
@@ -247,7 +259,11 @@ public class JDBCObjectStoreActor extends Actor implements ObjectStore, Schedule
 
   @Override
   public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
-    delegate.timeoutCheck();
+    if (data == FlushConfirmations) {
+      dispatcherControlDelegate.flushConfirmations();
+    } else {
+      delegate.timeoutCheck();
+    }
   }
 
   /*
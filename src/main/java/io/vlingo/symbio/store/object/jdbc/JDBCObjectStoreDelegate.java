@@ -36,6 +36,15 @@ public abstract class JDBCObjectStoreDelegate implements ObjectStoreDelegate<Ent
    */
   public abstract void timeoutCheck();
 
+  /**
+   * Delete the pending buffered dispatch confirmations, if any. The
+   * {@code JDBCObjectStoreActor} calls this on the delegate of its dispatcher
+   * control every {@code flushIntervalMillis} of a buffered
+   * {@code DispatchConfirmationPolicy}. I have no buffered confirmations.
+   */
+  public void flushConfirmations() {
+  }
+
   /**
    * Answer my Type.
    * @return Type
@@ -9,7 +9,9 @@ package io.vlingo.symbio.store.object.jdbc;
 
 import io.vlingo.actors.Actor;
 import io.vlingo.actors.ActorInstantiator;
+import io.vlingo.common.Cancellable;
 import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduled;
 import io.vlingo.reactivestreams.Stream;
 import io.vlingo.symbio.BaseEntry.TextEntry;
 import io.vlingo.symbio.Entry;
@@ -17,6 +19,8 @@ import io.vlingo.symbio.EntryAdapterProvider;
 import io.vlingo.symbio.Metadata;
 import io.vlingo.symbio.store.EntryReaderStream;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.OffsetCommitPolicy;
+import io.vlingo.symbio.store.common.jdbc.OffsetCommitter;
 import io.vlingo.symbio.store.gap.GapRetryReader;
 import io.vlingo.symbio.store.gap.GappedEntries;
 import io.vlingo.symbio.store.journal.JournalReader;
@@ -33,7 +37,7 @@ import java.util.List;
 /**
  * An {@code ObjectStoreEntryReader} for JDBC.
  */
-public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStoreEntryReader<Entry<String>> {
+public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStoreEntryReader<Entry<String>>, Scheduled<Object> {
 
   private final Connection connection;
   private final EntryAdapterProvider entryAdapterProvider;
@@ -48,10 +52,26 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
   private final PreparedStatement queryLastEntryId;
   private final PreparedStatement querySize;
   private final PreparedStatement upsertCurrentEntryOffset;
+  private final OffsetCommitter offsets;
+  private final Cancellable offsetCommitSchedule;
 
   private long offset;
 
   public JDBCObjectStoreEntryReaderActor(final DatabaseType databaseType, final Connection connection, final String name) throws SQLException {
+    this(databaseType, connection, name, OffsetCommitPolicy.immediate());
+  }
+
+  /**
+   * Construct my state.
+   * @param databaseType the DatabaseType of the connection
+   * @param connection the Connection from which entries are read
+   * @param name the String name of this reader
+   * @param offsetCommitPolicy the OffsetCommitPolicy that decides when my offset is persisted
+   * @throws SQLException if the statements cannot be prepared
+   */
+  @SuppressWarnings("unchecked")
+  public JDBCObjectStoreEntryReaderActor(final DatabaseType databaseType, final Connection connection, final String name,
+          final OffsetCommitPolicy offsetCommitPolicy) throws SQLException {
     this.queries = JDBCObjectStoreEntryJournalQueries.using(databaseType, connection);
     this.name = name;
     this.connection = connection;
@@ -70,6 +90,11 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
     queries.createTextEntryJournalReaderOffsetsTable();
 
     restoreCurrentOffset();
+
+    this.offsets = new OffsetCommitter(offsetCommitPolicy, this::updateCurrentOffset, offset);
+    this.offsetCommitSchedule = offsetCommitPolicy.isTimed() ?
+            stage().scheduler().schedule(selfAs(Scheduled.class), null, offsetCommitPolicy.intervalMillis, offsetCommitPolicy.intervalMillis) :
+            null;
   }
 
   private GapRetryReader<Entry<String>> reader() {
@@ -82,6 +107,7 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
 
   @Override
   public void close() {
+    commitOffset();
     try {
       if (!connection.isClosed()) {
         connection.close();
@@ -91,6 +117,17 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
     }
   }
 
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    offsets.intervalElapsed();
+  }
+
+  @Override
+  public void stop() {
+    commitOffset();
+    super.stop();
+  }
+
   @Override
   public Completes<String> name() {
     return completes().with(name);
@@ -111,11 +148,11 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
           reader().readGaps(gappedEntries, DefaultGapPreventionRetries, DefaultGapPreventionRetryInterval, this::readIds);
 
           ++offset;
-          updateCurrentOffset();
+          offsets.advancedTo(offset, 1);
           return completes();
         } else {
           ++offset;
-          updateCurrentOffset();
+          offsets.advancedTo(offset, 1);
           return completes().with(entry);
         }
       }
@@ -146,11 +183,11 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
 
           // Move offset with maximumEntries regardless of filled up gaps
           offset += maximumEntries;
-          updateCurrentOffset();
+          offsets.advancedTo(offset, maximumEntries);
           return completes();
         } else {
           offset += maximumEntries;
-          updateCurrentOffset();
+          offsets.advancedTo(offset, maximumEntries);
           return completes().with(entries);
         }
       }
@@ -169,7 +206,7 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
   @Override
   public void rewind() {
     this.offset = 1L;
-    updateCurrentOffset();
+    offsets.movedTo(offset);
   }
 
   @Override
@@ -177,17 +214,17 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
     switch (id) {
     case Beginning:
         this.offset = 1L;
-        updateCurrentOffset();
+        offsets.movedTo(offset);
         break;
     case End:
         this.offset = retrieveLatestOffset() + 1L;
-        updateCurrentOffset();
+        offsets.movedTo(offset);
         break;
     case Query:
         break;
     default:
         this.offset = Long.parseLong(id);
-        updateCurrentOffset();
+        offsets.movedTo(offset);
         break;
     }
 
@@ -216,6 +253,15 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
     return completes().with(new EntryReaderStream<>(stage(), selfAs(JournalReader.class), entryAdapterProvider));
   }
 
+  private void commitOffset() {
+    if (offsetCommitSchedule != null) {
+      offsetCommitSchedule.cancel();
+    }
+    if (!offsets.commit()) {
+      logger().info("vlingo/symbio-jdbc: " + getClass().getSimpleName() + " Could not persist the offset " + offset + " of " + name + " on close.");
+    }
+  }
+
   private List<Entry<String>> mapQueriedEntriesFrom(final ResultSet result) throws SQLException {
     final List<Entry<String>> entries = new ArrayList<>();
     while (result.next()) {
@@ -284,15 +330,17 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
     return offset;
   }
 
-  private void updateCurrentOffset() {
+  private boolean updateCurrentOffset(final long offset) {
     try {
       upsertCurrentEntryOffset.clearParameters();
       upsertCurrentEntryOffset.setString(1, name);
       upsertCurrentEntryOffset.setLong(2, offset);
       upsertCurrentEntryOffset.setLong(3, offset);
       upsertCurrentEntryOffset.executeUpdate();
+      return true;
     } catch (SQLException e) {
       logger().info("vlingo/symbio-jdbc: " + getClass().getSimpleName() + " Could not upsert current offset because: " + e.getMessage(), e);
+      return false;
     }
   }
 
@@ -302,17 +350,24 @@ public class JDBCObjectStoreEntryReaderActor extends Actor implements ObjectStor
     private final Connection connection;
     private final DatabaseType databaseType;
     private final String name;
+    private final OffsetCommitPolicy offsetCommitPolicy;
 
     public JDBCObjectStoreEntryReaderInstantiator(final DatabaseType databaseType, final Connection connection, final String name) {
+      this(databaseType, connection, name, OffsetCommitPolicy.immediate());
+    }
+
+    public JDBCObjectStoreEntryReaderInstantiator(final DatabaseType databaseType, final Connection connection, final String name,
+            final OffsetCommitPolicy offsetCommitPolicy) {
       this.databaseType = databaseType;
       this.connection = connection;
       this.name = name;
+      this.offsetCommitPolicy = offsetCommitPolicy;
     }
 
     @Override
     public JDBCObjectStoreEntryReaderActor instantiate() {
       try {
-        return new JDBCObjectStoreEntryReaderActor(databaseType, connection, name);
+        return new JDBCObjectStoreEntryReaderActor(databaseType, connection, name, offsetCommitPolicy);
       } catch (SQLException e) {
         throw new IllegalArgumentException("Failed instantiator of " + getClass() + " because: " + e.getMessage(), e);
       }
@@ -21,6 +21,7 @@ import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.generic.GenericType;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.result.ResultBearing;
+import org.jdbi.v3.core.statement.PreparedBatch;
 import org.jdbi.v3.core.statement.Update;
 
 import io.vlingo.actors.Logger;
@@ -33,6 +34,7 @@ import io.vlingo.symbio.store.QueryExpression;
 import io.vlingo.symbio.store.QueryMode;
 import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationBuffer;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.object.ObjectStoreReader;
 import io.vlingo.symbio.store.object.ObjectStoreReader.QueryMultiResults;
@@ -51,6 +53,7 @@ public class JdbiObjectStoreDelegate extends JDBCObjectStoreDelegate {
   private static final UnitOfWork AlwaysModified = new AlwaysModifiedUnitOfWork();
 
   private final StateAdapterProvider stateAdapterProvider;
+  private final DispatchConfirmationBuffer confirmations;
   private final Handle handle;
   private final Logger logger;
   private final Map<Class<?>, StateObjectMapper> mappers;
@@ -77,6 +80,7 @@ public class JdbiObjectStoreDelegate extends JDBCObjectStoreDelegate {
     this.unitOfWorkRegistry = new ConcurrentHashMap<>();
     this.updateId = 0;
     this.logger = logger;
+    this.confirmations = new DispatchConfirmationBuffer(configuration.dispatchConfirmationPolicy(), this::deleteDispatchables);
     initialize();
 
     mappers.forEach(mapper -> {
@@ -90,6 +94,9 @@ public class JdbiObjectStoreDelegate extends JDBCObjectStoreDelegate {
    */
   @Override
   public void close() {
+    if (!handle.isClosed() && !confirmations.flush()) {
+      logger.error("Close could not flush " + confirmations.pendingCount() + " dispatch confirmations; their dispatchables will be redispatched.");
+    }
     try {
       handle.close();
     } catch (final Exception e) {
@@ -248,17 +255,48 @@ public class JdbiObjectStoreDelegate extends JDBCObjectStoreDelegate {
     }
   }
 
+  /**
+   * Answer the unconfirmed dispatchables after flushing buffered confirmations.
+   * Any confirmations that remain pending are excluded from the answer.
+   * @return {@code Collection<Dispatchable<Entry<?>, State<?>>>}
+   */
   @Override
-  public Collection<Dispatchable<Entry<?>, State<?>>> allUnconfirmedDispatchableStates() {
-    return handle.createQuery(unconfirmedDispatchablesExpression.query)
+  public synchronized Collection<Dispatchable<Entry<?>, State<?>>> allUnconfirmedDispatchableStates() {
+    confirmations.flush();
+
+    final List<Dispatchable<Entry<?>, State<?>>> dispatchables = handle.createQuery(unconfirmedDispatchablesExpression.query)
             .mapTo(new GenericType<Dispatchable<Entry<?>, State<?>>>() {})
             .list();
+
+    if (confirmations.pendingCount() > 0) {
+      dispatchables.removeIf(dispatchable -> confirmations.isPending(dispatchable.id()));
+    }
+
+    return dispatchables;
   }
 
+  /**
+   * Confirm the dispatch of {@code dispatchId}, which deletes its dispatchable
+   * immediately or with others, according to the {@code DispatchConfirmationPolicy}
+   * of my {@code Configuration}. Buffered confirmations are executed as one batch
+   * of the {@code Dispatchable} mapper's update statement.
+   * @param dispatchId the String id of the confirmed dispatchable
+   */
   @Override
-  public void confirmDispatched(final String dispatchId) {
-    final JdbiPersistMapper mapper = mappers.get(Dispatchable.class).persistMapper();
-    handle.createUpdate(mapper.updateStatement).bind("id", dispatchId).execute();
+  public synchronized void confirmDispatched(final String dispatchId) {
+    confirmations.confirm(dispatchId);
+  }
+
+  /**
+   * Delete the pending buffered confirmations, if any. This is synchronized with my
+   * other uses of the dispatchables, because it is called by my object store actor
+   * while I serve its dispatcher control.
+   */
+  @Override
+  public synchronized void flushConfirmations() {
+    if (!handle.isClosed() && !confirmations.flush()) {
+      logger.error("Could not flush " + confirmations.pendingCount() + " dispatch confirmations; will retry.");
+    }
   }
 
   @Override
@@ -266,6 +304,24 @@ public class JdbiObjectStoreDelegate extends JDBCObjectStoreDelegate {
     this.close();
   }
 
+  private void deleteDispatchables(final List<String> dispatchIds) {
+    final JdbiPersistMapper mapper = mappers.get(Dispatchable.class).persistMapper();
+    try {
+      if (dispatchIds.size() == 1) {
+        handle.createUpdate(mapper.updateStatement).bind("id", dispatchIds.get(0)).execute();
+      } else {
+        final PreparedBatch batch = handle.prepareBatch(mapper.updateStatement);
+        for (final String dispatchId : dispatchIds) {
+          batch.bind("id", dispatchId).add();
+        }
+        batch.execute();
+      }
+    } catch (final Exception e) {
+      logger.error("Confirm dispatched for: " + dispatchIds + " failed because: " + e.getMessage(), e);
+      throw e;
+    }
+  }
+
   private Update bindAll(final Object persistentObject, final JdbiPersistMapper mapper, final Update statement) {
     for (final BiFunction<Update, Object, Update> binder : mapper.binders) {
       binder.apply(statement, persistentObject);
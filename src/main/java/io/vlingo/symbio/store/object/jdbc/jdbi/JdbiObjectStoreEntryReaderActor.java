@@ -9,13 +9,17 @@ package io.vlingo.symbio.store.object.jdbc.jdbi;
 
 import io.vlingo.actors.Actor;
 import io.vlingo.actors.ActorInstantiator;
+import io.vlingo.common.Cancellable;
 import io.vlingo.common.Completes;
+import io.vlingo.common.Scheduled;
 import io.vlingo.reactivestreams.Stream;
 import io.vlingo.symbio.Entry;
 import io.vlingo.symbio.EntryAdapterProvider;
 import io.vlingo.symbio.store.EntryReader;
 import io.vlingo.symbio.store.EntryReaderStream;
 import io.vlingo.symbio.store.QueryExpression;
+import io.vlingo.symbio.store.common.jdbc.OffsetCommitPolicy;
+import io.vlingo.symbio.store.common.jdbc.OffsetCommitter;
 import io.vlingo.symbio.store.gap.GapRetryReader;
 import io.vlingo.symbio.store.gap.GappedEntries;
 import io.vlingo.symbio.store.object.ObjectStoreEntryReader;
@@ -28,7 +32,7 @@ import java.util.*;
 /**
  * An {@code ObjectStoreEntryReader} for Jdbi.
  */
-public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStoreEntryReader<Entry<String>> {
+public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStoreEntryReader<Entry<String>>, Scheduled<Object> {
   private final JdbiPersistMapper currentEntryOffsetMapper;
   private final EntryAdapterProvider entryAdapterProvider;
   private final JdbiOnDatabase jdbi;
@@ -36,9 +40,12 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
   private GapRetryReader<Entry<String>> reader = null;
   private final QueryExpression queryLastEntryId;
   private final QueryExpression querySize;
+  private final OffsetCommitter offsets;
+  private final Cancellable offsetCommitSchedule;
 
   private long offset;
 
+  @SuppressWarnings("unchecked")
   public JdbiObjectStoreEntryReaderActor(final JdbiOnDatabase jdbi, final Collection<StateObjectMapper> mappers, final String name) {
     this.jdbi = jdbi;
     this.name = name;
@@ -51,10 +58,17 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
     mappers.forEach(mapper -> jdbi.handle.registerRowMapper((RowMapper<?>) mapper.queryMapper()));
 
     restoreCurrentOffset();
+
+    final OffsetCommitPolicy offsetCommitPolicy = jdbi.configuration().offsetCommitPolicy();
+    this.offsets = new OffsetCommitter(offsetCommitPolicy, this::updateCurrentOffset, offset);
+    this.offsetCommitSchedule = offsetCommitPolicy.isTimed() ?
+            stage().scheduler().schedule(selfAs(Scheduled.class), null, offsetCommitPolicy.intervalMillis, offsetCommitPolicy.intervalMillis) :
+            null;
   }
 
   @Override
   public void close() {
+    commitOffset();
     try {
       if (!jdbi.configuration().connection.isClosed()) {
         jdbi.configuration().connection.close();
@@ -64,6 +78,17 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
     }
   }
 
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    offsets.intervalElapsed();
+  }
+
+  @Override
+  public void stop() {
+    commitOffset();
+    super.stop();
+  }
+
   @Override
   public Completes<String> name() {
     return completes().with(name);
@@ -83,11 +108,11 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
         reader().readGaps(gappedEntries, DefaultGapPreventionRetries, DefaultGapPreventionRetryInterval, this::readIds);
 
         ++offset;
-        updateCurrentOffset();
+        offsets.advancedTo(offset, 1);
         return completes();
       } else {
         ++offset;
-        updateCurrentOffset();
+        offsets.advancedTo(offset, 1);
         return completes().with(entry.get());
       }
     } catch (Exception e) {
@@ -115,11 +140,11 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
 
         // Move offset with maximumEntries regardless of filled up gaps
         offset += maximumEntries;
-        updateCurrentOffset();
+        offsets.advancedTo(offset, maximumEntries);
         return completes();
       } else {
         offset += maximumEntries;
-        updateCurrentOffset();
+        offsets.advancedTo(offset, maximumEntries);
         return completes().with(entries);
       }
     } catch (Exception e) {
@@ -137,7 +162,7 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
   @Override
   public void rewind() {
     this.offset = 1;
-    updateCurrentOffset();
+    offsets.movedTo(offset);
   }
 
   @Override
@@ -145,17 +170,17 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
     switch (id) {
     case Beginning:
         this.offset = 1;
-        updateCurrentOffset();
+        offsets.movedTo(offset);
         break;
     case End:
         this.offset = retrieveLatestOffset() + 1;
-        updateCurrentOffset();
+        offsets.movedTo(offset);
         break;
     case Query:
         break;
     default:
         this.offset = Long.parseLong(id);
-        updateCurrentOffset();
+        offsets.movedTo(offset);
         break;
     }
 
@@ -178,6 +203,15 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
     return completes().with(new EntryReaderStream<>(stage(), selfAs(EntryReader.class), entryAdapterProvider));
   }
 
+  private void commitOffset() {
+    if (offsetCommitSchedule != null) {
+      offsetCommitSchedule.cancel();
+    }
+    if (!offsets.commit()) {
+      logger().info("vlingo/symbio-jdbc: " + getClass().getSimpleName() + " Could not persist the offset " + offset + " of " + name + " on close.");
+    }
+  }
+
   private GapRetryReader<Entry<String>> reader() {
     if (reader == null) {
       reader = new GapRetryReader<>(stage(), scheduler());
@@ -212,8 +246,14 @@ public class JdbiObjectStoreEntryReaderActor extends Actor implements ObjectStor
     }
   }
 
-  private void updateCurrentOffset() {
-    jdbi.handle().createUpdate(currentEntryOffsetMapper.insertStatement).bind("name", name).bind("offset", offset).execute();
+  private boolean updateCurrentOffset(final long offset) {
+    try {
+      jdbi.handle().createUpdate(currentEntryOffsetMapper.insertStatement).bind("name", name).bind("offset", offset).execute();
+      return true;
+    } catch (Exception e) {
+      logger().info("vlingo/symbio-jdbc: " + getClass().getSimpleName() + " Could not upsert current offset because: " + e.getMessage(), e);
+      return false;
+    }
   }
 
   public static class JdbiObjectStoreEntryReaderInstantiator implements ActorInstantiator<JdbiObjectStoreEntryReaderActor> {
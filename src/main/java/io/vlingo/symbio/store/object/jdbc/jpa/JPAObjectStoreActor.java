@@ -20,6 +20,7 @@ import io.vlingo.actors.Definition;
 import io.vlingo.actors.Logger;
 import io.vlingo.common.Completes;
 import io.vlingo.common.Failure;
+import io.vlingo.common.Scheduled;
 import io.vlingo.common.Success;
 import io.vlingo.common.identity.IdentityGenerator;
 import io.vlingo.symbio.Entry;
@@ -33,6 +34,7 @@ import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
 import io.vlingo.symbio.store.common.jdbc.ConnectionProvider;
 import io.vlingo.symbio.store.common.jdbc.DatabaseType;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationPolicy;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.dispatch.Dispatcher;
 import io.vlingo.symbio.store.dispatch.DispatcherControl;
@@ -47,9 +49,10 @@ import io.vlingo.symbio.store.object.jdbc.JDBCObjectStoreEntryReaderActor.JDBCOb
 /**
  * JPAObjectStoreActor
  */
-public class JPAObjectStoreActor extends Actor implements JPAObjectStore {
+public class JPAObjectStoreActor extends Actor implements JPAObjectStore, Scheduled<Object> {
   private final ConnectionProvider connectionProvider;
   private final DispatcherControl dispatcherControl;
+  private final JPAObjectStoreDelegate dispatcherControlDelegate;
   private final List<Dispatcher<Dispatchable<Entry<String>, State<?>>>> dispatchers;
   private boolean closed;
   private final JPAObjectStoreDelegate delegate;
@@ -95,15 +98,22 @@ public class JPAObjectStoreActor extends Actor implements JPAObjectStore {
     this.logger = stage().world().defaultLogger();
     this.identityGenerator = new IdentityGenerator.RandomIdentityGenerator();
 
+    //Get a copy of storage delegate to use other connection
+    this.dispatcherControlDelegate = delegate.copy();
     this.dispatcherControl = stage().actorFor(
             DispatcherControl.class,
             Definition.has(
                     DispatcherControlActor.class,
                     new DispatcherControlInstantiator(
-                            //Get a copy of storage delegate to use other connection
-                            dispatchers, delegate.copy(),
+                            dispatchers, dispatcherControlDelegate,
                             checkConfirmationExpirationInterval,
                             confirmationExpiration)));
+
+    final DispatchConfirmationPolicy confirmationPolicy = dispatcherControlDelegate.dispatchConfirmationPolicy();
+    if (confirmationPolicy.isBuffered() && confirmationPolicy.flushIntervalMillis > 0) {
+      stage().scheduler().schedule(selfAs(Scheduled.class), null,
+              confirmationPolicy.flushIntervalMillis, confirmationPolicy.flushIntervalMillis);
+    }
   }
 
   /**
@@ -279,6 +289,14 @@ public class JPAObjectStoreActor extends Actor implements JPAObjectStore {
     }
   }
 
+  /**
+   * Flush the buffered dispatch confirmations of my dispatcher control.
+   */
+  @Override
+  public void intervalSignal(final Scheduled<Object> scheduled, final Object data) {
+    dispatcherControlDelegate.flushConfirmations();
+  }
+
   private Dispatchable<Entry<String>, State<?>> buildDispatchable(final State<?> state, final List<Entry<String>> entries){
     final String id = identityGenerator.generate().toString();
     return new Dispatchable<>(id, LocalDateTime.now(), state, entries);
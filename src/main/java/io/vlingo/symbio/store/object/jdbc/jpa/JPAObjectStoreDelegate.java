@@ -30,6 +30,8 @@ import io.vlingo.symbio.store.MapQueryExpression;
 import io.vlingo.symbio.store.QueryExpression;
 import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationBuffer;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationPolicy;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.object.ObjectStoreDelegate;
 import io.vlingo.symbio.store.object.ObjectStoreReader;
@@ -50,6 +52,7 @@ public class JPAObjectStoreDelegate implements ObjectStoreDelegate<Entry<String>
     public static final String JPA_POSTGRES_PERSISTENCE_UNIT = "JpaPostgresService";
     public static final String JPA_YUGABYTE_PERSISTENCE_UNIT = "JpaYugaByteService";
 
+    private final DispatchConfirmationBuffer confirmations;
     private final EntityManagerFactory emf;
     private final EntityManager em;
     private final Logger logger;
@@ -66,6 +69,21 @@ public class JPAObjectStoreDelegate implements ObjectStoreDelegate<Entry<String>
      * @param logger the instance of {@link Logger} to be used
      */
     public JPAObjectStoreDelegate(final String persistenceUnitName, final Map<String,Object> properties, final String originatorId, final StateAdapterProvider stateAdapterProvider, final Logger logger) {
+        this(persistenceUnitName, properties, originatorId, stateAdapterProvider, DispatchConfirmationPolicy.immediate(), logger);
+    }
+
+    /**
+     * Constructs my state with the given {@code DispatchConfirmationPolicy}.
+     * @param persistenceUnitName the String name of the persistence unit
+     * @param properties the {@code Map<String,Object>} of properties for the EntityManagerFactory creation
+     * @param originatorId the ID of {@link Dispatchable} originator
+     * @param stateAdapterProvider   {@code StateAdapterProvider} used get raw {@code State<?>} from {@code PersistentObject}
+     * @param dispatchConfirmationPolicy the DispatchConfirmationPolicy deciding when confirmed dispatchables are deleted
+     * @param logger the instance of {@link Logger} to be used
+     */
+    public JPAObjectStoreDelegate(final String persistenceUnitName, final Map<String,Object> properties, final String originatorId,
+            final StateAdapterProvider stateAdapterProvider, final DispatchConfirmationPolicy dispatchConfirmationPolicy, final Logger logger) {
+        this.confirmations = new DispatchConfirmationBuffer(dispatchConfirmationPolicy, this::deleteDispatchables);
         this.persistenceUnitName = persistenceUnitName;
         this.emf = Persistence.createEntityManagerFactory(persistenceUnitName, properties);
         this.em = emf.createEntityManager();
@@ -81,7 +99,7 @@ public class JPAObjectStoreDelegate implements ObjectStoreDelegate<Entry<String>
 
     @Override
     public JPAObjectStoreDelegate copy() {
-        return new JPAObjectStoreDelegate(this.persistenceUnitName, emf.getProperties(), this.originatorId, stateAdapterProvider, this.logger);
+        return new JPAObjectStoreDelegate(this.persistenceUnitName, emf.getProperties(), this.originatorId, stateAdapterProvider, confirmations.policy(), this.logger);
     }
 
     @Override
@@ -179,6 +197,9 @@ public class JPAObjectStoreDelegate implements ObjectStoreDelegate<Entry<String>
      */
     @Override
     public void close() {
+        if (em.isOpen() && !confirmations.flush()) {
+            logger.error("Close could not flush " + confirmations.pendingCount() + " dispatch confirmations; their dispatchables will be redispatched.");
+        }
         try {
             em.close();
         } catch (final Exception e) {
@@ -211,30 +232,48 @@ public class JPAObjectStoreDelegate implements ObjectStoreDelegate<Entry<String>
 
 
     /**
-     * {@inheritDoc}
+     * Answer the unconfirmed dispatchables after flushing buffered confirmations.
+     * Any confirmations that remain pending are excluded from the answer.
+     * @return {@code Collection<Dispatchable<Entry<String>, State<?>>>}
      */
     @Override
-    public Collection<Dispatchable<Entry<String>, State<?>>> allUnconfirmedDispatchableStates() {
+    public synchronized Collection<Dispatchable<Entry<String>, State<?>>> allUnconfirmedDispatchableStates() {
+        confirmations.flush();
+
         return em.createNamedQuery("Dispatchables.getUnconfirmed", JPADispatchable.class)
                 .setParameter("orignatorId", originatorId)
                 .getResultStream()
                 .map(JPADispatchable::toDispatchable)
+                .filter(dispatchable -> !confirmations.isPending(dispatchable.id()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * {@inheritDoc}
-     */  @Override
-    public void confirmDispatched(final String dispatchId) {
-        beginTransaction();
-        try {
-            em.createNamedQuery("Dispatchables.deleteByDispatchId")
-                    .setParameter(1, dispatchId)
-                    .executeUpdate();
-            completeTransaction();
-        } catch (final Exception e){
-            logger.error("Failed to confirm dispatch id {}", dispatchId, e);
-            failTransaction();
+     * Confirm the dispatch of {@code dispatchId}, which deletes its dispatchable
+     * immediately or with others, according to my {@code DispatchConfirmationPolicy}.
+     * @param dispatchId the String id of the confirmed dispatchable
+     */
+    @Override
+    public synchronized void confirmDispatched(final String dispatchId) {
+        confirmations.confirm(dispatchId);
+    }
+
+    /**
+     * Answer the {@code DispatchConfirmationPolicy} of my confirmed dispatchables.
+     * @return DispatchConfirmationPolicy
+     */
+    public DispatchConfirmationPolicy dispatchConfirmationPolicy() {
+        return confirmations.policy();
+    }
+
+    /**
+     * Delete the pending buffered confirmations, if any. This is synchronized with my
+     * other uses of the dispatchables, because it is called by my object store actor
+     * while I serve its dispatcher control.
+     */
+    public synchronized void flushConfirmations() {
+        if (em.isOpen() && !confirmations.flush()) {
+            logger.error("Could not flush " + confirmations.pendingCount() + " dispatch confirmations; will retry.");
         }
     }
 
@@ -264,6 +303,26 @@ public class JPAObjectStoreDelegate implements ObjectStoreDelegate<Entry<String>
         throw new UnsupportedOperationException("registerMapper is unnecessary for JPA.");
     }
 
+    private void deleteDispatchables(final List<String> dispatchIds) {
+        beginTransaction();
+        try {
+            if (dispatchIds.size() == 1) {
+                em.createNamedQuery("Dispatchables.deleteByDispatchId")
+                        .setParameter(1, dispatchIds.get(0))
+                        .executeUpdate();
+            } else {
+                em.createNamedQuery("Dispatchables.deleteByDispatchIds")
+                        .setParameter("dispatchIds", dispatchIds)
+                        .executeUpdate();
+            }
+            completeTransaction();
+        } catch (final Exception e){
+            logger.error("Failed to confirm dispatch ids " + dispatchIds, e);
+            failTransaction();
+            throw e;
+        }
+    }
+
     private Object findEntity(final Class<?> entityClass, final Object primaryKey) {
         return em.find(entityClass, primaryKey);
     }
@@ -50,6 +50,10 @@ import io.vlingo.symbio.store.object.jdbc.jpa.model.converters.LocalDateTimeConv
         @NamedQuery(
                 name = "Dispatchables.getUnconfirmed",
                 query  = "SELECT d FROM Dispatchables AS d where d.originatorId = :orignatorId ORDER BY d.createdOn ASC"
+        ),
+        @NamedQuery(
+                name = "Dispatchables.deleteByDispatchIds",
+                query  = "DELETE FROM Dispatchables AS d WHERE d.dispatchId IN :dispatchIds"
         )
 })
 public class JPADispatchable {
@@ -12,52 +12,63 @@ import io.vlingo.symbio.BaseEntry.BinaryEntry;
 import io.vlingo.symbio.BaseEntry.TextEntry;
 import io.vlingo.symbio.Entry;
 import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.symbio.store.EntryReader;
-import io.vlingo.symbio.store.StoredTypes;
 import io.vlingo.symbio.store.common.AbstractEntryReaderActor;
+import io.vlingo.symbio.store.common.jdbc.JDBCEntryStream.EntryMapper;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
 
 import java.sql.Blob;
 import java.sql.ResultSet;
 
 public class DbStateStoreEntryReaderActor<T extends Entry<?>> extends AbstractEntryReaderActor<T> {
+  private final EntryMapper<T> entryMapper;
+
   public DbStateStoreEntryReaderActor(final EntryReader.Advice advice, final String name) throws Exception {
     super(advice, name);
+    this.entryMapper = entryMapperOf(getConfiguration().format, getConfiguration().typeDictionary());
   }
 
   @Override
+  protected EntryMapper<T> entryMapper() {
+    return entryMapper;
+  }
+
+  /**
+   * Answer the {@code EntryMapper<T>} of entries stored in {@code format} with the types
+   * of {@code typeDictionary}, which captures nothing else, so that it may be used on any thread.
+   */
   @SuppressWarnings("unchecked")
-  protected T entryFrom(final ResultSet result) throws Exception {
-    final long id = result.getLong(1);
-    final String type = result.getString(2);
-    final int typeVersion = result.getInt(3);
-    final String metadataValue = result.getString(5);
-    final String metadataOperation = result.getString(6);
-    final int entryVersion = result.getInt(7); // from E_ENTRY_VERSION
-
-    final Metadata metadata = Metadata.with(metadataValue, metadataOperation);
-
-    if (getConfiguration().format.isBinary()) {
-      return (T) new BinaryEntry(String.valueOf(id), typed(type), typeVersion, binaryDataFrom(result, 4), entryVersion, metadata);
-    } else {
-      return (T) new TextEntry(String.valueOf(id), typed(type), typeVersion, textDataFrom(result, 4), entryVersion, metadata);
-    }
+  private static <T extends Entry<?>> EntryMapper<T> entryMapperOf(final DataFormat format, final TypeDictionary typeDictionary) {
+    return result -> {
+      final long id = result.getLong(1);
+      final String type = result.getString(2);
+      final int typeVersion = result.getInt(3);
+      final String metadataValue = result.getString(5);
+      final String metadataOperation = result.getString(6);
+      final int entryVersion = result.getInt(7); // from E_ENTRY_VERSION
+
+      final Metadata metadata = Metadata.with(metadataValue, metadataOperation);
+
+      if (format.isBinary()) {
+        return (T) new BinaryEntry(String.valueOf(id), typeDictionary.classOf(type), typeVersion, binaryDataFrom(result, 4), entryVersion, metadata);
+      } else {
+        return (T) new TextEntry(String.valueOf(id), typeDictionary.classOf(type), typeVersion, textDataFrom(result, 4), entryVersion, metadata);
+      }
+    };
   }
 
-  private byte[] binaryDataFrom(final ResultSet resultSet, final int columnIndex) throws Exception {
+  private static byte[] binaryDataFrom(final ResultSet resultSet, final int columnIndex) throws Exception {
     final Blob blob = resultSet.getBlob(columnIndex);
     final byte[] data = blob.getBytes(1, (int) blob.length());
     return data;
   }
 
-  private String textDataFrom(final ResultSet resultSet, final int columnIndex) throws Exception {
+  private static String textDataFrom(final ResultSet resultSet, final int columnIndex) throws Exception {
     final String data = resultSet.getString(columnIndex);
     return data;
   }
 
-  private Class<?> typed(final String typeName) throws Exception {
-    return StoredTypes.forName(typeName);
-  }
-
   public static class DbStateStoreEntryReaderInstantiator<T extends Entry<?>> implements ActorInstantiator<DbStateStoreEntryReaderActor<T>> {
     private static final long serialVersionUID = -6878220534139715L;
 
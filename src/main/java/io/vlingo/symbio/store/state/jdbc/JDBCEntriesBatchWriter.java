@@ -10,8 +10,10 @@ package io.vlingo.symbio.store.state.jdbc;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -26,6 +28,10 @@ import io.vlingo.symbio.Entry;
 import io.vlingo.symbio.State;
 import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.jdbc.AppendBudget;
+import io.vlingo.symbio.store.common.jdbc.AppendQueueMetrics;
+import io.vlingo.symbio.store.common.jdbc.BackgroundFlushExecutor;
+import io.vlingo.symbio.store.common.jdbc.BackpressurePolicy;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.dispatch.Dispatcher;
 import io.vlingo.symbio.store.dispatch.DispatcherControl;
@@ -35,7 +41,11 @@ public class JDBCEntriesBatchWriter implements JDBCEntriesWriter {
 	@SuppressWarnings("unused")
   private final List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers;
 	private final DispatcherControl dispatcherControl;
-	private final BatchEntries batchEntries;
+	private final AppendBudget appendBudget;
+	private final Deque<BatchEntry> delayedWrites;
+	private BackgroundFlushExecutor backgroundFlush;
+	private BatchEntries batchEntries; // the batch being written
+	private BatchEntries bufferedEntries; // the batch being appended to
 	private Logger logger;
 
 	public JDBCEntriesBatchWriter(JDBCStorageDelegate<State.TextState> delegate, int maxBatchEntries) {
@@ -46,26 +56,249 @@ public class JDBCEntriesBatchWriter implements JDBCEntriesWriter {
 								  List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
 								  DispatcherControl dispatcherControl,
 								  int maxBatchEntries) {
+		this(delegate, dispatchers, dispatcherControl, maxBatchEntries, false);
+	}
+
+	/**
+	 * Construct my state. When {@code doubleBuffered}, each flush swaps out the batch and
+	 * writes it on a dedicated I/O thread while appends fill the other buffer, and the
+	 * writes of the written batch are completed back through the state store actor.
+	 * Since the store keeps reading while a batch is written, a double-buffered writer
+	 * requires a delegate with a separate read connection.
+	 * @param delegate the JDBCStorageDelegate that writes the batches
+	 * @param dispatchers the {@code List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>>} to dispatch to
+	 * @param dispatcherControl the DispatcherControl that redispatches unconfirmed dispatchables
+	 * @param maxBatchEntries the int number of buffered writes that triggers a flush
+	 * @param doubleBuffered the boolean indicating whether batches are written on a dedicated I/O thread
+	 */
+	public JDBCEntriesBatchWriter(JDBCStorageDelegate<State.TextState> delegate,
+								  List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
+								  DispatcherControl dispatcherControl,
+								  int maxBatchEntries,
+								  boolean doubleBuffered) {
+		this(delegate, dispatchers, dispatcherControl, maxBatchEntries, doubleBuffered, BackpressurePolicy.unbounded());
+	}
+
+	/**
+	 * Construct my state. The {@code backpressurePolicy} bounds my in-flight writes, those
+	 * buffered and those being written, each counting as one entry plus the estimated bytes
+	 * of its state and entry payloads. When double-buffered, the writes that it delays are
+	 * parked until a flush completes.
+	 * @param delegate the JDBCStorageDelegate that writes the batches
+	 * @param dispatchers the {@code List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>>} to dispatch to
+	 * @param dispatcherControl the DispatcherControl that redispatches unconfirmed dispatchables
+	 * @param maxBatchEntries the int number of buffered writes that triggers a flush
+	 * @param doubleBuffered the boolean indicating whether batches are written on a dedicated I/O thread
+	 * @param backpressurePolicy the BackpressurePolicy of my in-flight writes
+	 */
+	public JDBCEntriesBatchWriter(JDBCStorageDelegate<State.TextState> delegate,
+								  List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
+								  DispatcherControl dispatcherControl,
+								  int maxBatchEntries,
+								  boolean doubleBuffered,
+								  BackpressurePolicy backpressurePolicy) {
+		if (backpressurePolicy == null) {
+			throw new IllegalArgumentException("The backpressure policy must not be null.");
+		}
+		if (doubleBuffered && !delegate.hasSeparateReadConnection()) {
+			throw new IllegalArgumentException("A double-buffered writer requires a separate read connection.");
+		}
 		this.delegate = delegate;
 		this.dispatchers = dispatchers;
 		this.dispatcherControl = dispatcherControl;
 		this.batchEntries = new BatchEntries(maxBatchEntries);
+		this.bufferedEntries = new BatchEntries(maxBatchEntries);
+		this.backgroundFlush = doubleBuffered ? new BackgroundFlushExecutor("vlingo-symbio-jdbc-state-flush") : null;
+		this.appendBudget = new AppendBudget(backpressurePolicy);
+		this.delayedWrites = new ArrayDeque<>();
+	}
+
+	/**
+	 * Answer a point-in-time snapshot of my in-flight writes, those buffered and those
+	 * being written, measured against the budget of my {@code BackpressurePolicy}. It may
+	 * be answered to any thread, so that producers can throttle their writes.
+	 * @return AppendQueueMetrics
+	 */
+	public AppendQueueMetrics appendQueueMetrics() {
+		return appendBudget.metrics();
+	}
+
+	/**
+	 * Set the {@code deliverer} through which a double-buffered writer completes the
+	 * writes of each written batch on its state store actor.
+	 * @param deliverer the {@code Consumer<Runnable>} that runs completions on the state store actor
+	 */
+	public void deliverCompletionsThrough(final Consumer<Runnable> deliverer) {
+		if (backgroundFlush != null) {
+			backgroundFlush.deliverCompletionsThrough(deliverer);
+		}
 	}
 
 	@Override
 	public void appendEntries(String storeName, List<Entry<?>> entries, State.TextState rawState, Consumer<Outcome<StorageException, Result>> postAppendAction) {
-		batchEntries.add(new BatchEntry(storeName, entries, rawState, postAppendAction));
-		if (batchEntries.capacityExceeded()) {
-			flush();
+		final BatchEntry batchEntry = new BatchEntry(storeName, entries, rawState, postAppendAction);
+		if (admitted(batchEntry)) {
+			bufferedEntries.add(batchEntry);
+			if (bufferedEntries.capacityExceeded()) {
+				flush();
+			}
 		}
 	}
 
 	@Override
 	public void flush() {
-		if (batchEntries.size() > 0) {
-			appendBatchedEntries();
+		if (bufferedEntries.size() == 0 || (backgroundFlush != null && backgroundFlush.isFlushing())) {
+			// a double-buffered flush is retried when the one in flight completes
+			return;
+		}
+
+		final BatchEntries written = bufferedEntries;
+		bufferedEntries = batchEntries;
+		batchEntries = written;
+
+		final int flushedEntries = batchEntries.size();
+		final long flushedBytes = batchEntries.bytes();
+
+		if (backgroundFlush == null) {
+			try {
+				writeBatch();
+			} finally {
+				appendBudget.release(flushedEntries, flushedBytes);
+			}
+		} else {
+			batchEntries.deferCompletions();
+
+			backgroundFlush.flush(() -> {
+				try {
+					writeBatch();
+				} catch (final RuntimeException e) {
+					logger.error(getClass().getSimpleName() + " background flush failed because: " + e.getMessage(), e);
+					batchEntries.completedWith(Failure.of(new StorageException(Result.Error, e.getMessage(), e)));
+					batchEntries.clear();
+					delegate.fail();
+				}
+			}, () -> {
+				batchEntries.runDeferredCompletions();
+				appendBudget.release(flushedEntries, flushedBytes);
+				admitDelayedWrites();
+				if (bufferedEntries.capacityExceeded()) {
+					flush();
+				}
+			});
+		}
+	}
+
+	@Override
+	public void stop() {
+		if (backgroundFlush != null) {
+			// completes the flush in flight, after which the rest is flushed on this thread
+			final BackgroundFlushExecutor stopping = backgroundFlush;
+			backgroundFlush = null;
+			stopping.stop();
+		}
+
+		// flush batched and delayed entries if any
+		admitDelayedWrites();
+		flush();
+
+		if (dispatcherControl != null) {
+			dispatcherControl.stop();
+		}
+
+		// delegate is closed in JDBCStateStoreActor
+	}
+
+	@Override
+	public void setLogger(Logger logger) {
+		this.logger = logger;
+	}
+
+	/**
+	 * Answer whether or not {@code batchEntry} is admitted to the buffer by my
+	 * {@code BackpressurePolicy}, completing it with a failure when it is rejected.
+	 * When it is delayed, a double-buffered writer parks it until a flush completes,
+	 * and any other first writes the buffered writes.
+	 */
+	private boolean admitted(final BatchEntry batchEntry) {
+		if (!delayedWrites.isEmpty()) {
+			// admitted after the writes delayed before it
+			appendBudget.delayed();
+			delayedWrites.addLast(batchEntry);
+			return false;
+		}
 
+		final long bytes = batchEntry.estimatedBytes();
+
+		if (!appendBudget.hasRoomFor(1, bytes)) {
+			switch (appendBudget.policy().action) {
+			case Reject:
+				appendBudget.rejected();
+				batchEntry.postAppendAction.accept(Failure.of(new StorageException(Result.Failure,
+						"vlingo-symbio-jdbc: Write budget exceeded: " + appendBudget.metrics())));
+				return false;
+			case Delay:
+				appendBudget.delayed();
+				if (backgroundFlush != null) {
+					delayedWrites.addLast(batchEntry);
+					admitDelayedWrites();
+					return false;
+				}
+				makeRoomFor(bytes);
+				break;
+			case Signal:
+				// the budget's interest is signaled when the write is acquired
+				break;
+			}
+		}
+
+		appendBudget.acquire(1, bytes);
+		return true;
+	}
+
+	/**
+	 * Admit my delayed writes in order as far as my budget has room for them, starting
+	 * a flush to make room unless one is in flight, whose completion admits the rest. A
+	 * write that does not fit even when no other write is in flight is admitted anyway.
+	 */
+	private void admitDelayedWrites() {
+		BatchEntry delayed;
+		while ((delayed = delayedWrites.peekFirst()) != null) {
+			final long bytes = delayed.estimatedBytes();
+
+			if (!appendBudget.hasRoomFor(1, bytes)) {
+				if (backgroundFlush != null && backgroundFlush.isFlushing()) {
+					return;
+				}
+				if (bufferedEntries.size() > 0) {
+					flush();
+					continue;
+				}
+			}
+
+			delayedWrites.removeFirst();
+			appendBudget.acquire(1, bytes);
+			bufferedEntries.add(delayed);
+			if (bufferedEntries.capacityExceeded()) {
+				flush();
+			}
+		}
+	}
+
+	/**
+	 * Write my buffered writes on this thread, if a write of {@code bytes} does not
+	 * fit my budget, which releases all of them.
+	 */
+	private void makeRoomFor(final long bytes) {
+		if (!appendBudget.hasRoomFor(1, bytes) && bufferedEntries.size() > 0) {
+			flush();
+		}
+	}
+
+	private void writeBatch() {
+		if (batchEntries.size() > 0) {
 			try {
+				appendBatchedEntries();
+
 				delegate.beginWrite();
 
 				Map<String, List<State.TextState>> states = batchEntries.states();
@@ -86,28 +319,13 @@ public class JDBCEntriesBatchWriter implements JDBCEntriesWriter {
 			} catch (Exception e) {
 				logger.error(getClass().getSimpleName() + " appendEntries() failed because: " + e.getMessage(), e);
 				batchEntries.completedWith(Failure.of(new StorageException(Result.Error, e.getMessage(), e)));
+				// the failed writes must not be written again with the next batch
+				batchEntries.clear();
 				delegate.fail();
 			}
 		}
 	}
 
-	@Override
-	public void stop() {
-		// flush batched entries if any
-		flush();
-
-		if (dispatcherControl != null) {
-			dispatcherControl.stop();
-		}
-
-		// delegate is closed in JDBCStateStoreActor
-	}
-
-	@Override
-	public void setLogger(Logger logger) {
-		this.logger = logger;
-	}
-
 	@SuppressWarnings("rawtypes")
   private void appendBatchedEntries() {
 		List<Entry<?>> allEntries = batchEntries.collectEntries();
@@ -139,6 +357,9 @@ public class JDBCEntriesBatchWriter implements JDBCEntriesWriter {
 	static class BatchEntries {
 		private final List<BatchEntry> entries;
 		private final int maxCapacity;
+		private long bytes;
+
+		private List<Runnable> deferredCompletions;
 
 		BatchEntries(int maxCapacity) {
 			this.entries = new ArrayList<>(maxCapacity);
@@ -151,6 +372,7 @@ public class JDBCEntriesBatchWriter implements JDBCEntriesWriter {
 
 		void add(BatchEntry entry) {
 			entries.add(entry);
+			bytes += entry.estimatedBytes();
 		}
 
 		boolean capacityExceeded() {
@@ -179,17 +401,42 @@ public class JDBCEntriesBatchWriter implements JDBCEntriesWriter {
 		}
 
 		void completedWith(Outcome<StorageException, Result> outcome) {
-			entries.stream()
-					.forEach(batch -> batch.postAppendAction.accept(outcome));
+			if (deferredCompletions == null) {
+				entries.stream()
+						.forEach(batch -> batch.postAppendAction.accept(outcome));
+			} else {
+				entries.forEach(batch -> deferredCompletions.add(() -> batch.postAppendAction.accept(outcome)));
+			}
+		}
+
+		/**
+		 * Collect the completions of my writes until {@code runDeferredCompletions()},
+		 * so that a batch written on another thread is completed by its actor.
+		 */
+		void deferCompletions() {
+			deferredCompletions = new ArrayList<>();
+		}
+
+		void runDeferredCompletions() {
+			final List<Runnable> completions = deferredCompletions;
+			deferredCompletions = null;
+			if (completions != null) {
+				completions.forEach(Runnable::run);
+			}
 		}
 
 		void clear() {
 			entries.clear();
+			bytes = 0;
 		}
 
 		int size() {
 			return entries.size();
 		}
+
+		long bytes() {
+			return bytes;
+		}
 	}
 
 	static class BatchEntry {
@@ -208,6 +455,20 @@ public class JDBCEntriesBatchWriter implements JDBCEntriesWriter {
 			this.postAppendAction = postAppendAction;
 		}
 
+		/**
+		 * Answer the estimated bytes of my state and entry payloads.
+		 */
+		long estimatedBytes() {
+			long bytes = AppendBudget.estimatedBytesOf(rawState.data);
+			for (final Entry<?> entry : entries) {
+				final Object entryData = entry.entryData();
+				if (entryData instanceof String) {
+					bytes += AppendBudget.estimatedBytesOf((String) entryData);
+				}
+			}
+			return bytes;
+		}
+
 		public Dispatchable<Entry<?>, State<String>> getDispatchable() {
 			if (dispatchable == null) {
 				final String dispatchId = storeName + ":" + rawState.id;
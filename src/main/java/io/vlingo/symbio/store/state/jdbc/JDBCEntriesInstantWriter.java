@@ -9,7 +9,9 @@ package io.vlingo.symbio.store.state.jdbc;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Statement;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -84,27 +86,40 @@ public class JDBCEntriesInstantWriter implements JDBCEntriesWriter {
 		this.logger = logger;
 	}
 
+	/**
+	 * Insert all {@code entries} of a write as one batch and set their identities
+	 * from the generated keys of the same statement, in a single round trip.
+	 */
 	@SuppressWarnings("rawtypes")
-  private void appendEntries(List<Entry<?>> entries) {
+	private void appendEntries(List<Entry<?>> entries) {
+		if (entries.isEmpty()) {
+			return;
+		}
+
 		try {
-			for (final Entry<?> entry : entries) {
-				long id = -1L;
-				final PreparedStatement appendStatement = delegate.appendExpressionFor(entry);
-				final int count = appendStatement.executeUpdate();
-				if (count == 1) {
-					final PreparedStatement queryLastIdentityStatement = delegate.appendIdentityExpression();
-					try (final ResultSet result = queryLastIdentityStatement.executeQuery()) {
-						if (result.next()) {
-							id = result.getLong(1);
-							((BaseEntry) entry).__internal__setId(Long.toString(id));
-						}
-					}
-				}
-				if (id == -1L) {
-					final String message = "vlingo-symbio-jdbc: Could not retrieve entry id.";
+			final PreparedStatement appendStatement = delegate.appendExpressionFor(entries);
+			int identified = 0;
+			try {
+				final int[] countList = appendStatement.executeBatch();
+				if (Arrays.stream(countList).anyMatch(count -> count == Statement.EXECUTE_FAILED)) {
+					final String message = "vlingo-symbio-jdbc: Failed to append entries.";
 					logger.error(message);
 					throw new IllegalStateException(message);
 				}
+
+				try (final ResultSet result = appendStatement.getGeneratedKeys()) {
+					while (identified < entries.size() && result.next()) {
+						((BaseEntry) entries.get(identified++)).__internal__setId(Long.toString(result.getLong(1)));
+					}
+				}
+			} finally {
+				appendStatement.clearBatch();
+			}
+
+			if (identified != entries.size()) {
+				final String message = "vlingo-symbio-jdbc: Could not retrieve entry id.";
+				logger.error(message);
+				throw new IllegalStateException(message);
 			}
 		} catch (Exception e) {
 			final String message = "vlingo-symbio-jdbc: Failed to append entry because: " + e.getMessage();
@@ -35,11 +35,15 @@ import io.vlingo.symbio.store.EntryReader;
 import io.vlingo.symbio.store.QueryExpression;
 import io.vlingo.symbio.store.Result;
 import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationPolicy;
+import io.vlingo.symbio.store.common.jdbc.FlushCompletions;
 import io.vlingo.symbio.store.state.StateStore;
 import io.vlingo.symbio.store.state.StateStoreEntryReader;
 import io.vlingo.symbio.store.state.StateTypeStateStoreMap;
 
-public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<Object> {
+public class JDBCStateStoreActor extends Actor implements StateStore, FlushCompletions, Scheduled<Object> {
+  private static final Object FlushConfirmations = new Object();
+
   private final JDBCStorageDelegate<TextState> delegate;
   private final JDBCEntriesWriter entriesWriter;
   private final Map<String,StateStoreEntryReader<?>> entryReaders;
@@ -47,6 +51,7 @@ public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<
   private final StateAdapterProvider stateAdapterProvider;
   private final ReadAllResultCollector readAllResultCollector;
 
+  @SuppressWarnings("unchecked")
   private JDBCStateStoreActor(final JDBCStorageDelegate<TextState> delegate, final JDBCEntriesWriter entriesWriter, final InitializationPrimer primer) {
     // object parameter is necessary to differentiate between constructors
     this.delegate = delegate;
@@ -63,6 +68,12 @@ public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<
     }
 
     this.delegate.initialize();
+
+    final DispatchConfirmationPolicy confirmationPolicy = delegate.dispatchConfirmationPolicy();
+    if (confirmationPolicy.isBuffered() && confirmationPolicy.flushIntervalMillis > 0) {
+      stage().scheduler().schedule(selfAs(Scheduled.class), FlushConfirmations,
+              confirmationPolicy.flushIntervalMillis, confirmationPolicy.flushIntervalMillis);
+    }
   }
 
   public JDBCStateStoreActor(final JDBCStorageDelegate<TextState> delegate, final JDBCEntriesInstantWriter entriesWriter) {
@@ -73,6 +84,10 @@ public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<
   public JDBCStateStoreActor(final JDBCStorageDelegate<TextState> delegate, final JDBCEntriesBatchWriter entriesWriter, int timeBetweenFlushWrites, final InitializationPrimer primer) {
     this(delegate, entriesWriter, primer);
 
+    // completions of double-buffered flushes are run as messages to this actor
+    final FlushCompletions self = selfAs(FlushCompletions.class);
+    entriesWriter.deliverCompletionsThrough(self::completed);
+
     stage().scheduler().schedule(selfAs(Scheduled.class), null, 5, timeBetweenFlushWrites);
   }
 
@@ -130,9 +145,9 @@ public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<
             interest.readResultedIn(Failure.of(new StorageException(Result.NotFound, "Not found for: " + id)), id, null, -1, null, object);
           }
         }
-        delegate.complete();
+        delegate.completeRead();
       } catch (final Exception e) {
-        delegate.fail();
+        delegate.failRead();
         interest.readResultedIn(Failure.of(new StorageException(Result.Failure, e.getMessage(), e)), id, null, -1, null, object);
         logger().error(
                 getClass().getSimpleName() +
@@ -171,10 +186,10 @@ public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<
       delegate.beginRead();
       readStatement = delegate.readAllExpressionFor(storeName);
       final ResultSet resultSet = readStatement.executeQuery();
-      delegate.complete();
+      delegate.completeRead();
       return completes().with(new JDBCStateStoreStream<>(stage(), delegate, stateAdapterProvider, resultSet, logger()));
     } catch (final Exception e) {
-      delegate.fail();
+      delegate.failRead();
       logger().error(
               getClass().getSimpleName() +
               " streamAllOf() failed because: " + e.getMessage() +
@@ -195,10 +210,10 @@ public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<
       readSomeStatement = delegate.readSomeExpressionFor(storeName, query);
       delegate.beginRead();
       final ResultSet resultSet = readSomeStatement.executeQuery();
-      delegate.complete();
+      delegate.completeRead();
       return completes().with(new JDBCStateStoreStream<>(stage(), delegate, stateAdapterProvider, resultSet, logger()));
     } catch (Exception e) {
-      delegate.fail();
+      delegate.failRead();
       logger().error(
               getClass().getSimpleName() +
               " streamSomeUsing() failed because: " + e.getMessage() +
@@ -243,9 +258,18 @@ public class JDBCStateStoreActor extends Actor implements StateStore, Scheduled<
     }
   }
 
+  @Override
+  public void completed(final Runnable completion) {
+    completion.run();
+  }
+
   @Override
   public void intervalSignal(Scheduled<Object> scheduled, Object o) {
-    entriesWriter.flush();
+    if (o == FlushConfirmations) {
+      delegate.flushConfirmations();
+    } else {
+      entriesWriter.flush();
+    }
   }
 
   private <C> List<Entry<?>> buildEntries(final List<Source<C>> sources, final int stateVersion, final Metadata metadata) {
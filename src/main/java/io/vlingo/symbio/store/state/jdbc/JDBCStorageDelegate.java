@@ -7,8 +7,6 @@
 
 package io.vlingo.symbio.store.state.jdbc;
 
-import static io.vlingo.symbio.Entry.typed;
-
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
@@ -19,11 +17,14 @@ import java.sql.Timestamp;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import io.vlingo.actors.Logger;
@@ -39,6 +40,9 @@ import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.symbio.store.QueryExpression;
 import io.vlingo.symbio.store.StoredTypes;
 import io.vlingo.symbio.store.common.jdbc.CachedStatement;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationBuffer;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationPolicy;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
 import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.dispatch.DispatcherControl;
 import io.vlingo.symbio.store.state.StateStore.StorageDelegate;
@@ -47,6 +51,9 @@ import io.vlingo.symbio.store.state.StateTypeStateStoreMap;
 public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
         DispatcherControl.DispatcherControlDelegate<Entry<?>, State<?>> {
   private static final String DISPATCHEABLE_ENTRIES_DELIMITER = "|";
+  public static final int DefaultMaxDispatchablesPerQuery = 10_000;
+  public static final int DefaultMaxEntriesPerQuery = 500;
+  private final DispatchConfirmationBuffer confirmations;
   protected final Connection connection;
   protected final boolean createTables;
   protected final JDBCDispatchableCachedStatements<T> dispatchableCachedStatements;
@@ -55,6 +62,8 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
   protected Mode mode;
   protected final String originatorId;
   protected final Map<String, CachedStatement<T>> readStatements;
+  protected final Connection readConnection;
+  protected final TypeDictionary typeDictionary;
   protected final Map<String, CachedStatement<T>> writeStatements;
 
   protected JDBCStorageDelegate(
@@ -63,10 +72,59 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
           final String originatorId,
           final boolean createTables,
           final Logger logger) {
+    this(connection, connection, format, originatorId, createTables, logger);
+  }
+
+  protected JDBCStorageDelegate(
+          final Connection connection,
+          final Connection readConnection,
+          final DataFormat format,
+          final String originatorId,
+          final boolean createTables,
+          final Logger logger) {
+    this(connection, readConnection, format, originatorId, createTables, DispatchConfirmationPolicy.immediate(), logger);
+  }
+
+  protected JDBCStorageDelegate(
+          final Connection connection,
+          final Connection readConnection,
+          final DataFormat format,
+          final String originatorId,
+          final boolean createTables,
+          final DispatchConfirmationPolicy dispatchConfirmationPolicy,
+          final Logger logger) {
+    this(connection, readConnection, format, originatorId, createTables, dispatchConfirmationPolicy, TypeDictionary.none(), logger);
+  }
+
+  /**
+   * Construct my state. The {@code typeDictionary} answers the types stored in the
+   * {@code S_TYPE} of states, the {@code E_TYPE} of entries and the {@code D_STATE_TYPE}
+   * of dispatchables, which are tokens when it is enabled.
+   * @param connection the Connection of my writes
+   * @param readConnection the Connection of my reads, which may be {@code connection}
+   * @param format the DataFormat of my states and entries
+   * @param originatorId the String originator identity of my dispatchables
+   * @param createTables the boolean indicating whether or not to create my tables
+   * @param dispatchConfirmationPolicy the DispatchConfirmationPolicy deciding when confirmed dispatchables are deleted
+   * @param typeDictionary the TypeDictionary of my stored types
+   * @param logger the Logger used to report failures
+   */
+  protected JDBCStorageDelegate(
+          final Connection connection,
+          final Connection readConnection,
+          final DataFormat format,
+          final String originatorId,
+          final boolean createTables,
+          final DispatchConfirmationPolicy dispatchConfirmationPolicy,
+          final TypeDictionary typeDictionary,
+          final Logger logger) {
 
+    this.confirmations = new DispatchConfirmationBuffer(dispatchConfirmationPolicy, this::deleteDispatchables);
     this.connection = connection;
+    this.readConnection = readConnection;
     this.format = format;
     this.originatorId = originatorId;
+    this.typeDictionary = typeDictionary;
     this.logger = logger;
     this.mode = Mode.None;
     this.createTables = createTables;
@@ -96,21 +154,51 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     return (A) cachedStatement.preparedStatement;
   }
 
+  /**
+   * Answer at most {@code DefaultMaxDispatchablesPerQuery} of the oldest unconfirmed
+   * dispatchables, with their entries loaded by set-based {@code IN (...)} queries of
+   * at most {@code DefaultMaxEntriesPerQuery} ids each. Dispatchables beyond the page
+   * are answered by later recovery passes, once earlier ones have been confirmed.
+   * Buffered confirmations are flushed first, and any that remain pending are
+   * excluded from the answer.
+   * @return {@code Collection<Dispatchable<Entry<?>, State<?>>>}
+   * @throws Exception if the query fails
+   */
   @Override
   public Collection<Dispatchable<Entry<?>, State<?>>> allUnconfirmedDispatchableStates() throws Exception {
-    final List<Dispatchable<Entry<?>, State<?>>> dispatchables = new ArrayList<>();
+    final List<UnconfirmedDispatchable> unconfirmed = new ArrayList<>();
+    final Set<String> entryIds = new LinkedHashSet<>();
 
-    try (final ResultSet result = dispatchableCachedStatements.queryAllStatement().preparedStatement.executeQuery()) {
+    confirmations.flush();
+
+    final PreparedStatement queryAll = dispatchableCachedStatements.queryAllStatement().preparedStatement;
+    queryAll.setMaxRows(DefaultMaxDispatchablesPerQuery);
+
+    try (final ResultSet result = queryAll.executeQuery()) {
       while (result.next()) {
-        final Dispatchable<Entry<?>, State<?>> dispatchable = dispatchableFrom(result);
-        dispatchables.add(dispatchable);
+        final UnconfirmedDispatchable dispatchable = unconfirmedDispatchableFrom(result);
+        if (confirmations.isPending(dispatchable.dispatchId)) {
+          continue;
+        }
+        entryIds.addAll(dispatchable.entryIds);
+        unconfirmed.add(dispatchable);
       }
     }
 
+    final Map<String, Entry<?>> entries = entriesFor(new ArrayList<>(entryIds));
+
+    final List<Dispatchable<Entry<?>, State<?>>> dispatchables = new ArrayList<>(unconfirmed.size());
+    for (final UnconfirmedDispatchable dispatchable : unconfirmed) {
+      dispatchables.add(dispatchable.toDispatchable(entries));
+    }
+
     return dispatchables;
   }
 
   public void beginRead() {
+    if (hasSeparateReadConnection()) {
+      return; // reads do not take part in the write transaction
+    }
     if (mode != Mode.None) {
       logger.warn(getClass().getSimpleName() + ": Cannot begin read because currently: " + mode.name());
     } else {
@@ -137,12 +225,19 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
 
   @Override
   public void close() {
+    if (!isClosed() && !confirmations.flush()) {
+      logger.error(getClass().getSimpleName() + ": " + confirmations.pendingCount() +
+              " dispatch confirmations could not be flushed on close; their dispatchables will be redispatched.");
+    }
     try {
       mode = Mode.None;
       final Connection connection = connection();
       if (connection != null) {
         connection.close();
       }
+      if (hasSeparateReadConnection() && readConnection != null) {
+        readConnection.close();
+      }
     } catch (final Exception e) {
       logger.error(getClass().getSimpleName() + ": Could not close because: " + e.getMessage(), e);
     }
@@ -163,24 +258,51 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     connection.commit();
   }
 
+  /**
+   * Completes a read begun by {@code beginRead()}. When my reads use a separate
+   * read-only connection the write transaction is left untouched.
+   * @throws Exception if the read cannot be completed
+   */
+  public void completeRead() throws Exception {
+    if (hasSeparateReadConnection()) {
+      if (!readConnection.getAutoCommit()) {
+        readConnection.commit();
+      }
+    } else {
+      complete();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public <C> C connection() {
     return (C) connection;
   }
 
+  /**
+   * Confirm the dispatch of {@code dispatchId}, which deletes its dispatchable
+   * immediately or with others, according to my {@code DispatchConfirmationPolicy}.
+   * @param dispatchId the String id of the confirmed dispatchable
+   */
   @Override
   public void confirmDispatched(final String dispatchId) {
-    try {
-      beginWrite();
-      dispatchableCachedStatements.deleteStatement().preparedStatement.clearParameters();
-      dispatchableCachedStatements.deleteStatement().preparedStatement.setString(1, dispatchId);
-      dispatchableCachedStatements.deleteStatement().preparedStatement.executeUpdate();
-      complete();
-    } catch (final Exception e) {
-      fail();
-      logger.error(getClass().getSimpleName() +
-              ": Confirm dispatched for: " + dispatchId +
-              " failed because: " + e.getMessage(), e);
+    confirmations.confirm(dispatchId);
+  }
+
+  /**
+   * Answer the {@code DispatchConfirmationPolicy} of my confirmed dispatchables.
+   * @return DispatchConfirmationPolicy
+   */
+  public DispatchConfirmationPolicy dispatchConfirmationPolicy() {
+    return confirmations.policy();
+  }
+
+  /**
+   * Delete the pending buffered confirmations, if any. My state store calls this
+   * every {@code flushIntervalMillis} of my {@code DispatchConfirmationPolicy}.
+   */
+  public void flushConfirmations() {
+    if (!isClosed() && !confirmations.flush()) {
+      logger.error(getClass().getSimpleName() + ": " + confirmations.pendingCount() + " dispatch confirmations could not be flushed; will retry.");
     }
   }
 
@@ -195,7 +317,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     preparedStatement.setString(2, originatorId);
     preparedStatement.setString(3, dispatchable.id());
     preparedStatement.setString(4, state.id);
-    preparedStatement.setString(5, state.type);
+    preparedStatement.setString(5, typeDictionary.storedTypeOf(state.type));
     preparedStatement.setInt(6, state.typeVersion);
     if (format.isBinary()) {
       setBinaryObject(dispatchableCachedStatements.appendDispatchableStatement(), 7, state);
@@ -231,12 +353,11 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     return preparedStatement;
   }
 
-  @SuppressWarnings({ "unchecked" })
-  private <S extends State<?>> Dispatchable<Entry<?>, S> dispatchableFrom(final ResultSet resultSet) throws Exception {
+  private UnconfirmedDispatchable unconfirmedDispatchableFrom(final ResultSet resultSet) throws Exception {
     final LocalDateTime createdAt = resultSet.getTimestamp(1).toLocalDateTime();
     final String dispatchId = resultSet.getString(2);
     final String id = resultSet.getString(3);
-    final Class<?> type = StoredTypes.forName(resultSet.getString(4));
+    final Class<?> type = typeDictionary.classOf(resultSet.getString(4));
     final int typeVersion = resultSet.getInt(5);
     // 6 below
     final int dataVersion = resultSet.getInt(7);
@@ -250,33 +371,75 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
 
     final Metadata metadata = Metadata.with(object, metadataValue, metadataOperation);
 
-    final S state;
+    final State<?> state;
     if (format.isBinary()) {
       final byte[] data = binaryDataFrom(resultSet, 6);
-      state = ((S) new BinaryState(id, type, typeVersion, data, dataVersion, metadata));
+      state = new BinaryState(id, type, typeVersion, data, dataVersion, metadata);
     } else {
       final String data = textDataFrom(resultSet, 6);
-      state = ((S) new TextState(id, type, typeVersion, data, dataVersion, metadata));
+      state = new TextState(id, type, typeVersion, data, dataVersion, metadata);
     }
 
     final String entriesIds = resultSet.getString(12);
-    final List<Entry<?>> entries = new ArrayList<>();
-    if (entriesIds != null && !entriesIds.isEmpty()) {
-      final String[] ids = entriesIds.split("\\"+ DISPATCHEABLE_ENTRIES_DELIMITER);
-      for (final String entryId : ids) {
-          final PreparedStatement queryEntryStatement = dispatchableCachedStatements.getQueryEntry().preparedStatement;
-          queryEntryStatement.clearParameters();
-          queryEntryStatement.setObject(1, Long.valueOf(entryId));
-          queryEntryStatement.executeQuery();
-          try (final ResultSet result = queryEntryStatement.executeQuery()) {
-             if (result.next()) {
-               entries.add(entryFrom(result, entryId));
-             }
+    final List<String> entryIds = entriesIds != null && !entriesIds.isEmpty() ?
+            Arrays.asList(entriesIds.split("\\"+ DISPATCHEABLE_ENTRIES_DELIMITER)) :
+            new ArrayList<>();
+
+    return new UnconfirmedDispatchable(dispatchId, createdAt, state, entryIds);
+  }
+
+  private void deleteDispatchables(final List<String> dispatchIds) throws Exception {
+    try {
+      beginWrite();
+      if (dispatchIds.size() == 1) {
+        final PreparedStatement delete = dispatchableCachedStatements.deleteStatement().preparedStatement;
+        delete.clearParameters();
+        delete.setString(1, dispatchIds.get(0));
+        delete.executeUpdate();
+      } else {
+        final String[] placeholders = new String[dispatchIds.size()];
+        Arrays.fill(placeholders, "?");
+        final String query = MessageFormat.format(deleteDispatchablesExpression(), String.join(", ", placeholders));
+        try (final PreparedStatement delete = connection.prepareStatement(query)) {
+          for (int index = 0; index < dispatchIds.size(); ++index) {
+            delete.setString(index + 1, dispatchIds.get(index));
+          }
+          delete.executeUpdate();
+        }
+      }
+      complete();
+    } catch (final Exception e) {
+      fail();
+      logger.error(getClass().getSimpleName() +
+              ": Confirm dispatched for: " + dispatchIds +
+              " failed because: " + e.getMessage(), e);
+      throw e;
+    }
+  }
+
+  private Map<String, Entry<?>> entriesFor(final List<String> entryIds) throws Exception {
+    final Map<String, Entry<?>> entries = new HashMap<>(entryIds.size());
+
+    for (int from = 0; from < entryIds.size(); from += DefaultMaxEntriesPerQuery) {
+      final List<String> chunk = entryIds.subList(from, Math.min(from + DefaultMaxEntriesPerQuery, entryIds.size()));
+      final String[] placeholders = new String[chunk.size()];
+      Arrays.fill(placeholders, "?");
+      final String query = MessageFormat.format(queryEntriesByIdsExpression(), String.join(", ", placeholders));
+
+      try (final PreparedStatement queryEntries = connection.prepareStatement(query)) {
+        for (int index = 0; index < chunk.size(); ++index) {
+          queryEntries.setLong(index + 1, Long.parseLong(chunk.get(index)));
+        }
+        try (final ResultSet result = queryEntries.executeQuery()) {
+          while (result.next()) {
+            final String id = String.valueOf(result.getLong(1));
+            entries.put(id, entryFrom(result, id));
           }
-          dispatchableCachedStatements.getQueryEntry().preparedStatement.clearParameters();
+        }
       }
     }
-    return new Dispatchable<>(dispatchId, createdAt, state, entries);
+
+    return entries;
   }
 
   private Entry<?> entryFrom(final ResultSet result, final String id) throws Exception {
@@ -288,9 +451,9 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     final Metadata metadata = Metadata.with(metadataValue, metadataOperation);
 
     if (format.isBinary()) {
-      return new BaseEntry.BinaryEntry(id, typed(type), typeVersion, binaryDataFrom(result, 4), metadata);
+      return new BaseEntry.BinaryEntry(id, typeDictionary.classOf(type), typeVersion, binaryDataFrom(result, 4), metadata);
     } else {
-      return new BaseEntry.TextEntry(id, typed(type), typeVersion, textDataFrom(result, 4), metadata);
+      return new BaseEntry.TextEntry(id, typeDictionary.classOf(type), typeVersion, textDataFrom(result, 4), metadata);
     }
   }
 
@@ -303,6 +466,32 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     }
   }
 
+  /**
+   * Fails a read begun by {@code beginRead()}. When my reads use a separate
+   * read-only connection the write transaction is left untouched.
+   */
+  public void failRead() {
+    if (hasSeparateReadConnection()) {
+      try {
+        if (!readConnection.getAutoCommit()) {
+          readConnection.rollback();
+        }
+      } catch (final Exception e) {
+        logger.error(getClass().getSimpleName() + ": Read rollback failed because: " + e.getMessage(), e);
+      }
+    } else {
+      fail();
+    }
+  }
+
+  /**
+   * Answer whether or not my reads use a connection other than my write {@code connection}.
+   * @return boolean
+   */
+  public boolean hasSeparateReadConnection() {
+    return readConnection != connection;
+  }
+
   @Override
   public void initialize() {
     logger.info("============================================================");
@@ -322,7 +511,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
 
     final String select = readAllExpression(storeName);
     final PreparedStatement preparedStatement =
-            connection.prepareStatement(
+            readConnection.prepareStatement(
                     select,
                     ResultSet.TYPE_SCROLL_INSENSITIVE,
                     ResultSet.CONCUR_READ_ONLY);
@@ -334,7 +523,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
 
       final String select = readExpression(storeName, id);
       final PreparedStatement preparedStatement =
-              connection.prepareStatement(
+              readConnection.prepareStatement(
                       select,
                       ResultSet.TYPE_SCROLL_INSENSITIVE,
                       ResultSet.CONCUR_READ_ONLY);
@@ -347,7 +536,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     final String select = readSomeExpression(storeName, query.query);
 
     final PreparedStatement preparedStatement =
-            connection.prepareStatement(
+            readConnection.prepareStatement(
                     select,
                     ResultSet.TYPE_SCROLL_INSENSITIVE,
                     ResultSet.CONCUR_READ_ONLY);
@@ -377,7 +566,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
   @SuppressWarnings("unchecked")
   public <S, R> S stateFrom(final R result, final String id, final int columnOffset) throws Exception {
     final ResultSet resultSet = ((ResultSet) result);
-    final Class<?> type = StoredTypes.forName(resultSet.getString(1 + columnOffset));
+    final Class<?> type = typeDictionary.classOf(resultSet.getString(1 + columnOffset));
     final int typeVersion = resultSet.getInt(2 + columnOffset);
     // 3 below
     final int dataVersion = resultSet.getInt(4 + columnOffset);
@@ -434,6 +623,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
 
   protected abstract byte[] binaryDataFrom(final ResultSet resultSet, final int columnIndex) throws Exception;
   protected abstract <D> D binaryDataTypeObject() throws Exception;
+  protected abstract String deleteDispatchablesExpression();
   protected abstract JDBCDispatchableCachedStatements<T> dispatchableCachedStatements();
   protected abstract String dispatchableIdIndexCreateExpression();
   protected abstract String dispatchableOriginatorIdIndexCreateExpression();
@@ -443,6 +633,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
   protected abstract String entryTableName();
   protected abstract String entryOffsetsTableName();
   protected abstract String entryOffsetsTableCreateExpression();
+  protected abstract String queryEntriesByIdsExpression();
   protected abstract String readAllExpression(final String storeName);
   protected abstract String readExpression(final String storeName, final String id);
   protected abstract <S> void setBinaryObject(final CachedStatement<T> cached, int columnIndex, final State<S> state) throws Exception;
@@ -569,7 +760,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
 
   private <E> void prepareForAppend(final CachedStatement<T> cached, final Entry<E> entry) throws Exception {
     cached.preparedStatement.clearParameters();
-    cached.preparedStatement.setString(1, entry.typeName());
+    cached.preparedStatement.setString(1, typeDictionary.storedTypeOf(entry.typeName()));
     cached.preparedStatement.setInt(2, entry.typeVersion());
     if (format.isBinary()) {
       this.setBinaryObject(cached, 3, entry);
@@ -594,7 +785,7 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
     cached.preparedStatement.clearParameters();
 
     cached.preparedStatement.setString(1, state.id);
-    cached.preparedStatement.setString(2, state.type);
+    cached.preparedStatement.setString(2, typeDictionary.storedTypeOf(state.type));
     cached.preparedStatement.setInt(3, state.typeVersion);
     if (format.isBinary()) {
       this.setBinaryObject(cached, 4, state);
@@ -626,4 +817,29 @@ public abstract class JDBCStorageDelegate<T> implements StorageDelegate,
       return resultSet.next();
     }
   }
+
+  private static final class UnconfirmedDispatchable {
+    final String dispatchId;
+    final LocalDateTime createdAt;
+    final State<?> state;
+    final List<String> entryIds;
+
+    UnconfirmedDispatchable(final String dispatchId, final LocalDateTime createdAt, final State<?> state, final List<String> entryIds) {
+      this.dispatchId = dispatchId;
+      this.createdAt = createdAt;
+      this.state = state;
+      this.entryIds = entryIds;
+    }
+
+    Dispatchable<Entry<?>, State<?>> toDispatchable(final Map<String, Entry<?>> entries) {
+      final List<Entry<?>> dispatchableEntries = new ArrayList<>(entryIds.size());
+      for (final String entryId : entryIds) {
+        final Entry<?> entry = entries.get(entryId);
+        if (entry != null) {
+          dispatchableEntries.add(entry);
+        }
+      }
+      return new Dispatchable<>(dispatchId, createdAt, state, dispatchableEntries);
+    }
+  }
 }
@@ -90,6 +90,12 @@ public interface HSQLDBQueries {
   String SQL_DISPATCHABLE_DELETE =
           "DELETE FROM {0} WHERE D_DISPATCH_ID = ?";
 
+  /**
+   * This query will be interpolated in two steps. It is not known how many ids we need in advance.
+   */
+  String SQL_DISPATCHABLE_DELETE_IDS =
+          "DELETE FROM {0} WHERE D_DISPATCH_ID IN ('{'0'}')";
+
   String SQL_DISPATCHABLE_SELECT =
           "SELECT D_CREATED_AT, D_DISPATCH_ID, D_STATE_ID, D_STATE_TYPE, D_STATE_TYPE_VERSION, D_STATE_DATA, D_STATE_DATA_VERSION, \n" +
           "       D_STATE_METADATA_VALUE, D_STATE_METADATA_OP, D_STATE_METADATA_OBJECT, D_STATE_METADATA_OBJECT_TYPE, D_ENTRIES\n" +
@@ -33,9 +33,12 @@ public class HSQLDBStorageDelegate extends JDBCStorageDelegate<Blob> implements
   public HSQLDBStorageDelegate(final Configuration configuration, final Logger logger) {
 
     super(configuration.connection,
+          configuration.readConnection(),
           configuration.format,
           configuration.originatorId,
           configuration.createTables,
+          configuration.dispatchConfirmationPolicy(),
+          configuration.typeDictionary(),
           logger);
 
     this.configuration = configuration;
@@ -109,6 +112,11 @@ public class HSQLDBStorageDelegate extends JDBCStorageDelegate<Blob> implements
             format.isBinary() ? SQL_FORMAT_BINARY : SQL_FORMAT_TEXT);
   }
 
+  @Override
+  protected String deleteDispatchablesExpression() {
+    return namedDispatchable(SQL_DISPATCHABLE_DELETE_IDS);
+  }
+
   @Override
   protected String dispatchableTableName() {
     return TBL_VLINGO_SYMBIO_DISPATCHABLES;
@@ -131,6 +139,11 @@ public class HSQLDBStorageDelegate extends JDBCStorageDelegate<Blob> implements
     return TBL_VLINGO_SYMBIO_STATE_ENTRY;
   }
 
+  @Override
+  protected String queryEntriesByIdsExpression() {
+    return namedEntry(SQL_QUERY_ENTRY_IDS);
+  }
+
   @Override
   protected String entryOffsetsTableName() {
     return TBL_VLINGO_SYMBIO_STATE_ENTRY_OFFSETS;
@@ -32,9 +32,12 @@ public class MySQLStorageDelegate extends JDBCStorageDelegate<Object> implements
     public MySQLStorageDelegate(final Configuration configuration, final Logger logger) {
 
         super(configuration.connection,
+                configuration.readConnection(),
                 configuration.format,
                 configuration.originatorId,
                 configuration.createTables,
+                configuration.dispatchConfirmationPolicy(),
+                configuration.typeDictionary(),
                 logger);
 
         this.configuration = configuration;
@@ -106,6 +109,11 @@ public class MySQLStorageDelegate extends JDBCStorageDelegate<Object> implements
                 format.isBinary() ? SQL_FORMAT_BINARY : SQL_FORMAT_TEXT1); // TODO: SQL_FORMAT_TEXT2
     }
 
+    @Override
+    protected String deleteDispatchablesExpression() {
+        return namedDispatchable(SQL_DISPATCHABLE_DELETE_IDS);
+    }
+
     @Override
     protected String dispatchableTableName() {
         return TBL_VLINGO_SYMBIO_DISPATCHABLES;
@@ -127,6 +135,11 @@ public class MySQLStorageDelegate extends JDBCStorageDelegate<Object> implements
         return TBL_VLINGO_SYMBIO_STATE_ENTRY;
     }
 
+    @Override
+    protected String queryEntriesByIdsExpression() {
+        return namedEntry(SQL_QUERY_ENTRY_IDS);
+    }
+
     @Override
     protected String entryOffsetsTableName() {
         return TBL_VLINGO_SYMBIO_STATE_ENTRY_OFFSETS;
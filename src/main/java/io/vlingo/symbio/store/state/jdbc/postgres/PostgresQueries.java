@@ -87,6 +87,12 @@ public interface PostgresQueries {
     String SQL_DISPATCHABLE_DELETE =
             "DELETE FROM {0} WHERE d_dispatch_id = ?";
 
+    /**
+     * This query will be interpolated in two steps. It is not known how many ids we need in advance.
+     */
+    String SQL_DISPATCHABLE_DELETE_IDS =
+            "DELETE FROM {0} WHERE d_dispatch_id IN ('{'0'}')";
+
     String SQL_DISPATCHABLE_SELECT =
             "SELECT d_created_at, d_dispatch_id, d_state_id, d_state_type, d_state_type_version, d_state_data, d_state_data_version, \n" +
                     "       d_state_metadata_value, d_state_metadata_op, d_state_metadata_object, d_state_metadata_object_type, d_entries \n" +
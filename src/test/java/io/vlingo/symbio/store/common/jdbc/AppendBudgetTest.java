@@ -0,0 +1,94 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class AppendBudgetTest {
+  @Test
+  public void testThatUnboundedBudgetAlwaysHasRoom() {
+    final AppendBudget budget = new AppendBudget(BackpressurePolicy.unbounded());
+
+    budget.acquire(1_000_000, Long.MAX_VALUE / 2);
+
+    assertTrue(budget.hasRoomFor(1_000_000, Long.MAX_VALUE / 2));
+    assertEquals(1_000_000, budget.metrics().entries);
+  }
+
+  @Test
+  public void testThatBudgetIsBoundedByEntriesAndBytes() {
+    final AppendBudget budget = new AppendBudget(BackpressurePolicy.reject(3, 100));
+
+    assertTrue(budget.hasRoomFor(1, 1_000)); // an empty queue accepts any append
+    budget.acquire(2, 40);
+
+    assertTrue(budget.hasRoomFor(1, 60));
+    assertFalse(budget.hasRoomFor(2, 10));
+    assertFalse(budget.hasRoomFor(1, 61));
+
+    budget.release(2, 40);
+
+    assertTrue(budget.hasRoomFor(3, 100));
+    assertEquals(0, budget.metrics().entries);
+    assertEquals(0, budget.metrics().bytes);
+    assertEquals(2, budget.metrics().peakEntries);
+    assertEquals(40, budget.metrics().peakBytes);
+  }
+
+  @Test
+  public void testThatSignalInterestIsInformedOnceUntilRecovered() {
+    final List<String> signals = new ArrayList<>();
+
+    final AppendBudget budget = new AppendBudget(BackpressurePolicy.signal(2, 1_000, new BackpressureInterest() {
+      @Override
+      public void budgetExceeded(final AppendQueueMetrics metrics) {
+        signals.add("exceeded:" + metrics.entries);
+      }
+
+      @Override
+      public void budgetRecovered(final AppendQueueMetrics metrics) {
+        signals.add("recovered:" + metrics.entries);
+      }
+    }));
+
+    budget.acquire(2, 10);
+    budget.acquire(1, 10);
+    budget.acquire(1, 10);
+    budget.release(1, 10);
+    budget.release(2, 20);
+
+    assertEquals(2, signals.size());
+    assertEquals("exceeded:3", signals.get(0));
+    assertEquals("recovered:1", signals.get(1));
+    assertEquals(1, budget.metrics().exceeded);
+  }
+
+  @Test
+  public void testThatCountersAreReported() {
+    final AppendBudget budget = new AppendBudget(BackpressurePolicy.delay(1, 1));
+
+    budget.delayed();
+    budget.rejected();
+    budget.rejected();
+
+    assertEquals(1, budget.metrics().delayed);
+    assertEquals(2, budget.metrics().rejected);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThatBudgetMustBePositive() {
+    BackpressurePolicy.reject(0, 100);
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.vlingo.symbio.Metadata;
+
+public class CompactMetadataCodecTest {
+  private final MetadataCodec codec = new CompactMetadataCodec();
+
+  @Test
+  public void testThatEmptyMetadataIsEncodedEmpty() {
+    assertEquals("", codec.encode(Metadata.nullMetadata()));
+    assertEquals("", codec.encode(null));
+
+    final Metadata decoded = codec.decode("");
+    assertEquals("", decoded.value);
+    assertEquals("", decoded.operation);
+  }
+
+  @Test
+  public void testThatValueAndOperationRoundTrip() {
+    final String encoded = codec.encode(Metadata.with("value:with#separators", "op:1"));
+
+    assertEquals("#4:op:1value:with#separators", encoded);
+
+    final Metadata decoded = codec.decode(encoded);
+    assertEquals("value:with#separators", decoded.value);
+    assertEquals("op:1", decoded.operation);
+  }
+
+  @Test
+  public void testThatOnlyOperationRoundTrips() {
+    final Metadata decoded = codec.decode(codec.encode(Metadata.with("", "op")));
+    assertEquals("", decoded.value);
+    assertEquals("op", decoded.operation);
+  }
+
+  @Test
+  public void testThatGsonEncodedMetadataIsDecoded() {
+    final String json = new GsonMetadataCodec().encode(Metadata.with("value", "op"));
+
+    assertTrue(json.startsWith("{"));
+
+    final Metadata decoded = codec.decode(json);
+    assertEquals("value", decoded.value);
+    assertEquals("op", decoded.operation);
+  }
+}
@@ -0,0 +1,158 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vlingo.symbio.store.DataFormat;
+
+public class ConfigurationTest {
+  private static final AtomicInteger uniqueNumber = new AtomicInteger(0);
+
+  @Test
+  public void testThatReadsShareWriteConnectionByDefault() throws Exception {
+    final Configuration configuration = configurationWith(providerFor(databaseName()), null);
+
+    assertFalse(configuration.hasSeparateReadConnection());
+    assertSame(configuration.connection, configuration.readConnection());
+    assertFalse(configuration.connection.getAutoCommit());
+  }
+
+  @Test
+  public void testThatSeparateReadConnectionIsReadOnlyAutoCommit() throws Exception {
+    final String databaseName = databaseName();
+    final Configuration configuration = configurationWith(providerFor(databaseName), providerFor(databaseName));
+
+    assertTrue(configuration.hasSeparateReadConnection());
+    assertNotSame(configuration.connection, configuration.readConnection());
+    assertFalse(configuration.connection.getAutoCommit());
+    assertTrue(configuration.readConnection().getAutoCommit());
+    assertTrue(configuration.readConnection().isReadOnly());
+
+    try (final Statement statement = configuration.connection.createStatement()) {
+      statement.execute("CREATE TABLE T_READ (ID INT)");
+      statement.executeUpdate("INSERT INTO T_READ VALUES (7)");
+      configuration.connection.commit();
+    }
+
+    try (final Statement statement = configuration.readConnection().createStatement();
+         final ResultSet result = statement.executeQuery("SELECT ID FROM T_READ")) {
+      assertTrue(result.next());
+      assertEquals(7, result.getInt(1));
+    }
+  }
+
+  @Test
+  public void testThatCloneKeepsReadConnectionProvider() throws Exception {
+    final String databaseName = databaseName();
+    final Configuration configuration = configurationWith(providerFor(databaseName), providerFor(databaseName));
+    final Configuration clone = Configuration.cloneOf(configuration);
+
+    assertSame(configuration.readConnectionProvider, clone.readConnectionProvider);
+    assertTrue(clone.hasSeparateReadConnection());
+    assertTrue(clone.readConnection().isReadOnly());
+  }
+
+  @Test
+  public void testThatPooledReadsLeasePerRead() throws Exception {
+    final String databaseName = databaseName();
+    final ConnectionProvider readProvider = pooledProviderFor(databaseName);
+    final Configuration configuration = configurationWith(providerFor(databaseName), readProvider);
+
+    assertTrue(configuration.hasPooledReads());
+
+    try (final Connection lease = configuration.leaseReadConnection()) {
+      assertTrue(lease.getAutoCommit());
+      assertTrue(lease.isReadOnly());
+      assertEquals(1, readProvider.poolMetrics().active);
+    }
+    assertEquals(0, readProvider.poolMetrics().active);
+
+    configuration.close();
+    readProvider.close();
+  }
+
+  @Test
+  public void testThatDedicatedConnectionsAndCloseUseActualDatabase() throws Exception {
+    final ConnectionProvider provider = pooledProviderFor(databaseName());
+    final Configuration configuration = new ActualDatabaseConfiguration(provider);
+
+    try (final Statement statement = configuration.connection.createStatement()) {
+      statement.execute("CREATE TABLE T_ACTUAL (ID INT)");
+      configuration.connection.commit();
+    }
+
+    final ConnectionPool actualPool = configuration.actualConnectionProvider().pool();
+    try (final Connection dedicated = configuration.dedicatedConnection();
+         final Statement statement = dedicated.createStatement();
+         final ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM T_ACTUAL")) {
+      assertTrue(result.next());
+      assertEquals(2, actualPool.metrics().active);
+    }
+
+    final Configuration clone = Configuration.cloneOf(configuration);
+    assertSame(configuration.actualConnectionProvider(), clone.actualConnectionProvider());
+    clone.close();
+    assertFalse(actualPool.isClosed());
+
+    configuration.close();
+    assertTrue(actualPool.isClosed());
+    assertEquals(0, actualPool.metrics().active);
+    assertFalse(provider.pool().isClosed());
+    provider.close();
+  }
+
+  private Configuration configurationWith(final ConnectionProvider provider, final ConnectionProvider readProvider) throws Exception {
+    return new Configuration(DatabaseType.HSQLDB, new NoOpConfigurationInterest(), DataFormat.Text, provider, readProvider, "TEST", false,
+            Configuration.DefaultTransactionTimeout);
+  }
+
+  private String databaseName() {
+    return "configurationtest" + uniqueNumber.incrementAndGet();
+  }
+
+  private ConnectionProvider providerFor(final String databaseName) {
+    return new ConnectionProvider("org.hsqldb.jdbc.JDBCDriver", "jdbc:hsqldb:mem:", databaseName, "SA", "", false);
+  }
+
+  private ConnectionProvider pooledProviderFor(final String databaseName) {
+    return new ConnectionProvider("org.hsqldb.jdbc.JDBCDriver", "jdbc:hsqldb:mem:", databaseName, "SA", "", false,
+            ConnectionPoolConfiguration.with(1, 2).withAcquireTimeout(100));
+  }
+
+  /**
+   * A {@code Configuration} whose actual database is other than that of its
+   * {@code connectionProvider}, as is that of a {@code TestConfiguration}.
+   */
+  private static class ActualDatabaseConfiguration extends Configuration {
+    ActualDatabaseConfiguration(final ConnectionProvider provider) throws Exception {
+      super(DatabaseType.HSQLDB, new NoOpConfigurationInterest(), DataFormat.Text, provider, "TEST", false, DefaultTransactionTimeout);
+    }
+
+    @Override
+    protected String actualDatabaseName(final String databaseName) {
+      return databaseName + "_actual";
+    }
+
+    @Override
+    protected Connection connect() {
+      return actualConnectionProvider().connection();
+    }
+  }
+}
@@ -0,0 +1,149 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.symbio.store.DataFormat;
+
+public class ConnectionPoolTest {
+  private static final AtomicInteger uniqueNumber = new AtomicInteger(0);
+
+  private ConnectionProvider provider;
+
+  @Test
+  public void testThatPoolOpensMinimumConnections() {
+    final ConnectionPoolMetrics metrics = provider.poolMetrics();
+    assertEquals(1, metrics.idle);
+    assertEquals(0, metrics.active);
+    assertEquals(1, metrics.created);
+  }
+
+  @Test
+  public void testThatClosedLeaseReturnsToPool() throws Exception {
+    final Connection connection = provider.connection();
+    assertEquals(1, provider.poolMetrics().active);
+    assertFalse(connection.getAutoCommit());
+
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("VALUES (1)");
+    }
+
+    connection.close();
+    assertTrue(connection.isClosed());
+
+    final ConnectionPoolMetrics metrics = provider.poolMetrics();
+    assertEquals(0, metrics.active);
+    assertEquals(1, metrics.idle);
+    assertEquals(1, metrics.created);
+    assertEquals(1, metrics.acquired);
+  }
+
+  @Test
+  public void testThatLeaseIsUnusableAfterClose() throws Exception {
+    final Connection connection = provider.connection();
+    connection.close();
+    connection.close(); // idempotent
+
+    try {
+      connection.createStatement();
+      fail("Should not use a released lease.");
+    } catch (Exception e) {
+      // expected
+    }
+
+    assertEquals(1, provider.poolMetrics().idle);
+  }
+
+  @Test
+  public void testThatPoolIsBounded() throws Exception {
+    try (final Connection connection1 = provider.connection();
+         final Connection connection2 = provider.connection()) {
+      assertEquals(2, provider.poolMetrics().active);
+      try {
+        provider.connection();
+        fail("Should time out when exhausted.");
+      } catch (IllegalStateException e) {
+        // expected
+      }
+      assertEquals(1, provider.poolMetrics().timedOut);
+    }
+
+    final ConnectionPoolMetrics metrics = provider.poolMetrics();
+    assertEquals(0, metrics.active);
+    assertEquals(2, metrics.idle);
+    assertEquals(2, metrics.created);
+  }
+
+  @Test
+  public void testThatWaitTimesAreRecorded() throws Exception {
+    for (int count = 0; count < 5; ++count) {
+      provider.connection().close();
+    }
+
+    final ConnectionPoolMetrics metrics = provider.poolMetrics();
+    long recorded = 0;
+    for (final long bucket : metrics.waitTimeHistogram()) {
+      recorded += bucket;
+    }
+    assertEquals(5, metrics.acquired);
+    assertEquals(5, recorded);
+  }
+
+  @Test
+  public void testThatUncommittedWorkIsRolledBackOnRelease() throws Exception {
+    try (final Connection connection = provider.connection();
+         final Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE T_POOL (ID INT)");
+      connection.commit();
+      statement.executeUpdate("INSERT INTO T_POOL VALUES (1)");
+    }
+
+    try (final Connection connection = provider.connection();
+         final Statement statement = connection.createStatement()) {
+      assertFalse(statement.executeQuery("SELECT ID FROM T_POOL").next());
+    }
+  }
+
+  @Test
+  public void testThatClonedConfigurationSharesPool() throws Exception {
+    final Configuration configuration = new Configuration(DatabaseType.HSQLDB, new NoOpConfigurationInterest(), DataFormat.Text, provider, "TEST", false, Configuration.DefaultTransactionTimeout);
+    final Configuration clone = Configuration.cloneOf(configuration);
+
+    assertSame(configuration.connectionProvider, clone.connectionProvider);
+    assertEquals(2, provider.poolMetrics().active);
+
+    configuration.connection.close();
+    clone.connection.close();
+
+    assertEquals(0, provider.poolMetrics().active);
+  }
+
+  @Before
+  public void setUp() {
+    provider = new ConnectionProvider("org.hsqldb.jdbc.JDBCDriver", "jdbc:hsqldb:mem:", "pooltest" + uniqueNumber.incrementAndGet(),
+            "SA", "", false, ConnectionPoolConfiguration.with(1, 2).withAcquireTimeout(100));
+  }
+
+  @After
+  public void tearDown() {
+    provider.close();
+  }
+}
@@ -0,0 +1,104 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DispatchConfirmationBufferTest {
+  private final List<List<String>> deleted = new ArrayList<>();
+  private boolean failing;
+
+  @Test
+  public void testThatImmediatePolicyDeletesEachConfirmation() {
+    final DispatchConfirmationBuffer buffer = new DispatchConfirmationBuffer(DispatchConfirmationPolicy.immediate(), this::delete);
+
+    buffer.confirm("1");
+    buffer.confirm("2");
+
+    assertEquals(Arrays.asList(Arrays.asList("1"), Arrays.asList("2")), deleted);
+    assertEquals(0, buffer.pendingCount());
+  }
+
+  @Test
+  public void testThatBufferedPolicyDeletesAtSizeThreshold() {
+    final DispatchConfirmationBuffer buffer = new DispatchConfirmationBuffer(DispatchConfirmationPolicy.buffered(3, 60_000L), this::delete);
+
+    buffer.confirm("1");
+    buffer.confirm("2");
+
+    assertTrue(deleted.isEmpty());
+    assertEquals(2, buffer.pendingCount());
+    assertTrue(buffer.isPending("1"));
+
+    buffer.confirm("3");
+
+    assertEquals(Arrays.asList(Arrays.asList("1", "2", "3")), deleted);
+    assertEquals(0, buffer.pendingCount());
+    assertFalse(buffer.isPending("1"));
+  }
+
+  @Test
+  public void testThatBufferedPolicyDeletesAfterInterval() throws Exception {
+    final DispatchConfirmationBuffer buffer = new DispatchConfirmationBuffer(DispatchConfirmationPolicy.buffered(100, 10L), this::delete);
+
+    Thread.sleep(20);
+
+    buffer.confirm("1");
+
+    assertEquals(Arrays.asList(Arrays.asList("1")), deleted);
+  }
+
+  @Test
+  public void testThatFailedFlushKeepsConfirmations() {
+    final DispatchConfirmationBuffer buffer = new DispatchConfirmationBuffer(DispatchConfirmationPolicy.buffered(10, 60_000L), this::delete);
+
+    buffer.confirm("1");
+    buffer.confirm("2");
+
+    failing = true;
+    assertFalse(buffer.flush());
+    assertEquals(2, buffer.pendingCount());
+
+    failing = false;
+    assertTrue(buffer.flush());
+    assertEquals(Arrays.asList(Arrays.asList("1", "2")), deleted);
+    assertEquals(0, buffer.pendingCount());
+  }
+
+  @Test
+  public void testThatFlushDeletesInChunksOfMaxConfirmations() {
+    final DispatchConfirmationBuffer buffer = new DispatchConfirmationBuffer(DispatchConfirmationPolicy.buffered(2, 60_000L), this::delete);
+
+    failing = true;
+    buffer.confirm("1");
+    buffer.confirm("2");
+    buffer.confirm("3");
+    buffer.confirm("4");
+    buffer.confirm("5");
+    assertEquals(5, buffer.pendingCount());
+
+    failing = false;
+    assertTrue(buffer.flush());
+    assertEquals(Arrays.asList(Arrays.asList("1", "2"), Arrays.asList("3", "4"), Arrays.asList("5")), deleted);
+  }
+
+  private void delete(final List<String> dispatchIds) {
+    if (failing) {
+      throw new IllegalStateException("Delete failed.");
+    }
+    deleted.add(new ArrayList<>(dispatchIds));
+  }
+}
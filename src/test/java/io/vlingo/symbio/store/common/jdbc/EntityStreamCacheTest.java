@@ -0,0 +1,142 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.symbio.BaseEntry;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.State.TextState;
+import io.vlingo.symbio.store.journal.EntityStream;
+
+public class EntityStreamCacheTest {
+  @Test
+  public void testThatAppendsOfNewStreamAreCached() {
+    final EntityStreamCache cache = new EntityStreamCache(10, 10_000);
+
+    cache.appended("a", 1, entries("1", "2"), null);
+    cache.appended("a", 3, entries("3"), null);
+
+    final EntityStream<String> stream = cache.streamFor("a", 1, Integer.MAX_VALUE);
+    assertNotNull(stream);
+    assertEquals(3, stream.streamVersion);
+    assertEquals(3, stream.entries.size());
+    assertEquals("3", stream.entries.get(2).entryData());
+
+    final EntityStream<String> tail = cache.streamFor("a", 2, 1);
+    assertEquals(2, tail.streamVersion);
+    assertEquals(1, tail.entries.size());
+    assertEquals("2", tail.entries.get(0).entryData());
+
+    assertEquals(2, cache.metrics().hits);
+  }
+
+  @Test
+  public void testThatSnapshotReplacesOlderEntries() {
+    final EntityStreamCache cache = new EntityStreamCache(10, 10_000);
+
+    cache.appended("a", 1, entries("1", "2", "3"), null);
+    cache.appended("a", 4, entries("4"), snapshot("a", "s4", 4));
+
+    final EntityStream<String> stream = cache.streamFor("a", 1, Integer.MAX_VALUE);
+    assertEquals("s4", stream.snapshot.data);
+    assertEquals(4, stream.streamVersion);
+    assertEquals(1, stream.entries.size());
+
+    final EntityStream<String> afterSnapshot = cache.streamFor("a", 4, Integer.MAX_VALUE);
+    assertEquals(TextState.Null, afterSnapshot.snapshot);
+    assertEquals(1, afterSnapshot.entries.size());
+  }
+
+  @Test
+  public void testThatNonContiguousAppendInvalidatesStream() {
+    final EntityStreamCache cache = new EntityStreamCache(10, 10_000);
+
+    cache.appended("a", 1, entries("1"), null);
+    cache.appended("a", 3, entries("3"), null);
+
+    assertNull(cache.streamFor("a", 1, Integer.MAX_VALUE));
+    assertEquals(1, cache.metrics().misses);
+  }
+
+  @Test
+  public void testThatStreamAppendedDuringReadIsNotCached() {
+    final EntityStreamCache cache = new EntityStreamCache(10, 10_000);
+
+    final long appendSequence = cache.appendSequence();
+    cache.appended("a", 2, entries("2"), null);
+    cache.cache(new EntityStream<>("a", 1, new ArrayList<>(entries("1")), TextState.Null), appendSequence);
+
+    assertNull(cache.streamFor("a", 1, Integer.MAX_VALUE));
+
+    cache.cache(new EntityStream<>("a", 2, new ArrayList<>(entries("1", "2")), TextState.Null), cache.appendSequence());
+
+    assertEquals(2, cache.streamFor("a", 1, Integer.MAX_VALUE).entries.size());
+  }
+
+  @Test
+  public void testThatLeastRecentlyUsedStreamsAreEvicted() {
+    final EntityStreamCache cache = new EntityStreamCache(2, 10_000);
+
+    cache.appended("a", 1, entries("1"), null);
+    cache.appended("b", 1, entries("1"), null);
+    cache.streamFor("a", 1, Integer.MAX_VALUE);
+    cache.appended("c", 1, entries("1"), null);
+
+    assertNotNull(cache.streamFor("a", 1, Integer.MAX_VALUE));
+    assertNull(cache.streamFor("b", 1, Integer.MAX_VALUE));
+    assertNotNull(cache.streamFor("c", 1, Integer.MAX_VALUE));
+
+    final EntityStreamCacheMetrics metrics = cache.metrics();
+    assertEquals(2, metrics.streams);
+    assertEquals(1, metrics.evictions);
+    assertEquals(2 * payloadBytesOf("1"), metrics.payloadBytes);
+  }
+
+  @Test
+  public void testThatPayloadBytesAreCapped() {
+    final EntityStreamCache cache = new EntityStreamCache(10, 2 * payloadBytesOf("1"));
+
+    cache.appended("a", 1, entries("1"), null);
+    cache.appended("b", 1, entries("1"), null);
+    cache.appended("c", 1, entries("1"), null);
+
+    assertNull(cache.streamFor("a", 1, Integer.MAX_VALUE));
+    assertEquals(2, cache.metrics().streams);
+
+    cache.appended("d", 1, entries("1", "2", "3"), null);
+
+    assertNull(cache.streamFor("d", 1, Integer.MAX_VALUE));
+    assertEquals(2 * payloadBytesOf("1"), cache.metrics().payloadBytes);
+  }
+
+  private List<Entry<String>> entries(final String... data) {
+    final List<Entry<String>> entries = new ArrayList<>();
+    for (final String datum : data) {
+      entries.add(new BaseEntry.TextEntry(datum, String.class, 1, datum, Metadata.nullMetadata()));
+    }
+    return Collections.unmodifiableList(entries);
+  }
+
+  private long payloadBytesOf(final String data) {
+    return 2L * (data.length() + String.class.getName().length());
+  }
+
+  private TextState snapshot(final String streamName, final String data, final int dataVersion) {
+    return new TextState(streamName, String.class, 1, data, dataVersion, Metadata.nullMetadata());
+  }
+}
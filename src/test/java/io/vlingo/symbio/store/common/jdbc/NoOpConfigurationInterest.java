@@ -0,0 +1,21 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import java.sql.Connection;
+
+/**
+ * A {@code ConfigurationInterest} that does nothing, for configurations of
+ * databases that the tests create and drop themselves.
+ */
+public class NoOpConfigurationInterest implements Configuration.ConfigurationInterest {
+  @Override public void afterConnect(final Connection connection) { }
+  @Override public void beforeConnect(final Configuration configuration) { }
+  @Override public void createDatabase(final Connection connection, final String databaseName) { }
+  @Override public void dropDatabase(final Connection connection, final String databaseName) { }
+}
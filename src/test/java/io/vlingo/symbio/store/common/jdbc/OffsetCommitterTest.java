@@ -0,0 +1,101 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class OffsetCommitterTest {
+  private final List<Long> persisted = new ArrayList<>();
+  private boolean failing;
+
+  @Test
+  public void testThatImmediatePolicyPersistsEveryOffset() {
+    final OffsetCommitter offsets = new OffsetCommitter(OffsetCommitPolicy.immediate(), this::persist, 1L);
+
+    offsets.advancedTo(2L, 1);
+    offsets.advancedTo(3L, 1);
+    offsets.movedTo(10L);
+
+    assertEquals(Arrays.asList(2L, 3L, 10L), persisted);
+    assertFalse(offsets.hasPending());
+  }
+
+  @Test
+  public void testThatEntriesPolicyCoalescesOffsets() {
+    final OffsetCommitter offsets = new OffsetCommitter(OffsetCommitPolicy.everyEntries(3), this::persist, 1L);
+
+    offsets.advancedTo(2L, 1);
+    offsets.advancedTo(3L, 1);
+
+    assertTrue(persisted.isEmpty());
+    assertTrue(offsets.hasPending());
+
+    offsets.advancedTo(4L, 1);
+
+    assertEquals(Arrays.asList(4L), persisted);
+    assertFalse(offsets.hasPending());
+  }
+
+  @Test
+  public void testThatForwardSeekIsDeferredAndBackwardSeekIsPersisted() {
+    final OffsetCommitter offsets = new OffsetCommitter(OffsetCommitPolicy.onClose(), this::persist, 5L);
+
+    offsets.movedTo(20L);
+    assertTrue(persisted.isEmpty());
+
+    offsets.movedTo(1L);
+    assertEquals(Arrays.asList(1L), persisted);
+  }
+
+  @Test
+  public void testThatIntervalPolicyPersistsAfterInterval() throws Exception {
+    final OffsetCommitter offsets = new OffsetCommitter(OffsetCommitPolicy.everyInterval(10L), this::persist, 1L);
+
+    offsets.intervalElapsed();
+    assertTrue(persisted.isEmpty());
+
+    offsets.advancedTo(2L, 1);
+
+    Thread.sleep(20);
+
+    offsets.intervalElapsed();
+    assertEquals(Arrays.asList(2L), persisted);
+  }
+
+  @Test
+  public void testThatFailedCommitKeepsOffsetPending() {
+    final OffsetCommitter offsets = new OffsetCommitter(OffsetCommitPolicy.onClose(), this::persist, 1L);
+
+    offsets.advancedTo(7L, 6);
+
+    failing = true;
+    assertFalse(offsets.commit());
+    assertTrue(offsets.hasPending());
+
+    failing = false;
+    assertTrue(offsets.commit());
+    assertEquals(Arrays.asList(7L), persisted);
+    assertFalse(offsets.hasPending());
+  }
+
+  private boolean persist(final long offset) {
+    if (failing) {
+      return false;
+    }
+    persisted.add(offset);
+    return true;
+  }
+}
@@ -0,0 +1,120 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.common.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TypeDictionaryTest {
+  private static final AtomicInteger uniqueNumber = new AtomicInteger(0);
+
+  private TypeDictionary dictionary;
+  private ConnectionProvider provider;
+
+  @Test
+  public void testThatTypesAreStoredAsTokens() throws Exception {
+    final String stringToken = dictionary.storedTypeOf(String.class.getName());
+    final String integerToken = dictionary.storedTypeOf(Integer.class.getName());
+
+    assertTrue(dictionary.isEnabled());
+    assertTrue(stringToken.startsWith("@"));
+    assertNotEquals(stringToken, integerToken);
+    assertEquals(stringToken, dictionary.storedTypeOf(String.class.getName()));
+    assertEquals(2, dictionary.size());
+
+    assertEquals(String.class.getName(), dictionary.typeNameOf(stringToken));
+    assertEquals(Integer.class, dictionary.classOf(integerToken));
+  }
+
+  @Test
+  public void testThatTypeNamesStoredWithoutDictionaryAreResolved() throws Exception {
+    assertEquals(String.class.getName(), dictionary.typeNameOf(String.class.getName()));
+    assertEquals(String.class, dictionary.classOf(String.class.getName()));
+    assertEquals(0, dictionary.size());
+  }
+
+  @Test
+  public void testThatDictionariesShareTheirTypes() throws Exception {
+    final String stringToken = dictionary.storedTypeOf(String.class.getName());
+
+    final TypeDictionary other = new TypeDictionary(provider.connection());
+    try {
+      assertEquals(stringToken, other.storedTypeOf(String.class.getName()));
+
+      final String integerToken = other.storedTypeOf(Integer.class.getName());
+      assertEquals(Integer.class, dictionary.classOf(integerToken));
+
+      // a type registered concurrently, after the other took the next id
+      final String longToken = dictionary.storedTypeOf(Long.class.getName());
+      assertNotEquals(integerToken, longToken);
+      assertEquals(Long.class.getName(), other.typeNameOf(longToken));
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testThatUnknownTokenIsRejected() {
+    dictionary.typeNameOf("@999");
+  }
+
+  @Test
+  public void testThatMissedTokenIsNotReloadedWithinInterval() {
+    final String missedToken = "@1";
+    try {
+      dictionary.typeNameOf(missedToken);
+    } catch (IllegalStateException e) {
+      // missed
+    }
+
+    final TypeDictionary other = new TypeDictionary(provider.connection());
+    try {
+      assertEquals(missedToken, other.storedTypeOf(String.class.getName()));
+      try {
+        dictionary.typeNameOf(missedToken);
+        fail("The missed token must not be reloaded within the interval.");
+      } catch (IllegalStateException e) {
+        // not reloaded
+      }
+      assertEquals(0, dictionary.size());
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test
+  public void testThatNoneStoresTypeNames() throws Exception {
+    final TypeDictionary none = TypeDictionary.none();
+
+    assertFalse(none.isEnabled());
+    assertEquals(String.class.getName(), none.storedTypeOf(String.class.getName()));
+    assertEquals(String.class, none.classOf(String.class.getName()));
+    assertEquals(0, none.size());
+  }
+
+  @Before
+  public void setUp() {
+    provider = new ConnectionProvider("org.hsqldb.jdbc.JDBCDriver", "jdbc:hsqldb:mem:", "typestest" + uniqueNumber.incrementAndGet(),
+            "SA", "", false);
+    dictionary = new TypeDictionary(provider.connection());
+  }
+
+  @After
+  public void tearDown() {
+    dictionary.close();
+  }
+}
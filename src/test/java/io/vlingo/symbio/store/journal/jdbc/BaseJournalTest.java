@@ -48,7 +48,7 @@ public abstract class BaseJournalTest {
         gson = new Gson();
         identityGenerator = new IdentityGenerator.TimeBasedIdentityGenerator();
 
-        queries = JDBCQueries.queriesFor(configuration.connection);
+        queries = JDBCQueries.queriesFor(configuration.connection, configuration.format, configuration.payloadCompressionPolicy());
         dropDatabase();
         queries.createTables();
     }
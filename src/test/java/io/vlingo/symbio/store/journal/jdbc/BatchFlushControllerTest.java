@@ -0,0 +1,80 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.vlingo.symbio.store.common.jdbc.FlushPolicy;
+
+public class BatchFlushControllerTest {
+    private static final long Millis = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long Micros = TimeUnit.MICROSECONDS.toNanos(1);
+
+    @Test
+    public void testThatFixedPolicyFlushesFullBatchesAndOnEveryCheck() {
+        final BatchFlushController controller = new BatchFlushController(FlushPolicy.fixed(), 100);
+
+        controller.appended(1, 0);
+
+        assertFalse(controller.isFlushDue(1, 0));
+        assertTrue(controller.isFlushDue(100, 0));
+        assertTrue(controller.isFlushDueOnCheck(1, 0));
+        assertFalse(controller.isFlushDueOnCheck(0, 0));
+    }
+
+    @Test
+    public void testThatAdaptivePolicyFlushesRareAppendsRightAway() {
+        final BatchFlushController controller = new BatchFlushController(FlushPolicy.adaptive(10), 100);
+
+        controller.appended(1, 0);
+
+        assertEquals(1, controller.targetBatchEntries());
+        assertTrue(controller.isFlushDue(1, 0));
+    }
+
+    @Test
+    public void testThatAdaptivePolicyGrowsBatchesUnderLoad() {
+        final BatchFlushController controller = new BatchFlushController(FlushPolicy.adaptive(10), 100);
+
+        long now = 0;
+        for (int flush = 0; flush < 50; ++flush) {
+            for (int append = 0; append < 20; ++append) {
+                controller.appended(1, now);
+                now += 10 * Micros;
+            }
+            controller.flushed(20, Millis);
+        }
+
+        final int target = controller.targetBatchEntries();
+        assertTrue("target batch entries " + target, target > 1);
+        assertTrue("target batch entries " + target, target <= 100);
+
+        controller.appended(1, now);
+        assertFalse(controller.isFlushDue(1, now));
+        assertTrue(controller.isFlushDue(target, now));
+        assertTrue(controller.isFlushDueOnCheck(1, now + controller.lingerNanos()));
+    }
+
+    @Test
+    public void testThatAdaptivePolicyStopsLingeringWhenCommitsAreSlow() {
+        final BatchFlushController controller = new BatchFlushController(FlushPolicy.adaptive(10), 100);
+
+        for (int flush = 0; flush < 50; ++flush) {
+            controller.flushed(10, 20 * Millis);
+        }
+
+        assertEquals(0, controller.lingerNanos());
+        assertEquals(1, controller.targetBatchEntries());
+    }
+}
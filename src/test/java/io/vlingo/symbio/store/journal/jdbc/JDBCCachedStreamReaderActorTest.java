@@ -0,0 +1,119 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.event.TestEvent;
+import io.vlingo.symbio.store.common.jdbc.EntityStreamCacheMetrics;
+import io.vlingo.symbio.store.journal.EntityStream;
+
+/**
+ * Runs the stream reader tests with an {@code EntityStreamCache}, whose
+ * {@code testConfiguration} must set it, and appends to the cached streams
+ * with a writer sharing it.
+ */
+public abstract class JDBCCachedStreamReaderActorTest extends JDBCStreamReaderActorTest {
+    private List<Outcome<StorageException, Result>> outcomes;
+    private JDBCJournalBatchWriter writer;
+
+    @Test
+    public void testThatStreamIsReadFromCacheAfterAppend() throws Exception {
+        EntityStream<String> stream = eventStreamReader.streamFor(streamName).await();
+        assertEquals(4, stream.streamVersion);
+        assertEquals(1, metrics().streams);
+
+        append(5);
+        assertEquals(Result.Success, resultOf(outcomes.get(0)));
+
+        final long hits = metrics().hits;
+        stream = eventStreamReader.streamFor(streamName).await();
+        assertEquals(hits + 1, metrics().hits);
+        assertEquals(5, stream.streamVersion);
+        assertEquals(5, stream.entries.size());
+        assertEquals(5, parse(stream.entries.get(4)).number);
+    }
+
+    @Test
+    public void testThatConcurrencyViolationInvalidatesCachedStream() throws Exception {
+        eventStreamReader.streamFor(streamName).await();
+        assertEquals(1, metrics().streams);
+
+        append(4);
+        assertEquals(Result.ConcurrencyViolation, resultOf(outcomes.get(0)));
+        assertEquals(0, metrics().streams);
+
+        final long misses = metrics().misses;
+        final EntityStream<String> stream = eventStreamReader.streamFor(streamName).await();
+        assertEquals(misses + 1, metrics().misses);
+        assertEquals(4, stream.streamVersion);
+        assertEquals(4, stream.entries.size());
+    }
+
+    @Test
+    public void testThatNonContiguousAppendInvalidatesCachedStream() throws Exception {
+        eventStreamReader.streamFor(streamName).await();
+        assertEquals(1, metrics().streams);
+
+        append(6);
+        assertEquals(Result.Success, resultOf(outcomes.get(0)));
+        assertEquals(0, metrics().streams);
+
+        final long misses = metrics().misses;
+        final EntityStream<String> stream = eventStreamReader.streamFor(streamName).await();
+        assertEquals(misses + 1, metrics().misses);
+        assertEquals(6, stream.streamVersion);
+        assertEquals(5, stream.entries.size());
+        assertEquals(6, parse(stream.entries.get(4)).number);
+    }
+
+    @Before
+    public void setUpWriter() throws Exception {
+        outcomes = new ArrayList<>();
+        writer = new JDBCJournalBatchWriter(configuration, null, null, 100);
+        writer.setLogger(world.defaultLogger());
+    }
+
+    @After
+    public void tearDownWriter() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private void append(final int version) {
+        final TextEntry entry = new TextEntry(TestEvent.class, 1, gson.toJson(new TestEvent(aggregateRootId, version)), Metadata.nullMetadata());
+        writer.appendEntry(streamName, version, entry, Optional.empty(), outcomes::add);
+        writer.flush();
+    }
+
+    private EntityStreamCacheMetrics metrics() {
+        return configuration.entityStreamCache().metrics();
+    }
+
+    private Result resultOf(final Outcome<StorageException, Result> outcome) {
+        final Result[] result = new Result[1];
+        outcome
+            .andThen(success -> result[0] = success)
+            .otherwise(cause -> result[0] = cause.result);
+        return result[0];
+    }
+}
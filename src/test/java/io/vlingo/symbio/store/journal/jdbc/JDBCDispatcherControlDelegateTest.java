@@ -0,0 +1,84 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.DispatchConfirmationPolicy;
+
+public abstract class JDBCDispatcherControlDelegateTest extends BaseJournalTest {
+    private JDBCDispatcherControlDelegate delegate;
+
+    @Test
+    public void testThatBufferedConfirmationIsDeletedAfterIntervalWithoutFurtherConfirms() throws Exception {
+        final String dispatchId = insertDispatchable();
+
+        final Configuration buffered = Configuration.cloneOf(configuration)
+                .withDispatchConfirmationPolicy(DispatchConfirmationPolicy.buffered(100, 200L));
+        delegate = new JDBCDispatcherControlDelegate(buffered, world.defaultLogger(), world.stage().scheduler());
+
+        delegate.confirmDispatched(dispatchId);
+
+        assertEquals(1, countDispatchables());
+
+        final long giveUpAt = System.currentTimeMillis() + 5_000L;
+        while (countDispatchables() > 0 && System.currentTimeMillis() < giveUpAt) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(0, countDispatchables());
+    }
+
+    @After
+    public void tearDownDelegate() {
+        if (delegate != null) {
+            delegate.stop();
+        }
+    }
+
+    private String insertDispatchable() throws SQLException {
+        final String dispatchId = UUID.randomUUID().toString();
+
+        queries.prepareInsertDispatchableQuery(
+                dispatchId,
+                configuration.originatorId,
+                null,
+                null,
+                0,
+                null,
+                0,
+                gson.toJson(Metadata.nullMetadata()),
+                "")
+                ._1
+                .executeUpdate();
+
+        configuration.connection.commit();
+
+        return dispatchId;
+    }
+
+    private int countDispatchables() throws SQLException {
+        int count = 0;
+        try (final ResultSet result = queries.prepareSelectDispatchablesQuery(configuration.originatorId).executeQuery()) {
+            while (result.next()) {
+                ++count;
+            }
+        }
+        configuration.connection.commit();
+        return count;
+    }
+}
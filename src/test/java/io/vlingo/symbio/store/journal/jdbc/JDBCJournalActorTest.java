@@ -12,6 +12,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -55,12 +56,12 @@ import io.vlingo.symbio.store.journal.StreamReader;
 
 public abstract class JDBCJournalActorTest extends BaseJournalTest {
     private Entity1Adapter entity1Adapter = new Entity1Adapter();
-    private Object object = new Object();
-    private MockAppendResultInterest interest;
-    private Journal<String> journal;
+    protected Object object = new Object();
+    protected MockAppendResultInterest interest;
+    protected Journal<String> journal;
     private MockDispatcher<Entry<String>, TextState> dispatcher;
-    private JournalReader<TextEntry> journalReader;
-    private StreamReader<String> streamReader;
+    protected JournalReader<TextEntry> journalReader;
+    protected StreamReader<String> streamReader;
 
     private ConsumerSink<EntryBundle> sink;
     private AtomicInteger totalSources = new AtomicInteger(0);
@@ -216,6 +217,20 @@ public abstract class JDBCJournalActorTest extends BaseJournalTest {
         assertEquals(2, (int) access.readFrom("failureCount"));
     }
 
+    @Test
+    public void testThatAppendOfExistingStreamVersionIsConcurrencyViolation() {
+        dispatcher.afterCompleting(0);
+        final AccessSafely access = interest.afterCompleting(3);
+
+        journal.append(streamName, 1, newEventForData(1), interest, object);
+        journal.appendAll(streamName, 1, asList(newEventForData(2), newEventForData(3)), interest, object);
+        journal.append(streamName, 2, newEventForData(4), interest, object);
+
+        assertEquals(2, (int) access.readFrom("successCount"));
+        assertEquals(1, (int) access.readFrom("failureCount"));
+        assertEquals(1, (int) access.readFrom("concurrencyViolationCount"));
+    }
+
     @Test
     public void testThatReturnsSameReaderForSameName() {
         final String name = UUID.randomUUID().toString();
@@ -300,6 +315,31 @@ public abstract class JDBCJournalActorTest extends BaseJournalTest {
         Assert.assertEquals(totalSources.get(), sourcesCount);
     }
 
+    @Test
+    public void testThatJournalReaderStreamsWithoutMovingItsOffset() {
+        final int limit = 20;
+        final AccessSafely access = AccessSafely.afterCompleting(limit);
+        final List<String> streamedIds = Collections.synchronizedList(new ArrayList<>());
+
+        for (int count = 0; count < limit; ++count) {
+            journal.append(streamName, count + 1, newEventForData(count), interest, object);
+        }
+
+        access.writingWith("streamedIds", (String id) -> streamedIds.add(id));
+        access.readingWith("streamedCount", () -> streamedIds.size());
+
+        final Stream all = journalReader.streamAll().await();
+
+        sink = new ConsumerSink<>((EntryBundle bundle) -> access.writeUsing("streamedIds", bundle.entry.id()));
+
+        all.flowInto(sink, 5);
+
+        assertEquals(limit, (int) access.readFromExpecting("streamedCount", limit));
+
+        final Entry<String> first = journalReader.readNext().await();
+        assertEquals(streamedIds.get(0), first.id());
+    }
+
     protected abstract Journal<String> journalFrom(World world,
                                                    Configuration configuration,
                                                    List<Dispatcher<Dispatchable<Entry<String>, TextState>>> dispatchers,
@@ -0,0 +1,166 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.event.TestEvent;
+import io.vlingo.symbio.store.common.jdbc.AppendQueueMetrics;
+import io.vlingo.symbio.store.common.jdbc.BackpressureInterest;
+import io.vlingo.symbio.store.common.jdbc.BackpressurePolicy;
+
+public abstract class JDBCJournalBatchWriterBackpressureTest extends BaseJournalTest {
+    private List<Outcome<StorageException, Result>> outcomes;
+    private List<String> signals;
+    private JDBCJournalBatchWriter writer;
+
+    @Test
+    public void testThatRejectCompletesAppendWithFailure() throws Exception {
+        writer = writerWith(BackpressurePolicy.reject(1, Long.MAX_VALUE), false);
+
+        writer.appendEntry(streamName, 1, entryOf(1), Optional.empty(), outcomes::add);
+        writer.appendEntry(streamName, 2, entryOf(2), Optional.empty(), outcomes::add);
+
+        assertEquals(1, outcomes.size());
+        assertEquals(Result.Failure, resultOf(outcomes.get(0)));
+        assertEquals(1, writer.appendQueueMetrics().rejected);
+        assertEquals(1, writer.appendQueueMetrics().entries);
+
+        writer.flush();
+
+        assertEquals(2, outcomes.size());
+        assertEquals(Result.Success, resultOf(outcomes.get(1)));
+        assertEquals(0, writer.appendQueueMetrics().entries);
+    }
+
+    @Test(timeout = 10_000)
+    public void testThatDelayWritesInFlightAppendsFirst() throws Exception {
+        writer = writerWith(BackpressurePolicy.delay(1, Long.MAX_VALUE), false);
+
+        writer.appendEntry(streamName, 1, entryOf(1), Optional.empty(), outcomes::add);
+        writer.appendEntry(streamName, 2, entryOf(2), Optional.empty(), outcomes::add);
+
+        // the first append was written to make room for the second
+        assertEquals(1, outcomes.size());
+        assertEquals(Result.Success, resultOf(outcomes.get(0)));
+        assertEquals(1, writer.appendQueueMetrics().delayed);
+        assertEquals(1, writer.appendQueueMetrics().entries);
+    }
+
+    @Test(timeout = 10_000)
+    public void testThatDelayParksAppendsUntilFlushInFlightCompletes() throws Exception {
+        writer = writerWith(BackpressurePolicy.delay(1, Long.MAX_VALUE), true);
+        // completions are run by the test, as if delivered to the journal actor
+        final BlockingQueue<Runnable> completions = new LinkedBlockingQueue<>();
+        writer.deliverCompletionsThrough(completions::add);
+
+        writer.appendEntry(streamName, 1, entryOf(1), Optional.empty(), outcomes::add);
+        writer.flush();
+
+        // the in-flight append holds the budget, so these are parked rather than awaiting the flush
+        writer.appendEntry(streamName, 2, entryOf(2), Optional.empty(), outcomes::add);
+        writer.appendEntry(streamName, 3, entryOf(3), Optional.empty(), outcomes::add);
+
+        assertTrue(outcomes.isEmpty());
+        assertEquals(2, writer.appendQueueMetrics().delayed);
+        assertEquals(1, writer.appendQueueMetrics().entries);
+
+        // each completion admits the next parked append, whose flush then starts
+        completions.take().run();
+        assertEquals(1, outcomes.size());
+        assertEquals(Result.Success, resultOf(outcomes.get(0)));
+        writer.flush();
+        completions.take().run();
+        writer.flush();
+        completions.take().run();
+
+        assertEquals(3, outcomes.size());
+        assertEquals(Result.Success, resultOf(outcomes.get(1)));
+        assertEquals(Result.Success, resultOf(outcomes.get(2)));
+        assertEquals(0, writer.appendQueueMetrics().entries);
+    }
+
+    @Test
+    public void testThatSignalAcceptsAppendAndInformsInterest() throws Exception {
+        writer = writerWith(BackpressurePolicy.signal(1, Long.MAX_VALUE, new BackpressureInterest() {
+            @Override
+            public void budgetExceeded(final AppendQueueMetrics metrics) {
+                signals.add("exceeded:" + metrics.entries);
+            }
+
+            @Override
+            public void budgetRecovered(final AppendQueueMetrics metrics) {
+                signals.add("recovered:" + metrics.entries);
+            }
+        }), false);
+
+        writer.appendEntry(streamName, 1, entryOf(1), Optional.empty(), outcomes::add);
+        writer.appendEntry(streamName, 2, entryOf(2), Optional.empty(), outcomes::add);
+
+        assertTrue(outcomes.isEmpty());
+        assertEquals(1, signals.size());
+        assertEquals("exceeded:2", signals.get(0));
+
+        writer.flush();
+
+        assertEquals(2, outcomes.size());
+        assertEquals(Result.Success, resultOf(outcomes.get(0)));
+        assertEquals(Result.Success, resultOf(outcomes.get(1)));
+        assertEquals(2, signals.size());
+        assertEquals("recovered:0", signals.get(1));
+    }
+
+    @Before
+    public void setUpOutcomes() {
+        outcomes = new ArrayList<>();
+        signals = new ArrayList<>();
+    }
+
+    @After
+    public void tearDownWriter() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private JDBCJournalBatchWriter writerWith(final BackpressurePolicy policy, final boolean doubleBuffered) throws Exception {
+        configuration.withBackpressurePolicy(policy);
+        final JDBCJournalBatchWriter writer =
+                new JDBCJournalBatchWriter(configuration, null, null, 100, JDBCJournalBatchWriter.DefaultMaxRowsPerInsert, doubleBuffered);
+        writer.setLogger(world.defaultLogger());
+        return writer;
+    }
+
+    private TextEntry entryOf(final int version) {
+        return new TextEntry(TestEvent.class, 1, gson.toJson(new TestEvent(aggregateRootId, version)), Metadata.nullMetadata());
+    }
+
+    private Result resultOf(final Outcome<StorageException, Result> outcome) {
+        final Result[] result = new Result[1];
+        outcome
+            .andThen(success -> result[0] = success)
+            .otherwise(cause -> result[0] = cause.result);
+        return result[0];
+    }
+}
@@ -8,12 +8,17 @@
 package io.vlingo.symbio.store.journal.jdbc;
 
 import static io.vlingo.symbio.store.EntryReader.Beginning;
+import static io.vlingo.symbio.store.EntryReader.DefaultGapPreventionRetries;
+import static io.vlingo.symbio.store.EntryReader.DefaultGapPreventionRetryInterval;
 import static io.vlingo.symbio.store.EntryReader.End;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import java.util.UUID;
 
@@ -23,6 +28,7 @@ import org.junit.Test;
 
 import io.vlingo.actors.Definition;
 import io.vlingo.actors.testkit.TestUntil;
+import io.vlingo.common.Completes;
 import io.vlingo.symbio.BaseEntry.TextEntry;
 import io.vlingo.symbio.store.journal.JournalReader;
 import io.vlingo.symbio.store.journal.jdbc.JDBCJournalReaderActor.JDBCJournalReaderInstantiator;
@@ -168,6 +174,35 @@ public abstract class JDBCJournalReaderActorTest extends BaseJournalTest {
         assertNull(journalReader.readNext().await());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testThatGapsAreAwaitedUntilAppendsInFlightHaveEnded() throws Exception {
+        final long uncommittedId = insertEvent(1);
+        insertEvent(2);
+        deleteEntry(uncommittedId); // as if its append had not yet committed
+
+        final InFlightAppends inFlightAppends = new InFlightAppends();
+        final long append = inFlightAppends.begin();
+        final JournalReader<TextEntry> journalReader = world.actorFor(
+                JournalReader.class,
+                Definition.has(JDBCJournalReaderActor.class,
+                        new JDBCJournalReaderInstantiator(configuration, readerName, inFlightAppends)));
+
+        final Completes<List<TextEntry>> awaited = journalReader.readNext(10);
+        journalReader.name().await(); // the read has been served
+        Thread.sleep((DefaultGapPreventionRetries + 2) * DefaultGapPreventionRetryInterval);
+        assertFalse(awaited.hasOutcome()); // awaited beyond the gap retries
+
+        inFlightAppends.end(append);
+
+        final List<TextEntry> entries = awaited.await(5_000);
+        assertEquals(1, entries.size());
+        assertEquals(2, parse(entries.get(0)).number);
+
+        // the offset moved past the highest id read, so the gap is not read again
+        assertTrue(journalReader.readNext(10).await().isEmpty());
+    }
+
     @SuppressWarnings("unchecked")
     private JournalReader<TextEntry> journalReader() {
         return world.actorFor(
@@ -176,4 +211,11 @@ public abstract class JDBCJournalReaderActorTest extends BaseJournalTest {
                         new JDBCJournalReaderInstantiator(configuration, readerName))
         );
     }
-}
\ No newline at end of file
+
+    private void deleteEntry(final long id) throws SQLException {
+        try (final Statement statement = configuration.connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM vlingo_symbio_journal WHERE E_ID = " + id);
+        }
+        configuration.connection.commit();
+    }
+}
@@ -0,0 +1,174 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.testkit.AccessSafely;
+import io.vlingo.common.Completes;
+import io.vlingo.common.Tuple2;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.EntryAdapterProvider;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.store.common.event.TestEvent;
+import io.vlingo.symbio.store.common.event.TestEventAdapter;
+import io.vlingo.symbio.store.common.jdbc.AppendNotificationPolicy;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.JournalReader;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalReaderActor.JDBCJournalReaderInstantiator;
+
+public abstract class JDBCJournalTailTest extends BaseJournalTest {
+    private JournalTail tail;
+
+    @Test
+    public void testThatSubscriberIsInformedOfTheCurrentHighWater() throws Exception {
+        insertEvent(1);
+        final long lastId = insertEvent(2);
+
+        tail = new JournalTail(configuration, world.defaultLogger());
+        final MockJournalTailInterest interest = new MockJournalTailInterest();
+        final AccessSafely access = interest.afterCompleting(1);
+
+        tail.subscribe(interest);
+
+        assertEquals(lastId, (long) access.readFrom("highWaterId"));
+        assertEquals(lastId, tail.highWaterId());
+    }
+
+    @Test
+    public void testThatSubscriberIsInformedOfCommittedAppends() throws Exception {
+        tail = new JournalTail(configuration, world.defaultLogger());
+        final MockJournalTailInterest interest = new MockJournalTailInterest();
+        final AccessSafely access = interest.afterCompleting(2);
+
+        tail.subscribe(interest);
+        final long appendedId = appendEvent(1);
+
+        assertEquals(appendedId, (long) access.readFrom("highWaterId"));
+    }
+
+    @Test
+    public void testThatUnsubscribedInterestIsNotInformed() throws Exception {
+        tail = new JournalTail(configuration, world.defaultLogger());
+        final MockJournalTailInterest unsubscribed = new MockJournalTailInterest();
+        final MockJournalTailInterest subscribed = new MockJournalTailInterest();
+        final AccessSafely unsubscribedAccess = unsubscribed.afterCompleting(1);
+        final AccessSafely subscribedAccess = subscribed.afterCompleting(2);
+
+        tail.subscribe(unsubscribed);
+        tail.subscribe(subscribed);
+        tail.unsubscribe(unsubscribed);
+        final long appendedId = appendEvent(1);
+
+        assertEquals(appendedId, (long) subscribedAccess.readFrom("highWaterId"));
+        assertEquals(0L, (long) unsubscribedAccess.readFrom("highWaterId"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testThatSubscribedReaderAnswersAwaitedReadOnAppend() throws Exception {
+        tail = new JournalTail(configuration, world.defaultLogger());
+        final JournalReader<TextEntry> reader = world.actorFor(
+                JournalReader.class,
+                Definition.has(JDBCJournalReaderActor.class,
+                        new JDBCJournalReaderInstantiator(configuration, UUID.randomUUID().toString(), null, tail)));
+
+        final Completes<List<TextEntry>> awaited = reader.readNext(10);
+        reader.name().await(); // the read has been served
+        assertFalse(awaited.hasOutcome());
+
+        final long appendedId = appendEvent(1);
+
+        final List<TextEntry> entries = awaited.await(5_000);
+        assertEquals(1, entries.size());
+        assertEquals(String.valueOf(appendedId), entries.get(0).id());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testThatJournalReaderReceivesAppendsWithoutPolling() throws Exception {
+        EntryAdapterProvider.instance(world).registerAdapter(TestEvent.class, new TestEventAdapter());
+        final Journal<String> journal = world.stage().actorFor(Journal.class, JDBCJournalActor.class, configuration,
+                new JDBCJournalInstantWriter(configuration, null, null));
+        final Completes<JournalReader<TextEntry>> completesReader = journal.journalReader(UUID.randomUUID().toString());
+        final JournalReader<TextEntry> reader = completesReader.await();
+
+        final Completes<TextEntry> awaited = reader.readNext();
+        reader.name().await(); // the read has been served
+        assertFalse(awaited.hasOutcome());
+
+        final TestEvent appended = new TestEvent(aggregateRootId, 1);
+        journal.append(streamName, 1, appended, new MockAppendResultInterest(), null);
+
+        final TextEntry entry = awaited.await(5_000);
+        assertEquals(appended, gson.fromJson(entry.entryData(), TestEvent.class));
+    }
+
+    @Before
+    public void setUpTail() {
+        configuration.withAppendNotificationPolicy(AppendNotificationPolicy.push(10));
+    }
+
+    @After
+    public void tearDownTail() {
+        if (tail != null) {
+            tail.stop();
+        }
+    }
+
+    /**
+     * Append an event as the journal writers do, notifying its identity before the commit.
+     */
+    private long appendEvent(final int dataVersion) throws SQLException {
+        final Tuple2<PreparedStatement, Optional<String>> insert =
+                queries.prepareInsertEntryQuery(
+                        aggregateRootId,
+                        dataVersion,
+                        gson.toJson(new TestEvent(aggregateRootId, dataVersion)),
+                        TestEvent.class.getName(),
+                        1,
+                        gson.toJson(Metadata.nullMetadata()));
+
+        assert insert._1.executeUpdate() == 1;
+        final long id = queries.generatedKeyFrom(insert._1);
+        queries.notifyAppended(id);
+        configuration.connection.commit();
+
+        return id;
+    }
+
+    private static class MockJournalTailInterest implements JournalTailInterest {
+        private final AtomicLong highWaterId = new AtomicLong(-1L);
+        private AccessSafely access = afterCompleting(0);
+
+        @Override
+        public void appended(final long highWaterId) {
+            access.writeUsing("appended", highWaterId);
+        }
+
+        AccessSafely afterCompleting(final int times) {
+            access = AccessSafely.afterCompleting(times)
+                    .writingWith("appended", (Long id) -> highWaterId.set(id))
+                    .readingWith("highWaterId", highWaterId::get);
+            return access;
+        }
+    }
+}
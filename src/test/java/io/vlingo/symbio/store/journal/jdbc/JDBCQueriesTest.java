@@ -0,0 +1,72 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.store.common.event.TestEvent;
+
+public abstract class JDBCQueriesTest extends BaseJournalTest {
+    @Before
+    public void setUp() {
+        assumeTrue(queries.supportsMultiRowInsert());
+    }
+
+    @Test
+    public void testThatMultiRowInsertAnswersIdsInInsertionOrder() throws Exception {
+        final int rows = 5;
+        final PreparedStatement insert = queries.prepareInsertEntriesQuery(rows);
+        for (int row = 0; row < rows; ++row) {
+            queries.setInsertEntriesRow(
+                    insert,
+                    row,
+                    streamName,
+                    row + 1,
+                    gson.toJson(new TestEvent(aggregateRootId, row + 1)),
+                    TestEvent.class.getName(),
+                    1,
+                    gson.toJson(Metadata.nullMetadata()));
+        }
+
+        final List<Long> ids = queries.executeInsertEntries(insert, rows);
+        configuration.connection.commit();
+
+        assertEquals(rows, ids.size());
+        for (int row = 0; row < rows; ++row) {
+            if (row > 0) {
+                assertTrue(ids.get(row) > ids.get(row - 1));
+            }
+            try (final ResultSet result = queries.prepareSelectEntryQuery(ids.get(row)).executeQuery()) {
+                assertTrue(result.next());
+                assertEquals(row + 1, result.getInt("E_STREAM_VERSION"));
+                assertEquals(row + 1, gson.fromJson(result.getString("E_ENTRY_DATA"), TestEvent.class).number);
+            }
+        }
+    }
+
+    @Test
+    public void testThatMultiRowInsertStatementsAreReusedPerRowCount() throws Exception {
+        final PreparedStatement threeRows = queries.prepareInsertEntriesQuery(3);
+        final PreparedStatement twoRows = queries.prepareInsertEntriesQuery(2);
+
+        assertSame(threeRows, queries.prepareInsertEntriesQuery(3));
+        assertSame(twoRows, queries.prepareInsertEntriesQuery(2));
+        assertTrue(threeRows != twoRows);
+    }
+}
@@ -11,18 +11,18 @@ import org.junit.Test;
 import io.vlingo.actors.Definition;
 import io.vlingo.symbio.State.TextState;
 import io.vlingo.symbio.store.common.event.TestEvent;
+import io.vlingo.symbio.store.common.jdbc.SnapshotRetentionPolicy;
 import io.vlingo.symbio.store.journal.EntityStream;
-import io.vlingo.symbio.store.journal.StreamReader;
 import io.vlingo.symbio.store.journal.jdbc.JDBCStreamReaderActor.JDBCStreamReaderInstantiator;
 
 public abstract class JDBCStreamReaderActorTest extends BaseJournalTest {
-    private StreamReader<String> eventStreamReader;
+    protected PagedStreamReader<String> eventStreamReader;
 
     @Before
     @SuppressWarnings("unchecked")
     public void setUp() throws Exception {
         eventStreamReader = world.actorFor(
-                StreamReader.class,
+                PagedStreamReader.class,
                 Definition.has(JDBCStreamReaderActor.class,
                         new JDBCStreamReaderInstantiator(configuration))
         );
@@ -75,5 +75,69 @@ public abstract class JDBCStreamReaderActorTest extends BaseJournalTest {
         Assert.assertEquals(1, stream.entries.size());
         Assert.assertEquals(4, parse(stream.entries.get(0)).number);
     }
-}
 
+    @Test
+    public void testThatLatestSnapshotIsReturned() throws Exception {
+        insertSnapshot(1, new TestEvent(streamName, 1));
+        insertSnapshot(3, new TestEvent(streamName, 3));
+        insertSnapshot(2, new TestEvent(streamName, 2));
+
+        EntityStream<String> stream = eventStreamReader.streamFor(streamName, 1).await();
+
+        assertEquals(3, stream.snapshot.dataVersion);
+        Assert.assertEquals(2, stream.entries.size());
+        Assert.assertEquals(3, parse(stream.entries.get(0)).number);
+    }
+
+    @Test
+    public void testThatSnapshotPrunerKeepsLatestSnapshots() throws Exception {
+        insertSnapshot(1, new TestEvent(streamName, 1));
+        insertSnapshot(2, new TestEvent(streamName, 2));
+        insertSnapshot(3, new TestEvent(streamName, 3));
+
+        final JDBCSnapshotPruner pruner = new JDBCSnapshotPruner(SnapshotRetentionPolicy.keepLast(2), queries, configuration.connection);
+        assertEquals(0, pruner.prune());
+
+        pruner.snapshotted(streamName);
+        assertEquals(1, pruner.prune());
+
+        pruner.snapshotted(streamName);
+        assertEquals(0, pruner.prune());
+
+        EntityStream<String> stream = eventStreamReader.streamFor(streamName, 1).await();
+        assertEquals(3, stream.snapshot.dataVersion);
+    }
+
+    @Test
+    public void testThatStreamIsReadInPages() throws Exception {
+        EntityStream<String> page = eventStreamReader.streamFor(streamName, 1, 3).await();
+        assertEquals(TextState.Null, page.snapshot);
+        assertEquals(3, page.streamVersion);
+        Assert.assertEquals(3, page.entries.size());
+        Assert.assertEquals(1, parse(page.entries.get(0)).number);
+
+        page = eventStreamReader.streamFor(streamName, page.streamVersion + 1, 3).await();
+        assertEquals(4, page.streamVersion);
+        Assert.assertEquals(1, page.entries.size());
+        Assert.assertEquals(4, parse(page.entries.get(0)).number);
+
+        page = eventStreamReader.streamFor(streamName, page.streamVersion + 1, 3).await();
+        Assert.assertTrue(page.entries.isEmpty());
+    }
+
+    @Test
+    public void testThatFirstPageStartsAtSnapshot() throws Exception {
+        insertSnapshot(2, new TestEvent(streamName, 2));
+
+        EntityStream<String> page = eventStreamReader.streamFor(streamName, 1, 2).await();
+        assertEquals(2, page.snapshot.dataVersion);
+        assertEquals(3, page.streamVersion);
+        Assert.assertEquals(2, page.entries.size());
+        Assert.assertEquals(2, parse(page.entries.get(0)).number);
+
+        page = eventStreamReader.streamFor(streamName, page.streamVersion + 1, 2).await();
+        assertEquals(TextState.Null, page.snapshot);
+        Assert.assertEquals(1, page.entries.size());
+        Assert.assertEquals(4, parse(page.entries.get(0)).number);
+    }
+}
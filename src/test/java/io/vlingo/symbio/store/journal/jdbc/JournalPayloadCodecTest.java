@@ -0,0 +1,76 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.jdbc.PayloadCompressionPolicy;
+
+public class JournalPayloadCodecTest {
+    private static final String LargePayload = largePayload();
+
+    @Test
+    public void testThatPayloadsBelowThresholdAreStoredRaw() {
+        final JournalPayloadCodec codec = new JournalPayloadCodec(DataFormat.Binary, PayloadCompressionPolicy.deflate(1_024));
+
+        final byte[] stored = codec.encode("{\"name\":\"ä\"}");
+
+        assertEquals(JournalPayloadCodec.Raw, stored[0]);
+        assertEquals("{\"name\":\"ä\"}", codec.decode(stored));
+    }
+
+    @Test
+    public void testThatPayloadsAtThresholdAreDeflated() {
+        final JournalPayloadCodec codec = new JournalPayloadCodec(DataFormat.Binary, PayloadCompressionPolicy.deflate(1_024));
+
+        final byte[] stored = codec.encode(LargePayload);
+
+        assertEquals(JournalPayloadCodec.Deflated, stored[0]);
+        assertTrue(stored.length < LargePayload.length() / 4);
+        assertEquals(LargePayload, codec.decode(stored));
+    }
+
+    @Test
+    public void testThatRowsOfAnyPolicyAreReadable() {
+        final JournalPayloadCodec deflating = new JournalPayloadCodec(DataFormat.Binary, PayloadCompressionPolicy.deflate(0));
+        final JournalPayloadCodec raw = new JournalPayloadCodec(DataFormat.Binary, PayloadCompressionPolicy.none());
+
+        assertEquals(LargePayload, raw.decode(deflating.encode(LargePayload)));
+        assertEquals(LargePayload, deflating.decode(raw.encode(LargePayload)));
+        assertEquals(JournalPayloadCodec.Raw, raw.encode(LargePayload)[0]);
+    }
+
+    @Test
+    public void testThatIncompressiblePayloadsAreStoredRaw() {
+        final JournalPayloadCodec codec = new JournalPayloadCodec(DataFormat.Binary, PayloadCompressionPolicy.deflate(0));
+
+        final byte[] stored = codec.encode("x");
+
+        assertEquals(JournalPayloadCodec.Raw, stored[0]);
+        assertEquals("", codec.decode(codec.encode("")));
+        assertNull(codec.decode(codec.encode(null)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatUnknownFlagIsRejected() {
+        JournalPayloadCodec.text().decode(new byte[] { 7, 1, 2 });
+    }
+
+    private static String largePayload() {
+        final StringBuilder payload = new StringBuilder();
+        for (int index = 0; index < 100; ++index) {
+            payload.append("{\"accountId\":\"").append(index).append("\",\"balance\":").append(index * 10).append("}");
+        }
+        return payload.toString();
+    }
+}
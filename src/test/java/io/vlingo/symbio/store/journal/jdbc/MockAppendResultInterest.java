@@ -21,6 +21,7 @@ import io.vlingo.symbio.store.journal.Journal.AppendResultInterest;
 
 public class MockAppendResultInterest implements AppendResultInterest {
   private AccessSafely access = afterCompleting(0);
+  private AtomicInteger concurrencyViolationCount = new AtomicInteger(0);
   private AtomicInteger failureCount = new AtomicInteger(0);
   private AtomicInteger successCount = new AtomicInteger(0);
 
@@ -33,7 +34,7 @@ public class MockAppendResultInterest implements AppendResultInterest {
               return result;
             })
             .otherwise(failure -> {
-              access.writeUsing("failureCount", 1);
+              failed(failure);
               return failure.result;
             });
   }
@@ -47,7 +48,7 @@ public class MockAppendResultInterest implements AppendResultInterest {
               return result;
             })
             .otherwise(failure -> {
-              access.writeUsing("failureCount", 1);
+              failed(failure);
               return failure.result;
             });
   }
@@ -61,7 +62,7 @@ public class MockAppendResultInterest implements AppendResultInterest {
               return result;
             })
             .otherwise(failure -> {
-              access.writeUsing("failureCount", 1);
+              failed(failure);
               return failure.result;
             });
   }
@@ -75,7 +76,7 @@ public class MockAppendResultInterest implements AppendResultInterest {
               return result;
             })
             .otherwise(failure -> {
-              access.writeUsing("failureCount", 1);
+              failed(failure);
               return failure.result;
             });
   }
@@ -86,9 +87,17 @@ public class MockAppendResultInterest implements AppendResultInterest {
     access
       .writingWith("failureCount", (Integer increment) -> failureCount.addAndGet(increment))
       .readingWith("failureCount", () -> failureCount.get())
+      .readingWith("concurrencyViolationCount", () -> concurrencyViolationCount.get())
       .writingWith("successCount", (Integer increment) -> successCount.addAndGet(increment))
       .readingWith("successCount", () -> successCount.get());
 
     return access;
   }
+
+  private void failed(final StorageException failure) {
+    if (failure.result == Result.ConcurrencyViolation) {
+      concurrencyViolationCount.incrementAndGet();
+    }
+    access.writeUsing("failureCount", 1);
+  }
 }
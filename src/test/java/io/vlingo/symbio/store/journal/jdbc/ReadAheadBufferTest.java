@@ -0,0 +1,142 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.symbio.store.common.jdbc.ReadAheadPolicy;
+
+public class ReadAheadBufferTest {
+    @Test
+    public void testThatNonePolicyNeverFetches() {
+        final ReadAheadBuffer<String> buffer = new ReadAheadBuffer<>(ReadAheadPolicy.none());
+
+        buffer.answered(3, 2, true);
+
+        assertFalse(buffer.isEnabled());
+        assertFalse(buffer.requestFetch());
+        assertNull(buffer.take(3, 2));
+    }
+
+    @Test
+    public void testThatBatchFollowingFullBatchIsFetchedAndTaken() {
+        final ReadAheadBuffer<String> buffer = new ReadAheadBuffer<>(ReadAheadPolicy.adaptive(4));
+
+        buffer.answered(3, 2, true);
+
+        assertTrue(buffer.requestFetch());
+        assertFalse(buffer.requestFetch()); // already requested
+        assertEquals(3, buffer.fetchOffset());
+        assertEquals(2, buffer.fetchSize());
+
+        buffer.fetched(batch("3", "4"));
+
+        assertEquals(1, buffer.size());
+        assertEquals(batch("3", "4"), buffer.take(3, 2));
+        assertEquals(1, buffer.hits());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testThatPartialBatchIsNotBufferedAndStopsFetching() {
+        final ReadAheadBuffer<String> buffer = new ReadAheadBuffer<>(ReadAheadPolicy.adaptive(4));
+
+        buffer.answered(3, 2, true);
+        assertTrue(buffer.requestFetch());
+        buffer.fetched(batch("3"));
+
+        assertEquals(0, buffer.size());
+        assertFalse(buffer.requestFetch());
+
+        buffer.answered(5, 2, false);
+        assertFalse(buffer.requestFetch());
+    }
+
+    @Test
+    public void testThatOtherBatchDropsBufferedBatches() {
+        final ReadAheadBuffer<String> buffer = new ReadAheadBuffer<>(ReadAheadPolicy.adaptive(4));
+
+        buffer.answered(3, 2, true);
+        assertTrue(buffer.requestFetch());
+        buffer.fetched(batch("3", "4"));
+
+        assertNull(buffer.take(3, 5));
+        assertEquals(0, buffer.size());
+        assertEquals(1, buffer.misses());
+        assertFalse(buffer.requestFetch());
+    }
+
+    @Test
+    public void testThatClearDropsRequestedFetch() {
+        final ReadAheadBuffer<String> buffer = new ReadAheadBuffer<>(ReadAheadPolicy.adaptive(4));
+
+        buffer.answered(3, 2, true);
+        assertTrue(buffer.requestFetch());
+
+        buffer.clear();
+
+        assertFalse(buffer.isFetchRequested());
+        assertFalse(buffer.requestFetch());
+    }
+
+    @Test
+    public void testThatDepthGrowsWhileConsumerDrainsAndShrinksWhileItLags() {
+        final ReadAheadBuffer<String> buffer = new ReadAheadBuffer<>(ReadAheadPolicy.adaptive(3));
+
+        long offset = 1;
+        buffer.answered(offset, 1, true);
+
+        // the consumer takes each batch as soon as it is fetched
+        for (int batch = 0; batch < 5; ++batch) {
+            assertTrue(buffer.requestFetch());
+            buffer.fetched(batch(String.valueOf(offset)));
+            assertEquals(batch(String.valueOf(offset)), buffer.take(offset, 1));
+            buffer.answered(++offset, 1, true);
+        }
+
+        assertEquals(3, buffer.depth());
+
+        // the consumer is slower, so the buffer fills up to its depth
+        while (buffer.requestFetch()) {
+            buffer.fetched(batch(String.valueOf(buffer.fetchOffset())));
+        }
+        assertEquals(3, buffer.size());
+
+        buffer.take(offset, 1);
+        buffer.answered(++offset, 1, true);
+
+        assertEquals(2, buffer.depth());
+        assertEquals(2, buffer.size());
+        assertFalse(buffer.requestFetch());
+    }
+
+    @Test
+    public void testThatFailedFetchStopsFetching() {
+        final ReadAheadBuffer<String> buffer = new ReadAheadBuffer<>(ReadAheadPolicy.adaptive(4));
+
+        buffer.answered(3, 2, true);
+        assertTrue(buffer.requestFetch());
+
+        buffer.fetchFailed();
+
+        assertFalse(buffer.isFetchRequested());
+        assertFalse(buffer.requestFetch());
+    }
+
+    private List<String> batch(final String... ids) {
+        return Arrays.asList(ids);
+    }
+}
@@ -0,0 +1,23 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc.hsqldb;
+
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.EntityStreamCache;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.journal.jdbc.JDBCCachedStreamReaderActorTest;
+
+public class HSQLDBCachedStreamReaderActorTest extends JDBCCachedStreamReaderActorTest {
+    @Override
+    protected Configuration.TestConfiguration testConfiguration(DataFormat format) throws Exception {
+        final Configuration.TestConfiguration configuration = HSQLDBConfigurationProvider.testConfiguration(format);
+        configuration.withEntityStreamCache(new EntityStreamCache(10, 1_000_000));
+        return configuration;
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc.hsqldb;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import io.vlingo.actors.Definition;
+import io.vlingo.actors.World;
+import io.vlingo.actors.testkit.AccessSafely;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.State;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.event.TestEvent;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.dispatch.Dispatchable;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.JournalReader;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalActorTest;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalBatchWriter;
+import io.vlingo.symbio.store.journal.jdbc.MockAppendResultInterest;
+import io.vlingo.symbio.store.journal.jdbc.ShardedJDBCJournalActor;
+import io.vlingo.symbio.store.journal.jdbc.ShardedJDBCJournalActor.ShardedJDBCJournalActorInstantiator;
+
+public class HSQLDBShardedJournalActorTest extends JDBCJournalActorTest {
+    private static final String SlowStreamPrefix = "slow-";
+    private static CountDownLatch slowEntryInserted;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testThatReaderAwaitsTheEntriesOfASlowShard() throws Exception {
+        final String slowStream = streamOfShard(SlowStreamPrefix, 0);
+        final String fastStream = streamOfShard("fast-", 1);
+        slowEntryInserted = new CountDownLatch(1);
+
+        final Journal<String> journal = world.stage().actorFor(Journal.class, Definition.has(ShardedJDBCJournalActor.class,
+                new ShardedJDBCJournalActorInstantiator(configuration, 2,
+                        (shardConfiguration, shardDispatcherControl) -> new SlowStreamBatchWriter(shardConfiguration),
+                        null, 10)));
+        final JournalReader<TextEntry> reader = (JournalReader<TextEntry>) journal.journalReader("slow-shard-reader").await();
+
+        final MockAppendResultInterest interest = new MockAppendResultInterest();
+        final AccessSafely access = interest.afterCompleting(1);
+
+        // the slow shard allocates the lower id, but commits it after the fast shard
+        journal.append(slowStream, 1, new TestEvent(slowStream, 1), interest, null);
+        slowEntryInserted.await();
+        journal.append(fastStream, 1, new TestEvent(fastStream, 1), interest, null);
+        assertEquals(1, (int) access.readFromExpecting("successCount", 1));
+
+        final List<TextEntry> entries = reader.readNext(10).await();
+
+        assertEquals(2, entries.size());
+        assertEquals(slowStream, parse(entries.get(0)).id);
+        assertEquals(fastStream, parse(entries.get(1)).id);
+    }
+
+    @Override
+    protected Configuration.TestConfiguration testConfiguration(DataFormat format) throws Exception {
+        return HSQLDBConfigurationProvider.testConfiguration(format);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Journal<String> journalFrom(World world, Configuration configuration, List<Dispatcher<Dispatchable<Entry<String>, State.TextState>>> dispatchers,
+                                          DispatcherControl dispatcherControl) throws Exception {
+        return world.stage().actorFor(Journal.class, Definition.has(ShardedJDBCJournalActor.class,
+                new ShardedJDBCJournalActorInstantiator(configuration, 4,
+                        (shardConfiguration, shardDispatcherControl) -> new JDBCJournalBatchWriter(shardConfiguration, dispatchers, shardDispatcherControl, 100),
+                        dispatcherControl, 50)));
+    }
+
+    private String streamOfShard(final String prefix, final int shard) {
+        for (int suffix = 0; ; ++suffix) {
+            final String stream = prefix + suffix;
+            if (Math.floorMod(stream.hashCode(), 2) == shard) {
+                return stream;
+            }
+        }
+    }
+
+    /**
+     * Holds back the commit of the entries of slow streams well beyond the gap retries of readers.
+     */
+    public static class SlowStreamBatchWriter extends JDBCJournalBatchWriter {
+        public SlowStreamBatchWriter(final Configuration configuration) throws Exception {
+            super(configuration, Collections.emptyList(), null, 1);
+        }
+
+        @Override
+        protected void insertEntries(final List<InsertEntry> insertEntries) {
+            super.insertEntries(insertEntries);
+
+            if (insertEntries.stream().anyMatch(insertEntry -> insertEntry.streamName.startsWith(SlowStreamPrefix))) {
+                slowEntryInserted.countDown();
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
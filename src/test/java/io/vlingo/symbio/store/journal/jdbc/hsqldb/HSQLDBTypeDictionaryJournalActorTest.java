@@ -0,0 +1,106 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.journal.jdbc.hsqldb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.actors.World;
+import io.vlingo.actors.testkit.AccessSafely;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.State;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.event.TestEvent;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
+import io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider;
+import io.vlingo.symbio.store.dispatch.Dispatchable;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.symbio.store.journal.EntityStream;
+import io.vlingo.symbio.store.journal.Journal;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalActor;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalActorTest;
+import io.vlingo.symbio.store.journal.jdbc.JDBCJournalBatchWriter;
+
+/**
+ * Runs the journal tests with a type dictionary, storing tokens in place of type names.
+ */
+public class HSQLDBTypeDictionaryJournalActorTest extends JDBCJournalActorTest {
+    @Test
+    public void testThatEntryAndSnapshotTypesAreStoredAsTokens() throws Exception {
+        final AccessSafely access = interest.afterCompleting(1);
+        journal.appendWith(streamName, 1, new TestEvent(streamName, 1), new Entity1("1", 1), interest, object);
+        assertEquals(1, (int) access.readFrom("successCount"));
+
+        final String token = configuration.typeDictionary().storedTypeOf(TestEvent.class.getName());
+        assertTrue(token.startsWith("@"));
+        assertEquals(token, storedTypesOf("E_ENTRY_TYPE", HSQLDBQueries.TABLE_VLINGO_SYMBIO_JOURNAL, "E_ID").get(0));
+        assertTrue(storedTypesOf("S_SNAPSHOT_TYPE", HSQLDBQueries.TABLE_VLINGO_SYMBIO_JOURNAL_SNAPSHOTS, "S_SNAPSHOT_TYPE").get(0).startsWith("@"));
+
+        final EntityStream<String> stream = streamReader.streamFor(streamName).await();
+        assertEquals(Entity1.class.getName(), stream.snapshot.type);
+        assertEquals(1, stream.entries.size());
+        assertEquals(TestEvent.class.getName(), stream.entries.get(0).typeName());
+    }
+
+    @Test
+    public void testThatTokensAndTypeNamesAreReadTogether() throws Exception {
+        insertEvent(1); // stored with its type name, as by a journal without a dictionary
+
+        final AccessSafely access = interest.afterCompleting(1);
+        journal.append(streamName, 2, new TestEvent(streamName, 2), interest, object);
+        assertEquals(1, (int) access.readFrom("successCount"));
+
+        final List<String> storedTypes = storedTypesOf("E_ENTRY_TYPE", HSQLDBQueries.TABLE_VLINGO_SYMBIO_JOURNAL, "E_ID");
+        assertEquals(2, storedTypes.size());
+        assertEquals(TestEvent.class.getName(), storedTypes.get(0));
+        assertTrue(storedTypes.get(1).startsWith("@"));
+
+        final List<TextEntry> entries = journalReader.readNext(2).await();
+        assertEquals(2, entries.size());
+        assertEquals(TestEvent.class.getName(), entries.get(0).typeName());
+        assertEquals(TestEvent.class.getName(), entries.get(1).typeName());
+    }
+
+    @Override
+    protected Configuration.TestConfiguration testConfiguration(DataFormat format) throws Exception {
+        final Configuration.TestConfiguration configuration = HSQLDBConfigurationProvider.testConfiguration(format, "dictionarytestdb");
+        configuration.withTypeDictionary(new TypeDictionary(configuration.dedicatedConnection()));
+        return configuration;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Journal<String> journalFrom(World world, Configuration configuration, List<Dispatcher<Dispatchable<Entry<String>, State.TextState>>> dispatchers,
+                                          DispatcherControl dispatcherControl) throws Exception {
+        JDBCJournalBatchWriter journalWriter = new JDBCJournalBatchWriter(configuration, dispatchers, dispatcherControl, 100);
+        return world.stage().actorFor(Journal.class, JDBCJournalActor.class, configuration, journalWriter, 50);
+    }
+
+    private List<String> storedTypesOf(final String column, final String table, final String orderColumn) throws SQLException {
+        final List<String> storedTypes = new ArrayList<>();
+        try (final Statement statement = configuration.connection.createStatement();
+             final ResultSet result = statement.executeQuery("SELECT " + column + " FROM " + table + " ORDER BY " + orderColumn)) {
+            while (result.next()) {
+                storedTypes.add(result.getString(1));
+            }
+        }
+        configuration.connection.commit();
+        return storedTypes;
+    }
+}
@@ -13,6 +13,11 @@ import static org.junit.Assert.assertNotNull;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -20,10 +25,14 @@ import org.junit.Test;
 
 import io.vlingo.actors.Logger;
 import io.vlingo.actors.World;
+import io.vlingo.symbio.BaseEntry;
+import io.vlingo.symbio.BaseEntry.TextEntry;
+import io.vlingo.symbio.Entry;
 import io.vlingo.symbio.Metadata;
 import io.vlingo.symbio.State;
 import io.vlingo.symbio.store.DataFormat;
 import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.dispatch.Dispatchable;
 import io.vlingo.symbio.store.state.Entity1;
 import io.vlingo.symbio.store.state.StateTypeStateStoreMap;
 
@@ -127,6 +136,51 @@ public abstract class JDBCStorageDelegateTest {
         assertEquals(writeState, readState);
     }
 
+    @Test
+    public void testThatUnconfirmedDispatchablesLoadTheirEntries() throws Exception {
+        configuration = testConfiguration(DataFormat.Text);
+        delegate = storageDelegate(configuration, world.defaultLogger());
+
+        final List<Entry<?>> entries = new ArrayList<>();
+        for (int index = 0; index < 3; ++index) {
+            entries.add(new TextEntry(Entity1.class, 1, "{ \"value\" : " + index + " }", Metadata.with("metadata" + index, "op")));
+        }
+
+        delegate.beginWrite();
+        final PreparedStatement appendStatement = delegate.appendExpressionFor(entries);
+        appendStatement.executeBatch();
+        try (final ResultSet keys = appendStatement.getGeneratedKeys()) {
+            for (int index = 0; keys.next(); ++index) {
+                ((BaseEntry<?>) entries.get(index)).__internal__setId(Long.toString(keys.getLong(1)));
+            }
+        }
+        appendStatement.clearBatch();
+
+        final State.TextState state1 = new State.TextState("1", Entity1.class, 1, "{ \"data\" : \"data1\" }", 1, Metadata.with("metadata", "op"));
+        final State.TextState state2 = new State.TextState("2", Entity1.class, 1, "{ \"data\" : \"data2\" }", 1, Metadata.with("metadata", "op"));
+        final PreparedStatement dispatchable1 = delegate.dispatchableWriteExpressionFor(
+                new Dispatchable<>("dispatch-1", LocalDateTime.now(), state1, Arrays.asList(entries.get(2), entries.get(0))));
+        dispatchable1.executeUpdate();
+        final PreparedStatement dispatchable2 = delegate.dispatchableWriteExpressionFor(
+                new Dispatchable<>("dispatch-2", LocalDateTime.now().plusSeconds(1), state2, Arrays.asList(entries.get(0), entries.get(1))));
+        dispatchable2.executeUpdate();
+        delegate.complete();
+
+        final Collection<Dispatchable<Entry<?>, State<?>>> unconfirmed = delegate.allUnconfirmedDispatchableStates();
+        assertEquals(2, unconfirmed.size());
+
+        for (final Dispatchable<Entry<?>, State<?>> dispatchable : unconfirmed) {
+            final List<Entry<?>> expected = dispatchable.id().equals("dispatch-1") ?
+                    Arrays.asList(entries.get(2), entries.get(0)) :
+                    Arrays.asList(entries.get(0), entries.get(1));
+            assertEquals(expected.size(), dispatchable.entries().size());
+            for (int index = 0; index < expected.size(); ++index) {
+                assertEquals(expected.get(index).id(), dispatchable.entries().get(index).id());
+                assertEquals(expected.get(index).entryData(), dispatchable.entries().get(index).entryData());
+            }
+        }
+    }
+
     @Before
     public void setUp() {
         world = World.startWithDefaults("test-store");
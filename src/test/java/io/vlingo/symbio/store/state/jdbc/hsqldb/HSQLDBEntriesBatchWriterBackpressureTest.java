@@ -0,0 +1,176 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.state.jdbc.hsqldb;
+
+import static io.vlingo.symbio.store.common.jdbc.hsqldb.HSQLDBConfigurationProvider.testConfiguration;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.vlingo.actors.World;
+import io.vlingo.common.Outcome;
+import io.vlingo.symbio.Metadata;
+import io.vlingo.symbio.State.TextState;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.StorageException;
+import io.vlingo.symbio.store.common.jdbc.AppendQueueMetrics;
+import io.vlingo.symbio.store.common.jdbc.BackpressureInterest;
+import io.vlingo.symbio.store.common.jdbc.BackpressurePolicy;
+import io.vlingo.symbio.store.common.jdbc.Configuration.TestConfiguration;
+import io.vlingo.symbio.store.state.Entity1;
+import io.vlingo.symbio.store.state.StateTypeStateStoreMap;
+import io.vlingo.symbio.store.state.jdbc.JDBCEntriesBatchWriter;
+import io.vlingo.symbio.store.state.jdbc.JDBCStorageDelegate;
+
+public class HSQLDBEntriesBatchWriterBackpressureTest {
+  private TestConfiguration configuration;
+  private HSQLDBStorageDelegate delegate;
+  private String entity1StoreName;
+  private List<Outcome<StorageException, Result>> outcomes;
+  private List<String> signals;
+  private World world;
+  private JDBCEntriesBatchWriter writer;
+
+  @Test
+  public void testThatRejectCompletesWriteWithFailure() {
+    writer = writerWith(BackpressurePolicy.reject(1, Long.MAX_VALUE));
+
+    writer.appendEntries(entity1StoreName, Collections.emptyList(), stateOf("1"), outcomes::add);
+    writer.appendEntries(entity1StoreName, Collections.emptyList(), stateOf("2"), outcomes::add);
+
+    assertEquals(1, outcomes.size());
+    assertEquals(Result.Failure, resultOf(outcomes.get(0)));
+    assertEquals(1, writer.appendQueueMetrics().rejected);
+    assertEquals(1, writer.appendQueueMetrics().entries);
+
+    writer.flush();
+
+    assertEquals(2, outcomes.size());
+    assertEquals(Result.Success, resultOf(outcomes.get(1)));
+    assertEquals(0, writer.appendQueueMetrics().entries);
+  }
+
+  @Test(timeout = 10_000)
+  public void testThatDelayWritesInFlightWritesFirst() {
+    writer = writerWith(BackpressurePolicy.delay(1, Long.MAX_VALUE));
+
+    writer.appendEntries(entity1StoreName, Collections.emptyList(), stateOf("1"), outcomes::add);
+    writer.appendEntries(entity1StoreName, Collections.emptyList(), stateOf("2"), outcomes::add);
+
+    // the first write was written to make room for the second
+    assertEquals(1, outcomes.size());
+    assertEquals(Result.Success, resultOf(outcomes.get(0)));
+    assertEquals(1, writer.appendQueueMetrics().delayed);
+    assertEquals(1, writer.appendQueueMetrics().entries);
+
+    writer.flush();
+
+    assertEquals(2, outcomes.size());
+    assertEquals(Result.Success, resultOf(outcomes.get(1)));
+    assertEquals(0, writer.appendQueueMetrics().entries);
+  }
+
+  @Test(timeout = 10_000)
+  public void testThatDelayAdmitsOversizedWriteIntoEmptyBuffer() {
+    writer = writerWith(BackpressurePolicy.delay(1, 1));
+
+    // an empty buffer has nothing to write, so the write must be admitted rather than wait
+    writer.appendEntries(entity1StoreName, Collections.emptyList(), stateOf("1"), outcomes::add);
+
+    assertTrue(outcomes.isEmpty());
+    assertEquals(0, writer.appendQueueMetrics().delayed);
+    assertEquals(1, writer.appendQueueMetrics().entries);
+
+    writer.flush();
+
+    assertEquals(1, outcomes.size());
+    assertEquals(Result.Success, resultOf(outcomes.get(0)));
+  }
+
+  @Test
+  public void testThatSignalAcceptsWriteAndInformsInterest() {
+    writer = writerWith(BackpressurePolicy.signal(1, Long.MAX_VALUE, new BackpressureInterest() {
+      @Override
+      public void budgetExceeded(final AppendQueueMetrics metrics) {
+        signals.add("exceeded:" + metrics.entries);
+      }
+
+      @Override
+      public void budgetRecovered(final AppendQueueMetrics metrics) {
+        signals.add("recovered:" + metrics.entries);
+      }
+    }));
+
+    writer.appendEntries(entity1StoreName, Collections.emptyList(), stateOf("1"), outcomes::add);
+    writer.appendEntries(entity1StoreName, Collections.emptyList(), stateOf("2"), outcomes::add);
+
+    assertTrue(outcomes.isEmpty());
+    assertEquals(1, signals.size());
+    assertEquals("exceeded:2", signals.get(0));
+    assertEquals(2, writer.appendQueueMetrics().entries);
+
+    writer.flush();
+
+    assertEquals(2, outcomes.size());
+    assertEquals(Result.Success, resultOf(outcomes.get(0)));
+    assertEquals(Result.Success, resultOf(outcomes.get(1)));
+    assertEquals(2, signals.size());
+    assertEquals("recovered:0", signals.get(1));
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    world = World.startWithDefaults("test-store");
+
+    entity1StoreName = Entity1.class.getSimpleName();
+    StateTypeStateStoreMap.stateTypeToStoreName(Entity1.class, entity1StoreName);
+
+    configuration = testConfiguration(DataFormat.Text);
+    delegate = new HSQLDBStorageDelegate(configuration, world.defaultLogger());
+
+    outcomes = new ArrayList<>();
+    signals = new ArrayList<>();
+  }
+
+  @After
+  public void tearDown() {
+    if (writer != null) {
+      writer.stop();
+    }
+    delegate.close();
+    configuration.cleanUp();
+    world.terminate();
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private JDBCEntriesBatchWriter writerWith(final BackpressurePolicy policy) {
+    final JDBCEntriesBatchWriter writer = new JDBCEntriesBatchWriter((JDBCStorageDelegate) delegate, null, null, 100, false, policy);
+    writer.setLogger(world.defaultLogger());
+    return writer;
+  }
+
+  private Result resultOf(final Outcome<StorageException, Result> outcome) {
+    final Result[] result = new Result[1];
+    outcome
+      .andThen(success -> result[0] = success)
+      .otherwise(cause -> result[0] = cause.result);
+    return result[0];
+  }
+
+  private TextState stateOf(final String id) {
+    return new TextState(id, Entity1.class, 1, "{ \"value\" : " + id + " }", 1, Metadata.nullMetadata());
+  }
+}
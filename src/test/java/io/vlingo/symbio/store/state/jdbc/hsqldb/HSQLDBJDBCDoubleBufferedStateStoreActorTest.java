@@ -0,0 +1,79 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.state.jdbc.hsqldb;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Blob;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.actors.World;
+import io.vlingo.actors.testkit.AccessSafely;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.State;
+import io.vlingo.symbio.store.Result;
+import io.vlingo.symbio.store.common.jdbc.BackpressurePolicy;
+import io.vlingo.symbio.store.common.jdbc.Configuration;
+import io.vlingo.symbio.store.common.jdbc.ConnectionProvider;
+import io.vlingo.symbio.store.dispatch.Dispatchable;
+import io.vlingo.symbio.store.dispatch.Dispatcher;
+import io.vlingo.symbio.store.dispatch.DispatcherControl;
+import io.vlingo.symbio.store.state.Entity1;
+import io.vlingo.symbio.store.state.StateStore;
+import io.vlingo.symbio.store.state.jdbc.JDBCEntriesBatchWriter;
+import io.vlingo.symbio.store.state.jdbc.JDBCStateStoreActor;
+import io.vlingo.symbio.store.state.jdbc.JDBCStorageDelegate;
+
+public class HSQLDBJDBCDoubleBufferedStateStoreActorTest extends HSQLDBJDBCStateStoreActorTest {
+
+  @Test
+  public void testThatFailedBatchIsNotWrittenAgain() {
+    final char[] tooLong = new char[200]; // exceeds S_ID VARCHAR(128)
+    Arrays.fill(tooLong, 'x');
+    final Entity1 failing = new Entity1(new String(tooLong), 1);
+
+    final AccessSafely failedAccess = interest.afterCompleting(1);
+    store.write(failing.id, failing, 1, interest);
+
+    assertEquals(1, (int) failedAccess.readFrom("errorCausesCount"));
+    assertEquals(Result.Error, failedAccess.readFrom("textWriteResult"));
+
+    final AccessSafely writtenAccess = interest.afterCompleting(2);
+    final Entity1 written = new Entity1("123", 2);
+    store.write(written.id, written, 1, interest);
+
+    assertEquals(1, (int) writtenAccess.readFrom("confirmDispatchedResultedIn"));
+    assertEquals(2, (int) writtenAccess.readFrom("totalWrites"));
+    assertEquals(1, (int) writtenAccess.readFrom("errorCausesCount"));
+    assertEquals(Result.Success, writtenAccess.readFrom("textWriteResult"));
+  }
+
+  @Override
+  protected JDBCStorageDelegate<Blob> delegate() throws Exception {
+    // a double-buffered writer reads on a connection of its own to the same database
+    final ConnectionProvider provider = configuration.connectionProvider.copyReplacing(configuration.actualDatabaseName);
+    final Configuration readSeparated =
+            new Configuration(configuration.databaseType, Configuration.interestOf(configuration.databaseType), configuration.format,
+                    provider, provider, configuration.originatorId, configuration.createTables, configuration.transactionTimeoutMillis);
+
+    return new HSQLDBStorageDelegate(readSeparated, world.defaultLogger());
+  }
+
+  @Override
+  protected StateStore stateStoreFrom(World world,
+                                      JDBCStorageDelegate<State.TextState> delegate,
+                                      List<Dispatcher<Dispatchable<? extends Entry<?>, ? extends State<?>>>> dispatchers,
+                                      DispatcherControl dispatcherControl) {
+    final JDBCEntriesBatchWriter entriesWriter =
+            new JDBCEntriesBatchWriter(delegate, dispatchers, dispatcherControl, 50, true, BackpressurePolicy.unbounded());
+    return world.actorFor(StateStore.class, JDBCStateStoreActor.class, delegate, entriesWriter, 100, null);
+  }
+}
@@ -0,0 +1,75 @@
+// Copyright © 2012-2020 VLINGO LABS. All rights reserved.
+//
+// This Source Code Form is subject to the terms of the
+// Mozilla Public License, v. 2.0. If a copy of the MPL
+// was not distributed with this file, You can obtain
+// one at https://mozilla.org/MPL/2.0/.
+
+package io.vlingo.symbio.store.state.jdbc.hsqldb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.vlingo.actors.testkit.AccessSafely;
+import io.vlingo.symbio.Entry;
+import io.vlingo.symbio.store.DataFormat;
+import io.vlingo.symbio.store.common.event.TestEvent;
+import io.vlingo.symbio.store.common.jdbc.Configuration.TestConfiguration;
+import io.vlingo.symbio.store.common.jdbc.TypeDictionary;
+import io.vlingo.symbio.store.state.Entity1;
+
+/**
+ * Runs the state store tests with a type dictionary, storing tokens in place of type names.
+ */
+public class HSQLDBJDBCTypeDictionaryStateStoreActorTest extends HSQLDBJDBCStateStoreActorTest {
+
+  @Test
+  public void testThatStateAndEntryTypesAreStoredAsTokens() throws Exception {
+    final AccessSafely accessInterest = interest.afterCompleting(2);
+    dispatcher.afterCompleting(1);
+
+    final Entity1 entity = new Entity1("123", 1);
+    store.write(entity.id, entity, 1, Arrays.asList(new TestEvent(entity.id, 1)), interest);
+    assertEquals(1, (int) accessInterest.readFrom("confirmDispatchedResultedIn"));
+
+    final String stateToken = configuration.typeDictionary().storedTypeOf(Entity1.class.getName());
+    assertTrue(stateToken.startsWith("@"));
+    assertEquals(stateToken, storedTypeOf("S_TYPE", tableName(Entity1.class)));
+    final String entryToken = configuration.typeDictionary().storedTypeOf(TestEvent.class.getName());
+    assertTrue(entryToken.startsWith("@"));
+    assertEquals(entryToken, storedTypeOf("E_TYPE", HSQLDBQueries.TBL_VLINGO_SYMBIO_STATE_ENTRY));
+
+    final AccessSafely accessRead = interest.afterCompleting(1);
+    store.read(entity.id, Entity1.class, interest);
+    final Entity1 readEntity = accessRead.readFrom("readStoreData");
+    assertEquals(entity, readEntity);
+
+    final List<Entry<?>> entries = store.entryReader("test").andThenTo(reader -> reader.readNext(1)).await();
+    assertEquals(1, entries.size());
+    assertEquals(TestEvent.class.getName(), entries.get(0).typeName());
+  }
+
+  @Override
+  protected TestConfiguration testConfiguration(final DataFormat format) throws Exception {
+    final TestConfiguration configuration = super.testConfiguration(format);
+    configuration.withTypeDictionary(new TypeDictionary(configuration.dedicatedConnection()));
+    return configuration;
+  }
+
+  private String storedTypeOf(final String column, final String table) throws SQLException {
+    try (final Statement statement = configuration.connection.createStatement();
+         final ResultSet result = statement.executeQuery("SELECT " + column + " FROM " + table)) {
+      final String storedType = result.next() ? result.getString(1) : null;
+      configuration.connection.commit();
+      return storedType;
+    }
+  }
+}